@@ -24,6 +24,7 @@ public class ApplicationProviderBinderHelper {
     binder.readProviders.clear();
     binder.responseFilters.clear();
     binder.invokerFilters.clear();
+    binder.invalidateMessageBodyProviderResolutionCache();
     binder.addMethodInvokerFilter(new SecurityConstraint());
   }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Launcher of EverRest benchmarks. Accepts the same arguments as JMH command line, e.g. regular
+ * expression for selecting benchmarks, number of forks and iterations. If no profiler is specified
+ * in command line then {@link GCProfiler} ({@code -prof gc}) is added, so number of bytes allocated
+ * per request ({@code gc.alloc.rate.norm}) is reported along with throughput.
+ */
+public final class BenchmarkRunner {
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+    if (commandLineOptions.getProfilers().isEmpty()) {
+      options.addProfiler(GCProfiler.class);
+    }
+    new Runner(options.build()).run();
+  }
+
+  private BenchmarkRunner() {}
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.benchmarks;
+
+import static jakarta.ws.rs.core.MediaType.APPLICATION_FORM_URLENCODED;
+import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
+import static jakarta.ws.rs.core.MediaType.MULTIPART_FORM_DATA;
+import static jakarta.ws.rs.core.MediaType.TEXT_PLAIN;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.FormParam;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import java.io.IOException;
+import java.util.List;
+import org.everrest.core.impl.provider.multipart.InputItem;
+
+/** Resources that are used in benchmarks of request pipeline. */
+public final class Bookstore {
+  public static class Book {
+    private String id;
+    private String title;
+    private String author;
+    private int pages;
+    private double price;
+    private boolean available;
+
+    public String getId() {
+      return id;
+    }
+
+    public void setId(String id) {
+      this.id = id;
+    }
+
+    public String getTitle() {
+      return title;
+    }
+
+    public void setTitle(String title) {
+      this.title = title;
+    }
+
+    public String getAuthor() {
+      return author;
+    }
+
+    public void setAuthor(String author) {
+      this.author = author;
+    }
+
+    public int getPages() {
+      return pages;
+    }
+
+    public void setPages(int pages) {
+      this.pages = pages;
+    }
+
+    public double getPrice() {
+      return price;
+    }
+
+    public void setPrice(double price) {
+      this.price = price;
+    }
+
+    public boolean isAvailable() {
+      return available;
+    }
+
+    public void setAvailable(boolean available) {
+      this.available = available;
+    }
+  }
+
+  @Path("books")
+  public static class BookResource {
+    @GET
+    @Path("{id}")
+    @Produces(APPLICATION_JSON)
+    public Book get(@PathParam("id") String id) {
+      Book book = new Book();
+      book.setId(id);
+      book.setTitle("JAX-RS in Action");
+      book.setAuthor("Andrew");
+      book.setPages(512);
+      book.setPrice(19.99);
+      book.setAvailable(true);
+      return book;
+    }
+
+    @POST
+    @Path("orders")
+    @Consumes(APPLICATION_FORM_URLENCODED)
+    @Produces(TEXT_PLAIN)
+    public String order(
+        @FormParam("book") String book,
+        @FormParam("quantity") int quantity,
+        @FormParam("comment") String comment) {
+      return book + ':' + quantity;
+    }
+
+    @POST
+    @Path("covers")
+    @Consumes(MULTIPART_FORM_DATA)
+    @Produces(TEXT_PLAIN)
+    public String upload(List<InputItem> items) throws IOException {
+      long size = 0;
+      for (InputItem item : items) {
+        size += item.getBodyAsString().length();
+      }
+      return Long.toString(size);
+    }
+  }
+
+  @Path("stores")
+  public static class StoreResource {
+    @Path("{store}")
+    public Store store(@PathParam("store") String store) {
+      return new Store(store);
+    }
+  }
+
+  public static class Store {
+    private final String store;
+
+    public Store(String store) {
+      this.store = store;
+    }
+
+    @Path("shelves/{shelf}")
+    public Shelf shelf(@PathParam("shelf") String shelf) {
+      return new Shelf(store, shelf);
+    }
+  }
+
+  public static class Shelf {
+    private final String store;
+    private final String shelf;
+
+    public Shelf(String store, String shelf) {
+      this.store = store;
+      this.shelf = shelf;
+    }
+
+    @Path("books/{book}")
+    public ShelvedBook book(@PathParam("book") String book) {
+      return new ShelvedBook(store, shelf, book);
+    }
+  }
+
+  public static class ShelvedBook {
+    private final String store;
+    private final String shelf;
+    private final String book;
+
+    public ShelvedBook(String store, String shelf, String book) {
+      this.store = store;
+      this.shelf = shelf;
+      this.book = book;
+    }
+
+    @GET
+    @Path("pages/{page}")
+    @Produces(TEXT_PLAIN)
+    public String page(@PathParam("page") int page, @QueryParam("lines") int lines) {
+      return store + '/' + shelf + '/' + book + '/' + page + '/' + lines;
+    }
+  }
+
+  private Bookstore() {}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.benchmarks;
+
+import jakarta.ws.rs.core.Application;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.everrest.core.ContainerResponseWriter;
+import org.everrest.core.impl.ApplicationProviderBinder;
+import org.everrest.core.impl.ContainerRequest;
+import org.everrest.core.impl.ContainerResponse;
+import org.everrest.core.impl.EnvironmentContext;
+import org.everrest.core.impl.EverrestConfiguration;
+import org.everrest.core.impl.EverrestProcessor;
+import org.everrest.core.impl.InputHeadersMap;
+import org.everrest.core.impl.RequestDispatcher;
+import org.everrest.core.impl.RequestHandlerImpl;
+import org.everrest.core.impl.ResourceBinderImpl;
+import org.everrest.core.tools.ByteArrayContainerResponseWriter;
+import org.everrest.core.tools.DependencySupplierImpl;
+import org.everrest.core.tools.SimpleSecurityContext;
+
+/**
+ * Runs requests through the whole {@link EverrestProcessor} pipeline in the current thread without
+ * servlet container. Typically response is written with {@link ByteArrayContainerResponseWriter}.
+ */
+public final class InProcessContainer {
+  public static final String BASE_URI = "http://localhost:8080/rest";
+
+  private final EverrestProcessor processor;
+
+  /**
+   * @param configuration configuration of EverRest
+   * @param resourceClasses per-request root resources and providers
+   */
+  public InProcessContainer(EverrestConfiguration configuration, Set<Class<?>> resourceClasses) {
+    processor =
+        new EverrestProcessor(
+            configuration,
+            new DependencySupplierImpl(),
+            new RequestHandlerImpl(
+                new RequestDispatcher(new ResourceBinderImpl()), new ApplicationProviderBinder()),
+            new Application() {
+              @Override
+              public Set<Class<?>> getClasses() {
+                return resourceClasses;
+              }
+            });
+  }
+
+  /**
+   * Processes request.
+   *
+   * @param method HTTP method
+   * @param path path of request relative to {@link #BASE_URI}, may contain query string
+   * @param headers HTTP headers
+   * @param entity entity of request or {@code null}
+   * @param environment environment of request, e.g. servlet request
+   * @param writer writer of response
+   * @return response
+   */
+  public ContainerResponse service(
+      String method,
+      String path,
+      Map<String, List<String>> headers,
+      byte[] entity,
+      EnvironmentContext environment,
+      ContainerResponseWriter writer)
+      throws IOException {
+    ContainerRequest request =
+        new ContainerRequest(
+            method,
+            URI.create(BASE_URI + path),
+            URI.create(BASE_URI),
+            new ByteArrayInputStream(entity == null ? new byte[0] : entity),
+            new InputHeadersMap(headers == null ? Collections.emptyMap() : headers),
+            new SimpleSecurityContext(false));
+    ContainerResponse response = new ContainerResponse(writer);
+    processor.process(
+        request, response, environment == null ? new EnvironmentContext() : environment);
+    return response;
+  }
+
+  public void stop() {
+    processor.stop();
+  }
+}
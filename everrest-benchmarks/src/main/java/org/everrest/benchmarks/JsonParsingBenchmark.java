@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import org.everrest.benchmarks.Bookstore.Book;
+import org.everrest.core.impl.provider.json.JsonException;
+import org.everrest.core.impl.provider.json.JsonGenerator;
+import org.everrest.core.impl.provider.json.JsonParser;
+import org.everrest.core.impl.provider.json.JsonReader;
+import org.everrest.core.impl.provider.json.JsonValue;
+import org.everrest.core.impl.provider.json.JsonWriter;
+import org.everrest.core.impl.provider.json.StreamingObjectBuilder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of UTF-8 encoded JSON documents: tree of JSON values created by {@link JsonParser},
+ * events of {@link JsonReader} and Java objects created by {@link StreamingObjectBuilder}. Besides
+ * number of operations per second, {@code megabytes} counter shows how many megabytes of JSON are
+ * parsed per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonParsingBenchmark {
+  /** JSON documents that are parsed in benchmarks. */
+  public enum Payload {
+    /** Single small object. */
+    SMALL(Book.class) {
+      @Override
+      Object create() {
+        return createBook(1);
+      }
+    },
+    /** Array of thousand objects with string, number and boolean fields. */
+    BOOKS(Book[].class) {
+      @Override
+      Object create() {
+        Book[] books = new Book[1000];
+        for (int i = 0; i < books.length; i++) {
+          books[i] = createBook(i);
+        }
+        return books;
+      }
+    },
+    /** Array of long strings with escaped and not ASCII characters. */
+    TEXT(String[].class) {
+      @Override
+      Object create() {
+        String[] text = new String[200];
+        for (int i = 0; i < text.length; i++) {
+          StringBuilder line = new StringBuilder();
+          while (line.length() < 500) {
+            line.append("Lorem ipsum dolor sit amet, \"quoted\"\tЧасть текста ").append(i);
+          }
+          text[i] = line.toString();
+        }
+        return text;
+      }
+    };
+
+    private final Class<?> type;
+
+    Payload(Class<?> type) {
+      this.type = type;
+    }
+
+    abstract Object create();
+
+    private static Book createBook(int i) {
+      Book book = new Book();
+      book.setId(Integer.toString(i));
+      book.setTitle("Java Performance, edition " + i);
+      book.setAuthor("Scott Oaks");
+      book.setPages(100 + i);
+      book.setPrice(39.99 + i);
+      book.setAvailable(i % 2 == 0);
+      return book;
+    }
+  }
+
+  /** Counts bytes of parsed JSON. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class ParsedBytes {
+    private long bytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      bytes = 0;
+    }
+
+    public double megabytes() {
+      return bytes / (1024.0 * 1024.0);
+    }
+  }
+
+  @Param({"SMALL", "BOOKS", "TEXT"})
+  public Payload payload;
+
+  private byte[] json;
+
+  @Setup
+  public void setUp() throws JsonException {
+    Object value = payload.create();
+    StringWriter writer = new StringWriter();
+    if (value.getClass().isArray()) {
+      JsonGenerator.writeJsonArray(value, new JsonWriter(writer));
+    } else {
+      JsonGenerator.writeJsonObject(value, new JsonWriter(writer));
+    }
+    json = writer.toString().getBytes(UTF_8);
+  }
+
+  @Benchmark
+  public JsonValue parseTree(ParsedBytes parsed) throws JsonException {
+    JsonParser parser = new JsonParser();
+    parser.parse(new ByteArrayInputStream(json));
+    parsed.bytes += json.length;
+    return parser.getJsonObject();
+  }
+
+  @Benchmark
+  public int readEvents(ParsedBytes parsed) throws JsonException {
+    JsonReader reader = new JsonReader(new ByteArrayInputStream(json));
+    int events = 0;
+    while (reader.next() != JsonReader.Event.END_DOCUMENT) {
+      events++;
+    }
+    parsed.bytes += json.length;
+    return events;
+  }
+
+  @Benchmark
+  public Object bindObjects(ParsedBytes parsed) throws JsonException {
+    Object result =
+        StreamingObjectBuilder.createObject(payload.type, null, new ByteArrayInputStream(json));
+    parsed.bytes += json.length;
+    return result;
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.benchmarks;
+
+import static jakarta.ws.rs.core.HttpHeaders.ACCEPT;
+import static jakarta.ws.rs.core.MediaType.TEXT_PLAIN;
+import static java.util.Collections.singletonList;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.everrest.core.impl.ContainerResponse;
+import org.everrest.core.impl.EverrestConfiguration;
+import org.everrest.core.tools.ByteArrayContainerResponseWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares invocation of resource constructor, field injection and resource method with core
+ * reflection and with method handles, see {@link
+ * EverrestConfiguration#EVERREST_METHOD_HANDLE_INVOCATION}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MethodInvocationBenchmark {
+  @Path("invocation/{a}")
+  public static class InjectedResource {
+    private final String a;
+
+    @QueryParam("q")
+    private String q;
+
+    @HeaderParam("h")
+    private String h;
+
+    public InjectedResource(@PathParam("a") String a) {
+      this.a = a;
+    }
+
+    public void setH(String h) {
+      this.h = h;
+    }
+
+    @GET
+    @Path("{b}")
+    @Produces(TEXT_PLAIN)
+    public String get(
+        @PathParam("b") String b, @QueryParam("c") int c, @HeaderParam("d") String d) {
+      return a + b + c + d + q + h;
+    }
+  }
+
+  @Param({"false", "true"})
+  public boolean methodHandleInvocation;
+
+  private InProcessContainer container;
+  private Map<String, List<String>> headers;
+
+  @Setup
+  public void setUp() throws IOException {
+    EverrestConfiguration configuration = new EverrestConfiguration();
+    configuration.setMethodHandleInvocation(methodHandleInvocation);
+    container = new InProcessContainer(configuration, Set.of(InjectedResource.class));
+    headers = new HashMap<>();
+    headers.put(ACCEPT, singletonList(TEXT_PLAIN));
+    headers.put("h", singletonList("header"));
+    headers.put("d", singletonList("other header"));
+
+    ContainerResponse response = invoke();
+    if (response.getStatus() != 200) {
+      throw new IllegalStateException(
+          String.format("Benchmark is broken, unexpected status %d", response.getStatus()));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    container.stop();
+  }
+
+  @Benchmark
+  public ContainerResponse invoke() throws IOException {
+    return container.service(
+        "GET",
+        "/invocation/first/second?c=3&q=query",
+        headers,
+        null,
+        null,
+        new ByteArrayContainerResponseWriter());
+  }
+}
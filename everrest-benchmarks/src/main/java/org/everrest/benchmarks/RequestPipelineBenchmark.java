@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.benchmarks;
+
+import static jakarta.ws.rs.core.HttpHeaders.ACCEPT;
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.everrest.core.impl.ContainerResponse;
+import org.everrest.core.impl.EnvironmentContext;
+import org.everrest.core.impl.EverrestConfiguration;
+import org.everrest.core.tools.ByteArrayContainerResponseWriter;
+import org.everrest.test.mock.MockHttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the whole request pipeline: {@code EverrestProcessor.process} -> {@code
+ * RequestHandlerImpl.handleRequest} -> {@code RequestDispatcher.dispatch} -> {@code
+ * ContainerResponse.writeResponse}. Each benchmark method processes exactly one request, so {@code
+ * gc.alloc.rate.norm} reported by GC profiler is number of bytes allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestPipelineBenchmark {
+  private static final String BOUNDARY = "EverrestBenchmarkBoundary";
+
+  private InProcessContainer container;
+
+  private Map<String, List<String>> jsonHeaders;
+  private Map<String, List<String>> textHeaders;
+  private Map<String, List<String>> formHeaders;
+  private Map<String, List<String>> multipartHeaders;
+  private Map<String, List<String>> wadlHeaders;
+  private byte[] form;
+  private byte[] multipart;
+
+  @Setup
+  public void setUp() throws IOException {
+    container =
+        new InProcessContainer(
+            new EverrestConfiguration(),
+            Set.of(Bookstore.BookResource.class, Bookstore.StoreResource.class));
+
+    jsonHeaders = headers(ACCEPT, "application/json");
+    textHeaders = headers(ACCEPT, "text/plain");
+    wadlHeaders = headers(ACCEPT, "application/vnd.sun.wadl+xml");
+
+    form = "book=101&quantity=2&comment=gift+wrap%2C+please".getBytes(UTF_8);
+    formHeaders = headers(ACCEPT, "text/plain");
+    formHeaders.put(CONTENT_TYPE, singletonList("application/x-www-form-urlencoded"));
+    formHeaders.put(CONTENT_LENGTH, singletonList(Integer.toString(form.length)));
+
+    StringBuilder body = new StringBuilder();
+    body.append("--").append(BOUNDARY).append("\r\n");
+    body.append("Content-Disposition: form-data; name=\"title\"\r\n\r\n");
+    body.append("JAX-RS in Action\r\n");
+    body.append("--").append(BOUNDARY).append("\r\n");
+    body.append("Content-Disposition: form-data; name=\"cover\"; filename=\"cover.txt\"\r\n");
+    body.append("Content-Type: text/plain\r\n\r\n");
+    for (int i = 0; i < 64; i++) {
+      body.append("0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef\n");
+    }
+    body.append("\r\n--").append(BOUNDARY).append("--\r\n");
+    multipart = body.toString().getBytes(UTF_8);
+    multipartHeaders = headers(ACCEPT, "text/plain");
+    multipartHeaders.put(CONTENT_TYPE, singletonList("multipart/form-data; boundary=" + BOUNDARY));
+    multipartHeaders.put(CONTENT_LENGTH, singletonList(Integer.toString(multipart.length)));
+
+    expectStatus("smallJsonGet", 200, smallJsonGet());
+    expectStatus("subResourceLocators", 200, subResourceLocators());
+    expectStatus("formPost", 200, formPost());
+    expectStatus("multipartUpload", 200, multipartUpload());
+    expectStatus("notFound", 404, notFound());
+    expectStatus("optionsWadl", 200, optionsWadl());
+  }
+
+  @TearDown
+  public void tearDown() {
+    container.stop();
+  }
+
+  @Benchmark
+  public ContainerResponse smallJsonGet() throws IOException {
+    return service("GET", "/books/101", jsonHeaders, null, null);
+  }
+
+  @Benchmark
+  public ContainerResponse subResourceLocators() throws IOException {
+    return service(
+        "GET", "/stores/kyiv/shelves/fiction/books/101/pages/42?lines=30", textHeaders, null, null);
+  }
+
+  @Benchmark
+  public ContainerResponse formPost() throws IOException {
+    return service("POST", "/books/orders", formHeaders, form, null);
+  }
+
+  @Benchmark
+  public ContainerResponse multipartUpload() throws IOException {
+    EnvironmentContext environment = new EnvironmentContext();
+    environment.put(
+        HttpServletRequest.class,
+        new MockHttpServletRequest(
+            InProcessContainer.BASE_URI + "/books/covers",
+            new ByteArrayInputStream(multipart),
+            multipart.length,
+            "POST",
+            multipartHeaders));
+    return service("POST", "/books/covers", multipartHeaders, multipart, environment);
+  }
+
+  @Benchmark
+  public ContainerResponse notFound() throws IOException {
+    return service("GET", "/authors/andrew/books", jsonHeaders, null, null);
+  }
+
+  @Benchmark
+  public ContainerResponse optionsWadl() throws IOException {
+    return service("OPTIONS", "/books", wadlHeaders, null, null);
+  }
+
+  private ContainerResponse service(
+      String method,
+      String path,
+      Map<String, List<String>> headers,
+      byte[] entity,
+      EnvironmentContext environment)
+      throws IOException {
+    return container.service(
+        method, path, headers, entity, environment, new ByteArrayContainerResponseWriter());
+  }
+
+  private static Map<String, List<String>> headers(String name, String value) {
+    Map<String, List<String>> headers = new HashMap<>();
+    headers.put(name, singletonList(value));
+    return headers;
+  }
+
+  private static void expectStatus(String benchmark, int expected, ContainerResponse response) {
+    if (response.getStatus() != expected) {
+      throw new IllegalStateException(
+          String.format(
+              "Benchmark %s is broken, expected status %d but was %d",
+              benchmark, expected, response.getStatus()));
+    }
+  }
+}
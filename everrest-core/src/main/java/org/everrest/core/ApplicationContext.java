@@ -39,9 +39,12 @@ import org.everrest.core.impl.ProviderBinder;
 import org.everrest.core.impl.async.AsynchronousJobPool;
 import org.everrest.core.impl.async.AsynchronousMethodInvoker;
 import org.everrest.core.impl.method.DefaultMethodInvoker;
+import org.everrest.core.impl.method.MethodInvocationPlan;
+import org.everrest.core.impl.method.MethodInvocationPlanHolder;
 import org.everrest.core.impl.method.MethodInvokerDecoratorFactory;
 import org.everrest.core.impl.method.OptionsRequestMethodInvoker;
 import org.everrest.core.impl.method.ParameterResolverFactory;
+import org.everrest.core.impl.uri.QueryParametersMap;
 import org.everrest.core.impl.uri.UriComponent;
 import org.everrest.core.method.MethodInvoker;
 import org.everrest.core.resource.GenericResourceMethod;
@@ -62,6 +65,16 @@ public class ApplicationContext implements UriInfo, InitialProperties, Lifecycle
   /** {@link ThreadLocal} ApplicationContext. */
   private static ThreadLocal<ApplicationContext> current = new ThreadLocal<>();
 
+  /**
+   * Shared by all requests. Resource method descriptors keep invocation plans created with this
+   * factory, see {@link org.everrest.core.impl.method.MethodInvocationPlanHolder}.
+   */
+  private static final ParameterResolverFactory PARAMETER_RESOLVER_FACTORY =
+      new ParameterResolverFactory();
+
+  private static final MethodInvoker DEFAULT_METHOD_INVOKER =
+      new DefaultMethodInvoker(PARAMETER_RESOLVER_FACTORY);
+
   /** @return current ApplicationContext. */
   public static ApplicationContext getCurrent() {
     return current.get();
@@ -76,6 +89,27 @@ public class ApplicationContext implements UriInfo, InitialProperties, Lifecycle
     current.set(context);
   }
 
+  /**
+   * Create invocation plan of resource method, sub-resource method or sub-resource locator if it is
+   * not created yet, so it is not created when method is invoked first time. Does nothing if method
+   * descriptor does not keep invocation plan.
+   *
+   * @param methodDescriptor descriptor of method
+   * @param methodHandle if {@code true} then handle of method is created as well, see {@link
+   *     org.everrest.core.impl.EverrestConfiguration#EVERREST_METHOD_HANDLE_INVOCATION}
+   */
+  public static void prepareMethodInvocation(
+      GenericResourceMethod methodDescriptor, boolean methodHandle) {
+    if (methodDescriptor instanceof MethodInvocationPlanHolder) {
+      MethodInvocationPlan plan =
+          ((MethodInvocationPlanHolder) methodDescriptor)
+              .getMethodInvocationPlan(PARAMETER_RESOLVER_FACTORY);
+      if (methodHandle) {
+        plan.getMethodHandle();
+      }
+    }
+  }
+
   /** See {@link GenericContainerRequest}. */
   private GenericContainerRequest request;
   /** See {@link ContainerResponse}. */
@@ -114,6 +148,13 @@ public class ApplicationContext implements UriInfo, InitialProperties, Lifecycle
   private MultivaluedMap<String, String> encodedQueryParameters;
   /** Decoded query parameters. */
   private MultivaluedMap<String, String> queryParameters;
+  /** Tracing of request, resolved when it is checked first time. */
+  private Boolean tracingEnabled;
+  /**
+   * Is tracing allowed by configuration. If {@code null} then it is read from {@link
+   * #getEverrestConfiguration()}.
+   */
+  private final Boolean tracingAllowed;
 
   private SecurityContext asynchronousSecurityContext;
   private Application application;
@@ -129,6 +170,7 @@ public class ApplicationContext implements UriInfo, InitialProperties, Lifecycle
     configuration = builder.configuration;
     dependencySupplier = builder.dependencySupplier;
     methodInvokerDecoratorFactory = builder.methodInvokerDecoratorFactory;
+    tracingAllowed = builder.tracingAllowed;
     parameterValues = new ArrayList<>();
     matchedResources = new ArrayList<>();
     encodedMatchedURIs = new ArrayList<>();
@@ -265,10 +307,10 @@ public class ApplicationContext implements UriInfo, InitialProperties, Lifecycle
       }
       invoker =
           new AsynchronousMethodInvoker(
-              asyncJobsResolver.getContext(null), new ParameterResolverFactory());
+              asyncJobsResolver.getContext(null), PARAMETER_RESOLVER_FACTORY);
     }
     if (invoker == null) {
-      invoker = new DefaultMethodInvoker(new ParameterResolverFactory());
+      invoker = DEFAULT_METHOD_INVOKER;
     }
     if (methodInvokerDecoratorFactory != null) {
       return methodInvokerDecoratorFactory.makeDecorator(invoker);
@@ -388,12 +430,11 @@ public class ApplicationContext implements UriInfo, InitialProperties, Lifecycle
     if (decode) {
       return queryParameters != null
           ? queryParameters
-          : (queryParameters = UriComponent.parseQueryString(getRequestUri().getRawQuery(), true));
+          : (queryParameters = new QueryParametersMap(getRequestUri().getRawQuery(), true));
     }
     return encodedQueryParameters != null
         ? encodedQueryParameters
-        : (encodedQueryParameters =
-            UriComponent.parseQueryString(getRequestUri().getRawQuery(), false));
+        : (encodedQueryParameters = new QueryParametersMap(getRequestUri().getRawQuery(), false));
   }
 
   /** @return See {@link Request} */
@@ -487,6 +528,23 @@ public class ApplicationContext implements UriInfo, InitialProperties, Lifecycle
         || Boolean.parseBoolean(request.getRequestHeaders().getFirst("x-everrest-async"));
   }
 
+  /**
+   * Check is tracing of request enabled. Tracing is enabled if it is allowed in {@link
+   * EverrestConfiguration#EVERREST_TRACING configuration} and request has query parameter {@code
+   * tracing=true}. Result is resolved once and reused for the whole request.
+   *
+   * @return {@code true} if tracing is enabled and {@code false} otherwise
+   * @see org.everrest.core.util.Tracer
+   */
+  public boolean isTracingEnabled() {
+    if (tracingEnabled == null) {
+      boolean allowed =
+          tracingAllowed == null ? getEverrestConfiguration().isTracingEnabled() : tracingAllowed;
+      tracingEnabled = allowed && Boolean.parseBoolean(getQueryParameters().getFirst("tracing"));
+    }
+    return tracingEnabled;
+  }
+
   public Application getApplication() {
     return application;
   }
@@ -538,6 +596,7 @@ public class ApplicationContext implements UriInfo, InitialProperties, Lifecycle
     private MethodInvokerDecoratorFactory methodInvokerDecoratorFactory;
     private EverrestConfiguration configuration;
     private DependencySupplier dependencySupplier;
+    private Boolean tracingAllowed;
 
     private ApplicationContextBuilder() {
       properties = new HashMap<>();
@@ -581,6 +640,15 @@ public class ApplicationContext implements UriInfo, InitialProperties, Lifecycle
       return this;
     }
 
+    /**
+     * Set is tracing allowed, see {@link EverrestConfiguration#EVERREST_TRACING}. If not set then
+     * value from configuration of context is used.
+     */
+    public ApplicationContextBuilder withTracingAllowed(boolean tracingAllowed) {
+      this.tracingAllowed = tracingAllowed;
+      return this;
+    }
+
     public ApplicationContextBuilder withDependencySupplier(DependencySupplier dependencySupplier) {
       this.dependencySupplier = dependencySupplier;
       return this;
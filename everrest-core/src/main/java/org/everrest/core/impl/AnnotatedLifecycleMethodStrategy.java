@@ -11,12 +11,6 @@
  */
 package org.everrest.core.impl;
 
-import static java.util.concurrent.TimeUnit.MINUTES;
-
-import com.google.common.base.Throwables;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import java.lang.annotation.Annotation;
@@ -27,8 +21,8 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
 import org.everrest.core.LifecycleMethodStrategy;
+import org.everrest.core.util.DescriptorRegistry;
 
 /**
  * Implementation of LifecycleComponent.LifecycleMethodStrategy that uses {@link PostConstruct} and
@@ -85,47 +79,20 @@ public final class AnnotatedLifecycleMethodStrategy implements LifecycleMethodSt
       new MethodFilter(PostConstruct.class);
   private static final MethodFilter PRE_DESTROY_METHOD_FILTER = new MethodFilter(PreDestroy.class);
 
-  private final LoadingCache<Class<?>, Method[]> initializeMethodsCache;
-  private final LoadingCache<Class<?>, Method[]> destroyMethodsCache;
-
-  public AnnotatedLifecycleMethodStrategy() {
-    initializeMethodsCache =
-        CacheBuilder.newBuilder()
-            .concurrencyLevel(8)
-            .maximumSize(256)
-            .expireAfterAccess(10, MINUTES)
-            .build(
-                new CacheLoader<Class<?>, Method[]>() {
-                  @Override
-                  public Method[] load(Class<?> aClass) {
-                    return getLifecycleMethods(aClass, POST_CONSTRUCT_METHOD_FILTER);
-                  }
-                });
-    destroyMethodsCache =
-        CacheBuilder.newBuilder()
-            .concurrencyLevel(8)
-            .maximumSize(256)
-            .expireAfterAccess(10, MINUTES)
-            .build(
-                new CacheLoader<Class<?>, Method[]>() {
-                  @Override
-                  public Method[] load(Class<?> aClass) {
-                    return getLifecycleMethods(aClass, PRE_DESTROY_METHOD_FILTER);
-                  }
-                });
-  }
+  private static final DescriptorRegistry<Method[]> INITIALIZE_METHODS =
+      DescriptorRegistry.create(
+          "PostConstructMethods",
+          aClass -> getLifecycleMethods(aClass, POST_CONSTRUCT_METHOD_FILTER));
+  private static final DescriptorRegistry<Method[]> DESTROY_METHODS =
+      DescriptorRegistry.create(
+          "PreDestroyMethods", aClass -> getLifecycleMethods(aClass, PRE_DESTROY_METHOD_FILTER));
 
   /** @see LifecycleMethodStrategy#invokeInitializeMethods(java.lang.Object) */
   @Override
   public void invokeInitializeMethods(Object o) {
     final Class<?> aClass = o.getClass();
-    Method[] initMethods = null;
-    try {
-      initMethods = initializeMethodsCache.get(aClass);
-    } catch (ExecutionException e) {
-      Throwables.propagate(e);
-    }
-    if (initMethods != null && initMethods.length > 0) {
+    Method[] initMethods = INITIALIZE_METHODS.get(aClass);
+    if (initMethods.length > 0) {
       doInvokeLifecycleMethods(o, initMethods);
     }
   }
@@ -134,18 +101,23 @@ public final class AnnotatedLifecycleMethodStrategy implements LifecycleMethodSt
   @Override
   public void invokeDestroyMethods(Object o) {
     final Class<?> aClass = o.getClass();
-    Method[] destroyMethods = null;
-    try {
-      destroyMethods = destroyMethodsCache.get(aClass);
-    } catch (ExecutionException e) {
-      Throwables.propagate(e);
-    }
-    if (destroyMethods != null && destroyMethods.length > 0) {
+    Method[] destroyMethods = DESTROY_METHODS.get(aClass);
+    if (destroyMethods.length > 0) {
       doInvokeLifecycleMethods(o, destroyMethods);
     }
   }
 
-  private Method[] getLifecycleMethods(Class<?> cl, MethodFilter filter) {
+  /**
+   * Find lifecycle methods of class if they are not found yet.
+   *
+   * @param aClass class, must not be interface
+   */
+  static void warmUp(Class<?> aClass) {
+    INITIALIZE_METHODS.get(aClass);
+    DESTROY_METHODS.get(aClass);
+  }
+
+  private static Method[] getLifecycleMethods(Class<?> cl, MethodFilter filter) {
     try {
       List<Method> result = new LinkedList<>();
       Set<String> names = new HashSet<>();
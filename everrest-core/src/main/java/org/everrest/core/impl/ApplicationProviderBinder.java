@@ -83,6 +83,18 @@ public class ApplicationProviderBinder extends ProviderBinder {
     return writer;
   }
 
+  @Override
+  public boolean isMessageBodyReaderResolutionCached(MediaType mediaType) {
+    return super.isMessageBodyReaderResolutionCached(mediaType)
+        && getDefaults().isMessageBodyReaderResolutionCached(mediaType);
+  }
+
+  @Override
+  public boolean isMessageBodyWriterResolutionCached(MediaType mediaType) {
+    return super.isMessageBodyWriterResolutionCached(mediaType)
+        && getDefaults().isMessageBodyWriterResolutionCached(mediaType);
+  }
+
   @Override
   public List<MethodInvokerFilter> getMethodInvokerFilters(String path) {
     ApplicationContext context = ApplicationContext.getCurrent();
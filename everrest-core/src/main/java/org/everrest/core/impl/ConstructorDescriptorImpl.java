@@ -29,6 +29,7 @@ import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.Provider;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Type;
@@ -39,6 +40,8 @@ import org.everrest.core.ApplicationContext;
 import org.everrest.core.ConstructorDescriptor;
 import org.everrest.core.DependencySupplier;
 import org.everrest.core.Parameter;
+import org.everrest.core.impl.method.LazyMethodHandle;
+import org.everrest.core.impl.method.MethodHandleHelper;
 import org.everrest.core.impl.method.ParameterResolver;
 import org.everrest.core.impl.method.ParameterResolverFactory;
 import org.everrest.core.util.Tracer;
@@ -52,11 +55,15 @@ public class ConstructorDescriptorImpl implements ConstructorDescriptor {
   private final ParameterResolverFactory parameterResolverFactory;
   /** Collection of constructor's parameters. */
   private final List<Parameter> parameters;
+  /** Handle of constructor. It is used when invocation with method handles is enabled. */
+  private final LazyMethodHandle constructorHandle;
 
   public ConstructorDescriptorImpl(
       Constructor<?> constructor, ParameterResolverFactory parameterResolverFactory) {
     this.constructor = constructor;
     this.parameterResolverFactory = parameterResolverFactory;
+    this.constructorHandle =
+        new LazyMethodHandle(() -> MethodHandleHelper.createConstructorHandle(constructor));
 
     Class<?>[] parameterTypes = constructor.getParameterTypes();
     Class<?> declaringClass = constructor.getDeclaringClass();
@@ -176,6 +183,11 @@ public class ConstructorDescriptorImpl implements ConstructorDescriptor {
     }
 
     try {
+      MethodHandle constructorHandle =
+          MethodHandleHelper.isMethodHandleInvocation(context) ? getConstructorHandle() : null;
+      if (constructorHandle != null) {
+        return MethodHandleHelper.invokeConstructor(constructorHandle, parameterObjects.toArray());
+      }
       return constructor.newInstance(parameterObjects.toArray());
     } catch (IllegalArgumentException
         | InstantiationException
@@ -196,6 +208,10 @@ public class ConstructorDescriptorImpl implements ConstructorDescriptor {
     }
   }
 
+  private MethodHandle getConstructorHandle() {
+    return constructorHandle.get();
+  }
+
   @Override
   public String toString() {
     ToStringHelper toStringHelper =
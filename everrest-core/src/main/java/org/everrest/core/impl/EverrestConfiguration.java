@@ -30,6 +30,41 @@ public class EverrestConfiguration {
       "org.everrest.asynchronous.cache.size";
   public static final String EVERREST_ASYNCHRONOUS_JOB_TIMEOUT =
       "org.everrest.asynchronous.job.timeout";
+  /**
+   * Run each asynchronous job and each REST request received over WebSocket in its own virtual
+   * thread instead of fixed pool of threads. Number of concurrently running tasks is limited to sum
+   * of {@link #EVERREST_ASYNCHRONOUS_POOL_SIZE} and {@link #EVERREST_ASYNCHRONOUS_QUEUE_SIZE}, i.e.
+   * to the same number of tasks that fixed pool accepts. Platform threads are used if virtual
+   * threads are not supported by JVM. See {@link org.everrest.core.util.ThreadPerTaskExecutor}.
+   */
+  public static final String EVERREST_ASYNCHRONOUS_VIRTUAL_THREADS =
+      "org.everrest.asynchronous.virtual.threads";
+  /**
+   * Max time in seconds that client may wait for result of asynchronous job with query parameter
+   * {@code wait} of {@link org.everrest.core.impl.async.AsynchronousJobService}. Longer waits are
+   * cut to this value.
+   */
+  public static final String EVERREST_ASYNCHRONOUS_MAX_WAIT = "org.everrest.asynchronous.max.wait";
+  /**
+   * Serialize result of asynchronous job when job is done and keep serialized result out of heap
+   * until client gets it. Result is serialized with {@link jakarta.ws.rs.ext.MessageBodyWriter}
+   * that is selected for request that started job.
+   */
+  public static final String EVERREST_ASYNCHRONOUS_RESULT_SPOOL =
+      "org.everrest.asynchronous.result.spool";
+  /**
+   * Max size in bytes of off-heap memory for serialized results of asynchronous jobs. Results that
+   * do not fit in memory are written in temporary files.
+   */
+  public static final String EVERREST_ASYNCHRONOUS_RESULT_SPOOL_MEMORY =
+      "org.everrest.asynchronous.result.spool.memory";
+  /**
+   * Number of threads that send messages broadcast over WebSocket to subscribers of channel in
+   * parallel. If zero then messages are sent in thread that broadcasts them.
+   */
+  public static final String EVERREST_WEBSOCKET_BROADCAST_THREADS =
+      "org.everrest.websocket.broadcast.threads";
+
   public static final String METHOD_INVOKER_DECORATOR_FACTORY =
       "org.everrest.core.impl.method.MethodInvokerDecoratorFactory";
   /**
@@ -37,6 +72,60 @@ public class EverrestConfiguration {
    * stored in temporary directory on file system during entity processing.
    */
   public static final String EVERREST_MAX_BUFFER_SIZE = "org.everrest.max.buffer.size";
+  /**
+   * Use {@link java.lang.invoke.MethodHandle}s instead of core reflection for invocation of
+   * resource methods, constructors and field setters.
+   */
+  public static final String EVERREST_METHOD_HANDLE_INVOCATION =
+      "org.everrest.method.handle.invocation";
+  /**
+   * Process requests of {@link org.everrest.core.servlet.EverrestServlet} asynchronously. Servlet
+   * must be declared as async supported.
+   */
+  public static final String EVERREST_SERVLET_ASYNC = "org.everrest.servlet.async";
+  /**
+   * Number of threads that process asynchronous requests of {@link
+   * org.everrest.core.servlet.EverrestServlet}. Not used if executor is set in servlet context.
+   */
+  public static final String EVERREST_SERVLET_ASYNC_POOL_SIZE =
+      "org.everrest.servlet.async.pool.size";
+  /**
+   * Timeout of asynchronous request of {@link org.everrest.core.servlet.EverrestServlet} in
+   * seconds. Default timeout of servlet container is used if this parameter is not set or is not
+   * positive.
+   */
+  public static final String EVERREST_SERVLET_ASYNC_TIMEOUT = "org.everrest.servlet.async.timeout";
+  /**
+   * Max number of bytes of response entity that {@link org.everrest.core.servlet.EverrestServlet}
+   * keeps in memory for slow client when request is processed asynchronously. Thread that writes
+   * response waits when this limit is reached.
+   */
+  public static final String EVERREST_SERVLET_ASYNC_WRITE_BUFFER_SIZE =
+      "org.everrest.servlet.async.write.buffer.size";
+  /**
+   * Max time in seconds that thread which writes response of asynchronous request of {@link
+   * org.everrest.core.servlet.EverrestServlet} waits for slow client when write buffer is full.
+   * Writing of response fails after this time.
+   */
+  public static final String EVERREST_SERVLET_ASYNC_WRITE_TIMEOUT =
+      "org.everrest.servlet.async.write.timeout";
+  /**
+   * Allow clients to turn on tracing of request with query parameter {@code tracing=true}. If
+   * tracing is disabled with this parameter query parameter is ignored.
+   */
+  public static final String EVERREST_TRACING = "org.everrest.tracing";
+  /**
+   * Warm up application when {@link EverrestProcessor} is started: create descriptors of
+   * sub-resources, lists of lifecycle methods, JSON accessors of entity classes and resolve message
+   * body readers and writers of resource methods, so it is not done when requests are processed
+   * first time. See {@link EverrestWarmUp}.
+   */
+  public static final String EVERREST_WARM_UP = "org.everrest.warmup";
+  /**
+   * Number of threads that warm up application. Number of available processors is used if this
+   * parameter is not set or is not positive.
+   */
+  public static final String EVERREST_WARM_UP_PARALLELISM = "org.everrest.warmup.parallelism";
 
   public static final boolean defaultCheckSecurity = true;
   public static final boolean defaultHttpMethodOverride = true;
@@ -47,9 +136,24 @@ public class EverrestConfiguration {
   public static final int defaultAsynchronousQueueSize = 100;
   public static final int defaultAsynchronousCacheSize = 512;
   public static final int defaultAsynchronousJobTimeout = 60;
+  public static final boolean defaultAsynchronousVirtualThreads = false;
+  public static final int defaultAsynchronousMaxWait = 60;
+  public static final boolean defaultAsynchronousResultSpool = false;
+  public static final int defaultAsynchronousResultSpoolMemory = 67108864;
+  public static final int defaultWebSocketBroadcastThreads = 0;
   /** Max buffer size attribute value. See {@link #EVERREST_MAX_BUFFER_SIZE}. */
   public static final int defaultMaxBufferSize = 204800;
 
+  public static final boolean defaultMethodHandleInvocation = false;
+  public static final boolean defaultServletAsync = false;
+  public static final int defaultServletAsyncPoolSize = 20;
+  public static final int defaultServletAsyncTimeout = 0;
+  public static final int defaultServletAsyncWriteBufferSize = 65536;
+  public static final int defaultServletAsyncWriteTimeout = 60;
+  public static final boolean defaultTracingEnabled = true;
+  public static final boolean defaultWarmUp = false;
+  public static final int defaultWarmUpParallelism = 0;
+
   protected final Map<String, String> properties;
 
   public EverrestConfiguration() {
@@ -140,6 +244,53 @@ public class EverrestConfiguration {
     properties.put(EVERREST_ASYNCHRONOUS_JOB_TIMEOUT, Integer.toString(asynchronousJobTimeout));
   }
 
+  public boolean isAsynchronousVirtualThreads() {
+    return getBooleanProperty(
+        EVERREST_ASYNCHRONOUS_VIRTUAL_THREADS, defaultAsynchronousVirtualThreads);
+  }
+
+  public void setAsynchronousVirtualThreads(boolean asynchronousVirtualThreads) {
+    properties.put(
+        EVERREST_ASYNCHRONOUS_VIRTUAL_THREADS, Boolean.toString(asynchronousVirtualThreads));
+  }
+
+  public int getAsynchronousMaxWait() {
+    return getNumberProperty(EVERREST_ASYNCHRONOUS_MAX_WAIT, defaultAsynchronousMaxWait).intValue();
+  }
+
+  public void setAsynchronousMaxWait(int asynchronousMaxWait) {
+    properties.put(EVERREST_ASYNCHRONOUS_MAX_WAIT, Integer.toString(asynchronousMaxWait));
+  }
+
+  public boolean isAsynchronousResultSpool() {
+    return getBooleanProperty(EVERREST_ASYNCHRONOUS_RESULT_SPOOL, defaultAsynchronousResultSpool);
+  }
+
+  public void setAsynchronousResultSpool(boolean asynchronousResultSpool) {
+    properties.put(EVERREST_ASYNCHRONOUS_RESULT_SPOOL, Boolean.toString(asynchronousResultSpool));
+  }
+
+  public int getAsynchronousResultSpoolMemory() {
+    return getNumberProperty(
+            EVERREST_ASYNCHRONOUS_RESULT_SPOOL_MEMORY, defaultAsynchronousResultSpoolMemory)
+        .intValue();
+  }
+
+  public void setAsynchronousResultSpoolMemory(int asynchronousResultSpoolMemory) {
+    properties.put(
+        EVERREST_ASYNCHRONOUS_RESULT_SPOOL_MEMORY, Integer.toString(asynchronousResultSpoolMemory));
+  }
+
+  public int getWebSocketBroadcastThreads() {
+    return getNumberProperty(EVERREST_WEBSOCKET_BROADCAST_THREADS, defaultWebSocketBroadcastThreads)
+        .intValue();
+  }
+
+  public void setWebSocketBroadcastThreads(int webSocketBroadcastThreads) {
+    properties.put(
+        EVERREST_WEBSOCKET_BROADCAST_THREADS, Integer.toString(webSocketBroadcastThreads));
+  }
+
   public int getMaxBufferSize() {
     return getNumberProperty(EVERREST_MAX_BUFFER_SIZE, defaultMaxBufferSize).intValue();
   }
@@ -148,6 +299,84 @@ public class EverrestConfiguration {
     properties.put(EVERREST_MAX_BUFFER_SIZE, Integer.toString(maxBufferSize));
   }
 
+  public boolean isMethodHandleInvocation() {
+    return getBooleanProperty(EVERREST_METHOD_HANDLE_INVOCATION, defaultMethodHandleInvocation);
+  }
+
+  public void setMethodHandleInvocation(boolean methodHandleInvocation) {
+    properties.put(EVERREST_METHOD_HANDLE_INVOCATION, Boolean.toString(methodHandleInvocation));
+  }
+
+  public boolean isServletAsync() {
+    return getBooleanProperty(EVERREST_SERVLET_ASYNC, defaultServletAsync);
+  }
+
+  public void setServletAsync(boolean servletAsync) {
+    properties.put(EVERREST_SERVLET_ASYNC, Boolean.toString(servletAsync));
+  }
+
+  public int getServletAsyncPoolSize() {
+    return getNumberProperty(EVERREST_SERVLET_ASYNC_POOL_SIZE, defaultServletAsyncPoolSize)
+        .intValue();
+  }
+
+  public void setServletAsyncPoolSize(int servletAsyncPoolSize) {
+    properties.put(EVERREST_SERVLET_ASYNC_POOL_SIZE, Integer.toString(servletAsyncPoolSize));
+  }
+
+  public int getServletAsyncTimeout() {
+    return getNumberProperty(EVERREST_SERVLET_ASYNC_TIMEOUT, defaultServletAsyncTimeout).intValue();
+  }
+
+  public void setServletAsyncTimeout(int servletAsyncTimeout) {
+    properties.put(EVERREST_SERVLET_ASYNC_TIMEOUT, Integer.toString(servletAsyncTimeout));
+  }
+
+  public int getServletAsyncWriteBufferSize() {
+    return getNumberProperty(
+            EVERREST_SERVLET_ASYNC_WRITE_BUFFER_SIZE, defaultServletAsyncWriteBufferSize)
+        .intValue();
+  }
+
+  public void setServletAsyncWriteBufferSize(int servletAsyncWriteBufferSize) {
+    properties.put(
+        EVERREST_SERVLET_ASYNC_WRITE_BUFFER_SIZE, Integer.toString(servletAsyncWriteBufferSize));
+  }
+
+  public int getServletAsyncWriteTimeout() {
+    return getNumberProperty(EVERREST_SERVLET_ASYNC_WRITE_TIMEOUT, defaultServletAsyncWriteTimeout)
+        .intValue();
+  }
+
+  public void setServletAsyncWriteTimeout(int servletAsyncWriteTimeout) {
+    properties.put(
+        EVERREST_SERVLET_ASYNC_WRITE_TIMEOUT, Integer.toString(servletAsyncWriteTimeout));
+  }
+
+  public boolean isTracingEnabled() {
+    return getBooleanProperty(EVERREST_TRACING, defaultTracingEnabled);
+  }
+
+  public void setTracingEnabled(boolean tracingEnabled) {
+    properties.put(EVERREST_TRACING, Boolean.toString(tracingEnabled));
+  }
+
+  public boolean isWarmUp() {
+    return getBooleanProperty(EVERREST_WARM_UP, defaultWarmUp);
+  }
+
+  public void setWarmUp(boolean warmUp) {
+    properties.put(EVERREST_WARM_UP, Boolean.toString(warmUp));
+  }
+
+  public int getWarmUpParallelism() {
+    return getNumberProperty(EVERREST_WARM_UP_PARALLELISM, defaultWarmUpParallelism).intValue();
+  }
+
+  public void setWarmUpParallelism(int warmUpParallelism) {
+    properties.put(EVERREST_WARM_UP_PARALLELISM, Integer.toString(warmUpParallelism));
+  }
+
   public void setProperty(String name, String value) {
     if (value == null) {
       properties.remove(name);
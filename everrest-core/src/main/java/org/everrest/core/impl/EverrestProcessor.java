@@ -18,6 +18,7 @@ import static org.everrest.core.impl.EverrestConfiguration.METHOD_INVOKER_DECORA
 
 import jakarta.ws.rs.core.Application;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import org.everrest.core.ApplicationContext;
@@ -42,6 +43,8 @@ public class EverrestProcessor implements Lifecycle {
   private final RequestHandler requestHandler;
   private final EverrestApplication everrestApplication;
   private final EverrestConfiguration configuration;
+  /** See {@link EverrestConfiguration#EVERREST_TRACING}. Read once, not on each request. */
+  private final boolean tracingAllowed;
 
   private final MethodInvokerDecoratorFactory methodInvokerDecoratorFactory;
   /**
@@ -49,6 +52,8 @@ public class EverrestProcessor implements Lifecycle {
    * be accessible via method {@link ApplicationContext#getProperties()}.
    */
   private final Map<String, String> properties;
+  /** Time in milliseconds that was spent in each phase of warm-up. */
+  private volatile Map<String, Long> warmUpTimes = Collections.emptyMap();
 
   public EverrestProcessor(DependencySupplier dependencySupplier, RequestHandler requestHandler) {
     this(null, dependencySupplier, requestHandler, null);
@@ -60,6 +65,7 @@ public class EverrestProcessor implements Lifecycle {
       RequestHandler requestHandler,
       Application application) {
     this.configuration = configuration == null ? new EverrestConfiguration() : configuration;
+    this.tracingAllowed = this.configuration.isTracingEnabled();
     this.dependencySupplier = dependencySupplier;
     this.requestHandler = requestHandler;
 
@@ -115,6 +121,7 @@ public class EverrestProcessor implements Lifecycle {
             .withProperties(properties)
             .withApplication(everrestApplication)
             .withConfiguration(new EverrestConfiguration(configuration))
+            .withTracingAllowed(tracingAllowed)
             .withDependencySupplier(dependencySupplier)
             .withMethodInvokerDecoratorFactory(methodInvokerDecoratorFactory)
             .build();
@@ -162,8 +169,33 @@ public class EverrestProcessor implements Lifecycle {
     applicationPublisher.publish(application);
   }
 
+  /**
+   * Starts processor. If warm-up is enabled in configuration then application is warmed up before
+   * this method returns, see {@link EverrestConfiguration#EVERREST_WARM_UP}. Failure of warm-up is
+   * logged and does not prevent starting of processor.
+   */
   @Override
-  public void start() {}
+  public void start() {
+    if (configuration.isWarmUp()) {
+      try {
+        warmUpTimes =
+            Collections.unmodifiableMap(
+                new EverrestWarmUp(getResources(), getProviders(), configuration).run());
+      } catch (RuntimeException | LinkageError e) {
+        // Warm-up only speeds up first requests, application must work without it.
+        LOG.warn("Warm-up of application failed", e);
+      }
+    }
+  }
+
+  /**
+   * @return time in milliseconds that was spent in each phase of warm-up or empty map if
+   *     application was not warmed up
+   * @see EverrestWarmUp
+   */
+  public Map<String, Long> getWarmUpTimes() {
+    return warmUpTimes;
+  }
 
   @Override
   public void stop() {
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+
+import jakarta.ws.rs.core.GenericEntity;
+import jakarta.ws.rs.core.MediaType;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import org.everrest.core.ApplicationContext;
+import org.everrest.core.ObjectFactory;
+import org.everrest.core.Parameter;
+import org.everrest.core.ResourceBinder;
+import org.everrest.core.impl.provider.json.JsonGenerator;
+import org.everrest.core.impl.provider.json.StreamingObjectBuilder;
+import org.everrest.core.resource.GenericResourceMethod;
+import org.everrest.core.resource.ResourceDescriptor;
+import org.everrest.core.resource.ResourceMethodDescriptor;
+import org.everrest.core.resource.SubResourceLocatorDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Prepares application for processing of requests. Descriptors of root resources are created when
+ * application is published, but many other structures are created lazily when the first request
+ * needs them. Warm-up creates them in advance, so the first requests after start of application are
+ * not slower than others. Warm-up is run in phases, the work of each phase is spread among threads
+ * of {@link ForkJoinPool}:
+ *
+ * <ol>
+ *   <li>{@link #RESOURCES}: descriptors of resources that are returned by sub-resource locators,
+ *       recursively
+ *   <li>{@link #METHODS}: invocation plans of resource methods, sub-resource methods and
+ *       sub-resource locators, i.e. resolvers of their parameters, and handles of methods if they
+ *       are used for invocation
+ *   <li>{@link #LIFECYCLE}: lifecycle methods of resources
+ *   <li>{@link #JSON}: getters and setters of entity classes of methods that produce or consume
+ *       JSON
+ *   <li>{@link #PROVIDERS}: message body readers and writers of entities of methods for all
+ *       concrete media types that methods consume and produce. Media types for which results of
+ *       lookup are not cached are skipped, see {@link
+ *       ProviderBinder#isMessageBodyReaderResolutionCached(MediaType)}
+ * </ol>
+ *
+ * Only types that are known before processing of requests are warmed up, e.g. if method returns
+ * {@link jakarta.ws.rs.core.Response} or interface then class of entity is unknown. Failure of
+ * warm-up is logged and does not prevent application from processing of requests.
+ */
+public class EverrestWarmUp {
+  private static final Logger LOG = LoggerFactory.getLogger(EverrestWarmUp.class);
+
+  public static final String RESOURCES = "resources";
+  public static final String METHODS = "methods";
+  public static final String LIFECYCLE = "lifecycle";
+  public static final String JSON = "json";
+  public static final String PROVIDERS = "providers";
+
+  private final ResourceBinder resources;
+  private final ProviderBinder providers;
+  private final EverrestConfiguration configuration;
+
+  public EverrestWarmUp(
+      ResourceBinder resources, ProviderBinder providers, EverrestConfiguration configuration) {
+    this.resources = checkNotNull(resources);
+    this.providers = checkNotNull(providers);
+    this.configuration = checkNotNull(configuration);
+  }
+
+  /**
+   * Run all phases of warm-up. Method returns when all phases are completed.
+   *
+   * @return time in milliseconds that was spent in each phase, iteration order of map is the same
+   *     as order of phases. Skipped phases are not included.
+   */
+  public Map<String, Long> run() {
+    int parallelism = configuration.getWarmUpParallelism();
+    ForkJoinPool pool =
+        new ForkJoinPool(
+            parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+            workerFactory(Thread.currentThread().getContextClassLoader()),
+            null,
+            false);
+    try {
+      Map<String, Long> times = new LinkedHashMap<>();
+      long start = System.nanoTime();
+      Queue<ResourceDescriptor> descriptors = new ConcurrentLinkedQueue<>();
+      Set<Class<?>> visited = ConcurrentHashMap.newKeySet();
+      List<ResourceTask> rootTasks =
+          resources.getResources().stream()
+              .map(ObjectFactory::getObjectModel)
+              .map(descriptor -> new ResourceTask(descriptor, null, visited, descriptors))
+              .collect(toList());
+      pool.invoke(
+          new RecursiveAction() {
+            @Override
+            protected void compute() {
+              invokeAll(rootTasks);
+            }
+          });
+      times.put(RESOURCES, completed(RESOURCES, descriptors.size(), start));
+
+      List<GenericResourceMethod> methods = getMethods(descriptors);
+      boolean methodHandle = configuration.isMethodHandleInvocation();
+      runPhase(
+          pool,
+          METHODS,
+          methods,
+          method -> ApplicationContext.prepareMethodInvocation(method, methodHandle),
+          times);
+      Set<Class<?>> resourceClasses = new LinkedHashSet<>();
+      for (ResourceDescriptor descriptor : descriptors) {
+        resourceClasses.add(descriptor.getObjectClass());
+      }
+      runPhase(pool, LIFECYCLE, resourceClasses, AnnotatedLifecycleMethodStrategy::warmUp, times);
+      List<ResourceMethodDescriptor> entityMethods =
+          methods.stream()
+              .filter(method -> method instanceof ResourceMethodDescriptor)
+              .map(method -> (ResourceMethodDescriptor) method)
+              .filter(method -> method.getMethod() != null)
+              .collect(toList());
+      runPhase(pool, JSON, entityMethods, this::warmUpJson, times);
+      runPhase(pool, PROVIDERS, entityMethods, this::warmUpProviders, times);
+      LOG.info(
+          "Warm-up completed in {} ms, time of phases in ms: {}",
+          NANOSECONDS.toMillis(System.nanoTime() - start),
+          times);
+      return times;
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Default workers of {@link ForkJoinPool} have system class loader as context class loader, so
+   * lookups of services and providers that use context class loader don't see classes of
+   * application. Workers of warm-up get context class loader of thread that runs warm-up.
+   */
+  private static ForkJoinWorkerThreadFactory workerFactory(ClassLoader contextClassLoader) {
+    return pool -> {
+      ForkJoinWorkerThread worker = new ForkJoinWorkerThread(pool) {};
+      worker.setContextClassLoader(contextClassLoader);
+      return worker;
+    };
+  }
+
+  private <T> void runPhase(
+      ForkJoinPool pool,
+      String phase,
+      Collection<T> items,
+      Consumer<T> action,
+      Map<String, Long> times) {
+    long start = System.nanoTime();
+    List<ForkJoinTask<?>> tasks = new ArrayList<>(items.size());
+    for (T item : items) {
+      tasks.add(pool.submit(() -> warmUp(phase, item, action)));
+    }
+    for (ForkJoinTask<?> task : tasks) {
+      task.join();
+    }
+    times.put(phase, completed(phase, items.size(), start));
+  }
+
+  private static <T> void warmUp(String phase, T item, Consumer<T> action) {
+    try {
+      action.accept(item);
+    } catch (RuntimeException | LinkageError e) {
+      LOG.warn("Warm-up phase '{}' failed for {}, {}", phase, item, e.getMessage());
+    }
+  }
+
+  private static long completed(String phase, int size, long start) {
+    long time = NANOSECONDS.toMillis(System.nanoTime() - start);
+    LOG.info("Warm-up phase '{}' completed in {} ms, {} items", phase, time, size);
+    return time;
+  }
+
+  private static List<GenericResourceMethod> getMethods(
+      Collection<ResourceDescriptor> descriptors) {
+    List<GenericResourceMethod> methods = new ArrayList<>();
+    for (ResourceDescriptor descriptor : descriptors) {
+      descriptor.getResourceMethods().values().forEach(methods::addAll);
+      descriptor
+          .getSubResourceMethods()
+          .values()
+          .forEach(byHttpMethod -> byHttpMethod.values().forEach(methods::addAll));
+      methods.addAll(descriptor.getSubResourceLocators().values());
+    }
+    return methods;
+  }
+
+  private void warmUpJson(ResourceMethodDescriptor method) {
+    if (isCompatibleWithJson(method.consumes())) {
+      for (Parameter parameter : getEntityParameters(method)) {
+        StreamingObjectBuilder.warmUp(parameter.getGenericType());
+      }
+    }
+    if (isCompatibleWithJson(method.produces())) {
+      JsonGenerator.warmUp(method.getMethod().getGenericReturnType());
+    }
+  }
+
+  private void warmUpProviders(ResourceMethodDescriptor method) {
+    for (Parameter parameter : getEntityParameters(method)) {
+      for (MediaType mediaType : getConcreteMediaTypes(method.consumes())) {
+        if (providers.isMessageBodyReaderResolutionCached(mediaType)) {
+          providers.getMessageBodyReader(
+              parameter.getParameterClass(),
+              parameter.getGenericType(),
+              parameter.getAnnotations(),
+              mediaType);
+        }
+      }
+    }
+    Class<?> responseType = method.getResponseType();
+    if (isConcreteClass(responseType) && responseType != GenericEntity.class) {
+      // The same arguments as ContainerResponse uses for entity that is not GenericEntity.
+      for (MediaType mediaType : getConcreteMediaTypes(method.produces())) {
+        if (providers.isMessageBodyWriterResolutionCached(mediaType)) {
+          providers.getMessageBodyWriter(responseType, responseType, null, mediaType);
+        }
+      }
+    }
+  }
+
+  private static List<Parameter> getEntityParameters(GenericResourceMethod method) {
+    return method.getMethodParameters().stream()
+        .filter(parameter -> parameter.getAnnotation() == null)
+        .collect(toList());
+  }
+
+  private static boolean isCompatibleWithJson(List<MediaType> mediaTypes) {
+    return mediaTypes.stream().anyMatch(mediaType -> mediaType.isCompatible(APPLICATION_JSON_TYPE));
+  }
+
+  private static List<MediaType> getConcreteMediaTypes(List<MediaType> mediaTypes) {
+    return mediaTypes.stream()
+        .filter(mediaType -> !mediaType.isWildcardType() && !mediaType.isWildcardSubtype())
+        .collect(toList());
+  }
+
+  private static boolean isConcreteClass(Class<?> aClass) {
+    return !aClass.isPrimitive()
+        && !aClass.isInterface()
+        && !aClass.isArray()
+        && !Modifier.isAbstract(aClass.getModifiers())
+        && aClass != Object.class;
+  }
+
+  /**
+   * Collects descriptor of resource and then forks tasks for resources that are returned by its
+   * sub-resource locators.
+   */
+  private static final class ResourceTask extends RecursiveAction {
+    private final Class<?> resourceClass;
+    private final Set<Class<?>> visited;
+    private final Queue<ResourceDescriptor> descriptors;
+    private ResourceDescriptor descriptor;
+
+    ResourceTask(
+        ResourceDescriptor descriptor,
+        Class<?> resourceClass,
+        Set<Class<?>> visited,
+        Queue<ResourceDescriptor> descriptors) {
+      this.descriptor = descriptor;
+      this.resourceClass = resourceClass;
+      this.visited = visited;
+      this.descriptors = descriptors;
+    }
+
+    @Override
+    protected void compute() {
+      if (descriptor == null) {
+        try {
+          descriptor = RequestDispatcher.getLocatorDescriptor(resourceClass);
+        } catch (RuntimeException | LinkageError e) {
+          LOG.warn(
+              "Warm-up phase '{}' failed for {}, {}", RESOURCES, resourceClass, e.getMessage());
+          return;
+        }
+      }
+      descriptors.add(descriptor);
+      List<ResourceTask> subTasks = new ArrayList<>();
+      for (SubResourceLocatorDescriptor locator : descriptor.getSubResourceLocators().values()) {
+        Class<?> subResourceClass = locator.getResponseType();
+        if (isConcreteClass(subResourceClass)
+            && subResourceClass != Class.class
+            && visited.add(subResourceClass)) {
+          subTasks.add(new ResourceTask(null, subResourceClass, visited, descriptors));
+        }
+      }
+      invokeAll(subTasks);
+    }
+  }
+}
@@ -27,6 +27,7 @@ import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.Provider;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -35,6 +36,8 @@ import java.util.List;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.DependencySupplier;
 import org.everrest.core.FieldInjector;
+import org.everrest.core.impl.method.LazyMethodHandle;
+import org.everrest.core.impl.method.MethodHandleHelper;
 import org.everrest.core.impl.method.ParameterResolverFactory;
 
 /** @author andrew00x */
@@ -58,6 +61,11 @@ public class FieldInjectorImpl implements FieldInjector {
    * initialized directly.
    */
   private final Method setter;
+  /**
+   * Handle that sets field with setter or directly. It is used when invocation with method handles
+   * is enabled.
+   */
+  private final LazyMethodHandle setterHandle;
 
   /** @param field java.lang.reflect.Field */
   public FieldInjectorImpl(Field field, ParameterResolverFactory parameterResolverFactory) {
@@ -68,6 +76,12 @@ public class FieldInjectorImpl implements FieldInjector {
     final Class<?> declaringClass = field.getDeclaringClass();
 
     this.setter = getSetter(declaringClass, field);
+    this.setterHandle =
+        new LazyMethodHandle(
+            () ->
+                setter != null
+                    ? MethodHandleHelper.createSetterHandle(setter)
+                    : MethodHandleHelper.createSetterHandle(field));
 
     Annotation annotation = null;
     String defaultValue = null;
@@ -158,7 +172,11 @@ public class FieldInjectorImpl implements FieldInjector {
       }
 
       if (value != null) {
-        if (setter != null) {
+        MethodHandle setterHandle =
+            MethodHandleHelper.isMethodHandleInvocation(context) ? getSetterHandle() : null;
+        if (setterHandle != null) {
+          MethodHandleHelper.invokeSetter(setterHandle, resource, value);
+        } else if (setter != null) {
           setter.invoke(resource, value);
         } else {
           if (!Modifier.isPublic(field.getModifiers())) {
@@ -181,6 +199,10 @@ public class FieldInjectorImpl implements FieldInjector {
     }
   }
 
+  private MethodHandle getSetterHandle() {
+    return setterHandle.get();
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -15,7 +15,11 @@ import static com.google.common.collect.Lists.newArrayList;
 import static jakarta.ws.rs.core.MediaType.WILDCARD_TYPE;
 import static java.util.stream.Collectors.toList;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.MapMaker;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.ext.ContextResolver;
 import jakarta.ws.rs.ext.ExceptionMapper;
@@ -27,17 +31,22 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.Filter;
@@ -136,6 +145,28 @@ public class ProviderBinder implements Providers {
     INSTANCE.set(providerBinder);
   }
 
+  /**
+   * All created binders, see {@link #invalidateMessageBodyProviderResolutionCaches()}. Keys are
+   * weak references.
+   */
+  private static final Set<ProviderBinder> BINDERS =
+      Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+
+  /**
+   * Discard cached results of message body readers and writers lookup in all binders. Cached
+   * results refer to classes and generic types of entities, e.g. classes of Groovy scripts, and
+   * would keep them and their class loaders until results are evicted. Must be called when resource
+   * is unbound.
+   */
+  static void invalidateMessageBodyProviderResolutionCaches() {
+    for (ProviderBinder binder : BINDERS) {
+      binder.invalidateMessageBodyProviderResolutionCache();
+    }
+  }
+
+  /** Max number of entries in each cache of message body readers and writers lookup results. */
+  private static final int RESOLUTION_CACHE_SIZE = 512;
+
   protected final MediaTypeComparator mediaTypeComparator = new MediaTypeComparator();
 
   /** Read message body providers. */
@@ -167,7 +198,41 @@ public class ProviderBinder implements Providers {
   protected final ConcurrentMap<UriPattern, List<ObjectFactory<FilterDescriptor>>> invokerFilters =
       new ConcurrentHashMap<>();
 
-  protected ProviderBinder() {}
+  /**
+   * Results of looking up of message body readers. Only results that are resolved with singleton
+   * providers are cached since per-request providers may depend on state of request.
+   */
+  private final Cache<MessageBodyProviderKey, Optional<ObjectFactory<ProviderDescriptor>>>
+      readerResolutionCache = newResolutionCache();
+
+  /**
+   * Results of looking up of message body writers. Only results that are resolved with singleton
+   * providers are cached since per-request providers may depend on state of request.
+   */
+  private final Cache<MessageBodyProviderKey, Optional<ObjectFactory<ProviderDescriptor>>>
+      writerResolutionCache = newResolutionCache();
+
+  /**
+   * Incremented each time when cache of message body readers is invalidated. Lookup that started
+   * before invalidation does not keep its result in cache since the result may be stale.
+   */
+  private final AtomicLong readerResolutionGeneration = new AtomicLong();
+
+  /** The same as {@link #readerResolutionGeneration} for cache of message body writers. */
+  private final AtomicLong writerResolutionGeneration = new AtomicLong();
+
+  protected ProviderBinder() {
+    BINDERS.add(this);
+  }
+
+  private static Cache<MessageBodyProviderKey, Optional<ObjectFactory<ProviderDescriptor>>>
+      newResolutionCache() {
+    return CacheBuilder.newBuilder()
+        .concurrencyLevel(8)
+        .maximumSize(RESOLUTION_CACHE_SIZE)
+        .recordStats()
+        .build();
+  }
 
   /**
    * Add per-request ContextResolver.
@@ -551,12 +616,109 @@ public class ProviderBinder implements Providers {
     for (MediaType mediaType : readerFactory.getObjectModel().consumes()) {
       addProviderFactory(readProviders, mediaType, readerFactory);
     }
+    invalidate(readerResolutionCache, readerResolutionGeneration);
   }
 
   public void addMessageBodyWriter(ObjectFactory<ProviderDescriptor> writerFactory) {
     for (MediaType mediaType : writerFactory.getObjectModel().produces()) {
       addProviderFactory(writeProviders, mediaType, writerFactory);
     }
+    invalidate(writerResolutionCache, writerResolutionGeneration);
+  }
+
+  /**
+   * Get statistic of cache of message body readers lookup results.
+   *
+   * @return statistic of cache, e.g. hit and miss counters
+   */
+  public CacheStats getMessageBodyReaderResolutionStats() {
+    return readerResolutionCache.stats();
+  }
+
+  /**
+   * Get statistic of cache of message body writers lookup results.
+   *
+   * @return statistic of cache, e.g. hit and miss counters
+   */
+  public CacheStats getMessageBodyWriterResolutionStats() {
+    return writerResolutionCache.stats();
+  }
+
+  /**
+   * Check whether result of message body readers lookup for media type is cached. Result is cached
+   * only if all readers that are checked for media type are singletons, lookup that involves
+   * per-request reader requires context of request.
+   *
+   * @param mediaType media type of entity
+   * @return {@code true} if result of lookup is cached and may be resolved before processing of
+   *     requests, see {@link EverrestWarmUp}
+   */
+  public boolean isMessageBodyReaderResolutionCached(MediaType mediaType) {
+    return containsOnlySingletons(readProviders, mediaType);
+  }
+
+  /**
+   * Check whether result of message body writers lookup for media type is cached. Result is cached
+   * only if all writers that are checked for media type are singletons, lookup that involves
+   * per-request writer requires context of request.
+   *
+   * @param mediaType media type of entity
+   * @return {@code true} if result of lookup is cached and may be resolved before processing of
+   *     requests, see {@link EverrestWarmUp}
+   */
+  public boolean isMessageBodyWriterResolutionCached(MediaType mediaType) {
+    return containsOnlySingletons(writeProviders, mediaType);
+  }
+
+  private static boolean containsOnlySingletons(
+      Map<MediaType, List<ObjectFactory<ProviderDescriptor>>> providers, MediaType mediaType) {
+    Iterator<MediaType> mediaTypeRange =
+        MediaTypeHelper.createDescendingMediaTypeIterator(mediaType);
+    while (mediaTypeRange.hasNext()) {
+      List<ObjectFactory<ProviderDescriptor>> factories = providers.get(mediaTypeRange.next());
+      if (factories != null
+          && !factories.stream().allMatch(factory -> factory instanceof SingletonObjectFactory)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Discard all cached results of message body readers and writers lookup. Must be called if set of
+   * readers or writers is updated directly, without methods of this class.
+   */
+  protected void invalidateMessageBodyProviderResolutionCache() {
+    invalidate(readerResolutionCache, readerResolutionGeneration);
+    invalidate(writerResolutionCache, writerResolutionGeneration);
+  }
+
+  private static void invalidate(
+      Cache<MessageBodyProviderKey, Optional<ObjectFactory<ProviderDescriptor>>> cache,
+      AtomicLong generation) {
+    // Generation must be changed before cache is cleared, see putResolved.
+    generation.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  /**
+   * Keep result of lookup in cache if set of providers is not changed since lookup started. Result
+   * that is put concurrently with invalidation of cache is removed again.
+   */
+  private static void putResolved(
+      Cache<MessageBodyProviderKey, Optional<ObjectFactory<ProviderDescriptor>>> cache,
+      AtomicLong generation,
+      long lookupGeneration,
+      MessageBodyProviderKey key,
+      ObjectFactory<ProviderDescriptor> resolved) {
+    if (generation.get() != lookupGeneration) {
+      return;
+    }
+    final MessageBodyProviderKey cacheKey = key.detach();
+    cache.put(cacheKey, Optional.ofNullable(resolved));
+    if (generation.get() != lookupGeneration) {
+      cache.invalidate(cacheKey);
+    }
   }
 
   public void addMethodInvokerFilter(ObjectFactory<FilterDescriptor> filterFactory) {
@@ -681,58 +843,63 @@ public class ProviderBinder implements Providers {
   @SuppressWarnings({"unchecked"})
   protected <T> MessageBodyReader<T> doGetMessageBodyReader(
       Class<T> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+    ApplicationContext context = ApplicationContext.getCurrent();
+    long lookupGeneration = readerResolutionGeneration.get();
+    MessageBodyProviderKey key =
+        new MessageBodyProviderKey(type, genericType, annotations, mediaType);
+    Optional<ObjectFactory<ProviderDescriptor>> resolved = readerResolutionCache.getIfPresent(key);
+    if (resolved != null) {
+      return resolved
+          .map(factory -> (MessageBodyReader<T>) factory.getInstance(context))
+          .orElse(null);
+    }
     Iterator<MediaType> mediaTypeRange =
         MediaTypeHelper.createDescendingMediaTypeIterator(mediaType);
     Map<Class, MessageBodyReader> instanceCache = new HashMap<>();
-    List<MessageBodyReader> matchedReaders = newArrayList();
+    List<ObjectFactory<ProviderDescriptor>> matchedReaderFactories = newArrayList();
+    boolean cacheable = true;
     while (mediaTypeRange.hasNext()) {
       MediaType actual = mediaTypeRange.next();
       List<ObjectFactory<ProviderDescriptor>> messageBodyReaderFactories =
           readProviders.get(actual);
       if (messageBodyReaderFactories != null) {
-        for (ObjectFactory messageBodyReaderFactory : messageBodyReaderFactories) {
-          Class<?> messageBodyReaderClass =
-              messageBodyReaderFactory.getObjectModel().getObjectClass();
-          MessageBodyReader messageBodyReader = instanceCache.get(messageBodyReaderClass);
-          if (messageBodyReader == null) {
-            messageBodyReader =
-                (MessageBodyReader)
-                    messageBodyReaderFactory.getInstance(ApplicationContext.getCurrent());
-            instanceCache.put(messageBodyReaderClass, messageBodyReader);
-          }
+        for (ObjectFactory<ProviderDescriptor> messageBodyReaderFactory :
+            messageBodyReaderFactories) {
+          cacheable &= messageBodyReaderFactory instanceof SingletonObjectFactory;
+          MessageBodyReader messageBodyReader =
+              instanceCache.computeIfAbsent(
+                  messageBodyReaderFactory.getObjectModel().getObjectClass(),
+                  aClass -> (MessageBodyReader) messageBodyReaderFactory.getInstance(context));
           if (messageBodyReader.isReadable(type, genericType, annotations, actual)) {
-            matchedReaders.add(messageBodyReader);
+            matchedReaderFactories.add(messageBodyReaderFactory);
           }
         }
       }
     }
-    if (matchedReaders.isEmpty()) {
-      return null;
+    ObjectFactory<ProviderDescriptor> matchedReaderFactory = null;
+    if (!matchedReaderFactories.isEmpty()) {
+      if (matchedReaderFactories.size() > 1) {
+        Collections.sort(
+            matchedReaderFactories,
+            (readerOne, readerTwo) ->
+                compareByInheritanceDepth(
+                    getTypeSupportedByReader(getInstance(instanceCache, readerOne)),
+                    getTypeSupportedByReader(getInstance(instanceCache, readerTwo)),
+                    type));
+      }
+      matchedReaderFactory = matchedReaderFactories.get(0);
     }
-    if (matchedReaders.size() > 1) {
-      Collections.sort(
-          matchedReaders,
-          (readerOne, readerTwo) -> {
-            Type typeOne = getTypeSupportedByReader(readerOne);
-            Type typeTwo = getTypeSupportedByReader(readerTwo);
-            if (!(typeOne instanceof Class) || !(typeTwo instanceof Class)) {
-              return 0;
-            }
-            int inheritanceDepthOne = calculateInheritanceDepth((Class<?>) typeOne, type);
-            int inheritanceDepthTwo = calculateInheritanceDepth((Class<?>) typeTwo, type);
-            if (inheritanceDepthOne < 0 && inheritanceDepthTwo >= 0) {
-              return 1;
-            } else if (inheritanceDepthOne >= 0 && inheritanceDepthTwo < 0) {
-              return -1;
-            } else if (inheritanceDepthOne > inheritanceDepthTwo) {
-              return 1;
-            } else if (inheritanceDepthOne < inheritanceDepthTwo) {
-              return -1;
-            }
-            return 0;
-          });
+    if (cacheable) {
+      putResolved(
+          readerResolutionCache,
+          readerResolutionGeneration,
+          lookupGeneration,
+          key,
+          matchedReaderFactory);
     }
-    return matchedReaders.get(0);
+    return matchedReaderFactory == null
+        ? null
+        : (MessageBodyReader<T>) getInstance(instanceCache, matchedReaderFactory);
   }
 
   private static Type getTypeSupportedByReader(MessageBodyReader<?> reader) {
@@ -765,58 +932,63 @@ public class ProviderBinder implements Providers {
   @SuppressWarnings({"unchecked"})
   protected <T> MessageBodyWriter<T> doGetMessageBodyWriter(
       Class<T> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+    ApplicationContext context = ApplicationContext.getCurrent();
+    long lookupGeneration = writerResolutionGeneration.get();
+    MessageBodyProviderKey key =
+        new MessageBodyProviderKey(type, genericType, annotations, mediaType);
+    Optional<ObjectFactory<ProviderDescriptor>> resolved = writerResolutionCache.getIfPresent(key);
+    if (resolved != null) {
+      return resolved
+          .map(factory -> (MessageBodyWriter<T>) factory.getInstance(context))
+          .orElse(null);
+    }
     Iterator<MediaType> mediaTypeRange =
         MediaTypeHelper.createDescendingMediaTypeIterator(mediaType);
     Map<Class, MessageBodyWriter> instanceCache = new HashMap<>();
-    List<MessageBodyWriter> matchedWriters = newArrayList();
+    List<ObjectFactory<ProviderDescriptor>> matchedWriterFactories = newArrayList();
+    boolean cacheable = true;
     while (mediaTypeRange.hasNext()) {
       MediaType actual = mediaTypeRange.next();
       List<ObjectFactory<ProviderDescriptor>> messageBodyWriterFactories =
           writeProviders.get(actual);
       if (messageBodyWriterFactories != null) {
-        for (ObjectFactory messageBodyWriterFactory : messageBodyWriterFactories) {
-          Class<?> messageBodyWriterClass =
-              messageBodyWriterFactory.getObjectModel().getObjectClass();
-          MessageBodyWriter writer = instanceCache.get(messageBodyWriterClass);
-          if (writer == null) {
-            writer =
-                (MessageBodyWriter)
-                    messageBodyWriterFactory.getInstance(ApplicationContext.getCurrent());
-            instanceCache.put(messageBodyWriterClass, writer);
-          }
+        for (ObjectFactory<ProviderDescriptor> messageBodyWriterFactory :
+            messageBodyWriterFactories) {
+          cacheable &= messageBodyWriterFactory instanceof SingletonObjectFactory;
+          MessageBodyWriter writer =
+              instanceCache.computeIfAbsent(
+                  messageBodyWriterFactory.getObjectModel().getObjectClass(),
+                  aClass -> (MessageBodyWriter) messageBodyWriterFactory.getInstance(context));
           if (writer.isWriteable(type, genericType, annotations, actual)) {
-            matchedWriters.add(writer);
+            matchedWriterFactories.add(messageBodyWriterFactory);
           }
         }
       }
     }
-    if (matchedWriters.isEmpty()) {
-      return null;
+    ObjectFactory<ProviderDescriptor> matchedWriterFactory = null;
+    if (!matchedWriterFactories.isEmpty()) {
+      if (matchedWriterFactories.size() > 1) {
+        Collections.sort(
+            matchedWriterFactories,
+            (writerOne, writerTwo) ->
+                compareByInheritanceDepth(
+                    getTypeSupportedByWriter(getInstance(instanceCache, writerOne)),
+                    getTypeSupportedByWriter(getInstance(instanceCache, writerTwo)),
+                    type));
+      }
+      matchedWriterFactory = matchedWriterFactories.get(0);
     }
-    if (matchedWriters.size() > 1) {
-      Collections.sort(
-          matchedWriters,
-          (writerOne, writerTwo) -> {
-            Type typeOne = getTypeSupportedByWriter(writerOne);
-            Type typeTwo = getTypeSupportedByWriter(writerTwo);
-            if (!(typeOne instanceof Class) || !(typeTwo instanceof Class)) {
-              return 0;
-            }
-            int inheritanceDepthOne = calculateInheritanceDepth((Class<?>) typeOne, type);
-            int inheritanceDepthTwo = calculateInheritanceDepth((Class<?>) typeTwo, type);
-            if (inheritanceDepthOne < 0 && inheritanceDepthTwo >= 0) {
-              return 1;
-            } else if (inheritanceDepthOne >= 0 && inheritanceDepthTwo < 0) {
-              return -1;
-            } else if (inheritanceDepthOne > inheritanceDepthTwo) {
-              return 1;
-            } else if (inheritanceDepthOne < inheritanceDepthTwo) {
-              return -1;
-            }
-            return 0;
-          });
+    if (cacheable) {
+      putResolved(
+          writerResolutionCache,
+          writerResolutionGeneration,
+          lookupGeneration,
+          key,
+          matchedWriterFactory);
     }
-    return matchedWriters.get(0);
+    return matchedWriterFactory == null
+        ? null
+        : (MessageBodyWriter<T>) getInstance(instanceCache, matchedWriterFactory);
   }
 
   private static Type getTypeSupportedByWriter(MessageBodyWriter writer) {
@@ -835,6 +1007,33 @@ public class ProviderBinder implements Providers {
     return null;
   }
 
+  private static <P> P getInstance(
+      Map<Class, P> instanceCache, ObjectFactory<ProviderDescriptor> providerFactory) {
+    return instanceCache.get(providerFactory.getObjectModel().getObjectClass());
+  }
+
+  /**
+   * Compare two providers by types which they support. Provider which supports type that is closer
+   * to the {@code entityType} in hierarchy of classes goes first.
+   */
+  private static int compareByInheritanceDepth(Type typeOne, Type typeTwo, Class<?> entityType) {
+    if (!(typeOne instanceof Class) || !(typeTwo instanceof Class)) {
+      return 0;
+    }
+    int inheritanceDepthOne = calculateInheritanceDepth((Class<?>) typeOne, entityType);
+    int inheritanceDepthTwo = calculateInheritanceDepth((Class<?>) typeTwo, entityType);
+    if (inheritanceDepthOne < 0 && inheritanceDepthTwo >= 0) {
+      return 1;
+    } else if (inheritanceDepthOne >= 0 && inheritanceDepthTwo < 0) {
+      return -1;
+    } else if (inheritanceDepthOne > inheritanceDepthTwo) {
+      return 1;
+    } else if (inheritanceDepthOne < inheritanceDepthTwo) {
+      return -1;
+    }
+    return 0;
+  }
+
   private static int calculateInheritanceDepth(Class<?> inherited, Class<?> inheritor) {
     if (!inherited.isAssignableFrom(inheritor)) {
       return -1;
@@ -947,4 +1146,65 @@ public class ProviderBinder implements Providers {
 
     addExceptionMapper(new DefaultExceptionMapper());
   }
+
+  /**
+   * Key of message body reader or writer lookup result. Key that is created for lookup refers to
+   * array of annotations of caller, key is detached from this array only when it is put in cache.
+   */
+  private static final class MessageBodyProviderKey {
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    private final Class<?> type;
+    private final Type genericType;
+    private final Annotation[] annotations;
+    private final MediaType mediaType;
+    private final int hash;
+
+    MessageBodyProviderKey(
+        Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+      this.type = type;
+      this.genericType = genericType;
+      this.annotations = annotations == null ? NO_ANNOTATIONS : annotations;
+      this.mediaType = mediaType;
+      this.hash =
+          31 * Objects.hash(type, genericType, mediaType) + Arrays.hashCode(this.annotations);
+    }
+
+    private MessageBodyProviderKey(
+        Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType, int hash) {
+      this.type = type;
+      this.genericType = genericType;
+      this.annotations = annotations;
+      this.mediaType = mediaType;
+      this.hash = hash;
+    }
+
+    /** @return copy of this key that does not share array of annotations with caller */
+    MessageBodyProviderKey detach() {
+      return annotations.length == 0
+          ? this
+          : new MessageBodyProviderKey(type, genericType, annotations.clone(), mediaType, hash);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof MessageBodyProviderKey)) {
+        return false;
+      }
+      MessageBodyProviderKey other = (MessageBodyProviderKey) o;
+      return hash == other.hash
+          && type == other.type
+          && Objects.equals(genericType, other.genericType)
+          && Objects.equals(mediaType, other.mediaType)
+          && Arrays.equals(annotations, other.annotations);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
 }
@@ -22,14 +22,14 @@ import static jakarta.ws.rs.core.Response.Status.METHOD_NOT_ALLOWED;
 import static jakarta.ws.rs.core.Response.Status.NOT_ACCEPTABLE;
 import static jakarta.ws.rs.core.Response.Status.NOT_FOUND;
 import static jakarta.ws.rs.core.Response.Status.UNSUPPORTED_MEDIA_TYPE;
-import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.Collections.unmodifiableList;
 import static java.util.stream.Collectors.toList;
 import static org.everrest.core.impl.header.HeaderHelper.convertToString;
 import static org.everrest.core.impl.header.MediaTypeHelper.findFistCompatibleAcceptMediaType;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.Iterables;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.PathSegment;
@@ -40,6 +40,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Predicate;
 import org.everrest.core.ApplicationContext;
@@ -57,6 +58,7 @@ import org.everrest.core.resource.ResourceMethodDescriptor;
 import org.everrest.core.resource.SubResourceLocatorDescriptor;
 import org.everrest.core.resource.SubResourceMethodDescriptor;
 import org.everrest.core.uri.UriPattern;
+import org.everrest.core.util.DescriptorRegistry;
 import org.everrest.core.util.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -69,10 +71,43 @@ import org.slf4j.LoggerFactory;
 public class RequestDispatcher {
   /** Logger. */
   private static final Logger LOG = LoggerFactory.getLogger(RequestDispatcher.class);
+
+  /** Max number of cached results of resource methods selection. */
+  private static final int METHOD_SELECTION_CACHE_SIZE = 1024;
+
   /** See {@link org.everrest.core.ResourceBinder}. */
   private final ResourceBinder resourceBinder;
 
-  private final LoadingCache<Class<?>, ResourceDescriptor> locatorDescriptorCache;
+  /** Descriptors of resources that are returned by sub-resource locators. */
+  private static final DescriptorRegistry<ResourceDescriptor> LOCATOR_DESCRIPTORS =
+      DescriptorRegistry.create(
+          "SubResourceDescriptors", aClass -> new AbstractResourceDescriptor(aClass));
+
+  /**
+   * Results of selection of resource methods. Set of resource methods is identified by the map that
+   * is got from {@link ResourceDescriptor#getResourceMethods()} or {@link
+   * ResourceDescriptor#getSubResourceMethods()}, so resource methods and sub-resource methods share
+   * the same cache. Since real clients send few distinct combinations of HTTP method, content type
+   * and acceptable media types to the same resource, the cache is bounded and rarely used entries
+   * are evicted.
+   */
+  private final Cache<MethodSelectionKey, MethodSelection<?>> methodSelectionCache =
+      CacheBuilder.newBuilder()
+          .concurrencyLevel(8)
+          .maximumSize(METHOD_SELECTION_CACHE_SIZE)
+          .recordStats()
+          .build();
+
+  /**
+   * Get descriptor of resource that is returned by sub-resource locator. Descriptor is created if
+   * it does not exist yet.
+   *
+   * @param resourceClass class of resource
+   * @return descriptor of resource
+   */
+  static ResourceDescriptor getLocatorDescriptor(Class<?> resourceClass) {
+    return LOCATOR_DESCRIPTORS.get(resourceClass);
+  }
 
   /**
    * Constructs new instance of RequestDispatcher.
@@ -82,18 +117,6 @@ public class RequestDispatcher {
   public RequestDispatcher(ResourceBinder resourceBinder) {
     checkNotNull(resourceBinder);
     this.resourceBinder = resourceBinder;
-    locatorDescriptorCache =
-        CacheBuilder.newBuilder()
-            .concurrencyLevel(8)
-            .maximumSize(256)
-            .expireAfterAccess(10, MINUTES)
-            .build(
-                new CacheLoader<Class<?>, ResourceDescriptor>() {
-                  @Override
-                  public ResourceDescriptor load(Class<?> aClass) {
-                    return new AbstractResourceDescriptor(aClass);
-                  }
-                });
   }
 
   /**
@@ -136,6 +159,17 @@ public class RequestDispatcher {
     return resourceBinder;
   }
 
+  /**
+   * Get statistic of cache of resource methods selection results. Cache is used for resource
+   * methods and sub-resource methods, and keeps results of content negotiation as well as responses
+   * with statuses 405, 415 and 406.
+   *
+   * @return statistic of cache, e.g. hit and miss counters
+   */
+  public CacheStats getResourceMethodSelectionStats() {
+    return methodSelectionCache.stats();
+  }
+
   private String getRequestPathWithoutMatrixParameters(ApplicationContext context) {
     List<PathSegment> requestPathSegments = context.getPathSegments(false);
     if (requestPathSegments.isEmpty()) {
@@ -204,10 +238,18 @@ public class RequestDispatcher {
         LOG.debug("Not found resource method for method {}", request.getMethod());
       }
     } else {
-      Map<UriPattern, Map<String, List<SubResourceMethodDescriptor>>> subResourceMethods =
-          resourceDescriptor.getSubResourceMethods();
-      Map<UriPattern, SubResourceLocatorDescriptor> subResourceLocators =
-          resourceDescriptor.getSubResourceLocators();
+      Collection<Entry<UriPattern, Map<String, List<SubResourceMethodDescriptor>>>>
+          subResourceMethods;
+      Collection<Entry<UriPattern, SubResourceLocatorDescriptor>> subResourceLocators;
+      if (resourceDescriptor instanceof AbstractResourceDescriptor) {
+        AbstractResourceDescriptor indexedDescriptor =
+            (AbstractResourceDescriptor) resourceDescriptor;
+        subResourceMethods = indexedDescriptor.getSubResourceMethodCandidates(requestPath);
+        subResourceLocators = indexedDescriptor.getSubResourceLocatorCandidates(requestPath);
+      } else {
+        subResourceMethods = resourceDescriptor.getSubResourceMethods().entrySet();
+        subResourceLocators = resourceDescriptor.getSubResourceLocators().entrySet();
+      }
 
       List<SubResourceMethodDescriptor> matchedSubResourceMethods = new ArrayList<>();
       boolean match =
@@ -354,13 +396,7 @@ public class RequestDispatcher {
     context.setParameterNames(subResourceLocator.getUriPattern().getParameterNames());
     MethodInvoker invoker = context.getMethodInvoker(subResourceLocator);
     Object newResource = invoker.invokeMethod(resource, subResourceLocator, context);
-    ResourceDescriptor descriptor;
-    try {
-      descriptor = locatorDescriptorCache.get(newResource.getClass());
-    } catch (ExecutionException e) {
-      propagateIfPossible(e.getCause());
-      throw new RuntimeException(e.getCause());
-    }
+    ResourceDescriptor descriptor = LOCATOR_DESCRIPTORS.get(newResource.getClass());
 
     @SuppressWarnings("unchecked")
     List<LifecycleComponent> perRequestComponents =
@@ -473,19 +509,72 @@ public class RequestDispatcher {
       GenericContainerResponse response,
       List<T> matchedMethods) {
     final String httpMethod = request.getMethod();
-    List<T> resourceMethodsByHttpMethod = resourceMethods.get(httpMethod);
-    if (resourceMethodsByHttpMethod == null || resourceMethodsByHttpMethod.size() == 0) {
+    MediaType contentType = request.getMediaType();
+    List<AcceptMediaType> acceptMediaTypes = request.getAcceptMediaTypeList();
+    MethodSelection<T> selection;
+    try {
+      selection =
+          cast(
+              methodSelectionCache.get(
+                  new MethodSelectionKey(
+                      resourceMethods, httpMethod, contentType, acceptMediaTypes),
+                  () ->
+                      selectResourceMethods(
+                          resourceMethods, httpMethod, contentType, acceptMediaTypes)));
+    } catch (ExecutionException e) {
+      propagateIfPossible(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+
+    if (selection.status == METHOD_NOT_ALLOWED) {
       response.setResponse(
           Response.status(METHOD_NOT_ALLOWED)
-              .header(ALLOW, convertToString(getAllow(resourceMethods)))
+              .header(ALLOW, selection.allow)
               .entity(String.format("%s method is not allowed", httpMethod))
               .type(TEXT_PLAIN)
               .build());
       return false;
     }
+    if (selection.status == UNSUPPORTED_MEDIA_TYPE) {
+      response.setResponse(
+          Response.status(UNSUPPORTED_MEDIA_TYPE)
+              .entity(String.format("Media type %s is not supported", contentType))
+              .type(TEXT_PLAIN)
+              .build());
+      return false;
+    }
+    if (selection.status == NOT_ACCEPTABLE) {
+      response.setResponse(
+          Response.status(NOT_ACCEPTABLE).entity("Not Acceptable").type(TEXT_PLAIN).build());
+      return false;
+    }
+
+    matchedMethods.addAll(selection.methods);
+    return true;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends ResourceMethodDescriptor> MethodSelection<T> cast(
+      MethodSelection<?> selection) {
+    return (MethodSelection<T>) selection;
+  }
+
+  /**
+   * Select resource methods that may serve request with specified HTTP method, content type and
+   * acceptable media types. Selected methods are sorted by quality of media types they produce.
+   */
+  private <T extends ResourceMethodDescriptor> MethodSelection<T> selectResourceMethods(
+      Map<String, List<T>> resourceMethods,
+      String httpMethod,
+      MediaType contentType,
+      List<AcceptMediaType> acceptMediaTypes) {
+    List<T> resourceMethodsByHttpMethod = resourceMethods.get(httpMethod);
+    if (resourceMethodsByHttpMethod == null || resourceMethodsByHttpMethod.size() == 0) {
+      return new MethodSelection<>(
+          METHOD_NOT_ALLOWED, null, convertToString(getAllow(resourceMethods)));
+    }
 
     List<T> resourceMethodCandidates = new ArrayList<>();
-    MediaType contentType = request.getMediaType();
     if (contentType == null) {
       resourceMethodCandidates.addAll(resourceMethodsByHttpMethod);
     } else {
@@ -497,28 +586,19 @@ public class RequestDispatcher {
               .collect(toList()));
     }
     if (resourceMethodCandidates.isEmpty()) {
-      response.setResponse(
-          Response.status(UNSUPPORTED_MEDIA_TYPE)
-              .entity(String.format("Media type %s is not supported", contentType))
-              .type(TEXT_PLAIN)
-              .build());
-      return false;
+      return new MethodSelection<>(UNSUPPORTED_MEDIA_TYPE, null, null);
     }
 
-    List<AcceptMediaType> acceptMediaTypes = request.getAcceptMediaTypeList();
     resourceMethodCandidates =
         resourceMethodCandidates.stream()
             .filter(notAcceptableFilter(acceptMediaTypes))
             .sorted(byAcceptMediaTypeComparator(acceptMediaTypes))
             .collect(toList());
     if (resourceMethodCandidates.isEmpty()) {
-      response.setResponse(
-          Response.status(NOT_ACCEPTABLE).entity("Not Acceptable").type(TEXT_PLAIN).build());
-      return false;
+      return new MethodSelection<>(NOT_ACCEPTABLE, null, null);
     }
 
-    matchedMethods.addAll(resourceMethodCandidates);
-    return true;
+    return new MethodSelection<>(null, unmodifiableList(resourceMethodCandidates), null);
   }
 
   private <T extends ResourceMethodDescriptor> Comparator<T> byAcceptMediaTypeComparator(
@@ -552,7 +632,7 @@ public class RequestDispatcher {
   /**
    * Process sub-resource methods.
    *
-   * @param subResourceMethods sub-resource methods
+   * @param subResourceMethods sub-resource methods that may be matched to the requested path
    * @param requestedPath part of requested path
    * @param request See {@link org.everrest.core.GenericContainerRequest}
    * @param response See {@link org.everrest.core.GenericContainerResponse}
@@ -562,7 +642,8 @@ public class RequestDispatcher {
    * @return true if at least one sub-resource method found false otherwise
    */
   private boolean processSubResourceMethod(
-      Map<UriPattern, Map<String, List<SubResourceMethodDescriptor>>> subResourceMethods,
+      Collection<Entry<UriPattern, Map<String, List<SubResourceMethodDescriptor>>>>
+          subResourceMethods,
       String requestedPath,
       GenericContainerRequest request,
       GenericContainerResponse response,
@@ -570,7 +651,7 @@ public class RequestDispatcher {
       List<SubResourceMethodDescriptor> matchedMethods) {
     Map<String, List<SubResourceMethodDescriptor>> resourceMethods = null;
     for (Entry<UriPattern, Map<String, List<SubResourceMethodDescriptor>>> entry :
-        subResourceMethods.entrySet()) {
+        subResourceMethods) {
       if (entry.getKey().match(requestedPath, capturedValues)) {
         String lastCapturedValue = Iterables.getLast(capturedValues);
         if (lastCapturedValue == null || "/".equals(lastCapturedValue)) {
@@ -599,19 +680,19 @@ public class RequestDispatcher {
   /**
    * Process sub-resource locators.
    *
-   * @param subResourceLocators sub-resource locators
+   * @param subResourceLocators sub-resource locators that may be matched to the requested path
    * @param requestedPath part of requested path
    * @param capturingValues the list for keeping template values
    * @param locators list for sub-resource locators
    * @return true if at least one SubResourceLocatorDescriptor found false otherwise
    */
   private boolean processSubResourceLocator(
-      Map<UriPattern, SubResourceLocatorDescriptor> subResourceLocators,
+      Collection<Entry<UriPattern, SubResourceLocatorDescriptor>> subResourceLocators,
       String requestedPath,
       List<String> capturingValues,
       List<SubResourceLocatorDescriptor> locators) {
     locators.addAll(
-        subResourceLocators.entrySet().stream()
+        subResourceLocators.stream()
             .filter(e -> e.getKey().match(requestedPath, capturingValues))
             .map(e -> e.getValue())
             .collect(toList()));
@@ -641,4 +722,71 @@ public class RequestDispatcher {
     }
     return resourceFactory;
   }
+
+  /**
+   * Result of selection of resource methods. If {@code status} is {@code null} then {@code methods}
+   * contains matched methods sorted by preference.
+   */
+  private static final class MethodSelection<T extends ResourceMethodDescriptor> {
+    final Response.Status status;
+    final List<T> methods;
+    /** Value of header 'Allow' for status 405. */
+    final String allow;
+
+    MethodSelection(Response.Status status, List<T> methods, String allow) {
+      this.status = status;
+      this.methods = methods;
+      this.allow = allow;
+    }
+  }
+
+  /**
+   * Key of selection of resource methods. Only type and subtype of request content type affect
+   * selection, so parameters of content type, e.g. charset or boundary, are not part of key.
+   */
+  private static final class MethodSelectionKey {
+    private final Map<String, ? extends List<? extends ResourceMethodDescriptor>> resourceMethods;
+    private final String httpMethod;
+    private final String contentType;
+    private final String contentSubtype;
+    private final List<AcceptMediaType> acceptMediaTypes;
+    private final int hash;
+
+    MethodSelectionKey(
+        Map<String, ? extends List<? extends ResourceMethodDescriptor>> resourceMethods,
+        String httpMethod,
+        MediaType contentType,
+        List<AcceptMediaType> acceptMediaTypes) {
+      this.resourceMethods = resourceMethods;
+      this.httpMethod = httpMethod;
+      this.contentType = contentType == null ? null : contentType.getType();
+      this.contentSubtype = contentType == null ? null : contentType.getSubtype();
+      this.acceptMediaTypes = acceptMediaTypes;
+      this.hash =
+          31 * System.identityHashCode(resourceMethods)
+              + Objects.hash(httpMethod, this.contentType, contentSubtype, acceptMediaTypes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof MethodSelectionKey)) {
+        return false;
+      }
+      MethodSelectionKey other = (MethodSelectionKey) o;
+      return hash == other.hash
+          && resourceMethods == other.resourceMethods
+          && Objects.equals(httpMethod, other.httpMethod)
+          && Objects.equals(contentType, other.contentType)
+          && Objects.equals(contentSubtype, other.contentSubtype)
+          && Objects.equals(acceptMediaTypes, other.acceptMediaTypes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
 }
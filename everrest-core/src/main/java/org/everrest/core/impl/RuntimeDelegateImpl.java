@@ -21,8 +21,12 @@ import jakarta.ws.rs.core.Variant.VariantListBuilder;
 import jakarta.ws.rs.ext.RuntimeDelegate;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import org.everrest.core.impl.header.AcceptLanguageHeaderDelegate;
 import org.everrest.core.impl.header.AcceptMediaTypeHeaderDelegate;
 import org.everrest.core.impl.header.CacheControlHeaderDelegate;
@@ -40,8 +44,16 @@ import org.everrest.core.impl.uri.LinkBuilderImpl;
 import org.everrest.core.impl.uri.UriBuilderImpl;
 
 public class RuntimeDelegateImpl extends RuntimeDelegate {
-  /** HeaderDelegate cache. */
-  private final Map<Class<?>, HeaderDelegate> headerDelegates = new HashMap<>();
+  /** Registered HeaderDelegates. */
+  private final Map<Class<?>, HeaderDelegate> headerDelegates = new ConcurrentHashMap<>();
+
+  /**
+   * HeaderDelegates resolved for classes, including subclasses of types that have registered
+   * HeaderDelegate. Replaced with empty map when new HeaderDelegate is added, so resolution that
+   * started before adding of HeaderDelegate does not put stale result in the current map.
+   */
+  private volatile Map<Class<?>, Optional<HeaderDelegate>> resolvedHeaderDelegates =
+      new ConcurrentHashMap<>();
 
   /**
    * Should be used only once for initialize.
@@ -71,6 +83,34 @@ public class RuntimeDelegateImpl extends RuntimeDelegate {
 
   public void addHeaderDelegate(HeaderDelegate<?> headerDelegate) {
     headerDelegates.put(getHeaderType(headerDelegate), headerDelegate);
+    resolvedHeaderDelegates = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Find HeaderDelegate for {@code type}. If there is no HeaderDelegate registered for {@code type}
+   * then looks up HeaderDelegate for the nearest superclass and then for interfaces of {@code type}
+   * and its superclasses.
+   */
+  private HeaderDelegate resolveHeaderDelegate(Class<?> type) {
+    for (Class<?> aClass = type; aClass != null; aClass = aClass.getSuperclass()) {
+      HeaderDelegate headerDelegate = headerDelegates.get(aClass);
+      if (headerDelegate != null) {
+        return headerDelegate;
+      }
+    }
+    Deque<Class<?>> interfaces = new ArrayDeque<>();
+    for (Class<?> aClass = type; aClass != null; aClass = aClass.getSuperclass()) {
+      interfaces.addAll(Arrays.asList(aClass.getInterfaces()));
+    }
+    while (!interfaces.isEmpty()) {
+      Class<?> anInterface = interfaces.poll();
+      HeaderDelegate headerDelegate = headerDelegates.get(anInterface);
+      if (headerDelegate != null) {
+        return headerDelegate;
+      }
+      interfaces.addAll(Arrays.asList(anInterface.getInterfaces()));
+    }
+    return null;
   }
 
   private Class<?> getHeaderType(HeaderDelegate<?> headerDelegate) {
@@ -110,7 +150,13 @@ public class RuntimeDelegateImpl extends RuntimeDelegate {
   @Override
   public <T> HeaderDelegate<T> createHeaderDelegate(Class<T> type) {
     checkArgument(type != null, "Null type is not supported");
-    return headerDelegates.get(type);
+    Map<Class<?>, Optional<HeaderDelegate>> resolved = resolvedHeaderDelegates;
+    Optional<HeaderDelegate> headerDelegate = resolved.get(type);
+    if (headerDelegate == null) {
+      headerDelegate = Optional.ofNullable(resolveHeaderDelegate(type));
+      resolved.putIfAbsent(type, headerDelegate);
+    }
+    return headerDelegate.orElse(null);
   }
 
   @Override
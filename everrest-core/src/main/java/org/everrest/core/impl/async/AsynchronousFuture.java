@@ -16,7 +16,9 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 import org.everrest.core.impl.InternalException;
@@ -32,6 +34,7 @@ class AsynchronousFuture extends FutureTask<Object> implements AsynchronousJob {
   private final long expirationDate;
   private final ResourceMethodDescriptor method;
   private final Map<String, Object> context;
+  private final Queue<Runnable> doneCallbacks;
 
   private String jobUri;
 
@@ -47,6 +50,7 @@ class AsynchronousFuture extends FutureTask<Object> implements AsynchronousJob {
     this.method = method;
     this.jobListeners = jobListeners;
     context = new HashMap<>();
+    doneCallbacks = new ConcurrentLinkedQueue<>();
   }
 
   @Override
@@ -58,6 +62,46 @@ class AsynchronousFuture extends FutureTask<Object> implements AsynchronousJob {
         LOG.error(e.getMessage(), e);
       }
     }
+    runDoneCallbacks();
+  }
+
+  /**
+   * Run callback once when job is done. If job is already done callback is run immediately by the
+   * current thread.
+   */
+  void whenDone(Runnable callback) {
+    doneCallbacks.add(callback);
+    if (isDone()) {
+      runDoneCallbacks();
+    }
+  }
+
+  /**
+   * Releases result of job if job is done and its result is serialized, see {@link SpooledResult}.
+   * Result that is already claimed by client is not released.
+   */
+  void discardResult() {
+    if (isDone() && !isCancelled()) {
+      try {
+        final Object result = super.get();
+        if (result instanceof SpooledResult) {
+          ((SpooledResult) result).discard();
+        }
+      } catch (InterruptedException | ExecutionException ignored) {
+        // Job is already done, result of failed job is not serialized.
+      }
+    }
+  }
+
+  private void runDoneCallbacks() {
+    Runnable callback;
+    while ((callback = doneCallbacks.poll()) != null) {
+      try {
+        callback.run();
+      } catch (RuntimeException e) {
+        LOG.error(e.getMessage(), e);
+      }
+    }
   }
 
   @Override
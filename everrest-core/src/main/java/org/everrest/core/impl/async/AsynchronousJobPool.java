@@ -23,28 +23,29 @@ import jakarta.ws.rs.core.UriBuilder;
 import jakarta.ws.rs.ext.ContextResolver;
 import jakarta.ws.rs.ext.Provider;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.GenericContainerRequest;
 import org.everrest.core.impl.ContainerRequest;
 import org.everrest.core.impl.EverrestConfiguration;
+import org.everrest.core.impl.ProviderBinder;
 import org.everrest.core.resource.ResourceMethodDescriptor;
 import org.everrest.core.tools.EmptyInputStream;
+import org.everrest.core.util.ThreadPerTaskExecutor;
 import org.slf4j.LoggerFactory;
 
 /**
- * Pool of asynchronous jobs.
+ * Pool of asynchronous jobs. Job is removed from pool when its result is read, when it reaches
+ * timeout or when number of jobs in pool exceeds max cache size.
  *
  * @author andrew00x
  */
@@ -53,8 +54,11 @@ public class AsynchronousJobPool implements ContextResolver<AsynchronousJobPool>
   /** Logger. */
   private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(AsynchronousJobPool.class);
 
+  private static final String TOO_MANY_JOBS =
+      "Can't accept new asynchronous request. Too many asynchronous jobs in progress";
+
   protected final String asynchronousServicePath;
-  /** When timeout (in minutes) reached then an asynchronous job may be removed from the pool. */
+  /** When timeout (in minutes) reached then an asynchronous job is removed from the pool. */
   protected final int jobTimeout;
   /** Max cache size. */
   protected final int maxCacheSize;
@@ -62,10 +66,17 @@ public class AsynchronousJobPool implements ContextResolver<AsynchronousJobPool>
   protected final int maxQueueSize;
   /** Number of threads to serve asynchronous jobs. */
   protected final int threadPoolSize;
+  /** Run each job in its own virtual thread instead of pool of threads. */
+  protected final boolean virtualThreads;
+  /** Max time (in seconds) that client may wait for result of job. */
+  protected final int maxWait;
+  /** Serialize results of jobs and keep them out of heap. */
+  protected final boolean resultSpool;
 
   private final ExecutorService pool;
-  private final Map<Long, AsynchronousJob> jobs;
+  private final AsynchronousJobRegistry jobs;
   private final CopyOnWriteArrayList<AsynchronousJobListener> jobListeners;
+  private final AsynchronousJobResultStore resultStore;
 
   private AsynchronousFutureFactory asynchronousFutureFactory;
 
@@ -79,25 +90,21 @@ public class AsynchronousJobPool implements ContextResolver<AsynchronousJobPool>
     this.jobTimeout = config.getAsynchronousJobTimeout();
     this.maxQueueSize = config.getAsynchronousQueueSize();
     this.threadPoolSize = config.getAsynchronousPoolSize();
+    this.virtualThreads = config.isAsynchronousVirtualThreads();
+    this.maxWait = config.getAsynchronousMaxWait();
+    this.resultSpool = config.isAsynchronousResultSpool();
 
     this.pool = makeExecutorService();
 
-    this.jobs =
-        Collections.synchronizedMap(
-            new LinkedHashMap<Long, AsynchronousJob>() {
-              @Override
-              protected boolean removeEldestEntry(Map.Entry<Long, AsynchronousJob> eldest) {
-                AsynchronousJob job = eldest.getValue();
-                if (size() > maxCacheSize || job.getExpirationDate() < System.currentTimeMillis()) {
-                  job.cancel();
-                  return true;
-                }
-                return false;
-              }
-            });
+    this.jobs = new AsynchronousJobRegistry(maxCacheSize);
 
     this.jobListeners = new CopyOnWriteArrayList<>();
 
+    this.resultStore =
+        resultSpool
+            ? new AsynchronousJobResultStore(config.getAsynchronousResultSpoolMemory())
+            : null;
+
     setAsynchronousFutureFactory(new AsynchronousFutureFactory());
   }
 
@@ -125,7 +132,29 @@ public class AsynchronousJobPool implements ContextResolver<AsynchronousJobPool>
     this.asynchronousFutureFactory = asynchronousFutureFactory;
   }
 
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  public int getMaxWait() {
+    return maxWait;
+  }
+
+  public boolean isResultSpool() {
+    return resultSpool;
+  }
+
+  /**
+   * Creates executor of jobs. If virtual threads are enabled then each job is run in its own
+   * virtual thread and number of running jobs is limited to sum of size of pool and size of queue,
+   * i.e. to the same number of jobs that pool of threads accepts. Jobs that exceed limit are
+   * rejected in both cases.
+   */
   protected ExecutorService makeExecutorService() {
+    if (virtualThreads) {
+      return ThreadPerTaskExecutor.newVirtualThreadExecutor(
+          "everrest.AsynchronousJobPool-", threadPoolSize + maxQueueSize, TOO_MANY_JOBS);
+    }
     return new ThreadPoolExecutor(
         threadPoolSize,
         threadPoolSize,
@@ -155,24 +184,29 @@ public class AsynchronousJobPool implements ContextResolver<AsynchronousJobPool>
       Object resource, ResourceMethodDescriptor resourceMethod, Object[] params)
       throws AsynchronousJobRejectedException {
     final long expirationDate = System.currentTimeMillis() + MINUTES.toMillis(jobTimeout);
-    final Callable<Object> callable = newCallable(resource, resourceMethod.getMethod(), params);
+    final ApplicationContext context = ApplicationContext.getCurrent();
+    final ContainerRequest request =
+        createRequestCopy(context.getContainerRequest(), context.getSecurityContext());
+    // Save current set of providers. In some environments they can be resource specific.
+    final ProviderBinder providers = context.getProviders();
+
+    Callable<Object> callable = newCallable(resource, resourceMethod.getMethod(), params);
+    if (resultStore != null) {
+      final Callable<Object> invocation = callable;
+      callable = () -> resultStore.spool(invocation.call(), request, providers, resourceMethod);
+    }
     final AsynchronousFuture job =
         asynchronousFutureFactory.createAsynchronousFuture(
             callable, expirationDate, resourceMethod, jobListeners);
     job.setJobURI(getAsynchronousJobUriBuilder(job).build().toString());
 
-    final ApplicationContext context = ApplicationContext.getCurrent();
-    final ContainerRequest request =
-        createRequestCopy(context.getContainerRequest(), context.getSecurityContext());
-
     job.getContext().put("org.everrest.async.request", request);
-    // Save current set of providers. In some environments they can be resource specific.
-    job.getContext().put("org.everrest.async.providers", context.getProviders());
+    job.getContext().put("org.everrest.async.providers", providers);
 
     initAsynchronousJobContext(job);
 
     final Long jobId = job.getJobId();
-    jobs.put(jobId, job);
+    jobs.add(job);
 
     try {
       pool.execute(job);
@@ -226,12 +260,79 @@ public class AsynchronousJobPool implements ContextResolver<AsynchronousJobPool>
     final AsynchronousJob job = jobs.remove(jobId);
     if (!(job == null || job.isDone())) {
       job.cancel();
+    } else if (job instanceof AsynchronousFuture) {
+      ((AsynchronousFuture) job).discardResult();
     }
     return job;
   }
 
   public List<AsynchronousJob> getAll() {
-    return new ArrayList<>(jobs.values());
+    return jobs.getAll();
+  }
+
+  /** @return number of jobs in pool, including jobs that are done but their results are not read */
+  public int getJobCount() {
+    return jobs.size();
+  }
+
+  /** @return number of jobs that are removed from pool because they reached timeout */
+  public long getExpiredJobCount() {
+    return jobs.getExpiredCount();
+  }
+
+  /**
+   * @return number of jobs that are removed from pool before timeout because number of jobs
+   *     exceeded max cache size
+   */
+  public long getEvictedJobCount() {
+    return jobs.getEvictedCount();
+  }
+
+  /**
+   * Run callback once when job is done or when timeout is reached, whichever comes first. Callback
+   * is run by thread that completes job, by timer thread of pool or, if job is already done, by the
+   * current thread, so it must not block.
+   *
+   * @param job job
+   * @param timeoutMillis timeout in milliseconds
+   * @param callback callback
+   */
+  void whenDone(AsynchronousJob job, long timeoutMillis, Runnable callback) {
+    final AtomicBoolean called = new AtomicBoolean();
+    final Runnable once =
+        () -> {
+          if (called.compareAndSet(false, true)) {
+            callback.run();
+          }
+        };
+    final ScheduledFuture<?> timeout = jobs.schedule(once, timeoutMillis);
+    if (job instanceof AsynchronousFuture) {
+      ((AsynchronousFuture) job)
+          .whenDone(
+              () -> {
+                timeout.cancel(false);
+                once.run();
+              });
+    }
+  }
+
+  /**
+   * @return size in bytes of off-heap memory that keeps serialized results of jobs, {@code 0} if
+   *     results are not serialized
+   * @see EverrestConfiguration#EVERREST_ASYNCHRONOUS_RESULT_SPOOL
+   */
+  public long getSpooledResultMemory() {
+    return resultStore == null ? 0 : resultStore.getUsedMemory();
+  }
+
+  /** @return number of results of jobs that are serialized in off-heap memory */
+  public long getSpooledInMemoryResultCount() {
+    return resultStore == null ? 0 : resultStore.getSpooledInMemoryCount();
+  }
+
+  /** @return number of results of jobs that are serialized in temporary files */
+  public long getSpooledInFileResultCount() {
+    return resultStore == null ? 0 : resultStore.getSpooledInFileCount();
   }
 
   /**
@@ -258,6 +359,7 @@ public class AsynchronousJobPool implements ContextResolver<AsynchronousJobPool>
 
   @PreDestroy
   public void stop() {
+    jobs.stop();
     pool.shutdown();
     try {
       if (!pool.awaitTermination(5, SECONDS)) {
@@ -279,8 +381,7 @@ public class AsynchronousJobPool implements ContextResolver<AsynchronousJobPool>
     @Override
     public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
       if (executor.getPoolSize() >= executor.getCorePoolSize()) {
-        throw new RejectedExecutionException(
-            "Can't accept new asynchronous request. Too many asynchronous jobs in progress");
+        throw new RejectedExecutionException(TOO_MANY_JOBS);
       }
       delegate.rejectedExecution(r, executor);
     }
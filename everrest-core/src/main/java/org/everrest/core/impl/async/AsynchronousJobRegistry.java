@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.async;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of asynchronous jobs. Jobs are kept in {@link ConcurrentHashMap}, so lookups do not
+ * block and updates lock only bin of map. Expired jobs are found with hashed timing wheel: each job
+ * is put in bucket of tick of its expiration date and expirer that is run once per tick checks only
+ * buckets of past ticks. Job that expires after more than one rotation of wheel stays in its bucket
+ * until rotation in which it expires. When number of jobs exceeds maximal size the oldest jobs are
+ * evicted before they are expired.
+ *
+ * <p>Expired and evicted jobs are removed from registry and cancelled if they are not done yet.
+ * Serialized results of jobs that are done are discarded, see {@link SpooledResult}.
+ */
+class AsynchronousJobRegistry {
+  private static final Logger LOG = LoggerFactory.getLogger(AsynchronousJobRegistry.class);
+
+  private final int maxSize;
+  private final long tickMillis;
+  private final LongSupplier clock;
+
+  private final ConcurrentHashMap<Long, Registration> jobs;
+  private final Set<Long>[] wheel;
+  /**
+   * Jobs by sequence number of adding, used to find the oldest job for eviction. Job is removed
+   * from here when it is removed from registry.
+   */
+  private final ConcurrentSkipListMap<Long, Registration> order;
+
+  private final AtomicLong sequence = new AtomicLong();
+
+  private final LongAdder expiredCount = new LongAdder();
+  private final LongAdder evictedCount = new LongAdder();
+
+  /** The last tick that is checked by expirer. */
+  private volatile long lastTick;
+
+  private volatile ScheduledExecutorService expirer;
+
+  AsynchronousJobRegistry(int maxSize) {
+    this(maxSize, 1000, 512, System::currentTimeMillis);
+  }
+
+  /**
+   * @param maxSize max number of jobs in registry
+   * @param tickMillis duration of tick of wheel in milliseconds
+   * @param wheelSize number of buckets in wheel, must be power of two
+   * @param clock source of current time in milliseconds
+   */
+  @SuppressWarnings("unchecked")
+  AsynchronousJobRegistry(int maxSize, long tickMillis, int wheelSize, LongSupplier clock) {
+    if (Integer.bitCount(wheelSize) != 1) {
+      throw new IllegalArgumentException("Size of wheel must be power of two");
+    }
+    this.maxSize = maxSize;
+    this.tickMillis = tickMillis;
+    this.clock = clock;
+    this.jobs = new ConcurrentHashMap<>();
+    this.wheel = new Set[wheelSize];
+    for (int i = 0; i < wheelSize; i++) {
+      wheel[i] = ConcurrentHashMap.newKeySet();
+    }
+    this.order = new ConcurrentSkipListMap<>();
+    this.lastTick = clock.getAsLong() / tickMillis;
+  }
+
+  void add(AsynchronousJob job) {
+    ensureExpirerStarted();
+    Registration registration = new Registration(job, sequence.incrementAndGet());
+    // Added to order first, so job that is removed concurrently does not stay there.
+    order.put(registration.sequence, registration);
+    Registration previous = jobs.put(job.getJobId(), registration);
+    if (previous != null) {
+      order.remove(previous.sequence);
+    }
+    // Job that expires at already checked tick is checked at the next tick.
+    long tick = Math.max(getExpirationTick(job), lastTick + 1);
+    wheel[(int) (tick & (wheel.length - 1))].add(job.getJobId());
+    while (jobs.size() > maxSize) {
+      Map.Entry<Long, Registration> eldest = order.pollFirstEntry();
+      if (eldest == null) {
+        break;
+      }
+      if (removeAndCancel(eldest.getValue().job)) {
+        evictedCount.increment();
+        LOG.debug("Asynchronous job {} is evicted", eldest.getValue().job.getJobId());
+      }
+    }
+  }
+
+  /**
+   * Get job by id. Job that is expired but is not removed by expirer yet is removed by this method.
+   *
+   * @return job or {@code null} if there is no job with specified id or job is expired
+   */
+  AsynchronousJob get(Long jobId) {
+    Registration registration = jobs.get(jobId);
+    if (registration == null) {
+      return null;
+    }
+    AsynchronousJob job = registration.job;
+    if (job.getExpirationDate() <= clock.getAsLong()) {
+      expire(job);
+      return null;
+    }
+    return job;
+  }
+
+  /**
+   * Remove job from registry. Job is not cancelled.
+   *
+   * @return removed job or {@code null} if there is no job with specified id
+   */
+  AsynchronousJob remove(Long jobId) {
+    Registration registration = jobs.remove(jobId);
+    if (registration == null) {
+      return null;
+    }
+    order.remove(registration.sequence);
+    removeFromWheel(registration.job);
+    return registration.job;
+  }
+
+  List<AsynchronousJob> getAll() {
+    List<AsynchronousJob> all = new ArrayList<>(jobs.size());
+    for (Registration registration : jobs.values()) {
+      all.add(registration.job);
+    }
+    return all;
+  }
+
+  int size() {
+    return jobs.size();
+  }
+
+  /**
+   * @return number of jobs that are candidates for eviction, must be the same as {@link #size()}
+   */
+  int getEvictionQueueSize() {
+    return order.size();
+  }
+
+  long getExpiredCount() {
+    return expiredCount.sum();
+  }
+
+  long getEvictedCount() {
+    return evictedCount.sum();
+  }
+
+  /**
+   * Remove and cancel jobs that are expired. Checks buckets of all ticks that are passed since
+   * previous check, but not more than one rotation of wheel.
+   */
+  void expireJobs() {
+    long now = clock.getAsLong();
+    long currentTick = now / tickMillis;
+    long fromTick;
+    synchronized (this) {
+      if (currentTick <= lastTick) {
+        return;
+      }
+      fromTick = Math.max(lastTick + 1, currentTick - wheel.length + 1);
+      lastTick = currentTick;
+    }
+    for (long tick = fromTick; tick <= currentTick; tick++) {
+      Set<Long> bucket = wheel[(int) (tick & (wheel.length - 1))];
+      for (Long jobId : bucket) {
+        Registration registration = jobs.get(jobId);
+        if (registration == null) {
+          bucket.remove(jobId);
+        } else if (registration.job.getExpirationDate() <= now) {
+          expire(registration.job);
+        }
+      }
+    }
+  }
+
+  private void expire(AsynchronousJob job) {
+    if (removeAndCancel(job)) {
+      expiredCount.increment();
+      LOG.debug("Asynchronous job {} is expired", job.getJobId());
+    }
+  }
+
+  private boolean removeAndCancel(AsynchronousJob job) {
+    Registration registration = jobs.get(job.getJobId());
+    if (registration != null
+        && registration.job == job
+        && jobs.remove(job.getJobId(), registration)) {
+      order.remove(registration.sequence);
+      removeFromWheel(job);
+      if (!job.isDone()) {
+        job.cancel();
+      } else if (job instanceof AsynchronousFuture) {
+        ((AsynchronousFuture) job).discardResult();
+      }
+      return true;
+    }
+    return false;
+  }
+
+  /** The first tick that starts at or after expiration date of job. */
+  private long getExpirationTick(AsynchronousJob job) {
+    return (job.getExpirationDate() + tickMillis - 1) / tickMillis;
+  }
+
+  /**
+   * Removes id of job from bucket of its expiration tick. If job was added to other bucket then its
+   * id is removed when expirer checks that bucket.
+   */
+  private void removeFromWheel(AsynchronousJob job) {
+    wheel[(int) (getExpirationTick(job) & (wheel.length - 1))].remove(job.getJobId());
+  }
+
+  /**
+   * Run task once after delay in thread of expirer. Task must not block since it delays expiration
+   * of jobs.
+   */
+  ScheduledFuture<?> schedule(Runnable task, long delayMillis) {
+    return ensureExpirerStarted().schedule(task, delayMillis, MILLISECONDS);
+  }
+
+  /** Starts expirer when it is needed first time. Lock is taken only when expirer is started. */
+  private ScheduledExecutorService ensureExpirerStarted() {
+    ScheduledExecutorService current = expirer;
+    if (current == null) {
+      synchronized (this) {
+        current = expirer;
+        if (current == null) {
+          current =
+              Executors.newSingleThreadScheduledExecutor(
+                  new ThreadFactoryBuilder()
+                      .setNameFormat("everrest.AsynchronousJobPool-expirer-%d")
+                      .setDaemon(true)
+                      .build());
+          current.scheduleAtFixedRate(this::runExpirer, tickMillis, tickMillis, MILLISECONDS);
+          expirer = current;
+        }
+      }
+    }
+    return current;
+  }
+
+  private void runExpirer() {
+    try {
+      expireJobs();
+    } catch (RuntimeException e) {
+      LOG.error(e.getMessage(), e);
+    }
+  }
+
+  synchronized void stop() {
+    if (expirer != null) {
+      expirer.shutdownNow();
+      expirer = null;
+    }
+  }
+
+  /** Job and sequence number of its adding to registry. */
+  private static final class Registration {
+    final AsynchronousJob job;
+    final long sequence;
+
+    Registration(AsynchronousJob job, long sequence) {
+      this.job = job;
+      this.sequence = sequence;
+    }
+  }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.async;
+
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+
+import jakarta.ws.rs.core.GenericEntity;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Providers;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.everrest.core.GenericContainerRequest;
+import org.everrest.core.impl.FileCollector;
+import org.everrest.core.impl.header.HeaderHelper;
+import org.everrest.core.resource.ResourceMethodDescriptor;
+import org.everrest.core.util.CaselessMultivaluedMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serializes results of asynchronous jobs when jobs are done, so results are not kept in heap until
+ * clients get them. Result is written with {@link MessageBodyWriter} that is selected for request
+ * that started job in bounded pool of direct buffers. When pool is exhausted result is written in
+ * temporary file of {@link FileCollector}. Buffers are reused when results are read or discarded.
+ *
+ * <p>Result is kept as is if it has no entity, if media type of entity is not known exactly or if
+ * there is no writer for entity. Result is kept as is also if writer fails, e.g. because writer
+ * needs context of request, then the same writer is used again when client gets result.
+ */
+class AsynchronousJobResultStore {
+  private static final Logger LOG = LoggerFactory.getLogger(AsynchronousJobResultStore.class);
+
+  static final int BUFFER_SIZE = 64 * 1024;
+
+  private final int maxBuffers;
+  private final AtomicInteger allocatedBuffers = new AtomicInteger();
+  private final AtomicInteger usedBuffers = new AtomicInteger();
+  private final Queue<ByteBuffer> freeBuffers = new ConcurrentLinkedQueue<>();
+
+  private final LongAdder spooledInMemory = new LongAdder();
+  private final LongAdder spooledInFile = new LongAdder();
+
+  /** @param maxMemory max size of all buffers in bytes */
+  AsynchronousJobResultStore(int maxMemory) {
+    this.maxBuffers = maxMemory / BUFFER_SIZE;
+  }
+
+  /**
+   * Serializes result of job.
+   *
+   * @param result result of resource method
+   * @param request copy of request that started job
+   * @param providers providers that are used for request that started job
+   * @param resourceMethod resource method
+   * @return {@link SpooledResult} or {@code result} if it is not serialized
+   */
+  Object spool(
+      Object result,
+      GenericContainerRequest request,
+      Providers providers,
+      ResourceMethodDescriptor resourceMethod) {
+    if (result == null || result instanceof SpooledResult) {
+      return result;
+    }
+    final int status;
+    final MultivaluedMap<String, Object> headers = new CaselessMultivaluedMap<>();
+    Object entity;
+    if (result instanceof Response) {
+      Response response = (Response) result;
+      status = response.getStatus();
+      headers.putAll(response.getMetadata());
+      entity = response.getEntity();
+    } else {
+      status = Response.Status.OK.getStatusCode();
+      entity = result;
+    }
+    if (entity == null) {
+      return result;
+    }
+
+    final MediaType contentType;
+    final Object contentTypeHeader = headers.getFirst(CONTENT_TYPE);
+    if (contentTypeHeader instanceof MediaType) {
+      contentType = (MediaType) contentTypeHeader;
+    } else if (contentTypeHeader != null) {
+      contentType = MediaType.valueOf(HeaderHelper.getHeaderAsString(contentTypeHeader));
+    } else {
+      contentType = request.getAcceptableMediaType(resourceMethod.produces());
+    }
+    if (contentType == null || contentType.isWildcardType() || contentType.isWildcardSubtype()) {
+      return result;
+    }
+    headers.putSingle(CONTENT_TYPE, contentType);
+
+    Type entityType;
+    if (entity instanceof GenericEntity) {
+      entityType = ((GenericEntity) entity).getType();
+      entity = ((GenericEntity) entity).getEntity();
+    } else {
+      entityType = entity.getClass();
+    }
+    @SuppressWarnings("unchecked")
+    final MessageBodyWriter<Object> entityWriter =
+        (MessageBodyWriter<Object>)
+            providers.getMessageBodyWriter(entity.getClass(), entityType, null, contentType);
+    if (entityWriter == null) {
+      return result;
+    }
+
+    final SpoolOutputStream output = new SpoolOutputStream();
+    try {
+      entityWriter.writeTo(
+          entity, entity.getClass(), entityType, null, contentType, headers, output);
+      output.close();
+    } catch (Exception e) {
+      LOG.debug("Unable serialize result of asynchronous job, {}", e.getMessage(), e);
+      output.discard();
+      return result;
+    }
+    if (output.file == null) {
+      spooledInMemory.increment();
+    } else {
+      spooledInFile.increment();
+    }
+    return new SpooledResult(this, status, headers, output.buffers, output.file, output.length);
+  }
+
+  private ByteBuffer acquireBuffer() {
+    ByteBuffer buffer = freeBuffers.poll();
+    if (buffer == null) {
+      if (allocatedBuffers.incrementAndGet() > maxBuffers) {
+        allocatedBuffers.decrementAndGet();
+        return null;
+      }
+      buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+    buffer.clear();
+    usedBuffers.incrementAndGet();
+    return buffer;
+  }
+
+  void releaseBuffers(List<ByteBuffer> buffers) {
+    for (ByteBuffer buffer : buffers) {
+      usedBuffers.decrementAndGet();
+      freeBuffers.add(buffer);
+    }
+  }
+
+  /** @return size in bytes of buffers that keep results */
+  long getUsedMemory() {
+    return (long) usedBuffers.get() * BUFFER_SIZE;
+  }
+
+  /** @return size in bytes of all allocated buffers, including free buffers */
+  long getAllocatedMemory() {
+    return (long) allocatedBuffers.get() * BUFFER_SIZE;
+  }
+
+  long getSpooledInMemoryCount() {
+    return spooledInMemory.sum();
+  }
+
+  long getSpooledInFileCount() {
+    return spooledInFile.sum();
+  }
+
+  /**
+   * Writes data in direct buffers from pool. When pool is exhausted content of buffers is moved in
+   * file and the rest of data is written in file.
+   */
+  private class SpoolOutputStream extends OutputStream {
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    private ByteBuffer current;
+    private File file;
+    private OutputStream fileOutput;
+    private long length;
+    private boolean closed;
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      length += len;
+      while (len > 0) {
+        if (fileOutput != null) {
+          fileOutput.write(b, off, len);
+          return;
+        }
+        if (current == null || !current.hasRemaining()) {
+          current = acquireBuffer();
+          if (current == null) {
+            spill();
+            continue;
+          }
+          buffers.add(current);
+        }
+        int n = Math.min(len, current.remaining());
+        current.put(b, off, n);
+        off += n;
+        len -= n;
+      }
+    }
+
+    private void spill() throws IOException {
+      file = FileCollector.getInstance().createFile();
+      final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+      fileOutput = new BufferedOutputStream(Channels.newOutputStream(channel));
+      for (ByteBuffer buffer : buffers) {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+      releaseBuffers(buffers);
+      buffers.clear();
+      current = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+      // Writer may close stream itself.
+      if (closed) {
+        return;
+      }
+      closed = true;
+      if (fileOutput != null) {
+        fileOutput.close();
+      } else {
+        for (ByteBuffer buffer : buffers) {
+          buffer.flip();
+        }
+      }
+    }
+
+    void discard() {
+      releaseBuffers(buffers);
+      buffers.clear();
+      if (fileOutput != null) {
+        try {
+          fileOutput.close();
+        } catch (IOException ignored) {
+        }
+      }
+      if (file != null) {
+        file.delete();
+      }
+    }
+  }
+}
@@ -11,11 +11,17 @@
  */
 package org.everrest.core.impl.async;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import jakarta.annotation.PreDestroy;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.GenericEntity;
@@ -29,25 +35,45 @@ import jakarta.ws.rs.ext.Providers;
 import java.security.Principal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.GenericContainerRequest;
+import org.everrest.core.impl.EnvironmentContext;
 import org.everrest.core.impl.ProviderBinder;
+import org.everrest.core.servlet.ServletRequestSuspender;
 
 /**
  * Service to get results of invocation asynchronous job from {@link AsynchronousJobPool}. Instance
  * of AsynchronousJobPool obtained in in this class via mechanism of injections. This resource must
  * always be deployed as per-request resource.
  *
+ * <p>Client may wait for result of job that is not done yet with query parameter {@code wait}, e.g.
+ * {@code async/1?wait=30s}, instead of repeating requests while service responds with status 202.
+ * Value of parameter is number with optional unit {@code ms}, {@code s} (default) or {@code m}, it
+ * is cut to {@link AsynchronousJobPool#getMaxWait()}. Request of {@link
+ * org.everrest.core.servlet.EverrestServlet} that is declared as async supported is suspended with
+ * {@link ServletRequestSuspender} until job is done, so no thread is held while client waits. Other
+ * requests, e.g. requests that come over WebSocket, wait in thread that processes them.
+ *
  * @author andrew00x
  */
 @Path("async")
 public class AsynchronousJobService {
+  private static final Pattern WAIT_PATTERN = Pattern.compile("(\\d+)(ms|s|m)?");
+
   @Context private Providers providers;
 
+  /** Serialized result that is sent to client, it is released when request is processed. */
+  private SpooledResult spooledResult;
+
   @GET
   @Path("{job}")
   public Object get(
       @PathParam("job") Long jobId,
+      @QueryParam("wait") String wait,
       @Context UriInfo uriInfo,
       @Context SecurityContext securityContext) {
     final AsynchronousJobPool pool = getJobPool();
@@ -65,10 +91,22 @@ public class AsynchronousJobService {
         (GenericContainerRequest) job.getContext().get("org.everrest.async.request");
     if (securityContext.isUserInRole("administrators")
         || principalMatched(request.getUserPrincipal(), securityContext.getUserPrincipal())) {
+      if (!job.isDone() && wait != null && awaitJob(pool, job, parseWait(wait, pool))) {
+        // Request is suspended, response is sent when job is done.
+        return null;
+      }
       if (job.isDone()) {
         Object result;
         try {
           result = job.getResult();
+          if (result instanceof SpooledResult && !((SpooledResult) result).claim()) {
+            // Result is read by other request or job is removed concurrently.
+            throw new WebApplicationException(
+                Response.status(Response.Status.NOT_FOUND)
+                    .entity(String.format("Job %d not found. ", jobId))
+                    .type(MediaType.TEXT_PLAIN)
+                    .build());
+          }
         } finally {
           pool.removeJob(jobId);
           // Restore resource specific set of providers.
@@ -78,7 +116,12 @@ public class AsynchronousJobService {
 
         // This response will be sent to client side.
         Response response;
-        if (result == null || result.getClass() == void.class || result.getClass() == Void.class) {
+        if (result instanceof SpooledResult) {
+          spooledResult = (SpooledResult) result;
+          response = spooledResult.toResponse();
+        } else if (result == null
+            || result.getClass() == void.class
+            || result.getClass() == Void.class) {
           response = Response.noContent().build();
         } else if (Response.class.isAssignableFrom(result.getClass())) {
           response = (Response) result;
@@ -117,6 +160,14 @@ public class AsynchronousJobService {
     }
   }
 
+  /** Releases serialized result if it is not written, e.g. for HEAD request. */
+  @PreDestroy
+  public void releaseResult() {
+    if (spooledResult != null) {
+      spooledResult.release();
+    }
+  }
+
   @GET
   @Produces({MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN})
   public GenericEntity<List<AsynchronousProcess>> list() {
@@ -165,6 +216,60 @@ public class AsynchronousJobService {
     }
   }
 
+  /**
+   * Waits until job is done or timeout is reached. Suspends request if it is possible instead of
+   * waiting.
+   *
+   * @return {@code true} if request is suspended
+   */
+  private boolean awaitJob(AsynchronousJobPool pool, AsynchronousJob job, long timeoutMillis) {
+    if (timeoutMillis <= 0) {
+      return false;
+    }
+    final EnvironmentContext env = EnvironmentContext.getCurrent();
+    final ServletRequestSuspender suspender =
+        env == null ? null : (ServletRequestSuspender) env.get(ServletRequestSuspender.class);
+    if (suspender != null && suspender.isResumed()) {
+      // Request was suspended and is resumed since job is done or wait timeout is reached.
+      return false;
+    }
+    if (suspender != null && suspender.isSuspendSupported()) {
+      pool.whenDone(job, timeoutMillis, suspender.suspend(timeoutMillis));
+      return true;
+    }
+    final CountDownLatch done = new CountDownLatch(1);
+    pool.whenDone(job, timeoutMillis, done::countDown);
+    try {
+      done.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return false;
+  }
+
+  private long parseWait(String wait, AsynchronousJobPool pool) {
+    final Matcher matcher = WAIT_PATTERN.matcher(wait.trim());
+    if (!matcher.matches()) {
+      throw new WebApplicationException(
+          Response.status(Response.Status.BAD_REQUEST)
+              .entity(String.format("Invalid wait time '%s'. ", wait))
+              .type(MediaType.TEXT_PLAIN)
+              .build());
+    }
+    final long maxWait = SECONDS.toMillis(pool.getMaxWait());
+    final long value;
+    try {
+      value = Long.parseLong(matcher.group(1));
+    } catch (NumberFormatException e) {
+      // Too big number.
+      return maxWait;
+    }
+    final String unit = matcher.group(2);
+    final TimeUnit timeUnit =
+        "ms".equals(unit) ? MILLISECONDS : "m".equals(unit) ? MINUTES : SECONDS;
+    return Math.min(timeUnit.toMillis(value), maxWait);
+  }
+
   private boolean principalMatched(Principal principal1, Principal principal2) {
     if (principal1 == null) {
       return true;
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.async;
+
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
+
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serialized result of asynchronous job that is kept in direct buffers or in temporary file, see
+ * {@link AsynchronousJobResultStore}. Bytes are written in response as is, without serialization
+ * and without copying them in heap. Result may be read once: client that gets result claims it and
+ * releases it when result is written. Result that is not claimed is discarded when job is removed
+ * from pool.
+ */
+class SpooledResult implements StreamingOutput {
+  private static final int AVAILABLE = 0;
+  private static final int CLAIMED = 1;
+  private static final int RELEASED = 2;
+
+  private final AsynchronousJobResultStore store;
+  private final int status;
+  private final MultivaluedMap<String, Object> headers;
+  private final List<ByteBuffer> buffers;
+  private final File file;
+  private final long length;
+  private final AtomicInteger state = new AtomicInteger(AVAILABLE);
+
+  SpooledResult(
+      AsynchronousJobResultStore store,
+      int status,
+      MultivaluedMap<String, Object> headers,
+      List<ByteBuffer> buffers,
+      File file,
+      long length) {
+    this.store = store;
+    this.status = status;
+    this.headers = headers;
+    this.buffers = buffers;
+    this.file = file;
+    this.length = length;
+  }
+
+  /**
+   * Claims result for sending to client.
+   *
+   * @return {@code true} if result is claimed and {@code false} if result is already claimed or
+   *     discarded
+   */
+  boolean claim() {
+    return state.compareAndSet(AVAILABLE, CLAIMED);
+  }
+
+  /** Releases result if it is not claimed. */
+  void discard() {
+    if (state.compareAndSet(AVAILABLE, RELEASED)) {
+      doRelease();
+    }
+  }
+
+  /** Releases claimed result. */
+  void release() {
+    if (state.compareAndSet(CLAIMED, RELEASED)) {
+      doRelease();
+    }
+  }
+
+  boolean isReleased() {
+    return state.get() == RELEASED;
+  }
+
+  private void doRelease() {
+    store.releaseBuffers(buffers);
+    if (file != null) {
+      file.delete();
+    }
+  }
+
+  /** @return response with status and headers of result and this object as entity */
+  Response toResponse() {
+    final Response.ResponseBuilder builder = Response.status(status);
+    for (Map.Entry<String, List<Object>> header : headers.entrySet()) {
+      if (CONTENT_LENGTH.equalsIgnoreCase(header.getKey())) {
+        continue;
+      }
+      for (Object value : header.getValue()) {
+        builder.header(header.getKey(), value);
+      }
+    }
+    return builder.header(CONTENT_LENGTH, Long.toString(length)).entity(this).build();
+  }
+
+  long getLength() {
+    return length;
+  }
+
+  boolean isInFile() {
+    return file != null;
+  }
+
+  @Override
+  public void write(OutputStream output) throws IOException {
+    try {
+      final WritableByteChannel channel = Channels.newChannel(output);
+      if (file == null) {
+        for (ByteBuffer buffer : buffers) {
+          final ByteBuffer content = buffer.duplicate();
+          while (content.hasRemaining()) {
+            channel.write(content);
+          }
+        }
+      } else {
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+          long position = 0;
+          while (position < length) {
+            final long transferred = fileChannel.transferTo(position, length - position, channel);
+            if (transferred <= 0) {
+              throw new IOException("Unexpected end of file " + file);
+            }
+            position += transferred;
+          }
+        }
+      }
+    } finally {
+      release();
+    }
+  }
+}
@@ -13,6 +13,7 @@ package org.everrest.core.impl.header;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static jakarta.ws.rs.core.MediaType.WILDCARD;
+import static java.util.Collections.unmodifiableList;
 import static org.everrest.core.impl.header.CookieBuilder.aCookie;
 import static org.everrest.core.impl.header.NewCookieBuilder.aNewCookie;
 import static org.everrest.core.util.StringUtils.charAtIs;
@@ -20,23 +21,20 @@ import static org.everrest.core.util.StringUtils.doesNotContain;
 import static org.everrest.core.util.StringUtils.scan;
 
 import com.google.common.base.Joiner;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import jakarta.ws.rs.core.Cookie;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.NewCookie;
 import jakarta.ws.rs.ext.RuntimeDelegate;
 import jakarta.ws.rs.ext.RuntimeDelegate.HeaderDelegate;
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
-import java.util.Locale;
-import java.util.TimeZone;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.everrest.core.header.QualityValue;
@@ -68,6 +66,12 @@ public class HeaderHelper {
   private static final List<AcceptLanguage> ACCEPT_ALL_LANGUAGE =
       Collections.singletonList(AcceptLanguage.DEFAULT);
 
+  /** Max number of cached parsed values for each of 'accept' and 'accept-language' headers. */
+  private static final int ACCEPT_HEADER_CACHE_SIZE = 256;
+
+  /** Max length of 'accept' and 'accept-language' headers that may be cached. */
+  private static final int MAX_CACHED_ACCEPT_HEADER_LENGTH = 1024;
+
   /** Accept all tokens list. */
   private static final List<AcceptToken> ACCEPT_ALL_TOKENS =
       Collections.singletonList(new AcceptToken("*"));
@@ -105,8 +109,13 @@ public class HeaderHelper {
   private static final ListHeaderProducer<AcceptMediaType> LIST_MEDIA_TYPE_PRODUCER =
       new ListHeaderProducer<>(new AcceptMediaTypeFactory());
 
+  /** Parsed 'accept' headers, see {@link #createAcceptMediaTypeList(String)}. */
+  private static final Cache<String, List<AcceptMediaType>> ACCEPT_MEDIA_TYPE_CACHE =
+      newAcceptHeaderCache();
+
   /**
-   * Creates sorted by quality value accepted media type list.
+   * Creates sorted by quality value accepted media type list. Clients usually send few distinct
+   * values of header, so parsed lists are cached. Returned list is unmodifiable.
    *
    * @param header source header string
    * @return List of AcceptMediaType
@@ -115,7 +124,7 @@ public class HeaderHelper {
     if (isNullOrEmpty(header) || WILDCARD.equals(header.trim())) {
       return ACCEPT_ALL_MEDIA_TYPE;
     }
-    return LIST_MEDIA_TYPE_PRODUCER.createQualitySortedList(header);
+    return getQualitySortedList(header, ACCEPT_MEDIA_TYPE_CACHE, LIST_MEDIA_TYPE_PRODUCER);
   }
 
   /**
@@ -126,8 +135,13 @@ public class HeaderHelper {
   private static final ListHeaderProducer<AcceptLanguage> LIST_LANGUAGE_PRODUCER =
       new ListHeaderProducer<>(new AcceptLanguageFactory());
 
+  /** Parsed 'accept-language' headers, see {@link #createAcceptedLanguageList(String)}. */
+  private static final Cache<String, List<AcceptLanguage>> ACCEPT_LANGUAGE_CACHE =
+      newAcceptHeaderCache();
+
   /**
-   * Creates sorted by quality value accepted language list.
+   * Creates sorted by quality value accepted language list. Clients usually send few distinct
+   * values of header, so parsed lists are cached. Returned list is unmodifiable.
    *
    * @param header source header string
    * @return List of AcceptLanguage
@@ -136,7 +150,32 @@ public class HeaderHelper {
     if (isNullOrEmpty(header) || "*".equals(header)) {
       return ACCEPT_ALL_LANGUAGE;
     }
-    return LIST_LANGUAGE_PRODUCER.createQualitySortedList(header);
+    return getQualitySortedList(header, ACCEPT_LANGUAGE_CACHE, LIST_LANGUAGE_PRODUCER);
+  }
+
+  private static <T> Cache<String, List<T>> newAcceptHeaderCache() {
+    return CacheBuilder.newBuilder()
+        .concurrencyLevel(8)
+        .maximumSize(ACCEPT_HEADER_CACHE_SIZE)
+        .build();
+  }
+
+  /**
+   * Get parsed header from cache or parse it with {@code producer}. Headers that are longer than
+   * {@link #MAX_CACHED_ACCEPT_HEADER_LENGTH} are not cached. Number of cached headers is limited,
+   * least recently used entries are evicted, so headers with random content do not fill memory.
+   */
+  private static <T extends QualityValue> List<T> getQualitySortedList(
+      String header, Cache<String, List<T>> cache, ListHeaderProducer<T> producer) {
+    if (header.length() > MAX_CACHED_ACCEPT_HEADER_LENGTH) {
+      return unmodifiableList(producer.createQualitySortedList(header));
+    }
+    List<T> list = cache.getIfPresent(header);
+    if (list == null) {
+      list = unmodifiableList(producer.createQualitySortedList(header));
+      cache.put(header, list);
+    }
+    return list;
   }
 
   /**
@@ -309,38 +348,6 @@ public class HeaderHelper {
 
   // Date
 
-  // HTTP applications have historically allowed three different formats
-  // for the representation of date/time stamps
-  // For example :
-  // Sun, 06 Nov 1994 08:49:37 GMT  ; RFC 822, updated by RFC 1123
-  // Sunday, 06-Nov-94 08:49:37 GMT ; RFC 850, obsoleted by RFC 1036
-  // Sun Nov 6 08:49:37 1994        ; ANSI C's asctime() format
-
-  private static class DateFormats {
-    /** RFC 822, updated by RFC 1123. */
-    static final String RFC_1123_DATE_FORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
-
-    /** RFC 850, obsoleted by RFC 1036. */
-    static final String RFC_1036_DATE_FORMAT = "EEEE, dd-MMM-yy HH:mm:ss zzz";
-
-    /** ANSI C's asctime() format. */
-    static final String ANSI_C_DATE_FORMAT = "EEE MMM d HH:mm:ss yyyy";
-
-    static final SimpleDateFormat[] formats = createFormats();
-
-    private static SimpleDateFormat[] createFormats() {
-      SimpleDateFormat[] formats = new SimpleDateFormat[3];
-      formats[0] = new SimpleDateFormat(RFC_1123_DATE_FORMAT, Locale.US);
-      formats[1] = new SimpleDateFormat(RFC_1036_DATE_FORMAT, Locale.US);
-      formats[2] = new SimpleDateFormat(ANSI_C_DATE_FORMAT, Locale.US);
-      TimeZone tz = TimeZone.getTimeZone("GMT");
-      formats[0].setTimeZone(tz);
-      formats[1].setTimeZone(tz);
-      formats[2].setTimeZone(tz);
-      return formats;
-    }
-  }
-
   /**
    * Parses date header. Will try to found appropriated format for given date header. Format can be
    * one of described in <a href="http://www.w3.org/Protocols/rfc2616/rfc2616-sec3.html#sec3.3.1"
@@ -350,14 +357,12 @@ public class HeaderHelper {
    * @return parsed Date
    */
   public static Date parseDateHeader(String header) {
-    for (SimpleDateFormat format : DateFormats.formats) {
-      try {
-        return ((SimpleDateFormat) format.clone()).parse(header);
-      } catch (ParseException ignored) {
-      }
+    Date date = HttpDateFormat.parse(header);
+    if (date == null) {
+      throw new IllegalArgumentException(
+          String.format("Not found appropriated date format for %s", header));
     }
-    throw new IllegalArgumentException(
-        String.format("Not found appropriated date format for %s", header));
+    return date;
   }
 
   /**
@@ -367,7 +372,7 @@ public class HeaderHelper {
    * @return string in RFC 1123 format
    */
   public static String formatDate(Date date) {
-    return ((DateFormat) DateFormats.formats[0].clone()).format(date);
+    return HttpDateFormat.format(date);
   }
 
   //
@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.header;
+
+import static java.time.ZoneOffset.UTC;
+import static java.util.Map.entry;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses and formats dates in formats that are allowed in HTTP headers:
+ *
+ * <pre>
+ * Sun, 06 Nov 1994 08:49:37 GMT  ; RFC 822, updated by RFC 1123
+ * Sunday, 06-Nov-94 08:49:37 GMT ; RFC 850, obsoleted by RFC 1036
+ * Sun Nov  6 08:49:37 1994       ; ANSI C's asctime() format
+ * </pre>
+ *
+ * Unlike {@link java.text.SimpleDateFormat} this class is thread-safe and does not use exceptions
+ * to find format of date. Names of days and months are case-insensitive, text after time zone of
+ * RFC 1123 and RFC 1036 dates or after year of asctime() date is ignored.
+ *
+ * <p>Dates are formatted in RFC 1123 format. The last formatted second is cached, so formatting of
+ * current time, e.g. for header 'Date', creates new string once per second.
+ */
+final class HttpDateFormat {
+  private static final String[] DAYS_OF_WEEK = {
+    "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
+  };
+
+  private static final String[] MONTHS = {
+    "January",
+    "February",
+    "March",
+    "April",
+    "May",
+    "June",
+    "July",
+    "August",
+    "September",
+    "October",
+    "November",
+    "December"
+  };
+
+  private static final int SECONDS_PER_DAY = 86400;
+
+  /** Holder of the last formatted second and its string representation. */
+  private static final class FormattedSecond {
+    final long epochSecond;
+    final String value;
+
+    FormattedSecond(long epochSecond, String value) {
+      this.epochSecond = epochSecond;
+      this.value = value;
+    }
+  }
+
+  private static volatile FormattedSecond lastFormatted = new FormattedSecond(0, format(0));
+
+  private HttpDateFormat() {}
+
+  /**
+   * Formats {@code date} in RFC 1123 format, e.g. {@code Sun, 06 Nov 1994 08:49:37 GMT}.
+   *
+   * @param date date
+   * @return string in RFC 1123 format
+   */
+  static String format(Date date) {
+    long epochSecond = Math.floorDiv(date.getTime(), 1000);
+    FormattedSecond formatted = lastFormatted;
+    if (formatted.epochSecond != epochSecond) {
+      formatted = new FormattedSecond(epochSecond, format(epochSecond));
+      lastFormatted = formatted;
+    }
+    return formatted.value;
+  }
+
+  private static String format(long epochSecond) {
+    long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+    int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+    // 1970-01-01 is Thursday
+    int dayOfWeek = (int) Math.floorMod(epochDay + 3, 7);
+
+    // Conversion of epoch day to civil date, see
+    // http://howardhinnant.github.io/date_algorithms.html
+    long z = epochDay + 719468;
+    long era = Math.floorDiv(z, 146097);
+    int dayOfEra = (int) (z - era * 146097);
+    int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    int shiftedMonth = (5 * dayOfYear + 2) / 153;
+    int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+    int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+    long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+    StringBuilder builder = new StringBuilder(29);
+    builder.append(DAYS_OF_WEEK[dayOfWeek], 0, 3).append(", ");
+    appendTwoDigits(builder, day);
+    builder.append(' ').append(MONTHS[month - 1], 0, 3).append(' ');
+    if (year >= 0 && year < 1000) {
+      builder.append(year < 10 ? "000" : year < 100 ? "00" : "0");
+    }
+    builder.append(year).append(' ');
+    appendTwoDigits(builder, secondOfDay / 3600);
+    builder.append(':');
+    appendTwoDigits(builder, secondOfDay / 60 % 60);
+    builder.append(':');
+    appendTwoDigits(builder, secondOfDay % 60);
+    return builder.append(" GMT").toString();
+  }
+
+  private static void appendTwoDigits(StringBuilder builder, int value) {
+    builder.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+  }
+
+  /**
+   * Parses date in one of RFC 1123, RFC 1036 or ANSI C's asctime() formats.
+   *
+   * @param header date header
+   * @return parsed date or {@code null} if {@code header} does not match to any supported format
+   */
+  static Date parse(String header) {
+    return new Parser(header).parse();
+  }
+
+  private static final class Parser {
+    private final String source;
+    private int position;
+
+    Parser(String source) {
+      this.source = source;
+    }
+
+    Date parse() {
+      skipSpaces();
+      if (indexOf(readWord(), DAYS_OF_WEEK) < 0) {
+        return null;
+      }
+      if (skip(',')) {
+        return parseRfc1123OrRfc1036();
+      }
+      return parseAsctime();
+    }
+
+    /** Parses rest of date after day of week: {@code 06 Nov 1994 ...} or {@code 06-Nov-94 ...}. */
+    private Date parseRfc1123OrRfc1036() {
+      skipSpaces();
+      int day = readNumber(2);
+      if (day < 0 || !(skip(' ') || skip('-'))) {
+        return null;
+      }
+      int month = indexOf(readWord(), MONTHS) + 1;
+      if (month == 0 || !(skip(' ') || skip('-'))) {
+        return null;
+      }
+      int start = position;
+      int year = readNumber(4);
+      if (year < 0) {
+        return null;
+      }
+      if (position - start == 2) {
+        year = expandTwoDigitYear(year);
+      } else if (position - start != 4) {
+        return null;
+      }
+      int secondOfDay = parseTime();
+      if (secondOfDay < 0 || !skipSpaces()) {
+        return null;
+      }
+      int zoneStart = position;
+      while (position < source.length()
+          && source.charAt(position) > ' '
+          && source.charAt(position) != ';') {
+        position++;
+      }
+      Integer offset = getZoneOffset(source.substring(zoneStart, position), year, month, day);
+      if (offset == null) {
+        return null;
+      }
+      return toDate(year, month, day, secondOfDay, offset);
+    }
+
+    /** Parses rest of date after day of week: {@code Nov 6 08:49:37 1994}. */
+    private Date parseAsctime() {
+      if (!skipSpaces()) {
+        return null;
+      }
+      int month = indexOf(readWord(), MONTHS) + 1;
+      if (month == 0 || !skipSpaces()) {
+        return null;
+      }
+      int day = readNumber(2);
+      if (day < 0) {
+        return null;
+      }
+      int secondOfDay = parseTime();
+      if (secondOfDay < 0 || !skipSpaces()) {
+        return null;
+      }
+      int start = position;
+      int year = readNumber(4);
+      if (year < 0 || position - start != 4) {
+        return null;
+      }
+      return toDate(year, month, day, secondOfDay, 0);
+    }
+
+    /** Parses time {@code HH:mm:ss} that is preceded by spaces. */
+    private int parseTime() {
+      if (!skipSpaces()) {
+        return -1;
+      }
+      int hours = readNumber(2);
+      if (hours < 0 || hours > 23 || !skip(':')) {
+        return -1;
+      }
+      int minutes = readNumber(2);
+      if (minutes < 0 || minutes > 59 || !skip(':')) {
+        return -1;
+      }
+      int seconds = readNumber(2);
+      if (seconds < 0 || seconds > 60) {
+        return -1;
+      }
+      return hours * 3600 + minutes * 60 + seconds;
+    }
+
+    private boolean skipSpaces() {
+      int start = position;
+      while (position < source.length() && source.charAt(position) == ' ') {
+        position++;
+      }
+      return position > start;
+    }
+
+    private boolean skip(char c) {
+      if (position < source.length() && source.charAt(position) == c) {
+        position++;
+        return true;
+      }
+      return false;
+    }
+
+    private String readWord() {
+      int start = position;
+      while (position < source.length() && Character.isLetter(source.charAt(position))) {
+        position++;
+      }
+      return source.substring(start, position);
+    }
+
+    /** Reads up to {@code maxDigits} digits, returns -1 if there is no digits. */
+    private int readNumber(int maxDigits) {
+      int start = position;
+      int value = 0;
+      while (position < source.length() && position - start < maxDigits) {
+        char c = source.charAt(position);
+        if (c < '0' || c > '9') {
+          break;
+        }
+        value = value * 10 + (c - '0');
+        position++;
+      }
+      return position > start ? value : -1;
+    }
+  }
+
+  /** Finds full or three letters name in {@code names}, ignoring case. */
+  private static int indexOf(String name, String[] names) {
+    for (int i = 0; i < names.length; i++) {
+      if (name.length() == 3
+          ? names[i].regionMatches(true, 0, name, 0, 3)
+          : names[i].equalsIgnoreCase(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Two-digit year is interpreted in the same way as {@link java.text.SimpleDateFormat} does: year
+   * is within 80 years before and 20 years after current year.
+   */
+  private static int expandTwoDigitYear(int twoDigitYear) {
+    int startYear = Year.now(UTC).getValue() - 80;
+    int year = startYear / 100 * 100 + twoDigitYear;
+    return year < startYear ? year + 100 : year;
+  }
+
+  /** RFC 822 time zones. */
+  private static final Map<String, Integer> ZONE_OFFSETS =
+      Map.ofEntries(
+          entry("GMT", 0),
+          entry("UT", 0),
+          entry("UTC", 0),
+          entry("Z", 0),
+          entry("EST", -5 * 3600),
+          entry("EDT", -4 * 3600),
+          entry("CST", -6 * 3600),
+          entry("CDT", -5 * 3600),
+          entry("MST", -7 * 3600),
+          entry("MDT", -6 * 3600),
+          entry("PST", -8 * 3600),
+          entry("PDT", -7 * 3600));
+
+  /**
+   * Get offset in seconds of time zone. Time zone is one of RFC 822 zones, numeric offset, e.g.
+   * {@code +0200}, or {@code GMT+02:00}, or ID of zone that is known for {@link ZoneId}.
+   *
+   * @return offset or {@code null} if zone is unknown
+   */
+  private static Integer getZoneOffset(String zone, int year, int month, int day) {
+    Integer offset = ZONE_OFFSETS.get(zone.toUpperCase(Locale.ROOT));
+    if (offset != null) {
+      return offset;
+    }
+    String numericOffset = zone;
+    if (zone.length() > 3 && (zone.startsWith("GMT") || zone.startsWith("UTC"))) {
+      numericOffset = zone.substring(3);
+    }
+    if (!numericOffset.isEmpty()
+        && (numericOffset.charAt(0) == '+' || numericOffset.charAt(0) == '-')) {
+      return parseNumericOffset(numericOffset);
+    }
+    String zoneId = ZoneId.SHORT_IDS.getOrDefault(zone, zone);
+    if (ZoneId.getAvailableZoneIds().contains(zoneId)) {
+      return ZoneId.of(zoneId)
+          .getRules()
+          .getOffset(LocalDateTime.of(year, month, Math.min(day, 28), 12, 0))
+          .getTotalSeconds();
+    }
+    return null;
+  }
+
+  /** Parses offset in formats {@code +hhmm}, {@code +hh:mm} or {@code +hh}. */
+  private static Integer parseNumericOffset(String offset) {
+    int hours;
+    int minutes = 0;
+    String digits = offset.substring(1).replace(":", "");
+    if (digits.length() != 2 && digits.length() != 4) {
+      return null;
+    }
+    for (int i = 0; i < digits.length(); i++) {
+      if (digits.charAt(i) < '0' || digits.charAt(i) > '9') {
+        return null;
+      }
+    }
+    hours = (digits.charAt(0) - '0') * 10 + (digits.charAt(1) - '0');
+    if (digits.length() == 4) {
+      minutes = (digits.charAt(2) - '0') * 10 + (digits.charAt(3) - '0');
+    }
+    if (hours > 18 || minutes > 59) {
+      return null;
+    }
+    int seconds = hours * 3600 + minutes * 60;
+    return offset.charAt(0) == '-' ? -seconds : seconds;
+  }
+
+  private static Date toDate(int year, int month, int day, int secondOfDay, int offset) {
+    if (day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+      return null;
+    }
+    long epochDay = LocalDate.of(year, month, day).toEpochDay();
+    return new Date((epochDay * SECONDS_PER_DAY + secondOfDay - offset) * 1000);
+  }
+}
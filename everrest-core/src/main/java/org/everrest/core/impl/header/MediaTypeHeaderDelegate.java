@@ -19,7 +19,10 @@ import static org.everrest.core.util.StringUtils.scan;
 
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.ext.RuntimeDelegate;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.text.ParseException;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -28,6 +31,30 @@ public class MediaTypeHeaderDelegate implements RuntimeDelegate.HeaderDelegate<M
   private static final char SUB_TYPE_SEPARATOR = '/';
   private static final char PARAMS_SEPARATOR = ';';
 
+  /**
+   * String forms of constants of {@link MediaType}, e.g. {@link MediaType#APPLICATION_JSON_TYPE}.
+   * Constants are immutable and live as long as application, so their string forms are built once.
+   * Map is never changed after initialization and instances are compared by identity, so lookup is
+   * cheaper than formatting. Other instances are formatted every time: most of them are created for
+   * one request only.
+   */
+  private static final Map<MediaType, String> CONSTANT_STRINGS = createConstantStrings();
+
+  private static Map<MediaType, String> createConstantStrings() {
+    Map<MediaType, String> strings = new IdentityHashMap<>();
+    for (Field field : MediaType.class.getFields()) {
+      if (Modifier.isStatic(field.getModifiers()) && field.getType() == MediaType.class) {
+        try {
+          MediaType constant = (MediaType) field.get(null);
+          strings.put(constant, format(constant));
+        } catch (IllegalAccessException ignored) {
+          // Public field of public class
+        }
+      }
+    }
+    return strings;
+  }
+
   @Override
   public MediaType fromString(String header) {
     if (header == null) {
@@ -86,6 +113,11 @@ public class MediaTypeHeaderDelegate implements RuntimeDelegate.HeaderDelegate<M
     if (mime == null) {
       throw new IllegalArgumentException();
     }
+    String string = CONSTANT_STRINGS.get(mime);
+    return string == null ? format(mime) : string;
+  }
+
+  private static String format(MediaType mime) {
     StringBuilder sb = new StringBuilder();
     sb.append(mime.getType()).append('/').append(mime.getSubtype());
 
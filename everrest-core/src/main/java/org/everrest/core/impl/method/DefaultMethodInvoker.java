@@ -26,7 +26,7 @@ import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.MessageBodyReader;
 import java.io.InputStream;
-import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.Parameter;
@@ -64,18 +64,17 @@ public class DefaultMethodInvoker implements MethodInvoker {
   @SuppressWarnings({"unchecked"})
   private Object[] makeMethodParameters(
       GenericResourceMethod resourceMethod, ApplicationContext context) {
-    Object[] params = new Object[resourceMethod.getMethodParameters().size()];
-    int i = 0;
-    for (Parameter methodParameter : resourceMethod.getMethodParameters()) {
-      Annotation methodParameterAnnotation = methodParameter.getAnnotation();
-      if (methodParameterAnnotation != null) {
-        ParameterResolver<?> parameterResolver =
-            parameterResolverFactory.createParameterResolver(methodParameterAnnotation);
+    MethodInvocationPlan invocationPlan = getMethodInvocationPlan(resourceMethod);
+    Object[] params = new Object[invocationPlan.getParameterCount()];
+    for (int i = 0; i < params.length; i++) {
+      Parameter methodParameter = invocationPlan.getParameter(i);
+      ParameterResolver<?> parameterResolver = invocationPlan.getParameterResolver(i);
+      if (parameterResolver != null) {
         try {
-          params[i++] = parameterResolver.resolve(methodParameter, context);
+          params[i] = parameterResolver.resolve(methodParameter, context);
         } catch (Exception e) {
           String errorMsg = String.format("Not able resolve method parameter %s", methodParameter);
-          Class<?> annotationType = methodParameterAnnotation.annotationType();
+          Class<?> annotationType = methodParameter.getAnnotation().annotationType();
           if (annotationType == MatrixParam.class
               || annotationType == QueryParam.class
               || annotationType == PathParam.class) {
@@ -88,7 +87,7 @@ public class DefaultMethodInvoker implements MethodInvoker {
       } else {
         InputStream entityStream = context.getContainerRequest().getEntityStream();
         if (entityStream == null) {
-          params[i++] = null;
+          params[i] = null;
         } else {
           MediaType contentType = context.getContainerRequest().getMediaType();
 
@@ -108,7 +107,7 @@ public class DefaultMethodInvoker implements MethodInvoker {
             } catch (NumberFormatException ignored) {
             }
             if (contentType == null && contentLength == 0) {
-              params[i++] = null;
+              params[i] = null;
             } else {
               String msg =
                   String.format(
@@ -129,7 +128,7 @@ public class DefaultMethodInvoker implements MethodInvoker {
 
               MultivaluedMap<String, String> headers =
                   context.getContainerRequest().getRequestHeaders();
-              params[i++] =
+              params[i] =
                   entityReader.readFrom(
                       methodParameter.getParameterClass(),
                       methodParameter.getGenericType(),
@@ -154,6 +153,28 @@ public class DefaultMethodInvoker implements MethodInvoker {
     return params;
   }
 
+  private MethodInvocationPlan getMethodInvocationPlan(GenericResourceMethod resourceMethod) {
+    if (resourceMethod instanceof MethodInvocationPlanHolder) {
+      return ((MethodInvocationPlanHolder) resourceMethod)
+          .getMethodInvocationPlan(parameterResolverFactory);
+    }
+    return new MethodInvocationPlan(resourceMethod, parameterResolverFactory);
+  }
+
+  /**
+   * Gets handle of method if invocation with method handles is enabled. Handle is kept in {@link
+   * MethodInvocationPlan} so it is available only for methods that provide such plan, all others
+   * are invoked with reflection.
+   */
+  private MethodHandle getMethodHandle(
+      GenericResourceMethod resourceMethod, ApplicationContext context) {
+    if (resourceMethod instanceof MethodInvocationPlanHolder
+        && MethodHandleHelper.isMethodHandleInvocation(context)) {
+      return getMethodInvocationPlan(resourceMethod).getMethodHandle();
+    }
+    return null;
+  }
+
   protected void beforeInvokeMethod(
       Object resource,
       GenericResourceMethod methodResource,
@@ -171,6 +192,10 @@ public class DefaultMethodInvoker implements MethodInvoker {
       Object[] params,
       ApplicationContext context) {
     try {
+      MethodHandle methodHandle = getMethodHandle(methodResource, context);
+      if (methodHandle != null) {
+        return MethodHandleHelper.invokeMethod(methodHandle, resource, params);
+      }
       return methodResource.getMethod().invoke(resource, params);
     } catch (IllegalArgumentException | IllegalAccessException unexpectedException) {
       throw new InternalException(unexpectedException);
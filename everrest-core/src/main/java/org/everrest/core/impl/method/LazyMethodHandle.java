@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.method;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.function.Supplier;
+
+/**
+ * {@link MethodHandle} that is created when it is requested first time, so handles are not created
+ * if invocation with method handles is not enabled. Creation is not synchronized, handle may be
+ * created few times by concurrent threads, all such handles are equivalent.
+ */
+public final class LazyMethodHandle {
+  /** Marks handle that can't be created, e.g. because member is not accessible. */
+  private static final MethodHandle UNAVAILABLE = MethodHandles.constant(Object.class, null);
+
+  private final Supplier<MethodHandle> factory;
+  /** Handle, {@code null} if it is not created yet. */
+  private volatile MethodHandle handle;
+
+  /** @param factory creates handle, returns {@code null} if handle can't be created */
+  public LazyMethodHandle(Supplier<MethodHandle> factory) {
+    this.factory = factory;
+  }
+
+  /** @return handle or {@code null} if handle can't be created */
+  public MethodHandle get() {
+    MethodHandle result = handle;
+    if (result == null) {
+      result = factory.get();
+      if (result == null) {
+        result = UNAVAILABLE;
+      }
+      handle = result;
+    }
+    return result == UNAVAILABLE ? null : result;
+  }
+}
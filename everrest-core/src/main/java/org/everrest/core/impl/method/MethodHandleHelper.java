@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.method;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import org.everrest.core.ApplicationContext;
+import org.everrest.core.impl.EverrestConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Helper for invocation of resource methods, constructors and field setters with {@link
+ * MethodHandle}s instead of core reflection. Such invocation is enabled with {@link
+ * EverrestConfiguration#EVERREST_METHOD_HANDLE_INVOCATION}. All handles created by this helper have
+ * erased type, e.g. {@code (Object, Object[])Object} for methods, so they are invoked with {@link
+ * MethodHandle#invokeExact(Object...)} without knowing of actual signature. Any {@link Throwable}
+ * thrown by invoked member is wrapped with {@link InvocationTargetException} and failure to adapt
+ * arguments to signature of member, e.g. {@code null} for primitive parameter, is reported with
+ * {@link IllegalArgumentException}, so errors may be handled in the same way as errors of
+ * reflective invocation.
+ */
+public final class MethodHandleHelper {
+  private static final Logger LOG = LoggerFactory.getLogger(MethodHandleHelper.class);
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final MethodType METHOD_TYPE =
+      methodType(Object.class, Object.class, Object[].class);
+  private static final MethodType CONSTRUCTOR_TYPE = methodType(Object.class, Object[].class);
+  private static final MethodType SETTER_TYPE = methodType(void.class, Object.class, Object.class);
+
+  /** Constructor of {@link InvocationTargetException} that wraps {@link Throwable}. */
+  private static final MethodHandle NEW_INVOCATION_TARGET_EXCEPTION;
+
+  static {
+    try {
+      NEW_INVOCATION_TARGET_EXCEPTION =
+          LOOKUP.findConstructor(
+              InvocationTargetException.class, methodType(void.class, Throwable.class));
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /**
+   * Checks whether invocation with {@link MethodHandle}s is enabled in configuration of {@code
+   * context}.
+   */
+  public static boolean isMethodHandleInvocation(ApplicationContext context) {
+    EverrestConfiguration configuration = context.getEverrestConfiguration();
+    return configuration != null && configuration.isMethodHandleInvocation();
+  }
+
+  /**
+   * Creates handle of type {@code (Object, Object[])Object} for method. Result of method that
+   * returns {@code void} is always {@code null}.
+   *
+   * @param method method
+   * @return handle or {@code null} if method is not accessible
+   */
+  public static MethodHandle createMethodHandle(Method method) {
+    try {
+      MethodHandle handle = wrapTargetExceptions(LOOKUP.unreflect(method).asFixedArity());
+      if (Modifier.isStatic(method.getModifiers())) {
+        handle = MethodHandles.dropArguments(handle, 0, Object.class);
+      }
+      return handle.asSpreader(Object[].class, method.getParameterCount()).asType(METHOD_TYPE);
+    } catch (IllegalAccessException e) {
+      LOG.debug("Unable create method handle for method {}", method, e);
+      return null;
+    }
+  }
+
+  /**
+   * Creates handle for method adapted to given type, e.g. {@code (Object)long} for instance method
+   * without parameters that returns {@code int}.
+   *
+   * @param method method
+   * @param type type of handle, it must be applicable to method with {@link
+   *     MethodHandle#asType(MethodType)}
+   * @return handle or {@code null} if method is not accessible
+   */
+  public static MethodHandle createMethodHandle(Method method, MethodType type) {
+    try {
+      return LOOKUP.unreflect(method).asFixedArity().asType(type);
+    } catch (IllegalAccessException e) {
+      LOG.debug("Unable create method handle for method {}", method, e);
+      return null;
+    }
+  }
+
+  /**
+   * Creates handle of type {@code (Object[])Object} for constructor.
+   *
+   * @param constructor constructor
+   * @return handle or {@code null} if constructor is not accessible
+   */
+  public static MethodHandle createConstructorHandle(Constructor<?> constructor) {
+    try {
+      return wrapTargetExceptions(LOOKUP.unreflectConstructor(constructor).asFixedArity())
+          .asSpreader(Object[].class, constructor.getParameterCount())
+          .asType(CONSTRUCTOR_TYPE);
+    } catch (IllegalAccessException e) {
+      LOG.debug("Unable create method handle for constructor {}", constructor, e);
+      return null;
+    }
+  }
+
+  /**
+   * Creates handle of type {@code (Object, Object)void} for setter method.
+   *
+   * @param setter setter method, it must have exactly one parameter
+   * @return handle or {@code null} if setter is not accessible
+   */
+  public static MethodHandle createSetterHandle(Method setter) {
+    try {
+      return wrapTargetExceptions(LOOKUP.unreflect(setter).asFixedArity()).asType(SETTER_TYPE);
+    } catch (IllegalAccessException e) {
+      LOG.debug("Unable create method handle for setter {}", setter, e);
+      return null;
+    }
+  }
+
+  /**
+   * Creates handle of type {@code (Object, Object)void} that sets value of field. Field that is not
+   * public is made accessible in the same way as it is done for reflective setting of field.
+   *
+   * @param field field
+   * @return handle or {@code null} if field is not accessible
+   */
+  public static MethodHandle createSetterHandle(Field field) {
+    try {
+      if (!Modifier.isPublic(field.getModifiers())) {
+        field.setAccessible(true);
+      }
+      return LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+    } catch (IllegalAccessException | RuntimeException e) {
+      LOG.debug("Unable create method handle for field {}", field, e);
+      return null;
+    }
+  }
+
+  /**
+   * Makes handle throw {@link InvocationTargetException} that wraps any {@link Throwable} thrown by
+   * invoked member. Handle must be wrapped before its type is adapted, so errors of adaptation are
+   * not wrapped.
+   */
+  private static MethodHandle wrapTargetExceptions(MethodHandle handle) {
+    MethodHandle handler =
+        MethodHandles.filterArguments(
+            MethodHandles.throwException(
+                handle.type().returnType(), InvocationTargetException.class),
+            0,
+            NEW_INVOCATION_TARGET_EXCEPTION);
+    return MethodHandles.catchException(handle, Throwable.class, handler);
+  }
+
+  /**
+   * Invokes handle created with {@link #createMethodHandle(Method)}.
+   *
+   * @throws InvocationTargetException if invoked method throws any exception or error
+   * @throws IllegalArgumentException if parameters can't be passed to method
+   */
+  public static Object invokeMethod(MethodHandle handle, Object target, Object[] parameters)
+      throws InvocationTargetException {
+    try {
+      return (Object) handle.invokeExact(target, parameters);
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  /**
+   * Invokes handle created with {@link #createConstructorHandle(Constructor)}.
+   *
+   * @throws InvocationTargetException if invoked constructor throws any exception or error
+   * @throws IllegalArgumentException if parameters can't be passed to constructor
+   */
+  public static Object invokeConstructor(MethodHandle handle, Object[] parameters)
+      throws InvocationTargetException {
+    try {
+      return (Object) handle.invokeExact(parameters);
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  /**
+   * Invokes handle created with {@link #createSetterHandle(Method)} or {@link
+   * #createSetterHandle(Field)}.
+   *
+   * @throws InvocationTargetException if invoked setter throws any exception or error
+   * @throws IllegalArgumentException if value can't be passed to setter or set to field
+   */
+  public static void invokeSetter(MethodHandle handle, Object target, Object value)
+      throws InvocationTargetException {
+    try {
+      handle.invokeExact(target, value);
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  /**
+   * Rethrows error of invocation of handle. {@link InvocationTargetException} comes from invoked
+   * member, any other exception is thrown by handle itself when it adapts arguments.
+   */
+  private static InvocationTargetException rethrow(Throwable e) {
+    if (e instanceof InvocationTargetException) {
+      return (InvocationTargetException) e;
+    }
+    if (e instanceof Error) {
+      throw (Error) e;
+    }
+    throw new IllegalArgumentException(e.toString(), e);
+  }
+
+  private MethodHandleHelper() {}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.method;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.util.List;
+import org.everrest.core.Parameter;
+import org.everrest.core.resource.GenericResourceMethod;
+
+/**
+ * Prepared data that is needed for making parameters of resource method, sub-resource method or
+ * sub-resource locator. {@link ParameterResolver}s, together with {@link
+ * org.everrest.core.method.TypeProducer}s of parameters that are converted from strings, are chosen
+ * once when plan is created and reused for all invocations of method. Parameter that is not
+ * annotated with any of JAX-RS annotation is entity parameter, it is read with {@link
+ * jakarta.ws.rs.ext.MessageBodyReader}. Plan also keeps {@link MethodHandle} of method that is
+ * created at first request when invocation with method handles is enabled.
+ *
+ * @see MethodInvocationPlanHolder
+ */
+public final class MethodInvocationPlan {
+  private final ParameterResolverFactory parameterResolverFactory;
+  private final Parameter[] parameters;
+  private final ParameterResolver<?>[] parameterResolvers;
+  private final Method method;
+  /** Handle of method, it is created at first request. */
+  private final LazyMethodHandle methodHandle;
+
+  /**
+   * @param resourceMethod method for which plan is created
+   * @param parameterResolverFactory factory of {@link ParameterResolver}s
+   */
+  public MethodInvocationPlan(
+      GenericResourceMethod resourceMethod, ParameterResolverFactory parameterResolverFactory) {
+    this.parameterResolverFactory = parameterResolverFactory;
+    this.method = resourceMethod.getMethod();
+    this.methodHandle =
+        new LazyMethodHandle(
+            () -> method == null ? null : MethodHandleHelper.createMethodHandle(method));
+    List<Parameter> methodParameters = resourceMethod.getMethodParameters();
+    this.parameters = methodParameters.toArray(new Parameter[0]);
+    this.parameterResolvers = new ParameterResolver<?>[parameters.length];
+    for (int i = 0; i < parameters.length; i++) {
+      if (parameters[i].getAnnotation() != null) {
+        parameterResolvers[i] = parameterResolverFactory.createParameterResolver(parameters[i]);
+      }
+    }
+  }
+
+  /** @return number of method parameters */
+  public int getParameterCount() {
+    return parameters.length;
+  }
+
+  /**
+   * @param index index of parameter
+   * @return method parameter
+   */
+  public Parameter getParameter(int index) {
+    return parameters[index];
+  }
+
+  /**
+   * @param index index of parameter
+   * @return resolver for method parameter or {@code null} if parameter is entity parameter
+   */
+  public ParameterResolver<?> getParameterResolver(int index) {
+    return parameterResolvers[index];
+  }
+
+  /**
+   * @return handle of method created with {@link MethodHandleHelper#createMethodHandle(Method)} or
+   *     {@code null} if method can't be invoked with handle
+   */
+  public MethodHandle getMethodHandle() {
+    return methodHandle.get();
+  }
+
+  /**
+   * Checks whether this plan was created with specified {@code parameterResolverFactory}.
+   *
+   * @param parameterResolverFactory factory of {@link ParameterResolver}s
+   * @return {@code true} if this plan was created with specified factory
+   */
+  public boolean isCreatedWith(ParameterResolverFactory parameterResolverFactory) {
+    return this.parameterResolverFactory == parameterResolverFactory;
+  }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.method;
+
+/**
+ * Implemented by resource method descriptors that keep {@link MethodInvocationPlan} to avoid
+ * preparing it for every request.
+ */
+public interface MethodInvocationPlanHolder {
+  /**
+   * Get plan of method invocation. Implementation should create plan once and reuse it while the
+   * same {@code parameterResolverFactory} is used.
+   *
+   * @param parameterResolverFactory factory of {@link ParameterResolver}s
+   * @return plan of method invocation
+   */
+  MethodInvocationPlan getMethodInvocationPlan(ParameterResolverFactory parameterResolverFactory);
+}
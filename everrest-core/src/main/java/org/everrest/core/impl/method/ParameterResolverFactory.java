@@ -19,6 +19,7 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
 import java.lang.annotation.Annotation;
+import org.everrest.core.Parameter;
 import org.everrest.core.Property;
 
 /** @author andrew00x */
@@ -30,27 +31,50 @@ public class ParameterResolverFactory {
    * @return ParameterResolver
    */
   public ParameterResolver createParameterResolver(Annotation annotation) {
+    return createParameterResolver(annotation, new TypeProducerFactory());
+  }
+
+  /**
+   * Create parameter resolver for supplied parameter of method. If parameter is converted from
+   * string with {@link org.everrest.core.method.TypeProducer} then {@code TypeProducer} is chosen
+   * once when resolver is created, not each time when parameter is resolved.
+   *
+   * @param parameter parameter of method annotated with JAX-RS annotation
+   * @return ParameterResolver
+   * @see MethodInvocationPlan
+   */
+  public ParameterResolver createParameterResolver(Parameter parameter) {
+    final Annotation annotation = parameter.getAnnotation();
+    final Class annotationType = annotation.annotationType();
+    if (annotationType == Context.class || annotationType == Property.class) {
+      return createParameterResolver(annotation);
+    }
+    return createParameterResolver(annotation, new PreparedTypeProducerFactory(parameter));
+  }
+
+  private ParameterResolver createParameterResolver(
+      Annotation annotation, TypeProducerFactory typeProducerFactory) {
     final Class annotationType = annotation.annotationType();
     if (annotationType == CookieParam.class) {
-      return new CookieParameterResolver((CookieParam) annotation, new TypeProducerFactory());
+      return new CookieParameterResolver((CookieParam) annotation, typeProducerFactory);
     }
     if (annotationType == Context.class) {
       return new ContextParameterResolver();
     }
     if (annotationType == FormParam.class) {
-      return new FormParameterResolver((FormParam) annotation, new TypeProducerFactory());
+      return new FormParameterResolver((FormParam) annotation, typeProducerFactory);
     }
     if (annotationType == HeaderParam.class) {
-      return new HeaderParameterResolver((HeaderParam) annotation, new TypeProducerFactory());
+      return new HeaderParameterResolver((HeaderParam) annotation, typeProducerFactory);
     }
     if (annotationType == MatrixParam.class) {
-      return new MatrixParameterResolver((MatrixParam) annotation, new TypeProducerFactory());
+      return new MatrixParameterResolver((MatrixParam) annotation, typeProducerFactory);
     }
     if (annotationType == PathParam.class) {
-      return new PathParameterResolver((PathParam) annotation, new TypeProducerFactory());
+      return new PathParameterResolver((PathParam) annotation, typeProducerFactory);
     }
     if (annotationType == QueryParam.class) {
-      return new QueryParameterResolver((QueryParam) annotation, new TypeProducerFactory());
+      return new QueryParameterResolver((QueryParam) annotation, typeProducerFactory);
     }
     if (annotationType == Property.class) {
       return new PropertyResolver((Property) annotation);
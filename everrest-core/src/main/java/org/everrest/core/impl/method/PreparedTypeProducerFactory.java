@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.method;
+
+import java.lang.reflect.Type;
+import java.util.Objects;
+import org.everrest.core.Parameter;
+import org.everrest.core.method.TypeProducer;
+
+/**
+ * {@link TypeProducerFactory} of single parameter of {@link MethodInvocationPlan}. {@link
+ * TypeProducer} for parameter is chosen once when plan is created. Other types are delegated to
+ * {@link TypeProducerFactory}.
+ */
+final class PreparedTypeProducerFactory extends TypeProducerFactory {
+  private final Class<?> parameterClass;
+  private final Type genericType;
+  private final TypeProducer typeProducer;
+
+  PreparedTypeProducerFactory(Parameter parameter) {
+    this.parameterClass = parameter.getParameterClass();
+    this.genericType = parameter.getGenericType();
+    TypeProducer typeProducer = null;
+    try {
+      typeProducer = super.createTypeProducer(parameterClass, genericType);
+    } catch (RuntimeException e) {
+      // Type is not supported, error is reported when parameter is resolved.
+    }
+    this.typeProducer = typeProducer;
+  }
+
+  @Override
+  public TypeProducer createTypeProducer(Class<?> aClass, Type genericType) {
+    if (typeProducer != null
+        && aClass == parameterClass
+        && Objects.equals(genericType, this.genericType)) {
+      return typeProducer;
+    }
+    return super.createTypeProducer(aClass, genericType);
+  }
+}
@@ -28,7 +28,9 @@ import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.stream.Stream;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamSource;
@@ -40,7 +42,7 @@ import org.everrest.core.impl.provider.json.JsonUtils;
 import org.everrest.core.impl.provider.json.JsonUtils.Types;
 import org.everrest.core.impl.provider.json.JsonValue;
 import org.everrest.core.impl.provider.json.JsonWriter;
-import org.everrest.core.impl.provider.json.ObjectBuilder;
+import org.everrest.core.impl.provider.json.StreamingObjectBuilder;
 import org.everrest.core.provider.EntityProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -101,34 +103,12 @@ public class JsonEntityProvider<T> implements EntityProvider<T> {
       InputStream entityStream)
       throws IOException {
     try {
-      JsonParser jsonParser = new JsonParser();
-      jsonParser.parse(entityStream);
-      JsonValue jsonValue = jsonParser.getJsonObject();
-
       if (JsonValue.class.isAssignableFrom(type)) {
-        return (T) jsonValue;
-      }
-
-      Types jsonType = JsonUtils.getType(type);
-      if (jsonType == Types.ARRAY_BOOLEAN
-          || jsonType == Types.ARRAY_BYTE
-          || jsonType == Types.ARRAY_SHORT
-          || jsonType == Types.ARRAY_INT
-          || jsonType == Types.ARRAY_LONG
-          || jsonType == Types.ARRAY_FLOAT
-          || jsonType == Types.ARRAY_DOUBLE
-          || jsonType == Types.ARRAY_CHAR
-          || jsonType == Types.ARRAY_STRING
-          || jsonType == Types.ARRAY_OBJECT) {
-        return (T) ObjectBuilder.createArray(type, jsonValue);
-      }
-      if (jsonType == Types.COLLECTION) {
-        return (T) ObjectBuilder.createCollection((Class) type, genericType, jsonValue);
+        JsonParser jsonParser = new JsonParser();
+        jsonParser.parse(entityStream);
+        return (T) jsonParser.getJsonObject();
       }
-      if (jsonType == Types.MAP) {
-        return (T) ObjectBuilder.createObject((Class) type, genericType, jsonValue);
-      }
-      return ObjectBuilder.createObject(type, jsonValue);
+      return (T) StreamingObjectBuilder.createObject(type, genericType, entityStream);
     } catch (JsonException e) {
       LOG.debug(e.getMessage(), e);
       throw new IOException(String.format("Can't read from input stream %s", e), e);
@@ -159,9 +139,15 @@ public class JsonEntityProvider<T> implements EntityProvider<T> {
       OutputStream entityStream)
       throws IOException {
     try {
-      JsonValue jsonValue;
+      JsonWriter jsonWriter = new JsonWriter(entityStream);
       if (t instanceof JsonValue) {
-        jsonValue = (JsonValue) t;
+        ((JsonValue) t).writeTo(jsonWriter);
+      } else if (t instanceof Iterator) {
+        JsonGenerator.writeJsonArray((Iterator<?>) t, jsonWriter);
+      } else if (t instanceof Stream) {
+        try (Stream<?> stream = (Stream<?>) t) {
+          JsonGenerator.writeJsonArray(stream.iterator(), jsonWriter);
+        }
       } else {
         Types jType = JsonUtils.getType(type);
         if (jType == Types.ARRAY_BOOLEAN
@@ -174,17 +160,15 @@ public class JsonEntityProvider<T> implements EntityProvider<T> {
             || jType == Types.ARRAY_CHAR
             || jType == Types.ARRAY_STRING
             || jType == Types.ARRAY_OBJECT) {
-          jsonValue = JsonGenerator.createJsonArray(t);
+          JsonGenerator.writeJsonArray((Object) t, jsonWriter);
         } else if (jType == Types.COLLECTION) {
-          jsonValue = JsonGenerator.createJsonArray((Collection<?>) t);
+          JsonGenerator.writeJsonArray((Collection<?>) t, jsonWriter);
         } else if (jType == Types.MAP) {
-          jsonValue = JsonGenerator.createJsonObjectFromMap((Map<String, ?>) t);
+          JsonGenerator.writeJsonObjectFromMap((Map<String, ?>) t, jsonWriter);
         } else {
-          jsonValue = JsonGenerator.createJsonObject(t);
+          JsonGenerator.writeJsonObject(t, jsonWriter);
         }
       }
-      JsonWriter jsonWriter = new JsonWriter(entityStream);
-      jsonValue.writeTo(jsonWriter);
       jsonWriter.flush();
     } catch (JsonException e) {
       LOG.debug(e.getMessage(), e);
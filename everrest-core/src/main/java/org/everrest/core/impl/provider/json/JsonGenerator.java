@@ -11,9 +11,7 @@
  */
 package org.everrest.core.impl.provider.json;
 
-import static com.google.common.base.Throwables.propagateIfPossible;
 import static com.google.common.collect.Sets.newHashSet;
-import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.everrest.core.impl.provider.json.JsonUtils.Types.ARRAY_BOOLEAN;
 import static org.everrest.core.impl.provider.json.JsonUtils.Types.ARRAY_BYTE;
 import static org.everrest.core.impl.provider.json.JsonUtils.Types.ARRAY_CHAR;
@@ -24,53 +22,73 @@ import static org.everrest.core.impl.provider.json.JsonUtils.Types.ARRAY_LONG;
 import static org.everrest.core.impl.provider.json.JsonUtils.Types.ARRAY_OBJECT;
 import static org.everrest.core.impl.provider.json.JsonUtils.Types.ARRAY_SHORT;
 import static org.everrest.core.impl.provider.json.JsonUtils.Types.ARRAY_STRING;
+import static org.everrest.core.impl.provider.json.JsonUtils.Types.BOOLEAN;
 import static org.everrest.core.impl.provider.json.JsonUtils.Types.COLLECTION;
+import static org.everrest.core.impl.provider.json.JsonUtils.Types.DOUBLE;
+import static org.everrest.core.impl.provider.json.JsonUtils.Types.LONG;
 import static org.everrest.core.impl.provider.json.JsonUtils.Types.MAP;
 import static org.everrest.core.impl.provider.json.JsonUtils.getFieldName;
 import static org.everrest.core.impl.provider.json.JsonUtils.getTransientFields;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
 import org.everrest.core.impl.provider.json.JsonUtils.Types;
+import org.everrest.core.util.DescriptorRegistry;
 
 public class JsonGenerator {
   private static final Collection<String> SKIP_METHODS = newHashSet("getClass", "getMetaClass");
 
-  private static LoadingCache<Class<?>, JsonMethod[]> methodsCache =
-      CacheBuilder.newBuilder()
-          .concurrencyLevel(8)
-          .maximumSize(256)
-          .expireAfterAccess(10, MINUTES)
-          .build(
-              new CacheLoader<Class<?>, JsonMethod[]>() {
-                @Override
-                public JsonMethod[] load(Class<?> aClass) throws Exception {
-                  return getGetters(aClass);
-                }
-              });
+  /**
+   * Getters of classes. Unlike size limited cache it keeps getters of each class as long as class
+   * itself is loaded and does not prevent unloading of class together with its class loader.
+   */
+  private static final DescriptorRegistry<JsonMethod[]> gettersByClass =
+      DescriptorRegistry.create("JsonGetters", JsonGenerator::getGetters);
+
+  /**
+   * Create getters of bean classes that are used in type and in types of their properties, so they
+   * are not created when object of such type is serialized first time.
+   *
+   * @param type type of serialized objects
+   */
+  public static void warmUp(Type type) {
+    JsonUtils.visitBeanTypes(
+        type,
+        aClass ->
+            Arrays.stream(gettersByClass.get(aClass))
+                .map(getter -> getter.method.getGenericReturnType()),
+        new HashSet<>());
+  }
 
+  /**
+   * Get getters of class. If there are few getters for the same field, e.g. {@code getFoo()} and
+   * {@code isFoo()}, the last one is used but field keeps position of the first one. This is the
+   * same as adding results of all getters in {@link ObjectValue}, so JSON representation is the
+   * same for {@link #createJsonObject(Object)} and {@link #writeJsonObject(Object, JsonWriter)}.
+   */
   private static JsonMethod[] getGetters(Class<?> aClass) {
     Set<String> transientFieldNames = getTransientFields(aClass);
-    List<JsonMethod> result = new ArrayList<>();
+    Map<String, JsonMethod> result = new LinkedHashMap<>();
     for (Method method : aClass.getMethods()) {
       if (shouldBeProcessed(method)) {
         String field = getFieldName(method);
         if (!transientFieldNames.contains(field)) {
-          result.add(new JsonMethod(method, field));
+          result.put(field, new JsonMethod(method, field));
         }
       }
     }
-    return result.toArray(new JsonMethod[result.size()]);
+    return result.values().toArray(new JsonMethod[result.size()]);
   }
 
   private static boolean shouldBeProcessed(Method method) {
@@ -159,23 +177,23 @@ public class JsonGenerator {
     if (object == null) {
       return new NullValue();
     }
-    Class<?> aClass = object.getClass();
     JsonValue jsonRootValue = new ObjectValue();
-    JsonMethod[] getters;
-    try {
-      getters = methodsCache.get(aClass);
-    } catch (ExecutionException e) {
-      propagateIfPossible(e.getCause());
-      throw new JsonException(e.getCause());
-    }
-    for (JsonMethod getter : getters) {
+    for (JsonMethod getter : gettersByClass.get(object.getClass())) {
       try {
-        Object getterResult = getter.method.invoke(object);
-        Types getterResultType = JsonUtils.getType(getterResult);
-        if (getterResultType == null) {
-          jsonRootValue.addElement(getter.field, createJsonObject(getterResult));
+        if (getter.primitiveType == LONG) {
+          jsonRootValue.addElement(getter.field, new LongValue(getter.getLong(object)));
+        } else if (getter.primitiveType == DOUBLE) {
+          jsonRootValue.addElement(getter.field, new DoubleValue(getter.getDouble(object)));
+        } else if (getter.primitiveType == BOOLEAN) {
+          jsonRootValue.addElement(getter.field, new BooleanValue(getter.getBoolean(object)));
         } else {
-          jsonRootValue.addElement(getter.field, createJsonValue(getterResult, getterResultType));
+          Object getterResult = getter.get(object);
+          Types getterResultType = JsonUtils.getType(getterResult);
+          if (getterResultType == null) {
+            jsonRootValue.addElement(getter.field, createJsonObject(getterResult));
+          } else {
+            jsonRootValue.addElement(getter.field, createJsonValue(getterResult, getterResultType));
+          }
         }
       } catch (InvocationTargetException | IllegalAccessException e) {
         throw new JsonException(e.getMessage(), e);
@@ -339,4 +357,265 @@ public class JsonGenerator {
         throw new IllegalStateException(String.format("Unsupported type %s", type));
     }
   }
+
+  /* ------------------------------------------------------------------------------ */
+
+  /**
+   * Write JSON array from specified collection directly to <code>writer</code>, without creating
+   * {@link JsonValue}. Output is the same as output of {@link #createJsonArray(Collection)}.
+   *
+   * @param collection source collection
+   * @param writer JSON writer
+   * @throws JsonException if collection can't be transformed in JSON representation
+   */
+  public static void writeJsonArray(Collection<?> collection, JsonWriter writer)
+      throws JsonException {
+    if (collection == null) {
+      writer.writeNull();
+      return;
+    }
+    writeJsonArray(collection.iterator(), writer);
+  }
+
+  /**
+   * Write JSON array from elements of specified iterator directly to <code>writer</code>. Elements
+   * are written one by one as they are got from iterator, so iterator may produce elements lazily,
+   * e.g. from {@link java.util.stream.Stream}.
+   *
+   * @param iterator source iterator
+   * @param writer JSON writer
+   * @throws JsonException if any element can't be transformed in JSON representation
+   */
+  public static void writeJsonArray(Iterator<?> iterator, JsonWriter writer) throws JsonException {
+    writer.writeStartArray();
+    while (iterator.hasNext()) {
+      writeJsonValue(iterator.next(), writer);
+    }
+    writer.writeEndArray();
+  }
+
+  /**
+   * Write JSON array from specified object directly to <code>writer</code>, without creating {@link
+   * JsonValue}. Parameter <code>array</code> must be array. Output is the same as output of {@link
+   * #createJsonArray(Object)}.
+   *
+   * @param array source array
+   * @param writer JSON writer
+   * @throws JsonException if array can't be transformed in JSON representation
+   */
+  public static void writeJsonArray(Object array, JsonWriter writer) throws JsonException {
+    if (array == null) {
+      writer.writeNull();
+      return;
+    }
+    Types type = JsonUtils.getType(array);
+    if (type == ARRAY_BOOLEAN
+        || type == ARRAY_BYTE
+        || type == ARRAY_SHORT
+        || type == ARRAY_INT
+        || type == ARRAY_LONG
+        || type == ARRAY_FLOAT
+        || type == ARRAY_DOUBLE
+        || type == ARRAY_CHAR
+        || type == ARRAY_STRING
+        || type == ARRAY_OBJECT) {
+      writeJsonValue(array, type, writer);
+    } else {
+      throw new JsonException("Invalid argument, must be array.");
+    }
+  }
+
+  /**
+   * Write JSON object from specified map directly to <code>writer</code>, without creating {@link
+   * JsonValue}. Output is the same as output of {@link #createJsonObjectFromMap(Map)}.
+   *
+   * @param map source map
+   * @param writer JSON writer
+   * @throws JsonException if map can't be transformed in JSON representation
+   */
+  public static void writeJsonObjectFromMap(Map<String, ?> map, JsonWriter writer)
+      throws JsonException {
+    if (map == null) {
+      writer.writeNull();
+      return;
+    }
+    writeJsonValue(map, MAP, writer);
+  }
+
+  /**
+   * Write JSON object from specified object directly to <code>writer</code>, without creating
+   * {@link JsonValue}. Object must be conform with java bean structure. Output is the same as
+   * output of {@link #createJsonObject(Object)}.
+   *
+   * @param object source object
+   * @param writer JSON writer
+   * @throws JsonException if object can't be transformed in JSON representation
+   */
+  public static void writeJsonObject(Object object, JsonWriter writer) throws JsonException {
+    if (object == null) {
+      writer.writeNull();
+      return;
+    }
+    writer.writeStartObject();
+    for (JsonMethod getter : gettersByClass.get(object.getClass())) {
+      try {
+        if (getter.primitiveType == LONG) {
+          long value = getter.getLong(object);
+          writer.writeKey(getter.field);
+          writer.writeValue(value);
+        } else if (getter.primitiveType == DOUBLE) {
+          double value = getter.getDouble(object);
+          writer.writeKey(getter.field);
+          writer.writeValue(value);
+        } else if (getter.primitiveType == BOOLEAN) {
+          boolean value = getter.getBoolean(object);
+          writer.writeKey(getter.field);
+          writer.writeValue(value);
+        } else {
+          Object getterResult = getter.get(object);
+          writer.writeKey(getter.field);
+          writeJsonValue(getterResult, writer);
+        }
+      } catch (InvocationTargetException | IllegalAccessException e) {
+        throw new JsonException(e.getMessage(), e);
+      }
+    }
+    writer.writeEndObject();
+  }
+
+  private static void writeJsonValue(Object object, JsonWriter writer) throws JsonException {
+    Types type = JsonUtils.getType(object);
+    if (type == null) {
+      writeJsonObject(object, writer);
+    } else {
+      writeJsonValue(object, type, writer);
+    }
+  }
+
+  @SuppressWarnings({"unchecked"})
+  private static void writeJsonValue(Object object, Types type, JsonWriter writer)
+      throws JsonException {
+    switch (type) {
+      case NULL:
+        writer.writeNull();
+        break;
+      case BOOLEAN:
+        writer.writeValue((boolean) (Boolean) object);
+        break;
+      case BYTE:
+        writer.writeValue((long) (Byte) object);
+        break;
+      case SHORT:
+        writer.writeValue((long) (Short) object);
+        break;
+      case INT:
+        writer.writeValue((long) (Integer) object);
+        break;
+      case LONG:
+        writer.writeValue((long) (Long) object);
+        break;
+      case FLOAT:
+        writer.writeValue((double) (Float) object);
+        break;
+      case DOUBLE:
+        writer.writeValue((double) (Double) object);
+        break;
+      case CHAR:
+        writer.writeValue(Character.toString((Character) object));
+        break;
+      case STRING:
+        writer.writeValue((String) object);
+        break;
+      case ENUM:
+        writer.writeValue(((Enum) object).name());
+        break;
+      case CLASS:
+        writer.writeValue(((Class) object).getName());
+        break;
+      case ARRAY_BOOLEAN:
+        writer.writeStartArray();
+        for (boolean item : (boolean[]) object) {
+          writer.writeValue(item);
+        }
+        writer.writeEndArray();
+        break;
+      case ARRAY_BYTE:
+        writer.writeStartArray();
+        for (byte item : (byte[]) object) {
+          writer.writeValue((long) item);
+        }
+        writer.writeEndArray();
+        break;
+      case ARRAY_SHORT:
+        writer.writeStartArray();
+        for (short item : (short[]) object) {
+          writer.writeValue((long) item);
+        }
+        writer.writeEndArray();
+        break;
+      case ARRAY_INT:
+        writer.writeStartArray();
+        for (int item : (int[]) object) {
+          writer.writeValue((long) item);
+        }
+        writer.writeEndArray();
+        break;
+      case ARRAY_LONG:
+        writer.writeStartArray();
+        for (long item : (long[]) object) {
+          writer.writeValue(item);
+        }
+        writer.writeEndArray();
+        break;
+      case ARRAY_FLOAT:
+        writer.writeStartArray();
+        for (float item : (float[]) object) {
+          writer.writeValue((double) item);
+        }
+        writer.writeEndArray();
+        break;
+      case ARRAY_DOUBLE:
+        writer.writeStartArray();
+        for (double item : (double[]) object) {
+          writer.writeValue(item);
+        }
+        writer.writeEndArray();
+        break;
+      case ARRAY_CHAR:
+        writer.writeStartArray();
+        for (char item : (char[]) object) {
+          writer.writeValue(Character.toString(item));
+        }
+        writer.writeEndArray();
+        break;
+      case ARRAY_STRING:
+        writer.writeStartArray();
+        for (String item : (String[]) object) {
+          writer.writeValue(item);
+        }
+        writer.writeEndArray();
+        break;
+      case ARRAY_OBJECT:
+        writer.writeStartArray();
+        int length = Array.getLength(object);
+        for (int i = 0; i < length; i++) {
+          writeJsonValue(Array.get(object, i), writer);
+        }
+        writer.writeEndArray();
+        break;
+      case COLLECTION:
+        writeJsonArray(((Collection<?>) object).iterator(), writer);
+        break;
+      case MAP:
+        writer.writeStartObject();
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) object).entrySet()) {
+          writer.writeKey(entry.getKey());
+          writeJsonValue(entry.getValue(), writer);
+        }
+        writer.writeEndObject();
+        break;
+      default:
+        throw new IllegalStateException(String.format("Unsupported type %s", type));
+    }
+  }
 }
@@ -11,14 +11,131 @@
  */
 package org.everrest.core.impl.provider.json;
 
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import org.everrest.core.impl.method.MethodHandleHelper;
+import org.everrest.core.impl.provider.json.JsonUtils.Types;
 
+/**
+ * Getter or setter of bean property. Method handles are created once when instance of this class is
+ * created, and then are used for invocation of method. If method is not accessible for method
+ * handles, e.g. bean class is not public, method is invoked with core reflection. Getters that
+ * return primitive numbers or {@code boolean} have one more handle that returns primitive value, so
+ * value may be written without boxing, see {@link #primitiveType}.
+ */
 class JsonMethod {
+  private static final MethodType GETTER_TYPE = methodType(Object.class, Object.class);
+  private static final MethodType LONG_GETTER_TYPE = methodType(long.class, Object.class);
+  private static final MethodType DOUBLE_GETTER_TYPE = methodType(double.class, Object.class);
+  private static final MethodType BOOLEAN_GETTER_TYPE = methodType(boolean.class, Object.class);
+
   final Method method;
   final String field;
 
+  /**
+   * One of {@link Types#LONG}, {@link Types#DOUBLE} or {@link Types#BOOLEAN} if getter returns
+   * primitive value that may be got with {@link #getLong(Object)}, {@link #getDouble(Object)} or
+   * {@link #getBoolean(Object)} accordingly, otherwise {@code null}.
+   */
+  final Types primitiveType;
+
+  /**
+   * Handle of type {@code (Object)Object} for getter or {@code (Object, Object)void} for setter.
+   */
+  private final MethodHandle handle;
+
+  private final MethodHandle primitiveHandle;
+
   JsonMethod(Method method, String field) {
     this.method = method;
     this.field = field;
+    if (method.getParameterCount() == 0) {
+      handle = MethodHandleHelper.createMethodHandle(method, GETTER_TYPE);
+      MethodType primitiveGetterType = getPrimitiveGetterType(method.getReturnType());
+      primitiveHandle =
+          handle == null || primitiveGetterType == null
+              ? null
+              : MethodHandleHelper.createMethodHandle(method, primitiveGetterType);
+      primitiveType = primitiveHandle == null ? null : getPrimitiveType(primitiveGetterType);
+    } else {
+      handle = MethodHandleHelper.createSetterHandle(method);
+      primitiveHandle = null;
+      primitiveType = null;
+    }
+  }
+
+  private static MethodType getPrimitiveGetterType(Class<?> returnType) {
+    if (returnType == int.class
+        || returnType == long.class
+        || returnType == short.class
+        || returnType == byte.class) {
+      return LONG_GETTER_TYPE;
+    } else if (returnType == double.class || returnType == float.class) {
+      return DOUBLE_GETTER_TYPE;
+    } else if (returnType == boolean.class) {
+      return BOOLEAN_GETTER_TYPE;
+    }
+    return null;
+  }
+
+  private static Types getPrimitiveType(MethodType primitiveGetterType) {
+    if (primitiveGetterType == LONG_GETTER_TYPE) {
+      return Types.LONG;
+    } else if (primitiveGetterType == DOUBLE_GETTER_TYPE) {
+      return Types.DOUBLE;
+    }
+    return Types.BOOLEAN;
+  }
+
+  /** Invokes getter. */
+  Object get(Object bean) throws InvocationTargetException, IllegalAccessException {
+    if (handle == null) {
+      return method.invoke(bean);
+    }
+    try {
+      return (Object) handle.invokeExact(bean);
+    } catch (Throwable e) {
+      throw new InvocationTargetException(e);
+    }
+  }
+
+  /** Invokes getter which {@link #primitiveType} is {@link Types#LONG}. */
+  long getLong(Object bean) throws InvocationTargetException {
+    try {
+      return (long) primitiveHandle.invokeExact(bean);
+    } catch (Throwable e) {
+      throw new InvocationTargetException(e);
+    }
+  }
+
+  /** Invokes getter which {@link #primitiveType} is {@link Types#DOUBLE}. */
+  double getDouble(Object bean) throws InvocationTargetException {
+    try {
+      return (double) primitiveHandle.invokeExact(bean);
+    } catch (Throwable e) {
+      throw new InvocationTargetException(e);
+    }
+  }
+
+  /** Invokes getter which {@link #primitiveType} is {@link Types#BOOLEAN}. */
+  boolean getBoolean(Object bean) throws InvocationTargetException {
+    try {
+      return (boolean) primitiveHandle.invokeExact(bean);
+    } catch (Throwable e) {
+      throw new InvocationTargetException(e);
+    }
+  }
+
+  /** Invokes setter. */
+  void set(Object bean, Object value) throws InvocationTargetException, IllegalAccessException {
+    if (handle == null) {
+      method.invoke(bean, value);
+    } else {
+      MethodHandleHelper.invokeSetter(handle, bean, value);
+    }
   }
 }
@@ -13,13 +13,8 @@ package org.everrest.core.impl.provider.json;
 
 import static org.everrest.core.util.StringUtils.contains;
 
-import java.io.CharArrayWriter;
-import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.PushbackReader;
 import java.io.Reader;
-import java.nio.charset.Charset;
 import org.everrest.core.impl.provider.json.JsonUtils.JsonToken;
 
 public class JsonParser {
@@ -31,8 +26,8 @@ public class JsonParser {
   /** Stack of JSON tokens. */
   private final JsonStack<JsonToken> stack;
 
-  /** @see {@link java.io.PushbackReader}. */
-  private PushbackReader pushbackReader;
+  /** Source of characters. */
+  private JsonTokenizer tokenizer;
 
   public JsonParser() {
     this(new JsonHandler());
@@ -44,7 +39,21 @@ public class JsonParser {
   }
 
   public void parse(Reader reader) throws JsonException {
-    pushbackReader = new PushbackReader(reader);
+    parse(new JsonTokenizer(reader));
+  }
+
+  /**
+   * Parse JSON stream. Stream is decoded from UTF-8.
+   *
+   * @param stream the JSON source
+   * @throws JsonException if JSON document has wrong format or i/o error occurs
+   */
+  public void parse(InputStream stream) throws JsonException {
+    parse(new JsonTokenizer(stream));
+  }
+
+  private void parse(JsonTokenizer tokenizer) throws JsonException {
+    this.tokenizer = tokenizer;
     eventHandler.reset();
     stack.clear();
     char c;
@@ -66,10 +75,6 @@ public class JsonParser {
     }
   }
 
-  public void parse(InputStream stream) throws JsonException {
-    parse(new InputStreamReader(stream, Charset.forName("UTF-8")));
-  }
-
   /**
    * Get result of parsing.
    *
@@ -191,12 +196,11 @@ public class JsonParser {
       throw new JsonException(
           String.format("Syntax error. Key must start from quote, but found '%s'.", c));
     }
-    pushBack(c);
-    String key = new String(nextString());
-    if (key.length() == 2) {
+    String key = tokenizer.readString();
+    if (key.isEmpty()) {
       throw new JsonException("Missing key.");
     }
-    eventHandler.key(key.substring(1, key.length() - 1));
+    eventHandler.key(key);
   }
 
   /**
@@ -206,22 +210,17 @@ public class JsonParser {
    */
   private void readValue() throws JsonException {
     char c = next();
-    pushBack(c);
     if (c == '"') {
-      eventHandler.characters(nextString());
+      // String is given to handler together with quotes.
+      String string = tokenizer.readString();
+      char[] characters = new char[string.length() + 2];
+      characters[0] = '"';
+      string.getChars(0, string.length(), characters, 1);
+      characters[characters.length - 1] = '"';
+      eventHandler.characters(characters);
     } else {
-      CharArrayWriter charArrayWriter = new CharArrayWriter();
-      while (true) {
-        c = next();
-        if (c == END_OF_STREAM) {
-          throw new JsonException("Unexpected end of stream.");
-        } else if (contains("{[,]}\"", c)) {
-          break;
-        }
-        charArrayWriter.append(c);
-      }
       pushBack(c);
-      eventHandler.characters(charArrayWriter.toCharArray());
+      eventHandler.characters(tokenizer.readUnquoted().toCharArray());
     }
     c = assertNextIs(",]}");
     pushBack(c);
@@ -235,62 +234,8 @@ public class JsonParser {
    * @throws JsonException if JSON document has wrong format or i/o error occurs.
    */
   private char next() throws JsonException {
-    try {
-      int c;
-      while ((c = pushbackReader.read()) != -1) {
-        if (c == '/') {
-          c = pushbackReader.read();
-          if (c == '/') {
-            skipLine();
-          } else if (c == '*') {
-            skipComment();
-          }
-        } else if (c > ' ') {
-          break;
-        }
-      }
-      return (c == -1) ? END_OF_STREAM : (char) c;
-    } catch (IOException e) {
-      throw new JsonException(e.getMessage(), e);
-    }
-  }
-
-  private void skipLine() throws IOException {
-    int c;
-    do {
-      c = pushbackReader.read();
-    } while (c != -1 && c != '\n' && c != '\r');
-  }
-
-  private void skipComment() throws IOException, JsonException {
-    int c;
-    while (true) {
-      c = pushbackReader.read();
-      if (c == '*') {
-        c = pushbackReader.read();
-        if (c == '/') {
-          break;
-        }
-      }
-      if (c == -1) {
-        throw new JsonException("Syntax error. Missing end of comment.");
-      }
-    }
-  }
-
-  /**
-   * Get next char from stream.
-   *
-   * @return the next char.
-   * @throws JsonException if JSON document has wrong format or i/o error occurs.
-   */
-  private char nextAny() throws JsonException {
-    try {
-      int c = pushbackReader.read();
-      return (c == -1) ? END_OF_STREAM : (char) c;
-    } catch (IOException e) {
-      throw new JsonException(e.getMessage(), e);
-    }
+    int c = tokenizer.nextNonWhitespace();
+    return (c == JsonTokenizer.END_OF_STREAM) ? END_OF_STREAM : (char) c;
   }
 
   /**
@@ -333,93 +278,15 @@ public class JsonParser {
     throw new JsonException(errorMessage.toString());
   }
 
-  /**
-   * Get array chars up to given and include it.
-   *
-   * @return the char array.
-   * @throws JsonException if JSON document has wrong format or i/o error occurs.
-   */
-  private char[] nextString() throws JsonException {
-    CharArrayWriter charArrayWriter = new CharArrayWriter();
-    char c = nextAny(); // read '"'
-    charArrayWriter.append(c);
-    while (true) {
-      switch (c = nextAny()) {
-        case END_OF_STREAM:
-        case '\n':
-        case '\r':
-          throw new JsonException("Syntax error. Unterminated string");
-        case '\\':
-          switch (c = nextAny()) {
-            case END_OF_STREAM:
-            case '\n':
-            case '\r':
-              throw new JsonException("Syntax error. Unterminated string");
-            case 'n':
-              charArrayWriter.append('\n');
-              break;
-            case 'r':
-              charArrayWriter.append('\r');
-              break;
-            case 'b':
-              charArrayWriter.append('\b');
-              break;
-            case 't':
-              charArrayWriter.append('\t');
-              break;
-            case 'f':
-              charArrayWriter.append('\f');
-              break;
-            case 'u': // unicode
-              charArrayWriter.append(readUnicodeCharacter());
-              break;
-            default:
-              charArrayWriter.append(c);
-              break;
-          }
-          break;
-        default:
-          charArrayWriter.append(c);
-          if (c == '"') {
-            return charArrayWriter.toCharArray();
-          }
-          break;
-      }
-    }
-  }
-
-  private char readUnicodeCharacter() throws JsonException {
-    char[] buff = new char[4];
-    try {
-      int i = pushbackReader.read(buff);
-      if (i != 4) {
-        throw new JsonException("Unexpected end of stream.");
-      }
-    } catch (IOException e) {
-      throw new JsonException(e.getMessage(), e);
-    }
-
-    String unicodeString = new String(buff);
-    int c;
-    try {
-      c = Integer.parseInt(unicodeString, 16);
-    } catch (NumberFormatException e) {
-      throw new JsonException(String.format("Invalid unicode character %s", unicodeString));
-    }
-    return (char) c;
-  }
-
   /**
    * Push back given char to stream.
    *
    * @param c the char for pushing back.
    * @throws JsonException if JSON document has wrong format or i/o error occurs.
    */
-  private void pushBack(char c) throws JsonException {
-    try {
-      pushbackReader.unread(c);
-    } catch (IOException e) {
-      throw new JsonException(e.getMessage(), e);
+  private void pushBack(char c) {
+    if (c != END_OF_STREAM) {
+      tokenizer.pushBack();
     }
   }
 }
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.provider.json;
+
+import static org.everrest.core.impl.provider.json.JsonTokenizer.END_OF_STREAM;
+
+import java.io.InputStream;
+import java.io.Reader;
+import org.everrest.core.impl.provider.json.JsonUtils.JsonToken;
+
+/**
+ * Pull parser of JSON source. Unlike {@link JsonParser} it does not build tree of {@link
+ * JsonValue}s but gives JSON document to caller event by event, so document of any size may be
+ * processed without keeping it in memory. Accepts the same syntax as {@link JsonParser}: comments,
+ * not quoted values and optional commas between elements.
+ *
+ * <pre>
+ * JsonReader reader = new JsonReader(stream);
+ * for (JsonReader.Event event = reader.next(); event != END_DOCUMENT; event = reader.next()) {
+ *   ...
+ * }
+ * </pre>
+ */
+public class JsonReader {
+  /** Events of {@link JsonReader}. */
+  public enum Event {
+    START_OBJECT,
+    END_OBJECT,
+    START_ARRAY,
+    END_ARRAY,
+    KEY,
+    VALUE,
+    END_DOCUMENT
+  }
+
+  private final JsonTokenizer tokenizer;
+
+  /** Stack of opened objects and arrays. */
+  private final JsonStack<JsonToken> stack = new JsonStack<>();
+
+  private final JsonValueFactory jsonValueFactory = new JsonValueFactory();
+
+  private boolean started;
+  private boolean valueExpected;
+  private String key;
+  private JsonValue value;
+
+  public JsonReader(Reader reader) {
+    tokenizer = new JsonTokenizer(reader);
+  }
+
+  /**
+   * Create reader of JSON stream. Stream is decoded from UTF-8.
+   *
+   * @param stream the JSON source
+   */
+  public JsonReader(InputStream stream) {
+    tokenizer = new JsonTokenizer(stream);
+  }
+
+  /**
+   * Read next event.
+   *
+   * @return next event, after end of JSON document is reached this method always returns {@link
+   *     Event#END_DOCUMENT}
+   * @throws JsonException if JSON document has wrong format or i/o error occurs
+   */
+  public Event next() throws JsonException {
+    int c = tokenizer.nextNonWhitespace();
+    JsonToken context = stack.peek();
+    if (context == null) {
+      if (c == END_OF_STREAM) {
+        return Event.END_DOCUMENT;
+      }
+      if (started) {
+        throw new JsonException(
+            String.format("Syntax error. Unexpected '%s' after end of document.", (char) c));
+      }
+      started = true;
+      if (c == '{') {
+        return startObject();
+      } else if (c == '[') {
+        return startArray();
+      }
+      throw new JsonException(
+          String.format("Syntax error. Unexpected '%s'. Must be '{'.", (char) c));
+    }
+    if (context == JsonToken.object && !valueExpected) {
+      while (c == ',') {
+        c = tokenizer.nextNonWhitespace();
+      }
+      switch (c) {
+        case END_OF_STREAM:
+          throw new JsonException(
+              "Syntax error. Unexpected end of object. Object must end by '}'.");
+        case '}':
+          stack.pop();
+          return Event.END_OBJECT;
+        case ']':
+          throw new JsonException("Syntax error. Unexpected end of array.");
+        case '"':
+          key = tokenizer.readString();
+          if (key.isEmpty()) {
+            throw new JsonException("Missing key.");
+          }
+          c = tokenizer.nextNonWhitespace();
+          if (c != ':' && c != END_OF_STREAM) {
+            throw new JsonException(String.format("Expected for ':' but found '%s'.", (char) c));
+          }
+          valueExpected = true;
+          return Event.KEY;
+        default:
+          throw new JsonException(
+              String.format("Syntax error. Key must start from quote, but found '%s'.", (char) c));
+      }
+    }
+    if (context == JsonToken.array) {
+      while (c == ',') {
+        c = tokenizer.nextNonWhitespace();
+      }
+      switch (c) {
+        case END_OF_STREAM:
+          throw new JsonException("Syntax error. Unexpected end of array. Array must end by ']'.");
+        case ']':
+          stack.pop();
+          return Event.END_ARRAY;
+        case '}':
+          throw new JsonException("Syntax error. Unexpected end of object.");
+      }
+    }
+    valueExpected = false;
+    if (c == END_OF_STREAM) {
+      throw new JsonException("Unexpected end of stream.");
+    } else if (c == '{') {
+      return startObject();
+    } else if (c == '[') {
+      return startArray();
+    }
+    return readValue(c);
+  }
+
+  /**
+   * Get key of object member. This method should be called after {@link #next()} returns {@link
+   * Event#KEY}.
+   */
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * Get value that is not object or array. This method should be called after {@link #next()}
+   * returns {@link Event#VALUE}.
+   */
+  public JsonValue getValue() {
+    return value;
+  }
+
+  /**
+   * Read the whole value as tree of {@link JsonValue}s.
+   *
+   * @param event event that starts value, one of {@link Event#START_OBJECT}, {@link
+   *     Event#START_ARRAY} or {@link Event#VALUE}
+   * @return value
+   * @throws JsonException if JSON document has wrong format or i/o error occurs
+   */
+  public JsonValue readTree(Event event) throws JsonException {
+    if (event == Event.VALUE) {
+      return value;
+    }
+    JsonValue root = event == Event.START_OBJECT ? new ObjectValue() : new ArrayValue();
+    JsonStack<JsonValue> values = new JsonStack<>();
+    JsonValue current = root;
+    String currentKey = null;
+    while (current != null) {
+      JsonValue child;
+      switch (next()) {
+        case START_OBJECT:
+          child = new ObjectValue();
+          break;
+        case START_ARRAY:
+          child = new ArrayValue();
+          break;
+        case VALUE:
+          child = value;
+          break;
+        case KEY:
+          currentKey = key;
+          continue;
+        default:
+          current = values.pop();
+          continue;
+      }
+      if (current.isObject()) {
+        current.addElement(currentKey, child);
+      } else {
+        current.addElement(child);
+      }
+      if (child.isObject() || child.isArray()) {
+        values.push(current);
+        current = child;
+      }
+    }
+    return root;
+  }
+
+  /**
+   * Skip the whole value.
+   *
+   * @param event event that starts value, one of {@link Event#START_OBJECT}, {@link
+   *     Event#START_ARRAY} or {@link Event#VALUE}
+   * @throws JsonException if JSON document has wrong format or i/o error occurs
+   */
+  public void skipValue(Event event) throws JsonException {
+    int depth = event == Event.VALUE ? 0 : 1;
+    while (depth > 0) {
+      switch (next()) {
+        case START_OBJECT:
+        case START_ARRAY:
+          depth++;
+          break;
+        case END_OBJECT:
+        case END_ARRAY:
+          depth--;
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  private Event startObject() {
+    stack.push(JsonToken.object);
+    return Event.START_OBJECT;
+  }
+
+  private Event startArray() {
+    stack.push(JsonToken.array);
+    return Event.START_ARRAY;
+  }
+
+  private Event readValue(int c) throws JsonException {
+    if (c == '"') {
+      value = new StringValue(tokenizer.readString());
+    } else {
+      tokenizer.pushBack();
+      String chars = tokenizer.readUnquoted();
+      if (chars.isEmpty()) {
+        throw new JsonException(
+            String.format("Syntax error. Missing value before '%s'.", (char) c));
+      }
+      value = jsonValueFactory.createJsonValue(chars);
+    }
+    c = tokenizer.nextNonWhitespace();
+    if (c != END_OF_STREAM) {
+      if (c != ',' && c != ']' && c != '}') {
+        throw new JsonException(
+            String.format("Expected ',' or ']' or '}' but found '%s'", (char) c));
+      }
+      tokenizer.pushBack();
+    }
+    return Event.VALUE;
+  }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.provider.json;
+
+import static java.nio.charset.CodingErrorAction.REPLACE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+
+/**
+ * Reads characters of JSON source for {@link JsonParser} and {@link JsonReader}. Characters are
+ * read to buffer with bulk reads, content of {@code InputStream} is decoded from UTF-8 directly to
+ * the same buffer without {@code InputStreamReader}. Strings and not quoted values are copied from
+ * buffer by chunks rather than by single character.
+ */
+final class JsonTokenizer {
+  static final int END_OF_STREAM = -1;
+
+  private static final int BUFFER_SIZE = 4096;
+
+  private final Reader reader;
+  private final InputStream stream;
+  private final CharsetDecoder decoder;
+  private final ByteBuffer bytes;
+
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private final CharBuffer decoded = CharBuffer.wrap(buffer);
+  private int position;
+  private int limit;
+
+  private boolean endOfInput;
+  private boolean endOfStream;
+
+  private final StringBuilder chars = new StringBuilder();
+
+  JsonTokenizer(Reader reader) {
+    this.reader = reader;
+    this.stream = null;
+    this.decoder = null;
+    this.bytes = null;
+  }
+
+  JsonTokenizer(InputStream stream) {
+    this.reader = null;
+    this.stream = stream;
+    this.decoder = UTF_8.newDecoder().onMalformedInput(REPLACE).onUnmappableCharacter(REPLACE);
+    this.bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    bytes.flip();
+  }
+
+  /**
+   * Get next char from stream, skipping whitespace and comments. Comments: One line comment from //
+   * to end of line; Multi-line comments from &#8260;* to *&#8260;
+   *
+   * @return the next char or {@link #END_OF_STREAM}
+   * @throws JsonException if JSON document has wrong format or i/o error occurs
+   */
+  int nextNonWhitespace() throws JsonException {
+    int c;
+    while ((c = read()) != END_OF_STREAM) {
+      if (c == '/') {
+        c = read();
+        if (c == '/') {
+          skipLine();
+        } else if (c == '*') {
+          skipComment();
+        }
+      } else if (c > ' ') {
+        break;
+      }
+    }
+    return c;
+  }
+
+  /**
+   * Push back the last read character. May be called only once after character, that is not {@link
+   * #END_OF_STREAM}, is read.
+   */
+  void pushBack() {
+    position--;
+  }
+
+  /**
+   * Read string, opening quote must be already read.
+   *
+   * @return string without quotes
+   * @throws JsonException if JSON document has wrong format or i/o error occurs
+   */
+  String readString() throws JsonException {
+    chars.setLength(0);
+    while (true) {
+      int start = position;
+      while (position < limit) {
+        char c = buffer[position];
+        if (c == '"' || c == '\\' || c == '\n' || c == '\r') {
+          break;
+        }
+        position++;
+      }
+      chars.append(buffer, start, position - start);
+      int c = read();
+      switch (c) {
+        case END_OF_STREAM:
+        case '\n':
+        case '\r':
+          throw new JsonException("Syntax error. Unterminated string");
+        case '"':
+          return chars.toString();
+        case '\\':
+          readEscapedCharacter();
+          break;
+        default:
+          // Buffer was refilled, continue scan from the first character.
+          pushBack();
+          break;
+      }
+    }
+  }
+
+  /**
+   * Read value that is not enclosed in quotes, e.g. number, boolean or {@code null}. Value ends
+   * before any of characters <code>{[,]}"</code>, whitespace and comments are skipped. Character
+   * that ends value is not consumed.
+   *
+   * @return value, it is empty if value ends with the first character
+   * @throws JsonException if end of stream is reached or i/o error occurs
+   */
+  String readUnquoted() throws JsonException {
+    chars.setLength(0);
+    while (true) {
+      int start = position;
+      while (position < limit) {
+        char c = buffer[position];
+        if (c <= ' ' || c == '/' || isValueDelimiter(c)) {
+          break;
+        }
+        position++;
+      }
+      chars.append(buffer, start, position - start);
+      int c = nextNonWhitespace();
+      if (c == END_OF_STREAM) {
+        throw new JsonException("Unexpected end of stream.");
+      }
+      pushBack();
+      if (isValueDelimiter((char) c)) {
+        return chars.toString();
+      }
+    }
+  }
+
+  private static boolean isValueDelimiter(char c) {
+    return c == ',' || c == ']' || c == '}' || c == '{' || c == '[' || c == '"';
+  }
+
+  private void readEscapedCharacter() throws JsonException {
+    int c = read();
+    switch (c) {
+      case END_OF_STREAM:
+      case '\n':
+      case '\r':
+        throw new JsonException("Syntax error. Unterminated string");
+      case 'n':
+        chars.append('\n');
+        break;
+      case 'r':
+        chars.append('\r');
+        break;
+      case 'b':
+        chars.append('\b');
+        break;
+      case 't':
+        chars.append('\t');
+        break;
+      case 'f':
+        chars.append('\f');
+        break;
+      case 'u':
+        chars.append(readUnicodeCharacter());
+        break;
+      default:
+        chars.append((char) c);
+        break;
+    }
+  }
+
+  private char readUnicodeCharacter() throws JsonException {
+    char[] digits = new char[4];
+    for (int i = 0; i < digits.length; i++) {
+      int c = read();
+      if (c == END_OF_STREAM) {
+        throw new JsonException("Unexpected end of stream.");
+      }
+      digits[i] = (char) c;
+    }
+    String unicodeString = new String(digits);
+    try {
+      return (char) Integer.parseInt(unicodeString, 16);
+    } catch (NumberFormatException e) {
+      throw new JsonException(String.format("Invalid unicode character %s", unicodeString));
+    }
+  }
+
+  private void skipLine() throws JsonException {
+    int c;
+    do {
+      c = read();
+    } while (c != END_OF_STREAM && c != '\n' && c != '\r');
+  }
+
+  private void skipComment() throws JsonException {
+    int c;
+    while (true) {
+      c = read();
+      if (c == '*') {
+        c = read();
+        if (c == '/') {
+          break;
+        }
+      }
+      if (c == END_OF_STREAM) {
+        throw new JsonException("Syntax error. Missing end of comment.");
+      }
+    }
+  }
+
+  private int read() throws JsonException {
+    if (position == limit && !fill()) {
+      return END_OF_STREAM;
+    }
+    return buffer[position++];
+  }
+
+  private boolean fill() throws JsonException {
+    try {
+      int n = reader == null ? decode() : reader.read(buffer);
+      if (n <= 0) {
+        return false;
+      }
+      position = 0;
+      limit = n;
+      return true;
+    } catch (IOException e) {
+      throw new JsonException(e.getMessage(), e);
+    }
+  }
+
+  private int decode() throws IOException {
+    decoded.clear();
+    while (decoded.position() == 0 && !endOfStream) {
+      if (decoder.decode(bytes, decoded, endOfInput).isUnderflow()) {
+        if (endOfInput) {
+          decoder.flush(decoded);
+          endOfStream = true;
+        } else if (decoded.position() == 0) {
+          readBytes();
+        }
+      }
+    }
+    return decoded.position();
+  }
+
+  private void readBytes() throws IOException {
+    bytes.compact();
+    int n = stream.read(bytes.array(), bytes.position(), bytes.remaining());
+    if (n < 0) {
+      endOfInput = true;
+    } else {
+      bytes.position(bytes.position() + n);
+    }
+    bytes.flip();
+  }
+}
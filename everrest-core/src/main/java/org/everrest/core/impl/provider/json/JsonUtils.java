@@ -16,15 +16,20 @@ import static com.google.common.collect.Sets.newHashSet;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.MoreObjects.ToStringHelper;
 import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public final class JsonUtils {
   /** Known types. */
@@ -273,6 +278,45 @@ public final class JsonUtils {
     return fieldName;
   }
 
+  /**
+   * Visit bean classes that are used in type, e.g. type of elements of array or actual type
+   * argument of collection, and then recursively bean classes that are used in types of their
+   * properties. Interfaces, abstract classes and known types are not visited.
+   *
+   * @param type type
+   * @param propertyTypes gets types of properties of bean class
+   * @param visited bean classes that are already visited
+   */
+  static void visitBeanTypes(
+      Type type, Function<Class<?>, Stream<Type>> propertyTypes, Set<Class<?>> visited) {
+    if (type instanceof ParameterizedType) {
+      ParameterizedType parameterizedType = (ParameterizedType) type;
+      visitBeanTypes(parameterizedType.getRawType(), propertyTypes, visited);
+      for (Type typeArgument : parameterizedType.getActualTypeArguments()) {
+        visitBeanTypes(typeArgument, propertyTypes, visited);
+      }
+    } else if (type instanceof GenericArrayType) {
+      visitBeanTypes(((GenericArrayType) type).getGenericComponentType(), propertyTypes, visited);
+    } else if (type instanceof Class) {
+      Class<?> aClass = (Class<?>) type;
+      if (aClass.isArray()) {
+        visitBeanTypes(aClass.getComponentType(), propertyTypes, visited);
+      } else if (isBeanClass(aClass) && visited.add(aClass)) {
+        propertyTypes
+            .apply(aClass)
+            .forEach(propertyType -> visitBeanTypes(propertyType, propertyTypes, visited));
+      }
+    }
+  }
+
+  private static boolean isBeanClass(Class<?> aClass) {
+    return !aClass.isPrimitive()
+        && !aClass.isInterface()
+        && !Modifier.isAbstract(aClass.getModifiers())
+        && aClass != Object.class
+        && getType(aClass) == null;
+  }
+
   private static final class ProxyObject implements InvocationHandler {
     private static final Set<String> IGNORED_METHODS =
         newHashSet("getClass", "getMetaClass", "setMetaClass");
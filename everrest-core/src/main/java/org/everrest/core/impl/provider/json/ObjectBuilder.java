@@ -12,9 +12,7 @@
 package org.everrest.core.impl.provider.json;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
-import static com.google.common.base.Throwables.propagateIfPossible;
 import static com.google.common.collect.Sets.newHashSet;
-import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.everrest.core.impl.provider.json.JsonUtils.Types.ARRAY_OBJECT;
 import static org.everrest.core.impl.provider.json.JsonUtils.Types.COLLECTION;
 import static org.everrest.core.impl.provider.json.JsonUtils.Types.ENUM;
@@ -25,10 +23,6 @@ import static org.everrest.core.impl.provider.json.JsonUtils.getTransientFields;
 import static org.everrest.core.impl.provider.json.JsonUtils.getType;
 import static org.everrest.core.impl.provider.json.JsonUtils.isKnownType;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
@@ -36,6 +30,7 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -47,33 +42,23 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
 import org.everrest.core.impl.provider.json.JsonUtils.Types;
+import org.everrest.core.util.DescriptorRegistry;
 
 /** @author andrew00x */
 public class ObjectBuilder {
   private static final Collection<String> SKIP_METHODS = newHashSet("setMetaClass");
 
-  private static LoadingCache<Class<?>, JsonMethod[]> methodsCache =
-      CacheBuilder.newBuilder()
-          .concurrencyLevel(8)
-          .maximumSize(256)
-          .expireAfterAccess(10, MINUTES)
-          .build(
-              new CacheLoader<Class<?>, JsonMethod[]>() {
-                @Override
-                public JsonMethod[] load(Class<?> aClass) throws Exception {
-                  return getJsonMethods(aClass);
-                }
-              });
-
-  private static Cache<Class<?>, Constructor<?>> constructorsCache =
-      CacheBuilder.newBuilder()
-          .concurrencyLevel(8)
-          .maximumSize(256)
-          .expireAfterAccess(10, MINUTES)
-          .build();
+  /**
+   * Setters of classes. Unlike size limited cache it keeps setters of each class as long as class
+   * itself is loaded and does not prevent unloading of class together with its class loader.
+   */
+  private static final DescriptorRegistry<JsonMethod[]> settersByClass =
+      DescriptorRegistry.create("JsonSetters", ObjectBuilder::getJsonMethods);
+
+  /** Public constructors of classes. */
+  private static final DescriptorRegistry<Constructor<?>[]> constructorsByClass =
+      DescriptorRegistry.create("JsonConstructors", Class::getConstructors);
 
   private static JsonMethod[] getJsonMethods(Class<?> clazz) {
     Set<String> transientFieldNames = getTransientFields(clazz);
@@ -160,32 +145,9 @@ public class ObjectBuilder {
     if (jsonArray == null || jsonArray.isNull()) {
       return null;
     }
-    Class elementClass;
-    Type elementType;
-    if (genericType instanceof ParameterizedType) {
-      ParameterizedType parameterizedType = (ParameterizedType) genericType;
-      elementType = parameterizedType.getActualTypeArguments()[0];
-      if (elementType instanceof Class) {
-        elementClass = (Class) elementType;
-      } else if (elementType instanceof ParameterizedType) {
-        elementClass = (Class) ((ParameterizedType) elementType).getRawType();
-      } else {
-        throw new JsonException(
-            String.format(
-                "This type of Collection can't be restored from JSON source.\nCollection is parameterized by wrong Type: %s",
-                parameterizedType));
-      }
-    } else {
-      throw new JsonException("Collection is not parameterized. Collection<?> is not supported");
-    }
-
-    Constructor<? extends T> constructor;
-    if (collectionClass.isInterface() || Modifier.isAbstract(collectionClass.getModifiers())) {
-      constructor =
-          getConstructor(findAcceptableCollectionImplementation(collectionClass), Collection.class);
-    } else {
-      constructor = getConstructor(collectionClass, Collection.class);
-    }
+    Type elementType = getCollectionElementType(genericType);
+    Class elementClass = getRawClass(elementType);
+    Constructor<? extends T> constructor = getCollectionConstructor(collectionClass);
 
     ArrayList<Object> sourceCollection = new ArrayList<>(jsonArray.size());
     Iterator<JsonValue> values = jsonArray.getElements();
@@ -240,6 +202,39 @@ public class ObjectBuilder {
     }
   }
 
+  /**
+   * Get type of elements of collection.
+   *
+   * @param genericType generic type of collection
+   * @return type of elements of collection, it is either {@link Class} or {@link ParameterizedType}
+   * @throws JsonException if collection is not parameterized or is parameterized by unsupported
+   *     type
+   */
+  static Type getCollectionElementType(Type genericType) throws JsonException {
+    if (genericType instanceof ParameterizedType) {
+      ParameterizedType parameterizedType = (ParameterizedType) genericType;
+      Type elementType = parameterizedType.getActualTypeArguments()[0];
+      if (elementType instanceof Class || elementType instanceof ParameterizedType) {
+        return elementType;
+      }
+      throw new JsonException(
+          String.format(
+              "This type of Collection can't be restored from JSON source.\nCollection is parameterized by wrong Type: %s",
+              parameterizedType));
+    }
+    throw new JsonException("Collection is not parameterized. Collection<?> is not supported");
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T extends Collection<?>> Constructor<? extends T> getCollectionConstructor(
+      Class<T> collectionClass) throws JsonException {
+    if (collectionClass.isInterface() || Modifier.isAbstract(collectionClass.getModifiers())) {
+      return getConstructor(
+          findAcceptableCollectionImplementation(collectionClass), Collection.class);
+    }
+    return getConstructor(collectionClass, Collection.class);
+  }
+
   private static <T extends Collection<?>> Class findAcceptableCollectionImplementation(
       Class<T> collectionClass) throws JsonException {
     Class impl = null;
@@ -275,33 +270,9 @@ public class ObjectBuilder {
     if (jsonObject == null || jsonObject.isNull()) {
       return null;
     }
-    Class mapValueClass;
-    Type mapValueType;
-    if (genericType instanceof ParameterizedType) {
-      ParameterizedType parameterizedType = (ParameterizedType) genericType;
-      if (!String.class.isAssignableFrom((Class) parameterizedType.getActualTypeArguments()[0])) {
-        throw new JsonException("Key of Map must be String. ");
-      }
-      mapValueType = parameterizedType.getActualTypeArguments()[1];
-      if (mapValueType instanceof Class) {
-        mapValueClass = (Class) mapValueType;
-      } else if (mapValueType instanceof ParameterizedType) {
-        mapValueClass = (Class) ((ParameterizedType) mapValueType).getRawType();
-      } else {
-        throw new JsonException(
-            String.format(
-                "This type of Map can't be restored from JSON source.\nMap is parameterized by wrong Type: %s",
-                parameterizedType));
-      }
-    } else {
-      throw new JsonException("Map is not parameterized. Map<Sting, ?> is not supported.");
-    }
-    Constructor<? extends T> constructor;
-    if (mapClass.isInterface() || Modifier.isAbstract(mapClass.getModifiers())) {
-      constructor = getConstructor(findAcceptableMapImplementation(mapClass), Map.class);
-    } else {
-      constructor = getConstructor(mapClass, Map.class);
-    }
+    Type mapValueType = getMapValueType(genericType);
+    Class mapValueClass = getRawClass(mapValueType);
+    Constructor<? extends T> constructor = getMapConstructor(mapClass);
 
     Types jsonMapValueType = getType(mapValueClass);
     HashMap<String, Object> sourceMap = new HashMap<>(jsonObject.size());
@@ -357,6 +328,47 @@ public class ObjectBuilder {
     }
   }
 
+  /**
+   * Get type of values of map.
+   *
+   * @param genericType generic type of map
+   * @return type of values of map, it is either {@link Class} or {@link ParameterizedType}
+   * @throws JsonException if map is not parameterized, type of key is not {@code String} or map is
+   *     parameterized by unsupported type
+   */
+  static Type getMapValueType(Type genericType) throws JsonException {
+    if (genericType instanceof ParameterizedType) {
+      ParameterizedType parameterizedType = (ParameterizedType) genericType;
+      if (!String.class.isAssignableFrom((Class) parameterizedType.getActualTypeArguments()[0])) {
+        throw new JsonException("Key of Map must be String. ");
+      }
+      Type mapValueType = parameterizedType.getActualTypeArguments()[1];
+      if (mapValueType instanceof Class || mapValueType instanceof ParameterizedType) {
+        return mapValueType;
+      }
+      throw new JsonException(
+          String.format(
+              "This type of Map can't be restored from JSON source.\nMap is parameterized by wrong Type: %s",
+              parameterizedType));
+    }
+    throw new JsonException("Map is not parameterized. Map<Sting, ?> is not supported.");
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T extends Map<String, ?>> Constructor<? extends T> getMapConstructor(Class<T> mapClass)
+      throws JsonException {
+    if (mapClass.isInterface() || Modifier.isAbstract(mapClass.getModifiers())) {
+      return getConstructor(findAcceptableMapImplementation(mapClass), Map.class);
+    }
+    return getConstructor(mapClass, Map.class);
+  }
+
+  static Class<?> getRawClass(Type type) {
+    return type instanceof Class
+        ? (Class<?>) type
+        : (Class<?>) ((ParameterizedType) type).getRawType();
+  }
+
   private static <T extends Map<String, ?>> Class findAcceptableMapImplementation(Class<T> mapClass)
       throws JsonException {
     Class impl = null;
@@ -396,79 +408,97 @@ public class ObjectBuilder {
       throw new JsonException("Unsupported type of jsonValue. ");
     }
 
-    T object;
-    if (aClass.isInterface()) {
-      object = createProxy(aClass);
-    } else {
-      try {
-        object = getConstructor(aClass).newInstance();
-      } catch (JsonException e) {
-        throw e;
-      } catch (Exception e) {
-        throw new JsonException(String.format("Unable instantiate object. %s", e.getMessage()), e);
-      }
-    }
-
-    JsonMethod[] setters;
-    try {
-      setters = methodsCache.get(aClass);
-    } catch (ExecutionException e) {
-      propagateIfPossible(e.getCause());
-      throw new JsonException(e.getCause());
-    }
+    T object = newInstance(aClass);
 
-    for (JsonMethod setter : setters) {
+    for (JsonMethod setter : getSetters(aClass)) {
       JsonValue childJsonValue = jsonValue.getElement(setter.field);
       if (childJsonValue != null) {
         try {
-          final Class paramClass = setter.method.getParameterTypes()[0];
-          if (isKnownType(paramClass)) {
-            setter.method.invoke(object, createObjectKnownTypes(paramClass, childJsonValue));
-          } else {
-            Types parameterType = getType(paramClass);
-            if (parameterType != null) {
-              if (parameterType == ENUM) {
-                setter.method.invoke(object, createEnum(paramClass, childJsonValue));
-              } else if (parameterType == ARRAY_OBJECT) {
-                setter.method.invoke(object, createArray(paramClass, childJsonValue));
-              } else if (parameterType == COLLECTION) {
-                setter.method.invoke(
-                    object,
-                    createCollection(
-                        paramClass, setter.method.getGenericParameterTypes()[0], childJsonValue));
-              } else if (parameterType == MAP) {
-                setter.method.invoke(
-                    object,
-                    createObject(
-                        paramClass, setter.method.getGenericParameterTypes()[0], childJsonValue));
-              } else {
-                throw new JsonException(
-                    String.format(
-                        "Can't restore parameter of method : %s#%s from JSON source.",
-                        aClass.getName(), setter.method.getName()));
-              }
-            } else {
-              setter.method.invoke(object, createObject(paramClass, childJsonValue));
-            }
-          }
+          setter.set(object, createParameter(aClass, setter, childJsonValue));
         } catch (Exception e) {
-          String msg =
-              String.format(
-                  "Unable restore parameter via method %s#%s",
-                  aClass.getName(), setter.method.getName());
-          if (e instanceof JsonException) {
-            StringBuilder msgBuilder = new StringBuilder(msg);
-            mergeMessagesFromCausalJsonExceptions(e, msgBuilder);
-            throw new JsonException(msgBuilder.toString(), e);
-          } else {
-            throw new JsonException(msg + e.toString(), e);
-          }
+          throw createSetterException(aClass, setter, e);
         }
       }
     }
     return object;
   }
 
+  /**
+   * Create new instance of bean or proxy if <code>aClass</code> is interface.
+   *
+   * @param aClass the Class of target Object
+   * @return new instance
+   * @throws JsonException if instance can't be created
+   */
+  static <T> T newInstance(Class<T> aClass) throws JsonException {
+    if (aClass.isInterface()) {
+      return createProxy(aClass);
+    }
+    try {
+      return getConstructor(aClass).newInstance();
+    } catch (JsonException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new JsonException(String.format("Unable instantiate object. %s", e.getMessage()), e);
+    }
+  }
+
+  /**
+   * Get setters of bean. Setters of transient fields, see {@link
+   * JsonUtils#getTransientFields(Class)}, are not included.
+   *
+   * @param aClass the Class of bean
+   * @return setters of bean
+   */
+  static JsonMethod[] getSetters(Class<?> aClass) {
+    return settersByClass.get(aClass);
+  }
+
+  /**
+   * Create parameter of setter from JSON source.
+   *
+   * @param aClass the Class of bean
+   * @param setter setter
+   * @param jsonValue the JSON representation of parameter
+   * @return parameter of setter
+   * @throws JsonException if any errors occurs
+   */
+  static Object createParameter(Class<?> aClass, JsonMethod setter, JsonValue jsonValue)
+      throws JsonException {
+    final Class paramClass = setter.method.getParameterTypes()[0];
+    if (isKnownType(paramClass)) {
+      return createObjectKnownTypes(paramClass, jsonValue);
+    }
+    Types parameterType = getType(paramClass);
+    if (parameterType == null) {
+      return createObject(paramClass, jsonValue);
+    } else if (parameterType == ENUM) {
+      return createEnum(paramClass, jsonValue);
+    } else if (parameterType == ARRAY_OBJECT) {
+      return createArray(paramClass, jsonValue);
+    } else if (parameterType == COLLECTION) {
+      return createCollection(paramClass, setter.method.getGenericParameterTypes()[0], jsonValue);
+    } else if (parameterType == MAP) {
+      return createObject(paramClass, setter.method.getGenericParameterTypes()[0], jsonValue);
+    }
+    throw new JsonException(
+        String.format(
+            "Can't restore parameter of method : %s#%s from JSON source.",
+            aClass.getName(), setter.method.getName()));
+  }
+
+  static JsonException createSetterException(Class<?> aClass, JsonMethod setter, Exception e) {
+    String msg =
+        String.format(
+            "Unable restore parameter via method %s#%s", aClass.getName(), setter.method.getName());
+    if (e instanceof JsonException) {
+      StringBuilder msgBuilder = new StringBuilder(msg);
+      mergeMessagesFromCausalJsonExceptions(e, msgBuilder);
+      return new JsonException(msgBuilder.toString(), e);
+    }
+    return new JsonException(msg + e.toString(), e);
+  }
+
   private static void mergeMessagesFromCausalJsonExceptions(Throwable error, StringBuilder msg) {
     int indent = 4;
     do {
@@ -485,27 +515,16 @@ public class ObjectBuilder {
   @SuppressWarnings("unchecked")
   private static <T> Constructor<T> getConstructor(Class<T> aClass, Class<?>... parameters)
       throws JsonException {
-    try {
-      return (Constructor<T>)
-          constructorsCache.get(
-              aClass,
-              (Callable<Constructor<T>>)
-                  () -> {
-                    try {
-                      return aClass.getConstructor(parameters);
-                    } catch (NoSuchMethodException e) {
-                      throw new JsonException(
-                          String.format("Can't find satisfied constructor for : %s", aClass));
-                    }
-                  });
-    } catch (ExecutionException e) {
-      propagateIfPossible(e.getCause(), JsonException.class);
-      throw new JsonException(e.getCause());
+    for (Constructor<?> constructor : constructorsByClass.get(aClass)) {
+      if (Arrays.equals(constructor.getParameterTypes(), parameters)) {
+        return (Constructor<T>) constructor;
+      }
     }
+    throw new JsonException(String.format("Can't find satisfied constructor for : %s", aClass));
   }
 
   @SuppressWarnings("unchecked")
-  private static Enum<?> createEnum(Class enumClass, JsonValue jsonValue) {
+  static Enum<?> createEnum(Class enumClass, JsonValue jsonValue) {
     String name = jsonValue.getStringValue();
     if (isNullOrEmpty(name)) {
       return null;
@@ -521,8 +540,7 @@ public class ObjectBuilder {
    * @return Object.
    * @throws JsonException if type is unknown.
    */
-  private static Object createObjectKnownTypes(Class<?> aClass, JsonValue jsonValue)
-      throws JsonException {
+  static Object createObjectKnownTypes(Class<?> aClass, JsonValue jsonValue) throws JsonException {
     switch (getType(aClass)) {
       case NULL:
         return null;
@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.provider.json;
+
+import static org.everrest.core.impl.provider.json.JsonUtils.Types.ENUM;
+import static org.everrest.core.impl.provider.json.JsonUtils.getType;
+import static org.everrest.core.impl.provider.json.JsonUtils.isKnownType;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.everrest.core.impl.provider.json.JsonReader.Event;
+import org.everrest.core.impl.provider.json.JsonUtils.Types;
+import org.everrest.core.util.DescriptorRegistry;
+
+/**
+ * Creates Java objects directly from {@link JsonReader} without building tree of {@link JsonValue}s
+ * for the whole JSON document. Result is the same as result of {@link ObjectBuilder} for the tree
+ * that is created by {@link JsonParser} from the same source: the same types are supported, setters
+ * of transient fields are skipped and interfaces are restored as proxies. Only values that are
+ * restored in some unusual way, e.g. object that is given for field of type {@code String}, are
+ * read as tree and passed to {@link ObjectBuilder}.
+ */
+public final class StreamingObjectBuilder {
+  /** Setters of classes grouped by name of field, see {@link ObjectBuilder#getSetters(Class)}. */
+  private static final DescriptorRegistry<Map<String, JsonMethod[]>> settersByClass =
+      DescriptorRegistry.create("JsonStreamingSetters", StreamingObjectBuilder::getSettersByField);
+
+  private static Map<String, JsonMethod[]> getSettersByField(Class<?> aClass) {
+    Map<String, JsonMethod[]> setters = new HashMap<>();
+    for (JsonMethod setter : ObjectBuilder.getSetters(aClass)) {
+      JsonMethod[] fieldSetters = setters.get(setter.field);
+      if (fieldSetters == null) {
+        fieldSetters = new JsonMethod[] {setter};
+      } else {
+        fieldSetters = Arrays.copyOf(fieldSetters, fieldSetters.length + 1);
+        fieldSetters[fieldSetters.length - 1] = setter;
+      }
+      setters.put(setter.field, fieldSetters);
+    }
+    return setters;
+  }
+
+  /**
+   * Create setters of bean classes that are used in type and in types of their properties, so they
+   * are not created when object of such type is restored first time.
+   *
+   * @param type type of restored objects
+   */
+  public static void warmUp(Type type) {
+    JsonUtils.visitBeanTypes(
+        type,
+        aClass ->
+            settersByClass.get(aClass).values().stream()
+                .flatMap(Arrays::stream)
+                .map(setter -> setter.method.getGenericParameterTypes()[0]),
+        new HashSet<>());
+  }
+
+  /**
+   * Create Java Object of type <code>aClass</code> from JSON stream. Stream is expected to be
+   * encoded in UTF-8.
+   *
+   * @param aClass the Class of target Object
+   * @param genericType generic type of target Object, it is required for collections and maps
+   * @param stream the JSON source
+   * @return Object or {@code null} if stream is empty
+   * @throws JsonException if any errors occurs
+   */
+  public static Object createObject(Class<?> aClass, Type genericType, InputStream stream)
+      throws JsonException {
+    return createObject(aClass, genericType, new JsonReader(stream));
+  }
+
+  /**
+   * Create Java Object of type <code>aClass</code> from JSON source.
+   *
+   * @param aClass the Class of target Object
+   * @param genericType generic type of target Object, it is required for collections and maps
+   * @param reader the JSON source
+   * @return Object or {@code null} if source is empty
+   * @throws JsonException if any errors occurs
+   */
+  public static Object createObject(Class<?> aClass, Type genericType, Reader reader)
+      throws JsonException {
+    return createObject(aClass, genericType, new JsonReader(reader));
+  }
+
+  private static Object createObject(Class<?> aClass, Type genericType, JsonReader reader)
+      throws JsonException {
+    Event event = reader.next();
+    if (event == Event.END_DOCUMENT) {
+      return null;
+    }
+    Object result;
+    Types jsonType = getType(aClass);
+    if (aClass.isArray()) {
+      result = createArray(aClass, event, reader);
+    } else if (jsonType == Types.COLLECTION) {
+      result = createCollection(aClass, genericType, event, reader);
+    } else if (jsonType == Types.MAP) {
+      result = createMap(aClass, genericType, event, reader);
+    } else {
+      result = createBean(aClass, event, reader);
+    }
+    reader.next();
+    return result;
+  }
+
+  private static Object createValue(
+      Class<?> aClass, Type genericType, Event event, JsonReader reader) throws JsonException {
+    if (isKnownType(aClass)) {
+      return createKnownType(aClass, event, reader);
+    }
+    Types jsonType = getType(aClass);
+    if (jsonType == null) {
+      return createBean(aClass, event, reader);
+    }
+    switch (jsonType) {
+      case ENUM:
+        return ObjectBuilder.createEnum(aClass, reader.readTree(event));
+      case ARRAY_OBJECT:
+        return createArray(aClass, event, reader);
+      case COLLECTION:
+        return createCollection(aClass, genericType, event, reader);
+      case MAP:
+        return createMap(aClass, genericType, event, reader);
+      default:
+        throw new JsonException(
+            String.format("Can't restore %s from JSON source.", aClass.getName()));
+    }
+  }
+
+  private static Object createKnownType(Class<?> aClass, Event event, JsonReader reader)
+      throws JsonException {
+    Class<?> componentType = aClass.getComponentType();
+    if (componentType == null || event != Event.START_ARRAY) {
+      return ObjectBuilder.createObjectKnownTypes(aClass, reader.readTree(event));
+    }
+    Object array = Array.newInstance(componentType, 16);
+    int size = 0;
+    for (Event next = reader.next(); next != Event.END_ARRAY; next = reader.next()) {
+      if (size == Array.getLength(array)) {
+        array = copyOf(array, componentType, size * 2);
+      }
+      Array.set(
+          array,
+          size++,
+          ObjectBuilder.createObjectKnownTypes(componentType, reader.readTree(next)));
+    }
+    return copyOf(array, componentType, size);
+  }
+
+  private static Object copyOf(Object array, Class<?> componentType, int length) {
+    Object copy = Array.newInstance(componentType, length);
+    System.arraycopy(array, 0, copy, 0, Math.min(length, Array.getLength(array)));
+    return copy;
+  }
+
+  private static Object createArray(Class<?> aClass, Event event, JsonReader reader)
+      throws JsonException {
+    if (isNull(event, reader)) {
+      return null;
+    }
+    if (isKnownType(aClass)) {
+      return createKnownType(aClass, event, reader);
+    }
+    if (event != Event.START_ARRAY) {
+      return ObjectBuilder.createArray(aClass, reader.readTree(event));
+    }
+    Class<?> componentType = aClass.getComponentType();
+    List<Object> elements = new ArrayList<>();
+    for (Event next = reader.next(); next != Event.END_ARRAY; next = reader.next()) {
+      if (isKnownType(componentType)) {
+        elements.add(createKnownType(componentType, next, reader));
+      } else if (componentType.isArray()) {
+        elements.add(createArray(componentType, next, reader));
+      } else {
+        elements.add(createBean(componentType, next, reader));
+      }
+    }
+    Object array = Array.newInstance(componentType, elements.size());
+    for (int i = 0; i < elements.size(); i++) {
+      Array.set(array, i, elements.get(i));
+    }
+    return array;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Object createCollection(
+      Class aClass, Type genericType, Event event, JsonReader reader) throws JsonException {
+    if (isNull(event, reader)) {
+      return null;
+    }
+    if (event != Event.START_ARRAY) {
+      return ObjectBuilder.createCollection(aClass, genericType, reader.readTree(event));
+    }
+    Type elementType = ObjectBuilder.getCollectionElementType(genericType);
+    Class<?> elementClass = ObjectBuilder.getRawClass(elementType);
+    Constructor<? extends Collection<?>> constructor =
+        ObjectBuilder.getCollectionConstructor(aClass);
+
+    ArrayList<Object> sourceCollection = new ArrayList<>();
+    for (Event next = reader.next(); next != Event.END_ARRAY; next = reader.next()) {
+      sourceCollection.add(createValue(elementClass, elementType, next, reader));
+    }
+    try {
+      return constructor.newInstance(sourceCollection);
+    } catch (Exception e) {
+      throw new JsonException(e.getMessage(), e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Object createMap(Class aClass, Type genericType, Event event, JsonReader reader)
+      throws JsonException {
+    if (isNull(event, reader)) {
+      return null;
+    }
+    if (event != Event.START_OBJECT) {
+      return ObjectBuilder.createObject(aClass, genericType, reader.readTree(event));
+    }
+    Type mapValueType = ObjectBuilder.getMapValueType(genericType);
+    Class<?> mapValueClass = ObjectBuilder.getRawClass(mapValueType);
+    Constructor<? extends Map<String, ?>> constructor = ObjectBuilder.getMapConstructor(aClass);
+
+    HashMap<String, Object> sourceMap = new HashMap<>();
+    for (Event next = reader.next(); next != Event.END_OBJECT; next = reader.next()) {
+      String key = reader.getKey();
+      sourceMap.put(key, createValue(mapValueClass, mapValueType, reader.next(), reader));
+    }
+    try {
+      return constructor.newInstance(sourceMap);
+    } catch (Exception e) {
+      throw new JsonException(e.getMessage(), e);
+    }
+  }
+
+  private static Object createBean(Class<?> aClass, Event event, JsonReader reader)
+      throws JsonException {
+    if (isNull(event, reader)) {
+      return null;
+    }
+    if (getType(aClass) == ENUM) {
+      return ObjectBuilder.createEnum(aClass, reader.readTree(event));
+    }
+    if (event != Event.START_OBJECT) {
+      throw new JsonException("Unsupported type of jsonValue. ");
+    }
+
+    Object object = ObjectBuilder.newInstance(aClass);
+    Map<String, JsonMethod[]> setters = settersByClass.get(aClass);
+    for (Event next = reader.next(); next != Event.END_OBJECT; next = reader.next()) {
+      JsonMethod[] fieldSetters = setters.get(reader.getKey());
+      Event valueEvent = reader.next();
+      if (fieldSetters == null) {
+        reader.skipValue(valueEvent);
+      } else if (fieldSetters.length == 1) {
+        JsonMethod setter = fieldSetters[0];
+        try {
+          setter.set(
+              object,
+              createValue(
+                  setter.method.getParameterTypes()[0],
+                  setter.method.getGenericParameterTypes()[0],
+                  valueEvent,
+                  reader));
+        } catch (Exception e) {
+          throw ObjectBuilder.createSetterException(aClass, setter, e);
+        }
+      } else {
+        // Overloaded setters, the same value is restored for each of them.
+        JsonValue childJsonValue = reader.readTree(valueEvent);
+        for (JsonMethod setter : fieldSetters) {
+          try {
+            setter.set(object, ObjectBuilder.createParameter(aClass, setter, childJsonValue));
+          } catch (Exception e) {
+            throw ObjectBuilder.createSetterException(aClass, setter, e);
+          }
+        }
+      }
+    }
+    return object;
+  }
+
+  private static boolean isNull(Event event, JsonReader reader) {
+    return event == Event.VALUE && reader.getValue().isNull();
+  }
+
+  private StreamingObjectBuilder() {}
+}
@@ -36,11 +36,14 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.TreeMap;
 import org.everrest.core.BaseObjectModel;
 import org.everrest.core.Parameter;
@@ -51,6 +54,8 @@ import org.everrest.core.resource.ResourceMethodDescriptor;
 import org.everrest.core.resource.SubResourceLocatorDescriptor;
 import org.everrest.core.resource.SubResourceMethodDescriptor;
 import org.everrest.core.uri.UriPattern;
+import org.everrest.core.uri.UriPatternTrie;
+import org.everrest.core.util.ComponentIndex;
 import org.everrest.core.util.ResourceMethodComparator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -69,8 +74,22 @@ public class AbstractResourceDescriptor extends BaseObjectModel implements Resou
       subResourceMethods;
   /** Sub-resource locators. Sub-resource locator has path annotation. */
   private final TreeMap<UriPattern, SubResourceLocatorDescriptor> subResourceLocators;
+  /**
+   * Unmodifiable views of sub-resource methods and locators. Indexes of sub-resource methods and
+   * locators are created once, so methods and locators must not be added or removed after that.
+   */
+  private final Map<UriPattern, Map<String, List<SubResourceMethodDescriptor>>>
+      unmodifiableSubResourceMethods;
+
+  private final Map<UriPattern, SubResourceLocatorDescriptor> unmodifiableSubResourceLocators;
   /** Resource methods. Resource method has not own path annotation. */
   private final MultivaluedMap<String, ResourceMethodDescriptor> resourceMethods;
+  /** Index of sub-resource methods by literal segments of their paths. */
+  private final UriPatternTrie<Entry<UriPattern, Map<String, List<SubResourceMethodDescriptor>>>>
+      subResourceMethodIndex;
+  /** Index of sub-resource locators by literal segments of their paths. */
+  private final UriPatternTrie<Entry<UriPattern, SubResourceLocatorDescriptor>>
+      subResourceLocatorIndex;
 
   private final ResourceMethodComparator resourceMethodComparator = new ResourceMethodComparator();
 
@@ -95,7 +114,13 @@ public class AbstractResourceDescriptor extends BaseObjectModel implements Resou
     this.resourceMethods = new MultivaluedHashMap<>();
     this.subResourceMethods = new TreeMap<>(UriPattern.URIPATTERN_COMPARATOR);
     this.subResourceLocators = new TreeMap<>(UriPattern.URIPATTERN_COMPARATOR);
+    this.unmodifiableSubResourceMethods = Collections.unmodifiableSortedMap(subResourceMethods);
+    this.unmodifiableSubResourceLocators = Collections.unmodifiableSortedMap(subResourceLocators);
     processMethods();
+    this.subResourceMethodIndex =
+        new UriPatternTrie<>(new ArrayList<>(subResourceMethods.entrySet()), Entry::getKey);
+    this.subResourceLocatorIndex =
+        new UriPatternTrie<>(new ArrayList<>(subResourceLocators.entrySet()), Entry::getKey);
   }
 
   /**
@@ -121,14 +146,44 @@ public class AbstractResourceDescriptor extends BaseObjectModel implements Resou
     return resourceMethods;
   }
 
+  /** @return unmodifiable map of sub-resource locators */
   @Override
   public Map<UriPattern, SubResourceLocatorDescriptor> getSubResourceLocators() {
-    return subResourceLocators;
+    return unmodifiableSubResourceLocators;
   }
 
+  /** @return unmodifiable map of sub-resource methods */
   @Override
   public Map<UriPattern, Map<String, List<SubResourceMethodDescriptor>>> getSubResourceMethods() {
-    return subResourceMethods;
+    return unmodifiableSubResourceMethods;
+  }
+
+  /**
+   * Get sub-resource methods which paths may be matched to the {@code path}. Entries are returned
+   * in the same order as they have in {@link #getSubResourceMethods()}, entries which can't be
+   * matched to the {@code path} because of literal segments of their paths are skipped. Final
+   * matching must be done with {@link UriPattern#match(String, List)}.
+   *
+   * @param path part of request path
+   * @return sub-resource methods which paths may be matched to the {@code path}
+   */
+  public Collection<Entry<UriPattern, Map<String, List<SubResourceMethodDescriptor>>>>
+      getSubResourceMethodCandidates(String path) {
+    return subResourceMethodIndex.getCandidates(path);
+  }
+
+  /**
+   * Get sub-resource locators which paths may be matched to the {@code path}. Entries are returned
+   * in the same order as they have in {@link #getSubResourceLocators()}, entries which can't be
+   * matched to the {@code path} because of literal segments of their paths are skipped. Final
+   * matching must be done with {@link UriPattern#match(String, List)}.
+   *
+   * @param path part of request path
+   * @return sub-resource locators which paths may be matched to the {@code path}
+   */
+  public Collection<Entry<UriPattern, SubResourceLocatorDescriptor>>
+      getSubResourceLocatorCandidates(String path) {
+    return subResourceLocatorIndex.getCandidates(path);
   }
 
   @Override
@@ -226,6 +281,8 @@ public class AbstractResourceDescriptor extends BaseObjectModel implements Resou
       Collections.addAll(inheritedMethods, superclass.getDeclaredMethods());
       superclass = superclass.getSuperclass();
     }
+    retainIndexedMethods(resourceClass, methods);
+    retainIndexedMethods(resourceClass, inheritedMethods);
 
     for (Method method : methods) {
       for (Iterator<Method> iterator = inheritedMethods.iterator(); iterator.hasNext(); ) {
@@ -243,6 +300,23 @@ public class AbstractResourceDescriptor extends BaseObjectModel implements Resou
     return methods;
   }
 
+  /**
+   * Removes methods that are not resource methods according to index that is generated at build
+   * time, so annotations of these methods are not checked with reflection. Nothing is removed if
+   * index of resource methods is not enabled for class loader of class or class is not indexed.
+   */
+  private static void retainIndexedMethods(Class<?> resourceClass, List<Method> methods) {
+    ClassLoader classLoader = resourceClass.getClassLoader();
+    if (!ComponentIndex.isResourceMethodsEnabled(classLoader)) {
+      return;
+    }
+    Set<String> indexed =
+        ComponentIndex.get(classLoader).getResourceMethods(resourceClass.getName());
+    if (indexed != null) {
+      methods.removeIf(method -> !indexed.contains(ComponentIndex.getSignature(method)));
+    }
+  }
+
   private void addResourceMethod(
       Method method,
       HttpMethod httpMethod,
@@ -17,10 +17,14 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.List;
 import org.everrest.core.Parameter;
+import org.everrest.core.impl.method.MethodInvocationPlan;
+import org.everrest.core.impl.method.MethodInvocationPlanHolder;
+import org.everrest.core.impl.method.ParameterResolverFactory;
 import org.everrest.core.resource.ResourceDescriptor;
 import org.everrest.core.resource.ResourceMethodDescriptor;
 
-public class ResourceMethodDescriptorImpl implements ResourceMethodDescriptor {
+public class ResourceMethodDescriptorImpl
+    implements ResourceMethodDescriptor, MethodInvocationPlanHolder {
   /** This method will be invoked. */
   private final Method method;
 
@@ -41,6 +45,9 @@ public class ResourceMethodDescriptorImpl implements ResourceMethodDescriptor {
 
   private final Annotation[] additional;
 
+  /** Prepared plan of method invocation, created on first invocation of method. */
+  private volatile MethodInvocationPlan invocationPlan;
+
   /**
    * Constructs new instance of {@link ResourceMethodDescriptor}.
    *
@@ -109,6 +116,16 @@ public class ResourceMethodDescriptorImpl implements ResourceMethodDescriptor {
     return additional;
   }
 
+  @Override
+  public MethodInvocationPlan getMethodInvocationPlan(
+      ParameterResolverFactory parameterResolverFactory) {
+    MethodInvocationPlan plan = invocationPlan;
+    if (plan == null || !plan.isCreatedWith(parameterResolverFactory)) {
+      invocationPlan = plan = new MethodInvocationPlan(this, parameterResolverFactory);
+    }
+    return plan;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -16,11 +16,15 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.List;
 import org.everrest.core.Parameter;
+import org.everrest.core.impl.method.MethodInvocationPlan;
+import org.everrest.core.impl.method.MethodInvocationPlanHolder;
+import org.everrest.core.impl.method.ParameterResolverFactory;
 import org.everrest.core.resource.ResourceDescriptor;
 import org.everrest.core.resource.SubResourceLocatorDescriptor;
 import org.everrest.core.uri.UriPattern;
 
-public class SubResourceLocatorDescriptorImpl implements SubResourceLocatorDescriptor {
+public class SubResourceLocatorDescriptorImpl
+    implements SubResourceLocatorDescriptor, MethodInvocationPlanHolder {
 
   /** See {@link PathValue}. */
   private final PathValue path;
@@ -39,6 +43,9 @@ public class SubResourceLocatorDescriptorImpl implements SubResourceLocatorDescr
 
   private final Annotation[] additional;
 
+  /** Prepared plan of method invocation, created on first invocation of method. */
+  private volatile MethodInvocationPlan invocationPlan;
+
   /**
    * Constructs new instance of {@link SubResourceLocatorDescriptor}.
    *
@@ -97,6 +104,16 @@ public class SubResourceLocatorDescriptorImpl implements SubResourceLocatorDescr
     return additional;
   }
 
+  @Override
+  public MethodInvocationPlan getMethodInvocationPlan(
+      ParameterResolverFactory parameterResolverFactory) {
+    MethodInvocationPlan plan = invocationPlan;
+    if (plan == null || !plan.isCreatedWith(parameterResolverFactory)) {
+      invocationPlan = plan = new MethodInvocationPlan(this, parameterResolverFactory);
+    }
+    return plan;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.uri;
+
+import com.google.common.collect.ForwardingMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Query parameters of request that are parsed lazily. Raw query string is scanned once to find
+ * boundaries of parameters and {@link #getFirst(String)} decodes only value of requested parameter.
+ * Full map of parameters is created with {@link UriComponent#parseQueryString(String, boolean)}
+ * when any other method is called first time, all subsequent calls are delegated to this map.
+ *
+ * <p>Instance of this class is not thread safe.
+ */
+public class QueryParametersMap extends ForwardingMap<String, List<String>>
+    implements MultivaluedMap<String, String> {
+  private static final int[] NO_OFFSETS = new int[0];
+
+  private final String rawQuery;
+  private final boolean decode;
+  /**
+   * Offsets of query parameters, three elements per parameter: start of name, end of name and end
+   * of value. Value starts from the next character after end of name if there is '=' character.
+   */
+  private int[] offsets;
+
+  private MultivaluedMap<String, String> parameters;
+
+  /**
+   * @param rawQuery not decoded query string, may be {@code null}
+   * @param decode if {@code true} then names and values of parameters are decoded
+   */
+  public QueryParametersMap(String rawQuery, boolean decode) {
+    this.rawQuery = rawQuery;
+    this.decode = decode;
+  }
+
+  @Override
+  protected Map<String, List<String>> delegate() {
+    return parameters();
+  }
+
+  private MultivaluedMap<String, String> parameters() {
+    if (parameters == null) {
+      parameters = UriComponent.parseQueryString(rawQuery, decode);
+      offsets = null;
+    }
+    return parameters;
+  }
+
+  @Override
+  public String getFirst(String key) {
+    if (parameters != null) {
+      return parameters.getFirst(key);
+    }
+    if (key == null) {
+      return null;
+    }
+    int[] offsets = offsets();
+    for (int i = 0; i < offsets.length; i += 3) {
+      int start = offsets[i];
+      int nameEnd = offsets[i + 1];
+      int end = offsets[i + 2];
+      if (nameMatches(key, start, nameEnd)) {
+        if (nameEnd == end) {
+          return "";
+        }
+        return component(nameEnd + 1, end);
+      }
+    }
+    return null;
+  }
+
+  private int[] offsets() {
+    if (offsets == null) {
+      if (rawQuery == null || rawQuery.isEmpty()) {
+        offsets = NO_OFFSETS;
+      } else {
+        int[] result = new int[12];
+        int size = 0;
+        int length = rawQuery.length();
+        int p = 0;
+        while (p < length) {
+          int n = rawQuery.indexOf('&', p);
+          if (n < 0) {
+            n = length;
+          }
+          if (n > p) {
+            int eq = rawQuery.indexOf('=', p);
+            if (eq < 0 || eq > n) {
+              eq = n;
+            }
+            if (size + 3 > result.length) {
+              result = Arrays.copyOf(result, result.length * 2);
+            }
+            result[size++] = p;
+            result[size++] = eq;
+            result[size++] = n;
+          }
+          p = n + 1;
+        }
+        offsets = size == result.length ? result : Arrays.copyOf(result, size);
+      }
+    }
+    return offsets;
+  }
+
+  private boolean nameMatches(String key, int start, int end) {
+    if (decode && hasEscapes(start, end)) {
+      return key.equals(component(start, end));
+    }
+    return key.length() == end - start && rawQuery.regionMatches(start, key, 0, key.length());
+  }
+
+  private boolean hasEscapes(int start, int end) {
+    for (int i = start; i < end; i++) {
+      char c = rawQuery.charAt(i);
+      if (c == '%' || c == '+') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private String component(int start, int end) {
+    String component = rawQuery.substring(start, end);
+    return decode ? UriComponent.decode(component, UriComponent.QUERY) : component;
+  }
+
+  @Override
+  public void putSingle(String key, String value) {
+    parameters().putSingle(key, value);
+  }
+
+  @Override
+  public void add(String key, String value) {
+    parameters().add(key, value);
+  }
+
+  @Override
+  public void addAll(String key, String... newValues) {
+    parameters().addAll(key, newValues);
+  }
+
+  @Override
+  public void addAll(String key, List<String> valueList) {
+    parameters().addAll(key, valueList);
+  }
+
+  @Override
+  public void addFirst(String key, String value) {
+    parameters().addFirst(key, value);
+  }
+
+  @Override
+  public boolean equalsIgnoreValueOrder(MultivaluedMap<String, String> otherMap) {
+    return parameters().equalsIgnoreValueOrder(otherMap);
+  }
+}
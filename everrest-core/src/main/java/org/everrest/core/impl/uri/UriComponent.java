@@ -17,7 +17,6 @@ import com.google.common.base.Strings;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.PathSegment;
 import jakarta.ws.rs.core.UriBuilder;
-import java.io.ByteArrayOutputStream;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
@@ -25,7 +24,6 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 import org.everrest.core.impl.MultivaluedMapImpl;
-import org.everrest.core.util.NoSyncByteArrayOutputStream;
 
 public final class UriComponent {
   // Components of URI, see http://gbiv.com/protocols/uri/rfc/rfc3986.htm
@@ -432,7 +430,8 @@ public final class UriComponent {
   }
 
   /**
-   * Decode percent encoded URI string.
+   * Decode percent encoded URI string. If string does not contain any escaped characters, i.e. '%'
+   * or '+', then the same string is returned and no new object is created.
    *
    * @param str the source percent encoded string
    * @param component component of URI, scheme, host, port, etc. NOTE type of component is not used
@@ -445,19 +444,26 @@ public final class UriComponent {
     }
 
     int length = str.length();
+    int p = 0;
+    while (p < length && str.charAt(p) != '%' && str.charAt(p) != '+') {
+      p++;
+    }
+    if (p == length) {
+      return str;
+    }
 
     if (length < 3 && str.indexOf('%') >= 0) {
       throw new IllegalArgumentException("Malformed string: " + str);
     }
 
-    int p = str.lastIndexOf('%');
-    if (p > 0 && p > (length - 3)) {
-      throw new IllegalArgumentException("Malformed string '" + str + "' at index " + p);
+    int last = str.lastIndexOf('%');
+    if (last > 0 && last > (length - 3)) {
+      throw new IllegalArgumentException("Malformed string '" + str + "' at index " + last);
     }
 
-    p = 0; // reset pointer
-    StringBuilder sb = new StringBuilder();
-    NoSyncByteArrayOutputStream buff = null;
+    StringBuilder sb = new StringBuilder(length);
+    sb.append(str, 0, p);
+    byte[] buff = null;
     while (p < length) {
       char c = str.charAt(p);
       switch (c) {
@@ -466,16 +472,18 @@ public final class UriComponent {
             throw new IllegalArgumentException("Malformed string '" + str + "' at index " + p);
           }
           if (buff == null) {
-            buff = new NoSyncByteArrayOutputStream(4);
-          } else {
-            buff.reset();
+            // each escaped byte takes three characters in the rest of string
+            buff = new byte[(length - p) / 3];
           }
-          p = percentDecode(str, p, buff);
-          byte[] bytes = buff.toByteArray();
-          if (bytes.length == 1 && (bytes[0] & 0xFF) < 128) {
-            sb.append((char) bytes[0]);
+          int n = 0;
+          do {
+            buff[n++] = (byte) ((hexValue(str, p + 1) << 4) | hexValue(str, p + 2));
+            p += 3;
+          } while (p < length && str.charAt(p) == '%');
+          if (n == 1 && (buff[0] & 0xFF) < 128) {
+            sb.append((char) buff[0]);
           } else {
-            sb.append(UTF8.decode(ByteBuffer.wrap(bytes)));
+            sb.append(new String(buff, 0, n, UTF8));
           }
           break;
         case '+':
@@ -521,32 +529,15 @@ public final class UriComponent {
   }
 
   /**
-   * Decode percent encoded string.
+   * Get value of hexadecimal digit.
    *
    * @param str the source string
-   * @param p start position in string
-   * @param out output buffer for decoded characters
-   * @return current position in source string
+   * @param p position of hexadecimal digit in string
+   * @return value of hexadecimal digit
    */
-  private static int percentDecode(String str, int p, ByteArrayOutputStream out) {
-    int length = str.length();
-    for (; ; ) {
-      char hc = getHexCharacter(str, ++p); // higher char
-      char lc = getHexCharacter(str, ++p); // lower char
-
-      int r =
-          ((Character.isDigit(hc) ? hc - '0' : hc - 'A' + 10) << 4)
-              | (Character.isDigit(lc) ? lc - '0' : lc - 'A' + 10);
-
-      out.write((byte) r);
-      p++;
-
-      if (p == length || str.charAt(p) != '%') {
-        break;
-      }
-    }
-
-    return p;
+  private static int hexValue(String str, int p) {
+    char c = getHexCharacter(str, p);
+    return c <= '9' ? c - '0' : c - 'A' + 10;
   }
 
   /**
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.servlet;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.everrest.core.impl.EverrestConfiguration.defaultServletAsyncWriteBufferSize;
+import static org.everrest.core.impl.EverrestConfiguration.defaultServletAsyncWriteTimeout;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes response of request that is processed asynchronously by {@link EverrestServlet}. Entity is
+ * written to {@link ServletOutputStream} in non-blocking mode. Data that client is not ready to
+ * accept is kept in memory and is sent from {@link WriteListener#onWritePossible()} by thread of
+ * servlet container, so thread that processes request does not wait for slow client. Asynchronous
+ * processing of request is completed after all kept data is sent.
+ *
+ * <p>Memory that is kept for one client is limited by size of write buffer, arrays that are larger
+ * than buffer are written in chunks of buffer size. When buffer is full thread that writes entity
+ * waits until client accepts part of data, but not longer than write timeout, after that writing
+ * fails with {@link IOException}. So only entities that are larger than write buffer may hold
+ * thread that processes request.
+ *
+ * <p>Instance of this class must be created in the same thread that started asynchronous
+ * processing, since it registers {@link AsyncListener} that stops writing when request is timed out
+ * or failed.
+ */
+public class AsyncServletContainerResponseWriter extends ServletContainerResponseWriter {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(AsyncServletContainerResponseWriter.class);
+
+  private final AsyncContext asyncContext;
+  private final HttpServletResponse servletResponse;
+  private final int writeBufferSize;
+  private final long writeTimeout;
+  private final AtomicBoolean completed = new AtomicBoolean();
+  private volatile NonBlockingOutputStream output;
+  private volatile IOException error;
+
+  public AsyncServletContainerResponseWriter(AsyncContext asyncContext) {
+    this(
+        asyncContext,
+        defaultServletAsyncWriteBufferSize,
+        SECONDS.toMillis(defaultServletAsyncWriteTimeout));
+  }
+
+  /**
+   * @param asyncContext context of asynchronous request
+   * @param writeBufferSize max number of bytes that are kept in memory for slow client
+   * @param writeTimeout max time in milliseconds to wait for slow client when write buffer is full
+   */
+  public AsyncServletContainerResponseWriter(
+      AsyncContext asyncContext, int writeBufferSize, long writeTimeout) {
+    super((HttpServletResponse) asyncContext.getResponse());
+    this.asyncContext = asyncContext;
+    this.servletResponse = (HttpServletResponse) asyncContext.getResponse();
+    this.writeBufferSize = Math.max(writeBufferSize, 1);
+    this.writeTimeout = writeTimeout;
+    asyncContext.addListener(
+        new AsyncListener() {
+          @Override
+          public void onComplete(AsyncEvent event) {}
+
+          @Override
+          public void onTimeout(AsyncEvent event) {
+            abort(new IOException("Asynchronous request timed out"));
+          }
+
+          @Override
+          public void onError(AsyncEvent event) {
+            abort(event.getThrowable());
+          }
+
+          @Override
+          public void onStartAsync(AsyncEvent event) {}
+        });
+  }
+
+  @Override
+  protected OutputStream getOutputStream() throws IOException {
+    if (output == null) {
+      ServletOutputStream servletOutput = servletResponse.getOutputStream();
+      NonBlockingOutputStream nonBlockingOutput = new NonBlockingOutputStream(servletOutput);
+      output = nonBlockingOutput;
+      if (error != null) {
+        nonBlockingOutput.abort(error);
+      }
+      servletOutput.setWriteListener(nonBlockingOutput);
+    }
+    return output;
+  }
+
+  /**
+   * Completes asynchronous processing of request. Does not wait for slow client: if some data is
+   * not sent yet, request is completed by servlet container thread after all data is sent.
+   */
+  public void complete() {
+    NonBlockingOutputStream current = output;
+    if (current == null || current.finish()) {
+      completeAsyncContext();
+    }
+  }
+
+  private void completeAsyncContext() {
+    if (completed.compareAndSet(false, true)) {
+      try {
+        asyncContext.complete();
+      } catch (IllegalStateException e) {
+        // Request is already completed by container, e.g. after timeout.
+        LOG.debug(e.getMessage(), e);
+      }
+    }
+  }
+
+  private void abort(Throwable cause) {
+    IOException ioError =
+        cause instanceof IOException ? (IOException) cause : new IOException(cause);
+    error = ioError;
+    NonBlockingOutputStream current = output;
+    if (current != null && current.abort(ioError)) {
+      completeAsyncContext();
+    }
+  }
+
+  private class NonBlockingOutputStream extends OutputStream implements WriteListener {
+    private final ServletOutputStream out;
+    private final Deque<byte[]> pending = new ArrayDeque<>();
+    private int pendingSize;
+    private boolean flushRequired;
+    private boolean closed;
+    private IOException error;
+
+    NonBlockingOutputStream(ServletOutputStream out) {
+      this.out = out;
+    }
+
+    /** @return {@code true} if nothing is left to send and request may be completed */
+    synchronized boolean finish() {
+      closed = true;
+      return error != null || pending.isEmpty();
+    }
+
+    /** @return {@code true} if request is already closed by thread that processed it */
+    synchronized boolean abort(IOException cause) {
+      if (error == null) {
+        error = cause;
+      }
+      pending.clear();
+      pendingSize = 0;
+      notifyAll();
+      return closed;
+    }
+
+    @Override
+    public void onWritePossible() {
+      boolean done;
+      synchronized (this) {
+        try {
+          while (!pending.isEmpty() && out.isReady()) {
+            byte[] chunk = pending.poll();
+            pendingSize -= chunk.length;
+            out.write(chunk);
+          }
+          if (flushRequired && pending.isEmpty() && out.isReady()) {
+            flushRequired = false;
+            out.flush();
+          }
+        } catch (IOException e) {
+          LOG.debug(e.getMessage(), e);
+          abort(e);
+        }
+        notifyAll();
+        done = closed && (error != null || pending.isEmpty());
+      }
+      if (done) {
+        completeAsyncContext();
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      AsyncServletContainerResponseWriter.this.abort(t);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    /**
+     * Writes data in chunks that are not larger than write buffer, so large array is never kept in
+     * memory entirely.
+     */
+    @Override
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+      while (len > 0) {
+        int chunkSize = Math.min(len, writeBufferSize);
+        writeChunk(b, off, chunkSize);
+        off += chunkSize;
+        len -= chunkSize;
+      }
+    }
+
+    private void writeChunk(byte[] b, int off, int len) throws IOException {
+      long deadline = System.nanoTime() + NANOSECONDS.convert(writeTimeout, MILLISECONDS);
+      while (true) {
+        if (error != null) {
+          throw error;
+        }
+        if (pending.isEmpty() && out.isReady()) {
+          out.write(b, off, len);
+          return;
+        }
+        if (pendingSize + len <= writeBufferSize) {
+          pending.add(Arrays.copyOfRange(b, off, off + len));
+          pendingSize += len;
+          return;
+        }
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          abort(new IOException("Timed out waiting for client to accept response"));
+          continue;
+        }
+        try {
+          NANOSECONDS.timedWait(this, remaining);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted while waiting for output");
+        }
+      }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+      if (error != null) {
+        throw error;
+      }
+      if (pending.isEmpty() && out.isReady()) {
+        out.flush();
+      } else {
+        flushRequired = true;
+      }
+    }
+  }
+}
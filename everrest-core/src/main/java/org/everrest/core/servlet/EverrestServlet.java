@@ -11,6 +11,15 @@
  */
 package org.everrest.core.servlet;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.everrest.core.impl.EverrestConfiguration.EVERREST_SERVLET_ASYNC;
+import static org.everrest.core.impl.EverrestConfiguration.EVERREST_SERVLET_ASYNC_POOL_SIZE;
+import static org.everrest.core.impl.EverrestConfiguration.EVERREST_SERVLET_ASYNC_TIMEOUT;
+import static org.everrest.core.impl.EverrestConfiguration.EVERREST_SERVLET_ASYNC_WRITE_BUFFER_SIZE;
+import static org.everrest.core.impl.EverrestConfiguration.EVERREST_SERVLET_ASYNC_WRITE_TIMEOUT;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.servlet.AsyncContext;
 import jakarta.servlet.ServletConfig;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletException;
@@ -18,23 +27,54 @@ import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import org.everrest.core.ContainerResponseWriter;
 import org.everrest.core.UnhandledException;
 import org.everrest.core.impl.ContainerResponse;
 import org.everrest.core.impl.EnvironmentContext;
+import org.everrest.core.impl.EverrestConfiguration;
 import org.everrest.core.impl.EverrestProcessor;
 import org.everrest.core.tools.ErrorPages;
 import org.everrest.core.tools.WebApplicationDeclaredRoles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** @author andrew00x */
+/**
+ * Servlet that gives requests to {@link EverrestProcessor}. If {@link
+ * EverrestConfiguration#EVERREST_SERVLET_ASYNC} is enabled in init parameters of servlet or servlet
+ * context and servlet is declared as async supported, requests are processed asynchronously: thread
+ * of servlet container is released right after request is given to executor and response is written
+ * with non-blocking output, see {@link AsyncServletContainerResponseWriter}. Clients see no
+ * difference between synchronous and asynchronous processing.
+ *
+ * <p>Resources may suspend request with {@link ServletRequestSuspender} that is available in {@link
+ * EnvironmentContext} of request.
+ *
+ * @author andrew00x
+ */
 @SuppressWarnings("serial")
 public class EverrestServlet extends HttpServlet {
+  /**
+   * Name of servlet context attribute that may contain {@link Executor} for asynchronous processing
+   * of requests. If there is no such attribute servlet creates own thread pool with size {@link
+   * EverrestConfiguration#EVERREST_SERVLET_ASYNC_POOL_SIZE}.
+   */
+  public static final String ASYNC_EXECUTOR_ATTRIBUTE = "org.everrest.servlet.async.executor";
+
   private static final Logger LOG = LoggerFactory.getLogger(EverrestServlet.class);
 
   private WebApplicationDeclaredRoles webApplicationRoles;
   private ErrorPages errorPages;
 
+  private Executor asyncExecutor;
+  private ExecutorService ownAsyncExecutor;
+  private long asyncTimeout;
+  private int asyncWriteBufferSize;
+  private long asyncWriteTimeout;
+
   protected EverrestProcessor processor;
 
   @Override
@@ -43,11 +83,123 @@ public class EverrestServlet extends HttpServlet {
         (EverrestProcessor) getServletContext().getAttribute(EverrestProcessor.class.getName());
     webApplicationRoles = new WebApplicationDeclaredRoles(getServletContext());
     errorPages = new ErrorPages(getServletContext());
+
+    EverrestConfiguration configuration = getAsyncConfiguration();
+    if (configuration.isServletAsync()) {
+      asyncExecutor = (Executor) getServletContext().getAttribute(ASYNC_EXECUTOR_ATTRIBUTE);
+      if (asyncExecutor == null) {
+        ownAsyncExecutor = createAsyncExecutor(configuration.getServletAsyncPoolSize());
+        asyncExecutor = ownAsyncExecutor;
+      }
+      asyncTimeout = SECONDS.toMillis(configuration.getServletAsyncTimeout());
+      asyncWriteBufferSize = configuration.getServletAsyncWriteBufferSize();
+      asyncWriteTimeout = SECONDS.toMillis(configuration.getServletAsyncWriteTimeout());
+    }
+  }
+
+  /** Parameters of asynchronous processing. Init parameters of servlet override ones of context. */
+  private EverrestConfiguration getAsyncConfiguration() {
+    EverrestConfiguration configuration = new EverrestConfiguration();
+    for (String name :
+        new String[] {
+          EVERREST_SERVLET_ASYNC,
+          EVERREST_SERVLET_ASYNC_POOL_SIZE,
+          EVERREST_SERVLET_ASYNC_TIMEOUT,
+          EVERREST_SERVLET_ASYNC_WRITE_BUFFER_SIZE,
+          EVERREST_SERVLET_ASYNC_WRITE_TIMEOUT
+        }) {
+      String value = getInitParameter(name);
+      if (value == null) {
+        value = getServletContext().getInitParameter(name);
+      }
+      configuration.setProperty(name, value);
+    }
+    return configuration;
+  }
+
+  /**
+   * Create executor for asynchronous processing of requests. Executor is shut down when servlet is
+   * destroyed.
+   */
+  protected ExecutorService createAsyncExecutor(int poolSize) {
+    return Executors.newFixedThreadPool(
+        poolSize,
+        new ThreadFactoryBuilder()
+            .setNameFormat("everrest.EverrestServlet-%d")
+            .setDaemon(true)
+            .build());
+  }
+
+  @Override
+  public void destroy() {
+    if (ownAsyncExecutor != null) {
+      ownAsyncExecutor.shutdownNow();
+    }
+    super.destroy();
   }
 
   @Override
   public void service(HttpServletRequest httpRequest, HttpServletResponse httpResponse)
       throws IOException, ServletException {
+    if (asyncExecutor != null && httpRequest.isAsyncSupported()) {
+      serviceAsync(httpRequest, httpResponse);
+    } else {
+      process(
+          httpRequest,
+          httpResponse,
+          new ServletContainerResponseWriter(httpResponse),
+          new ServletRequestSuspender(httpRequest, httpResponse));
+    }
+  }
+
+  private void serviceAsync(HttpServletRequest httpRequest, HttpServletResponse httpResponse)
+      throws IOException {
+    AsyncContext asyncContext = httpRequest.startAsync(httpRequest, httpResponse);
+    if (asyncTimeout > 0) {
+      asyncContext.setTimeout(asyncTimeout);
+    }
+    AsyncServletContainerResponseWriter responseWriter =
+        new AsyncServletContainerResponseWriter(
+            asyncContext, asyncWriteBufferSize, asyncWriteTimeout);
+    ServletRequestSuspender suspender = new ServletRequestSuspender(httpRequest, httpResponse);
+    try {
+      asyncExecutor.execute(
+          () -> {
+            try {
+              process(httpRequest, httpResponse, responseWriter, suspender);
+            } catch (Throwable e) {
+              LOG.error(e.getMessage(), e);
+              sendErrorIfNotCommitted(httpResponse, 500);
+            } finally {
+              // Suspended request is completed after it is resumed and processed again.
+              if (!suspender.isSuspended()) {
+                responseWriter.complete();
+              }
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      LOG.warn("Unable process request asynchronously. {}", e.getMessage());
+      sendErrorIfNotCommitted(httpResponse, 503);
+      responseWriter.complete();
+    }
+  }
+
+  private void sendErrorIfNotCommitted(HttpServletResponse httpResponse, int status) {
+    if (!httpResponse.isCommitted()) {
+      try {
+        httpResponse.sendError(status);
+      } catch (IOException | IllegalStateException e) {
+        LOG.debug(e.getMessage(), e);
+      }
+    }
+  }
+
+  private void process(
+      HttpServletRequest httpRequest,
+      HttpServletResponse httpResponse,
+      ContainerResponseWriter responseWriter,
+      ServletRequestSuspender suspender)
+      throws IOException, ServletException {
     EnvironmentContext env = new EnvironmentContext();
     env.put(HttpServletRequest.class, httpRequest);
     env.put(HttpServletResponse.class, httpResponse);
@@ -55,10 +207,10 @@ public class EverrestServlet extends HttpServlet {
     env.put(ServletContext.class, getServletContext());
     env.put(WebApplicationDeclaredRoles.class, webApplicationRoles);
     env.put(ErrorPages.class, errorPages);
+    env.put(ServletRequestSuspender.class, suspender);
     try {
       ServletContainerRequest request = ServletContainerRequest.create(httpRequest);
-      ContainerResponse response =
-          new ContainerResponse(new ServletContainerResponseWriter(httpResponse));
+      ContainerResponse response = new ContainerResponse(suspender.wrap(responseWriter));
       processor.process(request, response, env);
     } catch (IOException ioe) {
       // Met problem with Acrobat Reader HTTP client when use EverRest for WebDav.
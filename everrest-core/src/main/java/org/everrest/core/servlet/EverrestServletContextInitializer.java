@@ -15,6 +15,7 @@ import jakarta.servlet.ServletContext;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.core.Application;
 import jakarta.ws.rs.ext.Provider;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -35,6 +36,7 @@ import org.everrest.core.impl.async.AsynchronousJobPool;
 import org.everrest.core.impl.async.AsynchronousJobService;
 import org.everrest.core.impl.async.AsynchronousProcessListWriter;
 import org.everrest.core.impl.method.filter.SecurityConstraint;
+import org.everrest.core.util.ComponentIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +47,17 @@ public class EverrestServletContextInitializer {
 
   public static final String EVERREST_SCAN_COMPONENTS = "org.everrest.scan.components";
   public static final String EVERREST_SCAN_SKIP_PACKAGES = "org.everrest.scan.skip.packages";
+  /**
+   * If {@code true} then components are loaded from index that is generated at build time by
+   * artifact {@code everrest-index-processor} instead of scanning of class path by servlet
+   * container. Index is also used to skip reflective check of methods that are not resource
+   * methods, see {@link ComponentIndex#setResourceMethodsEnabled(ClassLoader, boolean)}. Has effect
+   * only if scan of components is enabled with {@link #EVERREST_SCAN_COMPONENTS}.
+   *
+   * @see ComponentIndex
+   */
+  public static final String EVERREST_SCAN_INDEX = "org.everrest.scan.index";
+
   public static final String JAXRS_APPLICATION = "jakarta.ws.rs.Application";
 
   protected final ServletContext servletContext;
@@ -78,17 +91,51 @@ public class EverrestServletContextInitializer {
         throw new RuntimeException(e);
       }
     } else if (scan) {
+      boolean index = getBoolean(EVERREST_SCAN_INDEX, false);
+      if (index) {
+        ComponentIndex.setResourceMethodsEnabled(
+            Thread.currentThread().getContextClassLoader(), true);
+      }
       application =
           new Application() {
             @Override
             public Set<Class<?>> getClasses() {
-              return new LinkedHashSet<>(ComponentFinder.findComponents());
+              return index
+                  ? findIndexedComponents()
+                  : new LinkedHashSet<>(ComponentFinder.findComponents());
             }
           };
     }
     return application;
   }
 
+  /**
+   * Load classes of components from index that is visible to context class loader. Classes from
+   * packages that are listed in {@link #EVERREST_SCAN_SKIP_PACKAGES} are skipped in the same way as
+   * when class path is scanned.
+   */
+  private Set<Class<?>> findIndexedComponents() {
+    List<String> skip = new ArrayList<>();
+    String skipParameter = getParameter(EVERREST_SCAN_SKIP_PACKAGES);
+    if (skipParameter != null) {
+      for (String skipPrefix : skipParameter.split(",")) {
+        skip.add(skipPrefix.trim());
+      }
+    }
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    Set<Class<?>> components = new LinkedHashSet<>();
+    for (String className : ComponentIndex.get(classLoader).getComponents()) {
+      if (skip.stream().noneMatch(className::startsWith)) {
+        try {
+          components.add(classLoader.loadClass(className));
+        } catch (ClassNotFoundException | LinkageError e) {
+          LOG.warn("Unable load indexed component {}, {}", className, e.toString());
+        }
+      }
+    }
+    return components;
+  }
+
   public EverrestConfiguration createConfiguration() {
     EverrestConfiguration config = new EverrestConfiguration();
     for (String parameterName : getParameterNames()) {
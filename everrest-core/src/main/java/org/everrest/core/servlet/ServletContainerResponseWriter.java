@@ -39,7 +39,7 @@ public class ServletContainerResponseWriter implements ContainerResponseWriter {
     }
     Object entity = response.getEntity();
     if (entity != null) {
-      OutputStream out = servletResponse.getOutputStream();
+      OutputStream out = getOutputStream();
       entityWriter.writeTo(
           entity,
           entity.getClass(),
@@ -52,6 +52,11 @@ public class ServletContainerResponseWriter implements ContainerResponseWriter {
     }
   }
 
+  /** Get stream for writing of response entity. */
+  protected OutputStream getOutputStream() throws IOException {
+    return servletResponse.getOutputStream();
+  }
+
   @Override
   public void writeHeaders(GenericContainerResponse response) throws IOException {
     if (servletResponse.isCommitted()) {
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.servlet;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.everrest.core.ContainerResponseWriter;
+import org.everrest.core.GenericContainerResponse;
+
+/**
+ * Allows resource to release thread that processes request of {@link EverrestServlet} until some
+ * event, e.g. until asynchronous job is done. Nothing is sent to client while request is suspended.
+ * When request is resumed it is dispatched to {@link EverrestServlet} again and processed from the
+ * beginning, resource may check {@link #isResumed()} to find that request was suspended before.
+ * Suspension requires servlet that is declared as async supported.
+ *
+ * <p>Instance of this class is available in {@link org.everrest.core.impl.EnvironmentContext} of
+ * request and may be injected in resource with {@link jakarta.ws.rs.core.Context}.
+ */
+public class ServletRequestSuspender {
+  /** Name of attribute of request that is set when suspended request is resumed. */
+  public static final String RESUMED_ATTRIBUTE = "org.everrest.servlet.resumed";
+
+  private final HttpServletRequest httpRequest;
+  private final HttpServletResponse httpResponse;
+  private volatile boolean suspended;
+
+  public ServletRequestSuspender(HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
+    this.httpRequest = httpRequest;
+    this.httpResponse = httpResponse;
+  }
+
+  /** @return {@code true} if request may be suspended and was not suspended before */
+  public boolean isSuspendSupported() {
+    return httpRequest.isAsyncSupported() && !isResumed() && !suspended;
+  }
+
+  /** @return {@code true} if request was suspended and resumed */
+  public boolean isResumed() {
+    return httpRequest.getAttribute(RESUMED_ATTRIBUTE) != null;
+  }
+
+  public boolean isSuspended() {
+    return suspended;
+  }
+
+  /**
+   * Suspend request. Response that resource returns is not sent to client. Request is resumed when
+   * returned action is run or when timeout is reached, whichever comes first. Timeout is applied
+   * only if asynchronous processing of request was not started by {@link EverrestServlet} yet,
+   * otherwise caller must care about timeout.
+   *
+   * @param timeoutMillis timeout in milliseconds
+   * @return action that resumes request, action may be run many times but resumes request once
+   * @throws IllegalStateException if request may not be suspended
+   * @see #isSuspendSupported()
+   */
+  public Runnable suspend(long timeoutMillis) {
+    checkState(isSuspendSupported(), "Request can't be suspended");
+    final AsyncContext asyncContext;
+    if (httpRequest.isAsyncStarted()) {
+      asyncContext = httpRequest.getAsyncContext();
+    } else {
+      asyncContext = httpRequest.startAsync(httpRequest, httpResponse);
+      asyncContext.setTimeout(timeoutMillis);
+    }
+    final AtomicBoolean resumed = new AtomicBoolean();
+    final Runnable resume =
+        () -> {
+          if (resumed.compareAndSet(false, true)) {
+            httpRequest.setAttribute(RESUMED_ATTRIBUTE, Boolean.TRUE);
+            asyncContext.dispatch();
+          }
+        };
+    asyncContext.addListener(
+        new AsyncListener() {
+          @Override
+          public void onComplete(AsyncEvent event) {}
+
+          @Override
+          public void onTimeout(AsyncEvent event) {
+            resume.run();
+          }
+
+          @Override
+          public void onError(AsyncEvent event) {}
+
+          @Override
+          public void onStartAsync(AsyncEvent event) {}
+        });
+    suspended = true;
+    return resume;
+  }
+
+  /** Wraps writer of response, wrapper writes nothing when request is suspended. */
+  ContainerResponseWriter wrap(final ContainerResponseWriter responseWriter) {
+    return new ContainerResponseWriter() {
+      @Override
+      public void writeHeaders(GenericContainerResponse response) throws IOException {
+        if (!suspended) {
+          responseWriter.writeHeaders(response);
+        }
+      }
+
+      @Override
+      public void writeBody(GenericContainerResponse response, MessageBodyWriter entityWriter)
+          throws IOException {
+        if (!suspended) {
+          responseWriter.writeBody(response, entityWriter);
+        }
+      }
+    };
+  }
+}
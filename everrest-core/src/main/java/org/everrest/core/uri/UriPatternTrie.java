@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.uri;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable index of elements that have {@link UriPattern} by literal path segments of URI
+ * template. Each element is placed in node that corresponds to the longest sequence of complete
+ * literal segments at the beginning of its template, e.g. template {@code /a/b/{x}/c} is placed
+ * under {@code a -> b}. For a request path this index gives the elements which may be matched to
+ * the path, all others are skipped without running regular expression. Candidates are returned in
+ * the same order as they have in the list given to constructor, so the order of elements, e.g. one
+ * that is defined by {@link UriPattern#URIPATTERN_COMPARATOR}, is kept. Final matching of
+ * candidates still must be done with {@link UriPattern#match(String, List)}.
+ *
+ * @param <T> type of indexed elements
+ */
+public final class UriPatternTrie<T> {
+  private final List<T> elements;
+  private final Node root;
+
+  /**
+   * @param elements elements, typically already sorted with {@link
+   *     UriPattern#URIPATTERN_COMPARATOR}
+   * @param uriPatternFunction function to get {@link UriPattern} of element
+   */
+  public UriPatternTrie(List<T> elements, Function<T, UriPattern> uriPatternFunction) {
+    this.elements = Collections.unmodifiableList(new ArrayList<>(elements));
+    this.root = new Node();
+    for (int i = 0; i < this.elements.size(); i++) {
+      Node node = root;
+      for (String segment : getLiteralSegments(uriPatternFunction.apply(this.elements.get(i)))) {
+        node = node.children.computeIfAbsent(segment, s -> new Node());
+      }
+      node.addIndex(i);
+    }
+  }
+
+  /**
+   * Get all elements.
+   *
+   * @return all elements in the same order as they were given to constructor
+   */
+  public List<T> getElements() {
+    return elements;
+  }
+
+  /**
+   * Get elements which patterns may be matched to the {@code path}.
+   *
+   * @param path request path
+   * @return elements which may be matched to the {@code path}, in the same order as they were given
+   *     to constructor
+   */
+  public List<T> getCandidates(String path) {
+    if (elements.isEmpty()) {
+      return Collections.emptyList();
+    }
+    int[] indexes = root.indexes;
+    int size = root.size;
+    if (path != null) {
+      Node node = root;
+      int length = path.length();
+      int start = length > 0 && path.charAt(0) == '/' ? 1 : 0;
+      while (start <= length && !node.children.isEmpty()) {
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+          end = length;
+        }
+        node = node.children.get(path.substring(start, end));
+        if (node == null) {
+          break;
+        }
+        if (node.size > 0) {
+          int[] merged = Arrays.copyOf(indexes, size + node.size);
+          System.arraycopy(node.indexes, 0, merged, size, node.size);
+          indexes = merged;
+          size += node.size;
+        }
+        start = end + 1;
+      }
+      if (indexes != root.indexes) {
+        Arrays.sort(indexes, 0, size);
+      }
+    }
+    List<T> candidates = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      candidates.add(elements.get(indexes[i]));
+    }
+    return candidates;
+  }
+
+  /**
+   * Characters that are not escaped by {@link UriTemplateParser} and are matched by {@link
+   * UriPattern} as regular expression, not as literal text.
+   */
+  private static final String REGEX_CHARACTERS = "{}*+$[]|^\\";
+
+  /**
+   * Get complete literal segments at the beginning of URI template. Segment that contains template
+   * variable or character that is matched as regular expression and all segments after it are not
+   * included.
+   */
+  static List<String> getLiteralSegments(UriPattern uriPattern) {
+    String template = uriPattern.getTemplate();
+    int end = -1;
+    for (int i = 0; i < template.length() && end < 0; i++) {
+      if (REGEX_CHARACTERS.indexOf(template.charAt(i)) >= 0) {
+        end = i;
+      }
+    }
+    if (end < 0) {
+      end = template.length();
+      if (end > 0 && template.charAt(end - 1) == '/') {
+        end--;
+      }
+    } else {
+      end = template.lastIndexOf('/', end);
+    }
+    if (end <= 0) {
+      return Collections.emptyList();
+    }
+    int start = template.charAt(0) == '/' ? 1 : 0;
+    List<String> segments = new ArrayList<>();
+    while (start <= end) {
+      int next = template.indexOf('/', start);
+      if (next < 0 || next > end) {
+        next = end;
+      }
+      segments.add(template.substring(start, next));
+      start = next + 1;
+    }
+    return segments;
+  }
+
+  private static final class Node {
+    final Map<String, Node> children = new HashMap<>();
+    int[] indexes = new int[0];
+    int size;
+
+    void addIndex(int index) {
+      if (size == indexes.length) {
+        indexes = Arrays.copyOf(indexes, Math.max(4, size * 2));
+      }
+      indexes[size++] = index;
+    }
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.MapMaker;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of JAX-RS components and resource methods that is generated at build time by {@code
+ * org.everrest.index.ComponentIndexProcessor} from artifact {@code everrest-index-processor}. Index
+ * allows to find components without scanning of class path and to skip reflective check of
+ * annotations of methods that are not resource methods. All index files {@value #INDEX_LOCATION}
+ * that are visible to class loader are merged.
+ *
+ * <p>Index may be stale, e.g. if it is not regenerated after resource class is changed. So index of
+ * resource methods is used only for class loaders that are enabled explicitly with {@link
+ * #setResourceMethodsEnabled(ClassLoader, boolean)}, this is done when {@code
+ * org.everrest.scan.index} is turned on.
+ */
+public final class ComponentIndex {
+  private static final Logger LOG = LoggerFactory.getLogger(ComponentIndex.class);
+
+  public static final String INDEX_LOCATION = "META-INF/everrest/components.idx";
+
+  static final ComponentIndex EMPTY = new ComponentIndex();
+
+  private static final LoadingCache<ClassLoader, ComponentIndex> INDEXES =
+      CacheBuilder.newBuilder().weakKeys().build(CacheLoader.from(ComponentIndex::load));
+
+  private static final Set<ClassLoader> RESOURCE_METHODS_ENABLED =
+      Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+
+  /**
+   * Get index of components that are visible to class loader. Index is read once and cached until
+   * class loader is garbage collected.
+   *
+   * @param classLoader class loader
+   * @return index, never {@code null}. If there is no index files then index is empty.
+   */
+  public static ComponentIndex get(ClassLoader classLoader) {
+    return classLoader == null ? EMPTY : INDEXES.getUnchecked(classLoader);
+  }
+
+  /**
+   * Enables or disables use of index of resource methods for classes that are loaded by class
+   * loader or by its descendants.
+   *
+   * @param classLoader class loader
+   * @param enabled {@code true} to check annotations only of methods that are listed in index
+   */
+  public static void setResourceMethodsEnabled(ClassLoader classLoader, boolean enabled) {
+    if (enabled) {
+      RESOURCE_METHODS_ENABLED.add(classLoader);
+    } else {
+      RESOURCE_METHODS_ENABLED.remove(classLoader);
+    }
+  }
+
+  /**
+   * Checks whether index of resource methods is enabled for class loader or any of its ancestors.
+   *
+   * @param classLoader class loader
+   * @return {@code true} if index of resource methods may be used for classes of class loader
+   * @see #setResourceMethodsEnabled(ClassLoader, boolean)
+   */
+  public static boolean isResourceMethodsEnabled(ClassLoader classLoader) {
+    if (RESOURCE_METHODS_ENABLED.isEmpty()) {
+      return false;
+    }
+    for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+      if (RESOURCE_METHODS_ENABLED.contains(loader)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Get signature of method in format of index, i.e. name of method and names of types of its
+   * parameters, e.g. {@code getBook(java.lang.String,int)}.
+   *
+   * @param method method
+   * @return signature of method
+   */
+  public static String getSignature(Method method) {
+    StringBuilder signature = new StringBuilder(method.getName()).append('(');
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    for (int i = 0; i < parameterTypes.length; i++) {
+      if (i > 0) {
+        signature.append(',');
+      }
+      signature.append(parameterTypes[i].getName());
+    }
+    return signature.append(')').toString();
+  }
+
+  private static ComponentIndex load(ClassLoader classLoader) {
+    ComponentIndex index = new ComponentIndex();
+    try {
+      Enumeration<URL> resources = classLoader.getResources(INDEX_LOCATION);
+      while (resources.hasMoreElements()) {
+        URL resource = resources.nextElement();
+        try (Reader reader = new InputStreamReader(resource.openStream(), UTF_8)) {
+          index.read(reader);
+        } catch (IOException e) {
+          LOG.warn("Unable read index of components {}, {}", resource, e.getMessage());
+        }
+      }
+    } catch (IOException e) {
+      LOG.warn("Unable find index of components, {}", e.getMessage());
+    }
+    return index;
+  }
+
+  private final Set<String> components = new LinkedHashSet<>();
+  private final Map<String, Set<String>> resourceMethods = new HashMap<>();
+
+  ComponentIndex() {}
+
+  /** Adds content of index file to this index. */
+  void read(Reader reader) throws IOException {
+    BufferedReader lines = new BufferedReader(reader);
+    for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+      String[] values = line.trim().split(" ");
+      if (values.length < 2) {
+        continue;
+      }
+      if ("component".equals(values[0])) {
+        components.add(values[1]);
+      } else if ("resource".equals(values[0])) {
+        Set<String> methods = resourceMethods.computeIfAbsent(values[1], k -> new HashSet<>());
+        for (int i = 2; i < values.length; i++) {
+          methods.add(values[i]);
+        }
+      }
+    }
+  }
+
+  /** @return names of classes of components, the same classes that scanning of class path finds */
+  public Set<String> getComponents() {
+    return Collections.unmodifiableSet(components);
+  }
+
+  /**
+   * Get signatures of resource methods of class, see {@link #getSignature(Method)}. Set contains
+   * also signatures of methods of superclasses and interfaces. Method that is not in this set is
+   * not a resource method, sub-resource method or sub-resource locator.
+   *
+   * @param className name of class
+   * @return signatures of resource methods or {@code null} if class is not indexed
+   */
+  public Set<String> getResourceMethods(String className) {
+    Set<String> methods = resourceMethods.get(className);
+    return methods == null ? null : Collections.unmodifiableSet(methods);
+  }
+}
@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.util;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.MapMaker;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of descriptors of classes, e.g. resource descriptors or lists of methods that are found
+ * with reflection. Descriptor of class is created once when it is requested first time and is kept
+ * as long as class itself is loaded, registry is not limited in size.
+ *
+ * <p>Descriptors of classes that are loaded by class loader of EverRest or by its descendants, e.g.
+ * classes of application or of Groovy scripts, are kept in {@link ClassValue}, so they do not
+ * prevent unloading of classes together with their class loader. Descriptors of other classes, e.g.
+ * classes of JDK, are kept in map with weak keys that belongs to registry, since {@link ClassValue}
+ * of JDK class would keep class loader of EverRest as long as JDK class is loaded.
+ *
+ * <p>Registries are expected to be created once and kept in static fields. All created registries
+ * may be exposed in JMX with {@link #registerMBeans(String)}.
+ *
+ * @param <V> type of descriptor
+ */
+public final class DescriptorRegistry<V> implements DescriptorRegistryMXBean {
+  private static final Logger LOG = LoggerFactory.getLogger(DescriptorRegistry.class);
+
+  private static final List<DescriptorRegistry<?>> REGISTRIES = new ArrayList<>();
+  /**
+   * Contexts for which MBeans of registries are registered and class loaders that are used to load
+   * classes by name for these contexts.
+   */
+  private static final Map<String, ClassLoader> MBEAN_CONTEXTS = new HashMap<>();
+
+  /**
+   * Create new registry.
+   *
+   * @param name name of registry, used in name of MBean
+   * @param descriptorFactory creates descriptor of class
+   * @param <V> type of descriptor
+   * @return new registry
+   */
+  public static <V> DescriptorRegistry<V> create(
+      String name, Function<Class<?>, V> descriptorFactory) {
+    DescriptorRegistry<V> registry = new DescriptorRegistry<>(name, descriptorFactory);
+    synchronized (REGISTRIES) {
+      REGISTRIES.add(registry);
+      for (Map.Entry<String, ClassLoader> context : MBEAN_CONTEXTS.entrySet()) {
+        registerMBean(registry, context.getKey(), context.getValue());
+      }
+    }
+    return registry;
+  }
+
+  /** @return all created registries */
+  public static List<DescriptorRegistry<?>> getRegistries() {
+    synchronized (REGISTRIES) {
+      return new ArrayList<>(REGISTRIES);
+    }
+  }
+
+  /**
+   * Register MBeans of all registries in platform MBean server. Registries that are created later
+   * are registered when they are created. Name of MBean is {@code
+   * org.everrest:type=DescriptorRegistry,context=<context>,name=<name of registry>}.
+   *
+   * <p>Classes that are passed to {@link DescriptorRegistryMXBean#warmUp(String[])} by name are
+   * loaded with context class loader of thread that calls this method.
+   *
+   * @param context name of context, e.g. path of web application, allows to distinguish MBeans of
+   *     few applications deployed in the same JVM
+   * @see #unregisterMBeans(String)
+   */
+  public static void registerMBeans(String context) {
+    registerMBeans(context, Thread.currentThread().getContextClassLoader());
+  }
+
+  /**
+   * Register MBeans of all registries in platform MBean server, see {@link
+   * #registerMBeans(String)}. JMX operations are invoked by threads of JMX connector, their context
+   * class loader does not see classes of application, so classes that are passed to {@link
+   * DescriptorRegistryMXBean#warmUp(String[])} by name are loaded with specified class loader.
+   *
+   * @param context name of context
+   * @param classLoader class loader of application, if {@code null} then class loader of EverRest
+   *     is used
+   * @see #unregisterMBeans(String)
+   */
+  public static void registerMBeans(String context, ClassLoader classLoader) {
+    ClassLoader contextClassLoader =
+        classLoader == null ? DescriptorRegistry.class.getClassLoader() : classLoader;
+    synchronized (REGISTRIES) {
+      if (!MBEAN_CONTEXTS.containsKey(context)) {
+        MBEAN_CONTEXTS.put(context, contextClassLoader);
+        for (DescriptorRegistry<?> registry : REGISTRIES) {
+          registerMBean(registry, context, contextClassLoader);
+        }
+      }
+    }
+  }
+
+  /**
+   * Unregister MBeans of all registries that were registered with {@link #registerMBeans(String)}.
+   * Should be called when application is stopped, otherwise MBean server keeps classes of
+   * application.
+   *
+   * @param context name of context
+   */
+  public static void unregisterMBeans(String context) {
+    synchronized (REGISTRIES) {
+      if (MBEAN_CONTEXTS.containsKey(context)) {
+        MBEAN_CONTEXTS.remove(context);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (DescriptorRegistry<?> registry : REGISTRIES) {
+          try {
+            server.unregisterMBean(getObjectName(registry, context));
+          } catch (InstanceNotFoundException ignored) {
+            // Was not registered because of error
+          } catch (JMException e) {
+            LOG.warn(
+                "Unable unregister MBean of descriptor registry {}, {}",
+                registry.getName(),
+                e.getMessage());
+          }
+        }
+      }
+    }
+  }
+
+  private static void registerMBean(
+      DescriptorRegistry<?> registry, String context, ClassLoader classLoader) {
+    try {
+      ManagementFactory.getPlatformMBeanServer()
+          .registerMBean(
+              new StandardMBean(
+                  new ContextMBean(registry, classLoader), DescriptorRegistryMXBean.class, true),
+              getObjectName(registry, context));
+    } catch (JMException e) {
+      LOG.warn(
+          "Unable register MBean of descriptor registry {}, {}",
+          registry.getName(),
+          e.getMessage());
+    }
+  }
+
+  static ObjectName getObjectName(DescriptorRegistry<?> registry, String context)
+      throws MalformedObjectNameException {
+    return new ObjectName(
+        String.format(
+            "org.everrest:type=DescriptorRegistry,context=%s,name=%s",
+            ObjectName.quote(context == null ? "" : context),
+            ObjectName.quote(registry.getName())));
+  }
+
+  private final String name;
+  private final Function<Class<?>, V> descriptorFactory;
+  /** Descriptors of classes that are loaded by class loader of EverRest or by its descendants. */
+  private final ClassValue<V> descriptors;
+  /** Descriptors of other classes. Keys are weak references. */
+  private final ConcurrentMap<Class<?>, V> foreignDescriptors;
+  /** Classes which have descriptors, used only for counting. Keys are weak references. */
+  private final Set<Class<?>> classes;
+
+  private final LongAdder requestCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder loadExceptionCount = new LongAdder();
+  private final LongAdder totalLoadTime = new LongAdder();
+
+  private DescriptorRegistry(String name, Function<Class<?>, V> descriptorFactory) {
+    this.name = checkNotNull(name);
+    this.descriptorFactory = checkNotNull(descriptorFactory);
+    this.classes = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+    this.foreignDescriptors = new MapMaker().weakKeys().makeMap();
+    this.descriptors =
+        new ClassValue<V>() {
+          @Override
+          protected V computeValue(Class<?> aClass) {
+            return createDescriptor(aClass);
+          }
+        };
+  }
+
+  private V createDescriptor(Class<?> aClass) {
+    missCount.increment();
+    long start = System.nanoTime();
+    try {
+      V descriptor = descriptorFactory.apply(aClass);
+      classes.add(aClass);
+      return descriptor;
+    } catch (RuntimeException | Error e) {
+      loadExceptionCount.increment();
+      throw e;
+    } finally {
+      totalLoadTime.add(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Get descriptor of class. Descriptor is created if it does not exist yet. If creation of
+   * descriptor fails then exception is thrown and next call of this method tries to create
+   * descriptor again.
+   *
+   * @param aClass class
+   * @return descriptor of class
+   */
+  public V get(Class<?> aClass) {
+    requestCount.increment();
+    if (isLoadedByOwnClassLoader(aClass)) {
+      return descriptors.get(aClass);
+    }
+    V descriptor = foreignDescriptors.get(aClass);
+    if (descriptor == null) {
+      descriptor = createDescriptor(aClass);
+      V existing = foreignDescriptors.putIfAbsent(aClass, descriptor);
+      if (existing != null) {
+        descriptor = existing;
+      }
+    }
+    return descriptor;
+  }
+
+  /**
+   * Check is class loaded by class loader of EverRest or by one of its descendants. Such classes
+   * can't live longer than class loader of EverRest.
+   */
+  static boolean isLoadedByOwnClassLoader(Class<?> aClass) {
+    ClassLoader ownClassLoader = DescriptorRegistry.class.getClassLoader();
+    for (ClassLoader classLoader = aClass.getClassLoader();
+        classLoader != null;
+        classLoader = classLoader.getParent()) {
+      if (classLoader == ownClassLoader) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Create descriptors of specified classes if they are not created yet.
+   *
+   * @param classes classes
+   */
+  public void warmUp(Iterable<? extends Class<?>> classes) {
+    for (Class<?> aClass : classes) {
+      get(aClass);
+    }
+  }
+
+  /**
+   * Create descriptors of specified classes if they are not created yet. Classes are loaded with
+   * context class loader of current thread.
+   *
+   * @param classNames fully qualified names of classes
+   * @return number of classes which are found and have descriptors in registry
+   */
+  @Override
+  public int warmUp(String[] classNames) {
+    return warmUp(classNames, getClassLoader());
+  }
+
+  /**
+   * Create descriptors of specified classes if they are not created yet.
+   *
+   * @param classNames fully qualified names of classes
+   * @param classLoader class loader that is used to load classes
+   * @return number of classes which are found and have descriptors in registry
+   */
+  public int warmUp(String[] classNames, ClassLoader classLoader) {
+    int count = 0;
+    for (String className : classNames) {
+      try {
+        get(Class.forName(className, false, classLoader));
+        count++;
+      } catch (ClassNotFoundException e) {
+        LOG.warn("Class {} not found", className);
+      } catch (RuntimeException e) {
+        LOG.warn("Unable create descriptor of class {}, {}", className, e.getMessage());
+      }
+    }
+    return count;
+  }
+
+  private ClassLoader getClassLoader() {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    return classLoader == null ? DescriptorRegistry.class.getClassLoader() : classLoader;
+  }
+
+  /**
+   * Get statistic of registry. Eviction count is always zero since descriptors are removed only
+   * when their classes are unloaded.
+   *
+   * @return statistic of registry, e.g. hit and miss counters
+   */
+  public CacheStats stats() {
+    long misses = missCount.sum();
+    long exceptions = loadExceptionCount.sum();
+    return new CacheStats(
+        Math.max(0, requestCount.sum() - misses),
+        misses,
+        misses - exceptions,
+        exceptions,
+        totalLoadTime.sum(),
+        0);
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public long getSize() {
+    return classes.size();
+  }
+
+  @Override
+  public long getHitCount() {
+    return stats().hitCount();
+  }
+
+  @Override
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  @Override
+  public long getLoadExceptionCount() {
+    return loadExceptionCount.sum();
+  }
+
+  @Override
+  public long getTotalLoadTime() {
+    return totalLoadTime.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "DescriptorRegistry{" + name + ", size=" + getSize() + ", " + stats() + '}';
+  }
+
+  /** MBean of registry in one context, loads classes with class loader of context. */
+  private static final class ContextMBean implements DescriptorRegistryMXBean {
+    private final DescriptorRegistry<?> registry;
+    private final ClassLoader classLoader;
+
+    ContextMBean(DescriptorRegistry<?> registry, ClassLoader classLoader) {
+      this.registry = registry;
+      this.classLoader = classLoader;
+    }
+
+    @Override
+    public String getName() {
+      return registry.getName();
+    }
+
+    @Override
+    public long getSize() {
+      return registry.getSize();
+    }
+
+    @Override
+    public long getHitCount() {
+      return registry.getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+      return registry.getMissCount();
+    }
+
+    @Override
+    public long getLoadExceptionCount() {
+      return registry.getLoadExceptionCount();
+    }
+
+    @Override
+    public long getTotalLoadTime() {
+      return registry.getTotalLoadTime();
+    }
+
+    @Override
+    public int warmUp(String[] classNames) {
+      return registry.warmUp(classNames, classLoader);
+    }
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.util;
+
+/**
+ * Management interface of {@link DescriptorRegistry}.
+ *
+ * @see DescriptorRegistry#registerMBeans(String)
+ */
+public interface DescriptorRegistryMXBean {
+  /** @return name of registry */
+  String getName();
+
+  /** @return number of classes which descriptors are kept in registry */
+  long getSize();
+
+  /** @return number of times descriptor was found in registry */
+  long getHitCount();
+
+  /** @return number of times descriptor was created because it was not found in registry */
+  long getMissCount();
+
+  /** @return number of times creation of descriptor failed */
+  long getLoadExceptionCount();
+
+  /** @return total time in nanoseconds that was spent for creation of descriptors */
+  long getTotalLoadTime();
+
+  /**
+   * Create descriptors of specified classes if they are not created yet.
+   *
+   * @param classNames fully qualified names of classes
+   * @return number of classes which are found and have descriptors in registry
+   */
+  int warmUp(String[] classNames);
+}
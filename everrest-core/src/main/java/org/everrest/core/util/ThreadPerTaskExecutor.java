@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executor that starts new thread for each task, typically virtual thread. Number of concurrently
+ * running tasks is limited with {@link Semaphore}, task that exceeds limit is rejected with {@link
+ * RejectedExecutionException} immediately, there is no queue of waiting tasks.
+ *
+ * <p>Virtual threads are available since Java 21, they are created with reflection since EverRest
+ * is compiled for older version of Java.
+ */
+public class ThreadPerTaskExecutor extends AbstractExecutorService {
+  private static final Logger LOG = LoggerFactory.getLogger(ThreadPerTaskExecutor.class);
+
+  /**
+   * Create executor that runs tasks in virtual threads. If JVM does not support virtual threads
+   * then executor uses new daemon platform thread for each task.
+   *
+   * @param namePrefix prefix of names of threads, name of thread is prefix and sequence number
+   * @param maxConcurrency max number of concurrently running tasks
+   * @param rejectionMessage message of exception if number of running tasks reaches limit
+   * @return executor
+   */
+  public static ThreadPerTaskExecutor newVirtualThreadExecutor(
+      String namePrefix, int maxConcurrency, String rejectionMessage) {
+    ThreadFactory threadFactory = createVirtualThreadFactory(namePrefix);
+    if (threadFactory == null) {
+      LOG.warn("Virtual threads are not supported, platform threads {} are used", namePrefix);
+      threadFactory =
+          new ThreadFactoryBuilder().setNameFormat(namePrefix + "%d").setDaemon(true).build();
+    }
+    return new ThreadPerTaskExecutor(threadFactory, maxConcurrency, rejectionMessage);
+  }
+
+  /**
+   * Create factory of virtual threads, {@code Thread.ofVirtual().name(namePrefix, 0).factory()}.
+   *
+   * @return factory of virtual threads or {@code null} if virtual threads are not supported
+   */
+  static ThreadFactory createVirtualThreadFactory(String namePrefix) {
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder =
+          builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // Java before 21 or preview features are disabled.
+      return null;
+    }
+  }
+
+  private final ThreadFactory threadFactory;
+  private final int maxConcurrency;
+  private final String rejectionMessage;
+  private final Semaphore permits;
+  private final Set<Thread> threads;
+  private volatile boolean shutdown;
+
+  public ThreadPerTaskExecutor(
+      ThreadFactory threadFactory, int maxConcurrency, String rejectionMessage) {
+    checkArgument(maxConcurrency > 0, "Max concurrency must be positive");
+    this.threadFactory = checkNotNull(threadFactory);
+    this.maxConcurrency = maxConcurrency;
+    this.rejectionMessage = rejectionMessage;
+    this.permits = new Semaphore(maxConcurrency);
+    this.threads = ConcurrentHashMap.newKeySet();
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    checkNotNull(command);
+    if (shutdown) {
+      throw new RejectedExecutionException("Executor is shut down");
+    }
+    if (!permits.tryAcquire()) {
+      throw new RejectedExecutionException(rejectionMessage);
+    }
+    Thread thread = null;
+    try {
+      thread = threadFactory.newThread(() -> run(command));
+      threads.add(thread);
+      thread.start();
+    } catch (RuntimeException | Error e) {
+      if (thread != null) {
+        threads.remove(thread);
+      }
+      permits.release();
+      throw new RejectedExecutionException(e);
+    }
+  }
+
+  private void run(Runnable command) {
+    try {
+      command.run();
+    } finally {
+      threads.remove(Thread.currentThread());
+      permits.release();
+      synchronized (this) {
+        notifyAll();
+      }
+    }
+  }
+
+  /** @return number of tasks that are running now */
+  public int getActiveCount() {
+    return maxConcurrency - permits.availablePermits();
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown = true;
+    for (Thread thread : threads) {
+      thread.interrupt();
+    }
+    return new ArrayList<>();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return shutdown && getActiveCount() == 0;
+  }
+
+  @Override
+  public synchronized boolean awaitTermination(long timeout, TimeUnit unit)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (!isTerminated()) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return false;
+      }
+      TimeUnit.NANOSECONDS.timedWait(this, remaining);
+    }
+    return true;
+  }
+}
@@ -25,7 +25,9 @@ import org.everrest.core.GenericContainerResponse;
  * <p>To turn on the tracing feature client must send query parameter {@code tracing=true}. Trace
  * messages added by method {@code trace}. All collected messages will be sent to client as headers.
  * Each trace message is represented as separate HTTP header. The name of header has next pattern
- * {@code EverRest-Trace-XXX}, where XXX is number of message.
+ * {@code EverRest-Trace-XXX}, where XXX is number of message. Tracing may be disabled for all
+ * requests with configuration parameter {@link
+ * org.everrest.core.impl.EverrestConfiguration#EVERREST_TRACING}.
  *
  * @author andrew00x
  */
@@ -34,13 +36,14 @@ public final class Tracer {
    * Check is tracing feature enabled.
    *
    * @return {@code true} if tracing enabled and {@code false} otherwise.
+   * @see ApplicationContext#isTracingEnabled()
    */
   public static boolean isTracingEnabled() {
     ApplicationContext context = ApplicationContext.getCurrent();
     if (context == null) {
       throw new IllegalStateException("ApplicationContext is not initialized yet. ");
     }
-    return Boolean.parseBoolean(context.getQueryParameters().getFirst("tracing"));
+    return context.isTracingEnabled();
   }
 
   /**
@@ -61,7 +64,9 @@ public final class Tracer {
    * @param args the arguments for string format
    */
   public static void trace(String format, Object... args) {
-    trace(String.format(format, args));
+    if (isTracingEnabled()) {
+      getTraceHolder().addTrace(String.format(format, args));
+    }
   }
 
   /**
@@ -21,6 +21,8 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -226,6 +228,54 @@ public class ApplicationContextTest {
         methodInvoker instanceof OptionsRequestMethodInvoker);
   }
 
+  @Test
+  public void enablesTracingByQueryParameter() {
+    when(request.getRequestUri()).thenReturn(URI.create("http://localhost:8080/a/b?tracing=true"));
+    assertTrue(applicationContext.isTracingEnabled());
+  }
+
+  @Test
+  public void tracingIsDisabledWhenRequestDoesNotHaveTracingQueryParameter() {
+    when(request.getRequestUri()).thenReturn(URI.create("http://localhost:8080/a/b?x=y"));
+    assertFalse(applicationContext.isTracingEnabled());
+  }
+
+  @Test
+  public void ignoresTracingQueryParameterWhenTracingIsDisabledInConfiguration() {
+    EverrestConfiguration configuration = new EverrestConfiguration();
+    configuration.setTracingEnabled(false);
+    applicationContext.setEverrestConfiguration(configuration);
+
+    assertFalse(applicationContext.isTracingEnabled());
+    verify(request, never()).getRequestUri();
+  }
+
+  @Test
+  public void ignoresTracingQueryParameterWhenTracingIsNotAllowedByBuilder() {
+    EverrestConfiguration configuration = new EverrestConfiguration();
+    configuration.setTracingEnabled(true);
+    applicationContext =
+        anApplicationContext()
+            .withRequest(request)
+            .withResponse(response)
+            .withProviders(providers)
+            .withConfiguration(configuration)
+            .withTracingAllowed(false)
+            .build();
+
+    assertFalse(applicationContext.isTracingEnabled());
+    verify(request, never()).getRequestUri();
+  }
+
+  @Test
+  public void resolvesTracingOnce() {
+    when(request.getRequestUri()).thenReturn(URI.create("http://localhost:8080/a/b?tracing=true"));
+    applicationContext.isTracingEnabled();
+    applicationContext.isTracingEnabled();
+
+    verify(request, times(1)).getRequestUri();
+  }
+
   @Test
   public void getsAsynchronousMethodInvokerWhenCallerProvidesAsyncQueryParameter() {
     when(request.getRequestUri()).thenReturn(URI.create("http://localhost:8080/a/b?async=true"));
@@ -31,7 +31,7 @@ public abstract class BaseTest {
     ResourceBinderImpl resources = new ResourceBinderImpl();
     resetProviderBinder();
     ProviderBinder providers = new ApplicationProviderBinder();
-    asynchronousPool = new AsynchronousJobPool(new EverrestConfiguration());
+    asynchronousPool = createAsynchronousJobPool();
     providers.addContextResolver(asynchronousPool);
     providers.addMessageBodyWriter(new AsynchronousProcessListWriter());
     resources.addResource("/async", AsynchronousJobService.class, null);
@@ -45,6 +45,10 @@ public abstract class BaseTest {
     launcher = new ResourceLauncher(processor);
   }
 
+  protected AsynchronousJobPool createAsynchronousJobPool() {
+    return new AsynchronousJobPool(new EverrestConfiguration());
+  }
+
   private void resetProviderBinder() {
     ProviderBinder providerBinder = new ProviderBinder();
     providerBinder.init();
@@ -82,6 +82,12 @@ public class ConstructorDescriptorImplTest {
     ApplicationContext.setCurrent(applicationContext);
   }
 
+  private void enableMethodHandleInvocation() {
+    EverrestConfiguration configuration = new EverrestConfiguration();
+    configuration.setMethodHandleInvocation(true);
+    when(applicationContext.getEverrestConfiguration()).thenReturn(configuration);
+  }
+
   @SuppressWarnings("unchecked")
   private void mockParameterResolverFactory() {
     parameterResolverFactory = mock(ParameterResolverFactory.class);
@@ -286,6 +292,38 @@ public class ConstructorDescriptorImplTest {
     constructorDescriptor.createInstance(applicationContext);
   }
 
+  @Test
+  public void createsInstanceOfClassWithMethodHandleWhenItIsEnabledInConfiguration()
+      throws Exception {
+    enableMethodHandleInvocation();
+    Dependency dependency = new Dependency();
+    when(dependencySupplier.getInstance(isA(Parameter.class))).thenReturn(dependency);
+
+    Constructor<Resource> constructor = Resource.class.getConstructor(Dependency.class);
+    ConstructorDescriptorImpl constructorDescriptor =
+        new ConstructorDescriptorImpl(constructor, parameterResolverFactory);
+    Resource instance = (Resource) constructorDescriptor.createInstance(applicationContext);
+
+    assertSame(dependency, instance.dependency);
+  }
+
+  @Test
+  public void
+      wrapsNonWebApplicationExceptionThrownByConstructorInvokedWithMethodHandleWithInternalException()
+          throws Exception {
+    enableMethodHandleInvocation();
+    Exception thrownByConstructor = new Exception();
+    Resource.thrownByDefaultConstructorIfSet = thrownByConstructor;
+
+    Constructor<Resource> constructor = Resource.class.getConstructor();
+    ConstructorDescriptorImpl constructorDescriptor =
+        new ConstructorDescriptorImpl(constructor, parameterResolverFactory);
+
+    thrown.expect(InternalException.class);
+    thrown.expectCause(exceptionSameInstanceMatcher(thrownByConstructor));
+    constructorDescriptor.createInstance(applicationContext);
+  }
+
   @Test
   public void rethrowsInternalExceptionThrownByConstructor() throws Exception {
     InternalException thrownByConstructor = new InternalException(new Exception());
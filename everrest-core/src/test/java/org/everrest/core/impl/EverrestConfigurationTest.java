@@ -43,7 +43,13 @@ public class EverrestConfigurationTest {
     assertEquals(100, everrestConfiguration.getAsynchronousQueueSize());
     assertEquals(512, everrestConfiguration.getAsynchronousCacheSize());
     assertEquals(60, everrestConfiguration.getAsynchronousJobTimeout());
+    assertFalse(everrestConfiguration.isAsynchronousVirtualThreads());
+    assertEquals(60, everrestConfiguration.getAsynchronousMaxWait());
+    assertFalse(everrestConfiguration.isAsynchronousResultSpool());
+    assertEquals(67108864, everrestConfiguration.getAsynchronousResultSpoolMemory());
+    assertEquals(0, everrestConfiguration.getWebSocketBroadcastThreads());
     assertEquals(204800, everrestConfiguration.getMaxBufferSize());
+    assertFalse(everrestConfiguration.isMethodHandleInvocation());
   }
 
   @Test
@@ -109,6 +115,11 @@ public class EverrestConfigurationTest {
     everrestConfiguration.setAsynchronousQueueSize(256);
     everrestConfiguration.setAsynchronousCacheSize(100);
     everrestConfiguration.setAsynchronousJobTimeout(10);
+    everrestConfiguration.setAsynchronousVirtualThreads(true);
+    everrestConfiguration.setAsynchronousMaxWait(30);
+    everrestConfiguration.setAsynchronousResultSpool(true);
+    everrestConfiguration.setAsynchronousResultSpoolMemory(1024);
+    everrestConfiguration.setWebSocketBroadcastThreads(4);
     everrestConfiguration.setMaxBufferSize(2048);
 
     assertFalse(everrestConfiguration.isHttpMethodOverride());
@@ -120,6 +131,11 @@ public class EverrestConfigurationTest {
     assertEquals(256, everrestConfiguration.getAsynchronousQueueSize());
     assertEquals(100, everrestConfiguration.getAsynchronousCacheSize());
     assertEquals(10, everrestConfiguration.getAsynchronousJobTimeout());
+    assertTrue(everrestConfiguration.isAsynchronousVirtualThreads());
+    assertEquals(30, everrestConfiguration.getAsynchronousMaxWait());
+    assertTrue(everrestConfiguration.isAsynchronousResultSpool());
+    assertEquals(1024, everrestConfiguration.getAsynchronousResultSpoolMemory());
+    assertEquals(4, everrestConfiguration.getWebSocketBroadcastThreads());
     assertEquals(2048, everrestConfiguration.getMaxBufferSize());
   }
 }
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl;
+
+import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static org.everrest.core.impl.EverrestWarmUp.JSON;
+import static org.everrest.core.impl.EverrestWarmUp.LIFECYCLE;
+import static org.everrest.core.impl.EverrestWarmUp.METHODS;
+import static org.everrest.core.impl.EverrestWarmUp.PROVIDERS;
+import static org.everrest.core.impl.EverrestWarmUp.RESOURCES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+import com.google.common.collect.ImmutableList;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.everrest.core.PerRequestObjectFactory;
+import org.everrest.core.impl.provider.ProviderDescriptorImpl;
+import org.everrest.core.util.DescriptorRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EverrestWarmUpTest {
+  private ResourceBinderImpl resources;
+  private ProviderBinder providers;
+  private EverrestConfiguration configuration;
+
+  @Before
+  public void setUp() throws Exception {
+    resources = new ResourceBinderImpl();
+    resources.addResource(Resource.class, null);
+    providers = new ProviderBinder();
+    providers.init();
+    configuration = new EverrestConfiguration();
+    configuration.setWarmUpParallelism(2);
+  }
+
+  @Test
+  public void reportsTimeOfAllPhases() {
+    Map<String, Long> times = new EverrestWarmUp(resources, providers, configuration).run();
+
+    assertEquals(
+        ImmutableList.of(RESOURCES, METHODS, LIFECYCLE, JSON, PROVIDERS),
+        ImmutableList.copyOf(times.keySet()));
+  }
+
+  @Test
+  public void createsDescriptorsOfResourcesThatAreReturnedBySubResourceLocators() {
+    new EverrestWarmUp(resources, providers, configuration).run();
+
+    DescriptorRegistry<?> registry = getRegistry("SubResourceDescriptors");
+    long missCount = registry.getMissCount();
+    RequestDispatcher.getLocatorDescriptor(SubResource.class);
+    RequestDispatcher.getLocatorDescriptor(NextSubResource.class);
+    assertEquals(missCount, registry.getMissCount());
+  }
+
+  @Test
+  public void createsJsonAccessorsOfEntitiesAndTheirProperties() {
+    new EverrestWarmUp(resources, providers, configuration).run();
+
+    DescriptorRegistry<?> getters = getRegistry("JsonGetters");
+    DescriptorRegistry<?> setters = getRegistry("JsonStreamingSetters");
+    long getterMissCount = getters.getMissCount();
+    long setterMissCount = setters.getMissCount();
+    getters.warmUp(ImmutableList.of(Book.class, Author.class));
+    setters.warmUp(ImmutableList.of(Book.class, Author.class));
+    assertEquals(getterMissCount, getters.getMissCount());
+    assertEquals(setterMissCount, setters.getMissCount());
+  }
+
+  @Test
+  public void resolvesMessageBodyReadersAndWritersOfEntities() throws Exception {
+    new EverrestWarmUp(resources, providers, configuration).run();
+
+    long readerHitCount = providers.getMessageBodyReaderResolutionStats().hitCount();
+    long writerHitCount = providers.getMessageBodyWriterResolutionStats().hitCount();
+    providers.getMessageBodyReader(
+        Book.class,
+        Book.class,
+        Resource.class.getMethod("create", Book.class).getParameterAnnotations()[0],
+        APPLICATION_JSON_TYPE);
+    providers.getMessageBodyWriter(Book.class, Book.class, null, APPLICATION_JSON_TYPE);
+    assertEquals(readerHitCount + 1, providers.getMessageBodyReaderResolutionStats().hitCount());
+    assertEquals(writerHitCount + 1, providers.getMessageBodyWriterResolutionStats().hitCount());
+  }
+
+  @Test
+  public void skipsResolutionOfMessageBodyReadersWhenThereIsPerRequestReaderForMediaType() {
+    providers.addMessageBodyReader(
+        new PerRequestObjectFactory<>(new ProviderDescriptorImpl(PerRequestReader.class)));
+
+    new EverrestWarmUp(resources, providers, configuration).run();
+
+    assertEquals(0, providers.getMessageBodyReaderResolutionStats().requestCount());
+    assertTrue(providers.getMessageBodyWriterResolutionStats().requestCount() > 0);
+  }
+
+  @Test
+  public void warmsUpApplicationWhenProcessorIsStarted() {
+    configuration.setWarmUp(true);
+    EverrestProcessor processor =
+        new EverrestProcessor(
+            configuration,
+            null,
+            new RequestHandlerImpl(new RequestDispatcher(resources), providers),
+            null);
+
+    processor.start();
+
+    assertEquals(
+        ImmutableList.of(RESOURCES, METHODS, LIFECYCLE, JSON, PROVIDERS),
+        ImmutableList.copyOf(processor.getWarmUpTimes().keySet()));
+  }
+
+  @Test
+  public void continuesWarmUpWhenClassOfItemCanNotBeLoaded() {
+    providers = spy(providers);
+    doThrow(new NoClassDefFoundError("org/example/Missing"))
+        .when(providers)
+        .getMessageBodyWriter(any(), any(), any(), any());
+
+    Map<String, Long> times = new EverrestWarmUp(resources, providers, configuration).run();
+
+    assertEquals(
+        ImmutableList.of(RESOURCES, METHODS, LIFECYCLE, JSON, PROVIDERS),
+        ImmutableList.copyOf(times.keySet()));
+  }
+
+  @Test
+  public void runsWarmUpWithContextClassLoaderOfCallingThread() throws Exception {
+    providers = spy(providers);
+    Set<ClassLoader> contextClassLoaders = ConcurrentHashMap.newKeySet();
+    doAnswer(
+            invocation -> {
+              contextClassLoaders.add(Thread.currentThread().getContextClassLoader());
+              return invocation.callRealMethod();
+            })
+        .when(providers)
+        .getMessageBodyWriter(any(), any(), any(), any());
+    Thread thread = Thread.currentThread();
+    ClassLoader contextClassLoader = thread.getContextClassLoader();
+    try (URLClassLoader applicationClassLoader =
+        new URLClassLoader(new URL[0], getClass().getClassLoader())) {
+      thread.setContextClassLoader(applicationClassLoader);
+
+      new EverrestWarmUp(resources, providers, configuration).run();
+
+      assertEquals(Collections.singleton(applicationClassLoader), contextClassLoaders);
+    } finally {
+      thread.setContextClassLoader(contextClassLoader);
+    }
+  }
+
+  @Test
+  public void startsProcessorWhenWarmUpFails() {
+    configuration.setWarmUp(true);
+    resources = spy(resources);
+    doThrow(new NoClassDefFoundError("org/example/Missing")).when(resources).getResources();
+    EverrestProcessor processor =
+        new EverrestProcessor(
+            configuration,
+            null,
+            new RequestHandlerImpl(new RequestDispatcher(resources), providers),
+            null);
+
+    processor.start();
+
+    assertEquals(0, processor.getWarmUpTimes().size());
+  }
+
+  @Test
+  public void doesNotWarmUpApplicationWhenWarmUpIsDisabled() {
+    EverrestProcessor processor =
+        new EverrestProcessor(
+            configuration,
+            null,
+            new RequestHandlerImpl(new RequestDispatcher(resources), providers),
+            null);
+
+    processor.start();
+
+    assertEquals(0, processor.getWarmUpTimes().size());
+  }
+
+  private static DescriptorRegistry<?> getRegistry(String name) {
+    return DescriptorRegistry.getRegistries().stream()
+        .filter(registry -> name.equals(registry.getName()))
+        .findFirst()
+        .get();
+  }
+
+  @Path("a")
+  public static class Resource {
+    @POST
+    @Consumes("application/json")
+    @Produces("application/json")
+    public Book create(Book book) {
+      return book;
+    }
+
+    @Path("b")
+    public SubResource sub() {
+      return new SubResource();
+    }
+  }
+
+  public static class SubResource {
+    @GET
+    @Produces("text/plain")
+    public String get() {
+      return "sub";
+    }
+
+    @Path("c")
+    public NextSubResource next() {
+      return new NextSubResource();
+    }
+  }
+
+  public static class NextSubResource {
+    @GET
+    public String get() {
+      return "next";
+    }
+  }
+
+  public static class Book {
+    private String title;
+    private List<Author> authors;
+
+    public String getTitle() {
+      return title;
+    }
+
+    public void setTitle(String title) {
+      this.title = title;
+    }
+
+    public List<Author> getAuthors() {
+      return authors;
+    }
+
+    public void setAuthors(List<Author> authors) {
+      this.authors = authors;
+    }
+  }
+
+  public static class Author {
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+  @Consumes("application/json")
+  public static class PerRequestReader implements MessageBodyReader<Object> {
+    @Override
+    public boolean isReadable(
+        Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+      return false;
+    }
+
+    @Override
+    public Object readFrom(
+        Class<Object> type,
+        Type genericType,
+        Annotation[] annotations,
+        MediaType mediaType,
+        MultivaluedMap<String, String> httpHeaders,
+        InputStream entityStream)
+        throws WebApplicationException {
+      return null;
+    }
+  }
+}
@@ -80,6 +80,12 @@ public class FieldInjectorImplTest {
     ApplicationContext.setCurrent(applicationContext);
   }
 
+  private void enableMethodHandleInvocation() {
+    EverrestConfiguration configuration = new EverrestConfiguration();
+    configuration.setMethodHandleInvocation(true);
+    when(applicationContext.getEverrestConfiguration()).thenReturn(configuration);
+  }
+
   @SuppressWarnings("unchecked")
   private void mockParameterResolverFactory() {
     parameterResolverFactory = mock(ParameterResolverFactory.class);
@@ -172,6 +178,38 @@ public class FieldInjectorImplTest {
     verify(instance).setHeaderParam("header parameter");
   }
 
+  @Test
+  public void injectsFieldWithMethodHandleWhenItIsEnabledInConfiguration() throws Exception {
+    enableMethodHandleInvocation();
+    when(pathParameterResolver.resolve(isA(Parameter.class), eq(applicationContext)))
+        .thenReturn("path parameter");
+
+    FieldInjectorImpl fieldInjector =
+        new FieldInjectorImpl(
+            Resource.class.getDeclaredField("pathParam"), parameterResolverFactory);
+    Resource instance = new Resource();
+    fieldInjector.inject(instance, applicationContext);
+
+    assertEquals("path parameter", instance.pathParam);
+  }
+
+  @Test
+  public void usesSetterForSettingFieldWithMethodHandleWhenItIsEnabledInConfiguration()
+      throws Exception {
+    enableMethodHandleInvocation();
+    when(headerParameterResolver.resolve(isA(Parameter.class), eq(applicationContext)))
+        .thenReturn("header parameter");
+
+    FieldInjectorImpl fieldInjector =
+        new FieldInjectorImpl(
+            Resource.class.getDeclaredField("headerParam"), parameterResolverFactory);
+    Resource instance = spy(new Resource());
+    fieldInjector.inject(instance, applicationContext);
+
+    assertEquals("header parameter", instance.headerParam);
+    verify(instance).setHeaderParam("header parameter");
+  }
+
   @Test
   public void injectsExternalDependencyToField() throws Exception {
     Dependency dependency = new Dependency();
@@ -35,6 +35,7 @@ import ch.qos.logback.core.Appender;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.WebApplicationException;
@@ -781,6 +782,108 @@ public class ProviderBinderTest {
         providers.getMessageBodyWriter(ExtendedExtendedEntity.class, null, null, TEXT_PLAIN_TYPE));
   }
 
+  @Test
+  public void reusesResolvedMessageBodyWriterWhenAllCandidatesAreSingletons() {
+    EntityWriter entityWriter = new EntityWriter();
+    providers.addMessageBodyWriter(entityWriter);
+
+    assertSame(
+        entityWriter, providers.getMessageBodyWriter(Entity.class, null, null, TEXT_PLAIN_TYPE));
+    assertSame(
+        entityWriter, providers.getMessageBodyWriter(Entity.class, null, null, TEXT_PLAIN_TYPE));
+
+    assertEquals(1, providers.getMessageBodyWriterResolutionStats().missCount());
+    assertEquals(1, providers.getMessageBodyWriterResolutionStats().hitCount());
+  }
+
+  @Test
+  public void reusesResolvedMessageBodyReaderWhenAllCandidatesAreSingletons() {
+    EntityReader entityReader = new EntityReader();
+    providers.addMessageBodyReader(entityReader);
+
+    assertSame(
+        entityReader, providers.getMessageBodyReader(Entity.class, null, null, TEXT_PLAIN_TYPE));
+    assertSame(
+        entityReader, providers.getMessageBodyReader(Entity.class, null, null, TEXT_PLAIN_TYPE));
+
+    assertEquals(1, providers.getMessageBodyReaderResolutionStats().missCount());
+    assertEquals(1, providers.getMessageBodyReaderResolutionStats().hitCount());
+  }
+
+  @Test
+  public void doesNotReuseResolvedMessageBodyWriterWhenPerRequestWriterIsCandidate() {
+    providers.addMessageBodyWriter(new EntityWriter());
+    providers.addMessageBodyWriter(PerRequestEntityWriter.class);
+
+    providers.getMessageBodyWriter(ExtendedEntity.class, null, null, TEXT_PLAIN_TYPE);
+    providers.getMessageBodyWriter(ExtendedEntity.class, null, null, TEXT_PLAIN_TYPE);
+
+    assertEquals(0, providers.getMessageBodyWriterResolutionStats().hitCount());
+  }
+
+  @Test
+  public void discardsResolvedMessageBodyWriterWhenNewWriterAdded() {
+    providers.addMessageBodyWriter(new EntityWriter());
+    assertNull(providers.getMessageBodyWriter(String.class, null, null, TEXT_PLAIN_TYPE));
+
+    providers.addMessageBodyWriter(stringMessageBodyWriter);
+
+    assertSame(
+        stringMessageBodyWriter,
+        providers.getMessageBodyWriter(String.class, null, null, TEXT_PLAIN_TYPE));
+  }
+
+  @Test
+  public void discardsResolvedMessageBodyReadersAndWritersWhenResourceIsRemoved() {
+    providers.addMessageBodyReader(new EntityReader());
+    providers.addMessageBodyWriter(new EntityWriter());
+    providers.getMessageBodyReader(Entity.class, null, null, TEXT_PLAIN_TYPE);
+    providers.getMessageBodyWriter(Entity.class, null, null, TEXT_PLAIN_TYPE);
+    ResourceBinderImpl resources = new ResourceBinderImpl();
+    resources.addResource(EntityResource.class, null);
+
+    resources.removeResource(EntityResource.class);
+    providers.getMessageBodyReader(Entity.class, null, null, TEXT_PLAIN_TYPE);
+    providers.getMessageBodyWriter(Entity.class, null, null, TEXT_PLAIN_TYPE);
+
+    assertEquals(0, providers.getMessageBodyReaderResolutionStats().hitCount());
+    assertEquals(0, providers.getMessageBodyWriterResolutionStats().hitCount());
+  }
+
+  @Path("entity")
+  public static class EntityResource {
+    @GET
+    public Entity get() {
+      return new Entity();
+    }
+  }
+
+  @Test
+  public void doesNotKeepResolvedMessageBodyWriterWhenWriterIsAddedDuringLookup() {
+    TextEntityWriter textEntityWriter = new TextEntityWriter();
+    EntityWriter entityWriter =
+        new EntityWriter() {
+          boolean added;
+
+          @Override
+          public boolean isWriteable(
+              Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            if (!added) {
+              added = true;
+              providers.addMessageBodyWriter(textEntityWriter);
+            }
+            return super.isWriteable(type, genericType, annotations, mediaType);
+          }
+        };
+    providers.addMessageBodyWriter(entityWriter);
+
+    assertSame(
+        entityWriter, providers.getMessageBodyWriter(Entity.class, null, null, TEXT_PLAIN_TYPE));
+    assertSame(
+        textEntityWriter,
+        providers.getMessageBodyWriter(Entity.class, null, null, TEXT_PLAIN_TYPE));
+  }
+
   static class Entity {}
 
   static class ExtendedEntity extends Entity {}
@@ -850,6 +953,10 @@ public class ProviderBinderTest {
     }
   }
 
+  @Provider
+  @Produces("text/plain")
+  static class TextEntityWriter extends EntityWriter {}
+
   @Provider
   static class EntityWriter implements MessageBodyWriter<Entity> {
     @Override
@@ -940,6 +1047,9 @@ public class ProviderBinderTest {
         throws IOException, WebApplicationException {}
   }
 
+  @Provider
+  public static class PerRequestEntityWriter extends ExtendedEntityWriter {}
+
   private SecurityManager defaultSecurityManager;
 
   private void setupSecurityManager() {
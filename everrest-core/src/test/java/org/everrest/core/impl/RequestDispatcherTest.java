@@ -38,6 +38,7 @@ import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -833,6 +834,132 @@ public class RequestDispatcherTest {
     assertEquals("foo", argumentCaptor.getValue().getEntity());
   }
 
+  @Test
+  public void reusesResultOfResourceMethodSelectionForTheSameRequestHeaders() throws Exception {
+    when(applicationContext.getPathSegments(false)).thenReturn(createPathSegments("a", "b;x=y"));
+    when(request.getMediaType()).thenReturn(TEXT_PLAIN_TYPE);
+
+    Resource resource = new Resource();
+    ResourceMethodDescriptor resourceMethod =
+        mockResourceMethod(
+            Resource.class.getMethod("echo", String.class),
+            "POST",
+            newArrayList(WILDCARD_TYPE),
+            newArrayList(WILDCARD_TYPE));
+    ObjectFactory resourceFactory =
+        mockResourceFactory(resource, newArrayList(resourceMethod), newArrayList(), newArrayList());
+
+    matchRequestPath();
+    when(resources.getMatchedResource(eq("/a/b"), anyList())).thenReturn(resourceFactory);
+    when(methodInvoker.invokeMethod(same(resource), same(resourceMethod), same(applicationContext)))
+        .thenReturn("foo");
+
+    requestDispatcher.dispatch(request, response);
+    matchRequestPath();
+    requestDispatcher.dispatch(request, response);
+
+    verify(resourceMethod, times(1)).consumes();
+    verify(methodInvoker, times(2))
+        .invokeMethod(same(resource), same(resourceMethod), same(applicationContext));
+    assertEquals(1, requestDispatcher.getResourceMethodSelectionStats().missCount());
+    assertEquals(1, requestDispatcher.getResourceMethodSelectionStats().hitCount());
+  }
+
+  @Test
+  public void reusesResultOfResourceMethodSelectionWhenOnlyParametersOfContentTypeAreChanged()
+      throws Exception {
+    when(applicationContext.getPathSegments(false)).thenReturn(createPathSegments("a", "b;x=y"));
+    when(request.getMediaType()).thenReturn(MediaType.valueOf("multipart/form-data; boundary=one"));
+
+    Resource resource = new Resource();
+    ResourceMethodDescriptor resourceMethod =
+        mockResourceMethod(
+            Resource.class.getMethod("echo", String.class),
+            "POST",
+            newArrayList(WILDCARD_TYPE),
+            newArrayList(WILDCARD_TYPE));
+    ObjectFactory resourceFactory =
+        mockResourceFactory(resource, newArrayList(resourceMethod), newArrayList(), newArrayList());
+
+    matchRequestPath();
+    when(resources.getMatchedResource(eq("/a/b"), anyList())).thenReturn(resourceFactory);
+    when(methodInvoker.invokeMethod(same(resource), same(resourceMethod), same(applicationContext)))
+        .thenReturn("foo");
+
+    requestDispatcher.dispatch(request, response);
+    when(request.getMediaType()).thenReturn(MediaType.valueOf("multipart/form-data; boundary=two"));
+    matchRequestPath();
+    requestDispatcher.dispatch(request, response);
+
+    verify(methodInvoker, times(2))
+        .invokeMethod(same(resource), same(resourceMethod), same(applicationContext));
+    assertEquals(1, requestDispatcher.getResourceMethodSelectionStats().missCount());
+    assertEquals(1, requestDispatcher.getResourceMethodSelectionStats().hitCount());
+  }
+
+  @Test
+  public void selectsResourceMethodAgainWhenAcceptableMediaTypesAreChanged() throws Exception {
+    when(applicationContext.getPathSegments(false)).thenReturn(createPathSegments("a", "b;x=y"));
+
+    Resource resource = new Resource();
+    ResourceMethodDescriptor resourceMethod =
+        mockResourceMethod(
+            Resource.class.getMethod("echo", String.class),
+            "POST",
+            newArrayList(WILDCARD_TYPE),
+            newArrayList(TEXT_XML_TYPE));
+    ObjectFactory resourceFactory =
+        mockResourceFactory(resource, newArrayList(resourceMethod), newArrayList(), newArrayList());
+
+    matchRequestPath();
+    when(resources.getMatchedResource(eq("/a/b"), anyList())).thenReturn(resourceFactory);
+    when(methodInvoker.invokeMethod(same(resource), same(resourceMethod), same(applicationContext)))
+        .thenReturn("foo");
+
+    requestDispatcher.dispatch(request, response);
+
+    when(request.getAcceptMediaTypeList())
+        .thenReturn(newArrayList(new AcceptMediaType(TEXT_PLAIN_TYPE)));
+    matchRequestPath();
+    requestDispatcher.dispatch(request, response);
+
+    ArgumentCaptor<Response> argumentCaptor = ArgumentCaptor.forClass(Response.class);
+    verify(response, times(2)).setResponse(argumentCaptor.capture());
+    assertEquals(OK, argumentCaptor.getAllValues().get(0).getStatusInfo());
+    assertEquals(NOT_ACCEPTABLE, argumentCaptor.getAllValues().get(1).getStatusInfo());
+    assertEquals(2, requestDispatcher.getResourceMethodSelectionStats().missCount());
+  }
+
+  @Test
+  public void reusesResultOfResourceMethodSelectionForNotAllowedHttpMethod() throws Exception {
+    when(applicationContext.getPathSegments(false)).thenReturn(createPathSegments("a", "b;x=y"));
+
+    Resource resource = new Resource();
+    ResourceMethodDescriptor resourceMethod =
+        mockResourceMethod(
+            Resource.class.getMethod("echo", String.class),
+            "GET",
+            newArrayList(WILDCARD_TYPE),
+            newArrayList(WILDCARD_TYPE));
+    ObjectFactory resourceFactory =
+        mockResourceFactory(resource, newArrayList(resourceMethod), newArrayList(), newArrayList());
+
+    matchRequestPath();
+    when(resources.getMatchedResource(eq("/a/b"), anyList())).thenReturn(resourceFactory);
+
+    requestDispatcher.dispatch(request, response);
+    matchRequestPath();
+    requestDispatcher.dispatch(request, response);
+
+    ArgumentCaptor<Response> argumentCaptor = ArgumentCaptor.forClass(Response.class);
+    verify(response, times(2)).setResponse(argumentCaptor.capture());
+    for (Response methodNotAllowed : argumentCaptor.getAllValues()) {
+      assertEquals(METHOD_NOT_ALLOWED, methodNotAllowed.getStatusInfo());
+      assertEquals("GET", methodNotAllowed.getHeaderString(ALLOW));
+    }
+    assertEquals(1, requestDispatcher.getResourceMethodSelectionStats().hitCount());
+  }
+
   private List<PathSegment> createPathSegments(String... segments) {
     return Arrays.stream(segments).map(s -> PathSegmentImpl.fromString(s, false)).collect(toList());
   }
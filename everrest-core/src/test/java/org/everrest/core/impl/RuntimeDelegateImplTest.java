@@ -12,6 +12,11 @@
 package org.everrest.core.impl;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.Cookie;
@@ -19,7 +24,9 @@ import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.Link;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.ext.RuntimeDelegate.HeaderDelegate;
 import java.net.URI;
+import java.sql.Timestamp;
 import java.util.Date;
 import java.util.Locale;
 import org.everrest.core.impl.header.AcceptLanguage;
@@ -28,6 +35,7 @@ import org.everrest.core.impl.header.Ranges;
 import org.junit.Before;
 import org.junit.Test;
 
+@SuppressWarnings("unchecked")
 public class RuntimeDelegateImplTest {
   private RuntimeDelegateImpl runtimeDelegate;
 
@@ -100,4 +108,58 @@ public class RuntimeDelegateImplTest {
   public void createsHeaderDelegateForLink() throws Exception {
     assertNotNull(runtimeDelegate.createHeaderDelegate(Link.class));
   }
+
+  @Test
+  public void createsHeaderDelegateForSubclassOfSupportedType() throws Exception {
+    assertSame(
+        runtimeDelegate.createHeaderDelegate(Date.class),
+        runtimeDelegate.createHeaderDelegate(Timestamp.class));
+  }
+
+  @Test
+  public void createsHeaderDelegateForImplementationOfSupportedInterface() throws Exception {
+    HeaderDelegate<CharSequence> headerDelegate = mock(HeaderDelegate.class);
+    runtimeDelegate.addHeaderDelegate(
+        new HeaderDelegate<CharSequence>() {
+          @Override
+          public CharSequence fromString(String value) {
+            return headerDelegate.fromString(value);
+          }
+
+          @Override
+          public String toString(CharSequence value) {
+            return headerDelegate.toString(value);
+          }
+        });
+
+    runtimeDelegate.createHeaderDelegate(StringBuilder.class).toString(new StringBuilder("foo"));
+
+    verify(headerDelegate).toString(any(StringBuilder.class));
+  }
+
+  @Test
+  public void usesHeaderDelegateThatAddedAfterLookup() throws Exception {
+    assertNull(runtimeDelegate.createHeaderDelegate(StringBuilder.class));
+
+    HeaderDelegate<StringBuilder> headerDelegate =
+        new HeaderDelegate<StringBuilder>() {
+          @Override
+          public StringBuilder fromString(String value) {
+            return new StringBuilder(value);
+          }
+
+          @Override
+          public String toString(StringBuilder value) {
+            return value.toString();
+          }
+        };
+    runtimeDelegate.addHeaderDelegate(headerDelegate);
+
+    assertSame(headerDelegate, runtimeDelegate.createHeaderDelegate(StringBuilder.class));
+  }
+
+  @Test
+  public void returnsNullWhenThereIsNoHeaderDelegateForType() throws Exception {
+    assertNull(runtimeDelegate.createHeaderDelegate(Object.class));
+  }
 }
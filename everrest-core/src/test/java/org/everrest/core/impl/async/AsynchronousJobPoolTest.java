@@ -13,6 +13,7 @@ package org.everrest.core.impl.async;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.isA;
@@ -22,9 +23,13 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.URI;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.GenericContainerRequest;
 import org.everrest.core.GenericContainerResponse;
@@ -59,23 +64,7 @@ public class AsynchronousJobPoolTest {
     configuration.setAsynchronousPoolSize(1);
     configuration.setAsynchronousServicePath(asyncServicePath);
     asynchronousJobPool = new AsynchronousJobPool(configuration);
-
-    AsynchronousFuture job = mock(AsynchronousFuture.class);
-    when(job.getJobId()).thenReturn(1L);
-    Map<String, Object> jobContext = new HashMap<>();
-    when(job.getContext()).thenReturn(jobContext);
-    when(job.getExpirationDate()).thenReturn(System.currentTimeMillis() + 10000);
-    doAnswer(sleep(500)).when(job).run();
-
-    final AsynchronousFutureFactory asynchronousFutureFactory =
-        mock(AsynchronousFutureFactory.class);
-    when(asynchronousFutureFactory.createAsynchronousFuture(
-            isA(Callable.class),
-            anyLong(),
-            isA(ResourceMethodDescriptor.class),
-            anyListOf(AsynchronousJobListener.class)))
-        .thenReturn(job);
-    asynchronousJobPool.setAsynchronousFutureFactory(asynchronousFutureFactory);
+    asynchronousJobPool.setAsynchronousFutureFactory(mockAsynchronousFutureFactory());
 
     resource = new Resource();
     methodDescriptor = mock(ResourceMethodDescriptor.class);
@@ -127,6 +116,14 @@ public class AsynchronousJobPoolTest {
     assertEquals(111, asynchronousJobPool.getThreadPoolSize());
   }
 
+  @Test
+  public void readsMaxWaitFromConfiguration() throws Exception {
+    final EverrestConfiguration configuration = new EverrestConfiguration();
+    configuration.setAsynchronousMaxWait(33);
+    asynchronousJobPool = new AsynchronousJobPool(configuration);
+    assertEquals(33, asynchronousJobPool.getMaxWait());
+  }
+
   @Test
   public void addsJobInPool() throws Exception {
     AsynchronousFuture job =
@@ -163,6 +160,25 @@ public class AsynchronousJobPoolTest {
     asynchronousJobPool.addJob(resource, methodDescriptor, new Object[] {});
   }
 
+  @Test
+  public void failsAddNewJobIfTooManyJobsInProgressInVirtualThreads() throws Exception {
+    final EverrestConfiguration configuration = new EverrestConfiguration();
+    configuration.setAsynchronousQueueSize(1);
+    configuration.setAsynchronousPoolSize(1);
+    configuration.setAsynchronousVirtualThreads(true);
+    asynchronousJobPool.stop();
+    asynchronousJobPool = new AsynchronousJobPool(configuration);
+    asynchronousJobPool.setAsynchronousFutureFactory(mockAsynchronousFutureFactory());
+
+    asynchronousJobPool.addJob(resource, methodDescriptor, new Object[] {});
+    asynchronousJobPool.addJob(resource, methodDescriptor, new Object[] {});
+
+    thrown.expect(AsynchronousJobRejectedException.class);
+    thrown.expectMessage(
+        "Can't accept new asynchronous request. Too many asynchronous jobs in progress");
+    asynchronousJobPool.addJob(resource, methodDescriptor, new Object[] {});
+  }
+
   @Test
   public void removesJobFromPool() throws Exception {
     AsynchronousFuture job =
@@ -183,6 +199,84 @@ public class AsynchronousJobPoolTest {
     assertSame(job, asynchronousJobPool.getJob(job.getJobId()));
   }
 
+  @Test
+  public void countsJobsInPool() throws Exception {
+    asynchronousJobPool.addJob(resource, methodDescriptor, new Object[] {});
+
+    assertEquals(1, asynchronousJobPool.getJobCount());
+    assertEquals(0, asynchronousJobPool.getExpiredJobCount());
+    assertEquals(0, asynchronousJobPool.getEvictedJobCount());
+  }
+
+  @Test
+  public void runsCallbackOnceWhenJobIsDone() throws Exception {
+    AsynchronousFuture job = newAsynchronousFuture();
+    AtomicInteger calls = new AtomicInteger();
+
+    asynchronousJobPool.whenDone(job, 10000, calls::incrementAndGet);
+    assertEquals(0, calls.get());
+
+    job.run();
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void runsCallbackImmediatelyWhenJobIsAlreadyDone() throws Exception {
+    AsynchronousFuture job = newAsynchronousFuture();
+    job.run();
+    AtomicInteger calls = new AtomicInteger();
+
+    asynchronousJobPool.whenDone(job, 10000, calls::incrementAndGet);
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void runsCallbackOnceWhenTimeoutIsReachedBeforeJobIsDone() throws Exception {
+    AsynchronousFuture job = newAsynchronousFuture();
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch timeout = new CountDownLatch(1);
+
+    asynchronousJobPool.whenDone(
+        job,
+        50,
+        () -> {
+          calls.incrementAndGet();
+          timeout.countDown();
+        });
+    assertTrue(timeout.await(5, TimeUnit.SECONDS));
+
+    job.run();
+    assertEquals(1, calls.get());
+  }
+
+  private AsynchronousFuture newAsynchronousFuture() {
+    return new AsynchronousFuture(
+        1L,
+        () -> "done",
+        System.currentTimeMillis() + 10000,
+        methodDescriptor,
+        Collections.emptyList());
+  }
+
+  private AsynchronousFutureFactory mockAsynchronousFutureFactory() {
+    AsynchronousFuture job = mock(AsynchronousFuture.class);
+    when(job.getJobId()).thenReturn(1L);
+    Map<String, Object> jobContext = new HashMap<>();
+    when(job.getContext()).thenReturn(jobContext);
+    when(job.getExpirationDate()).thenReturn(System.currentTimeMillis() + 10000);
+    doAnswer(sleep(500)).when(job).run();
+
+    final AsynchronousFutureFactory asynchronousFutureFactory =
+        mock(AsynchronousFutureFactory.class);
+    when(asynchronousFutureFactory.createAsynchronousFuture(
+            isA(Callable.class),
+            anyLong(),
+            isA(ResourceMethodDescriptor.class),
+            anyListOf(AsynchronousJobListener.class)))
+        .thenReturn(job);
+    return asynchronousFutureFactory;
+  }
+
   private Answer sleep(long millis) {
     return invocation -> {
       Thread.sleep(millis);
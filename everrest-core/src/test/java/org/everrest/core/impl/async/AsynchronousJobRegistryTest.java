@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsynchronousJobRegistryTest {
+  private AtomicLong clock;
+  private AsynchronousJobRegistry registry;
+
+  @Before
+  public void setUp() throws Exception {
+    clock = new AtomicLong(1000);
+    registry = new AsynchronousJobRegistry(3, 100, 8, clock::get);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    registry.stop();
+  }
+
+  @Test
+  public void expiresJobAtItsExpirationDate() {
+    AsynchronousJob job = mockJob(1L, 1250);
+    registry.add(job);
+
+    expireJobsAt(1200);
+    assertSame(job, registry.get(1L));
+
+    expireJobsAt(1300);
+    assertEquals(0, registry.size());
+    assertEquals(1, registry.getExpiredCount());
+    verify(job).cancel();
+  }
+
+  @Test
+  public void expiresJobThatExpiresAfterFewRotationsOfWheel() {
+    AsynchronousJob job = mockJob(1L, 3000);
+    registry.add(job);
+
+    for (long time = 1100; time < 3000; time += 100) {
+      expireJobsAt(time);
+      assertEquals(1, registry.size());
+    }
+    expireJobsAt(3000);
+    assertEquals(0, registry.size());
+    assertEquals(1, registry.getExpiredCount());
+  }
+
+  @Test
+  public void expiresJobThatIsAddedAfterItsExpirationTickIsChecked() {
+    expireJobsAt(1000);
+    AsynchronousJob job = mockJob(1L, 950);
+    registry.add(job);
+
+    expireJobsAt(1100);
+    assertEquals(0, registry.size());
+    assertEquals(1, registry.getExpiredCount());
+  }
+
+  @Test
+  public void checksAllTicksPassedSincePreviousCheck() {
+    registry.add(mockJob(1L, 1150));
+    registry.add(mockJob(2L, 1350));
+
+    expireJobsAt(1500);
+    assertEquals(0, registry.size());
+    assertEquals(2, registry.getExpiredCount());
+  }
+
+  @Test
+  public void doesNotReturnExpiredJobThatIsNotRemovedByExpirerYet() {
+    AsynchronousJob job = mockJob(1L, 1250);
+    registry.add(job);
+
+    clock.set(1250);
+    assertNull(registry.get(1L));
+    assertEquals(0, registry.size());
+    assertEquals(1, registry.getExpiredCount());
+    verify(job).cancel();
+  }
+
+  @Test
+  public void doesNotCancelJobThatIsDone() {
+    AsynchronousJob job = mockJob(1L, 1250);
+    when(job.isDone()).thenReturn(true);
+    registry.add(job);
+
+    expireJobsAt(1300);
+    assertEquals(0, registry.size());
+    verify(job, never()).cancel();
+  }
+
+  @Test
+  public void evictsTheOldestJobsWhenMaxSizeIsExceeded() {
+    AsynchronousJob job1 = mockJob(1L, 5000);
+    registry.add(job1);
+    registry.add(mockJob(2L, 5000));
+    registry.add(mockJob(3L, 5000));
+    registry.add(mockJob(4L, 5000));
+
+    assertEquals(3, registry.size());
+    assertNull(registry.get(1L));
+    assertEquals(1, registry.getEvictedCount());
+    assertEquals(0, registry.getExpiredCount());
+    verify(job1).cancel();
+  }
+
+  @Test
+  public void doesNotEvictJobsThatAreAlreadyRemoved() {
+    registry.add(mockJob(1L, 5000));
+    registry.add(mockJob(2L, 5000));
+    registry.add(mockJob(3L, 5000));
+    registry.remove(1L);
+    AsynchronousJob job2 = registry.get(2L);
+
+    registry.add(mockJob(4L, 5000));
+    assertSame(job2, registry.get(2L));
+    assertEquals(0, registry.getEvictedCount());
+
+    registry.add(mockJob(5L, 5000));
+    assertNull(registry.get(2L));
+    assertEquals(1, registry.getEvictedCount());
+  }
+
+  @Test
+  public void removesJobWithoutCancel() {
+    AsynchronousJob job = mockJob(1L, 1250);
+    registry.add(job);
+
+    assertSame(job, registry.remove(1L));
+    assertEquals(0, registry.size());
+    expireJobsAt(1300);
+    assertEquals(0, registry.getExpiredCount());
+    verify(job, never()).cancel();
+  }
+
+  @Test
+  public void doesNotKeepRemovedJobsBehindJobWithLongTimeout() {
+    registry.add(mockJob(1L, 100000));
+    for (long id = 2; id < 100; id++) {
+      registry.add(mockJob(id, 5000));
+      registry.remove(id);
+    }
+    expireJobsAt(1200);
+
+    assertEquals(1, registry.size());
+    assertEquals(1, registry.getEvictionQueueSize());
+  }
+
+  @Test
+  public void doesNotKeepExpiredJobsForEviction() {
+    registry.add(mockJob(1L, 100000));
+    registry.add(mockJob(2L, 1250));
+    expireJobsAt(1300);
+
+    assertEquals(1, registry.size());
+    assertEquals(1, registry.getEvictionQueueSize());
+  }
+
+  private void expireJobsAt(long time) {
+    clock.set(time);
+    registry.expireJobs();
+  }
+
+  private AsynchronousJob mockJob(Long id, long expirationDate) {
+    AsynchronousJob job = mock(AsynchronousJob.class);
+    when(job.getJobId()).thenReturn(id);
+    when(job.getExpirationDate()).thenReturn(expirationDate);
+    return job;
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.async;
+
+import static jakarta.ws.rs.core.MediaType.TEXT_PLAIN_TYPE;
+import static jakarta.ws.rs.core.MediaType.WILDCARD_TYPE;
+import static org.everrest.core.impl.async.AsynchronousJobResultStore.BUFFER_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Strings;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Providers;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import org.everrest.core.GenericContainerRequest;
+import org.everrest.core.impl.provider.StringEntityProvider;
+import org.everrest.core.resource.ResourceMethodDescriptor;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsynchronousJobResultStoreTest {
+  private GenericContainerRequest request;
+  private Providers providers;
+  private ResourceMethodDescriptor resourceMethod;
+
+  @Before
+  public void setUp() throws Exception {
+    request = mock(GenericContainerRequest.class);
+    when(request.getAcceptableMediaType(anyListOf(MediaType.class))).thenReturn(TEXT_PLAIN_TYPE);
+    providers = mock(Providers.class);
+    when(providers.getMessageBodyWriter(
+            any(Class.class), any(Type.class), isNull(), any(MediaType.class)))
+        .thenReturn(new StringEntityProvider());
+    resourceMethod = mock(ResourceMethodDescriptor.class);
+  }
+
+  @Test
+  public void serializesResultInDirectBuffers() throws Exception {
+    AsynchronousJobResultStore store = new AsynchronousJobResultStore(4 * BUFFER_SIZE);
+    String content = Strings.repeat("a", BUFFER_SIZE + 10);
+
+    SpooledResult result = (SpooledResult) store.spool(content, request, providers, resourceMethod);
+
+    assertFalse(result.isInFile());
+    assertEquals(content.length(), result.getLength());
+    assertEquals(2 * BUFFER_SIZE, store.getUsedMemory());
+    assertEquals(1, store.getSpooledInMemoryCount());
+    assertEquals(content, read(result));
+    assertTrue(result.isReleased());
+    assertEquals(0, store.getUsedMemory());
+  }
+
+  @Test
+  public void writesResultInFileWhenBuffersAreExhausted() throws Exception {
+    AsynchronousJobResultStore store = new AsynchronousJobResultStore(BUFFER_SIZE);
+    String content = Strings.repeat("b", 3 * BUFFER_SIZE);
+
+    SpooledResult result = (SpooledResult) store.spool(content, request, providers, resourceMethod);
+
+    assertTrue(result.isInFile());
+    assertEquals(content.length(), result.getLength());
+    assertEquals(0, store.getUsedMemory());
+    assertEquals(1, store.getSpooledInFileCount());
+    assertEquals(content, read(result));
+  }
+
+  @Test
+  public void reusesReleasedBuffers() throws Exception {
+    AsynchronousJobResultStore store = new AsynchronousJobResultStore(4 * BUFFER_SIZE);
+
+    SpooledResult result = (SpooledResult) store.spool("a", request, providers, resourceMethod);
+    result.discard();
+    store.spool("b", request, providers, resourceMethod);
+
+    assertEquals(BUFFER_SIZE, store.getAllocatedMemory());
+    assertEquals(BUFFER_SIZE, store.getUsedMemory());
+  }
+
+  @Test
+  public void keepsStatusAndHeadersOfResponse() throws Exception {
+    AsynchronousJobResultStore store = new AsynchronousJobResultStore(BUFFER_SIZE);
+    Response response =
+        Response.status(201).header("x-test", "1").entity("created").type("text/xml").build();
+
+    SpooledResult result =
+        (SpooledResult) store.spool(response, request, providers, resourceMethod);
+    Response spooledResponse = result.toResponse();
+
+    assertEquals(201, spooledResponse.getStatus());
+    assertEquals("1", spooledResponse.getMetadata().getFirst("x-test"));
+    assertEquals(MediaType.TEXT_XML_TYPE, spooledResponse.getMetadata().getFirst("content-type"));
+    assertEquals("7", spooledResponse.getMetadata().getFirst("content-length"));
+    assertSame(result, spooledResponse.getEntity());
+  }
+
+  @Test
+  public void keepsResultWhenMediaTypeIsNotKnownExactly() throws Exception {
+    AsynchronousJobResultStore store = new AsynchronousJobResultStore(BUFFER_SIZE);
+    when(request.getAcceptableMediaType(anyListOf(MediaType.class))).thenReturn(WILDCARD_TYPE);
+
+    assertSame("a", store.spool("a", request, providers, resourceMethod));
+  }
+
+  @Test
+  public void keepsResultWhenThereIsNoWriter() throws Exception {
+    AsynchronousJobResultStore store = new AsynchronousJobResultStore(BUFFER_SIZE);
+    Object entity = new Object();
+
+    when(providers.getMessageBodyWriter(
+            any(Class.class), any(Type.class), isNull(), any(MediaType.class)))
+        .thenReturn(null);
+
+    assertSame(entity, store.spool(entity, request, providers, resourceMethod));
+  }
+
+  @Test
+  public void doesNotDiscardResultThatIsClaimed() throws Exception {
+    AsynchronousJobResultStore store = new AsynchronousJobResultStore(BUFFER_SIZE);
+    SpooledResult result = (SpooledResult) store.spool("a", request, providers, resourceMethod);
+
+    assertTrue(result.claim());
+    assertFalse(result.claim());
+    result.discard();
+
+    assertFalse(result.isReleased());
+    assertEquals("a", read(result));
+    assertTrue(result.isReleased());
+  }
+
+  private String read(SpooledResult result) throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    result.claim();
+    result.write(output);
+    return output.toString("UTF-8");
+  }
+}
@@ -14,10 +14,13 @@ package org.everrest.core.impl.header;
 import static com.google.common.collect.Lists.newArrayList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
@@ -152,6 +155,40 @@ public class HeaderHelperTest {
     assertEquals(expectedAcceptMediaTypeList, acceptMediaTypeList);
   }
 
+  @Test
+  public void reusesParsedAcceptMediaTypeListForTheSameHeader() {
+    String header = "text/html, application/xhtml+xml, application/xml;q=0.9, */*;q=0.8";
+    List<AcceptMediaType> acceptMediaTypeList = HeaderHelper.createAcceptMediaTypeList(header);
+
+    assertSame(
+        acceptMediaTypeList,
+        HeaderHelper.createAcceptMediaTypeList(new String(header.toCharArray())));
+  }
+
+  @Test
+  public void reusesParsedAcceptedLanguageListForTheSameHeader() {
+    String header = "en-US, en;q=0.9, uk;q=0.5";
+    List<AcceptLanguage> acceptedLanguageList = HeaderHelper.createAcceptedLanguageList(header);
+
+    assertSame(
+        acceptedLanguageList,
+        HeaderHelper.createAcceptedLanguageList(new String(header.toCharArray())));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void parsedAcceptMediaTypeListIsUnmodifiable() {
+    HeaderHelper.createAcceptMediaTypeList("text/plain, text/xml;q=0.5").clear();
+  }
+
+  @Test
+  public void doesNotCacheTooLongAcceptHeader() {
+    String header = Strings.repeat("text/plain;q=0.5, ", 100) + "text/xml";
+    List<AcceptMediaType> acceptMediaTypeList = HeaderHelper.createAcceptMediaTypeList(header);
+
+    assertEquals(101, acceptMediaTypeList.size());
+    assertNotSame(acceptMediaTypeList, HeaderHelper.createAcceptMediaTypeList(header));
+  }
+
   @DataProvider
   public static Object[][] forParsesCookies() {
     return new Object[][] {
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.header;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import java.text.SimpleDateFormat;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(DataProviderRunner.class)
+public class HttpDateFormatTest {
+  private static final Date DATE = date("1994-11-06T08:49:37Z");
+
+  @DataProvider
+  public static Object[][] validDates() {
+    return new Object[][] {
+      {"Sun, 06 Nov 1994 08:49:37 GMT", DATE},
+      {"sun, 06 nov 1994 08:49:37 gmt", DATE},
+      {"Sun, 6 Nov 1994 08:49:37 GMT", DATE},
+      {"Sun, 06 November 1994 08:49:37 GMT", DATE},
+      {"Sun, 06 Nov 1994 08:49:37 UTC", DATE},
+      {"Sun, 06 Nov 1994 10:49:37 +0200", DATE},
+      {"Sun, 06 Nov 1994 10:49:37 GMT+02:00", DATE},
+      {"Sun, 06 Nov 1994 03:49:37 EST", DATE},
+      {"Sun, 06 Nov 1994 00:49:37 PST", DATE},
+      {"Sun, 06 Nov 1994 09:49:37 Europe/Paris", DATE},
+      {"Sun, 06 Nov 1994 08:49:37 GMT; length=1024", DATE},
+      {"Sunday, 06-Nov-94 08:49:37 GMT", DATE},
+      {"SUNDAY, 06-NOV-94 08:49:37 GMT", DATE},
+      {"Sun Nov  6 08:49:37 1994", DATE},
+      {"Sun Nov 06 08:49:37 1994", DATE},
+      {"Tue, 29 Feb 2000 23:59:59 GMT", date("2000-02-29T23:59:59Z")},
+      {"Thu, 01 Jan 1970 00:00:00 GMT", new Date(0)}
+    };
+  }
+
+  @UseDataProvider("validDates")
+  @Test
+  public void parsesDate(String header, Date expectedDate) {
+    assertEquals(expectedDate, HttpDateFormat.parse(header));
+  }
+
+  @DataProvider
+  public static Object[][] invalidDates() {
+    return new Object[][] {
+      {""},
+      {"12:03:50 GMT"},
+      {"Sun, 06 Nov 1994"},
+      {"Sun, 06 Nov 1994 08:49:37"},
+      {"Sun, 06 Nov 1994 08:49:37 XYZ"},
+      {"Sun, 06 Foo 1994 08:49:37 GMT"},
+      {"Foo, 06 Nov 1994 08:49:37 GMT"},
+      {"Sun, 06 Nov 194 08:49:37 GMT"},
+      {"Sun, 31 Nov 1994 08:49:37 GMT"},
+      {"Mon, 29 Feb 1999 08:49:37 GMT"},
+      {"Sun, 06 Nov 1994 24:49:37 GMT"},
+      {"Sun, 06 Nov 1994 08:60:37 GMT"},
+      {"Sun, 06 Nov 1994 08-49-37 GMT"},
+      {"Sun Nov 6 08:49:37 94"},
+      {"Sun Nov 6 08:49:37"}
+    };
+  }
+
+  @UseDataProvider("invalidDates")
+  @Test
+  public void returnsNullWhenDateDoesNotMatchToAnySupportedFormat(String header) {
+    assertNull(HttpDateFormat.parse(header));
+  }
+
+  @Test
+  public void interpretsTwoDigitYearAsSimpleDateFormatDoes() throws Exception {
+    SimpleDateFormat rfc1036 = new SimpleDateFormat("EEEE, dd-MMM-yy HH:mm:ss zzz", Locale.US);
+    for (String year : new String[] {"00", "25", "49", "50", "69", "70", "99"}) {
+      String header = String.format("Sunday, 06-Nov-%s 08:49:37 GMT", year);
+      assertEquals(header, rfc1036.parse(header), HttpDateFormat.parse(header));
+    }
+  }
+
+  @Test
+  public void formatsDate() {
+    assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", HttpDateFormat.format(DATE));
+    assertEquals("Thu, 01 Jan 1970 00:00:00 GMT", HttpDateFormat.format(new Date(0)));
+    assertEquals("Wed, 31 Dec 1969 23:59:59 GMT", HttpDateFormat.format(new Date(-1)));
+    assertEquals(
+        "Tue, 29 Feb 2000 23:59:59 GMT", HttpDateFormat.format(date("2000-02-29T23:59:59Z")));
+  }
+
+  @Test
+  public void formatsDateAsSimpleDateFormatDoes() {
+    SimpleDateFormat rfc1123 = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+    rfc1123.setTimeZone(TimeZone.getTimeZone("GMT"));
+    for (long time = -5_000_000_000_000L; time < 5_000_000_000_000L; time += 7_777_777_777L) {
+      Date date = new Date(time);
+      assertEquals(rfc1123.format(date), HttpDateFormat.format(date));
+    }
+  }
+
+  @Test
+  public void reusesStringForTheSameSecond() {
+    String formatted = HttpDateFormat.format(new Date(DATE.getTime() + 100));
+
+    assertSame(formatted, HttpDateFormat.format(new Date(DATE.getTime() + 900)));
+  }
+
+  private static Date date(String isoDate) {
+    return Date.from(
+        OffsetDateTime.parse(isoDate).withOffsetSameInstant(ZoneOffset.UTC).toInstant());
+  }
+}
@@ -12,6 +12,8 @@
 package org.everrest.core.impl.header;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import com.google.common.collect.ImmutableMap;
 import com.tngtech.java.junit.dataprovider.DataProvider;
@@ -86,4 +88,21 @@ public class MediaTypeHeaderDelegateTest {
   public void throwsExceptionWhenMediaTypeIsNull() throws Exception {
     mediaTypeHeaderDelegate.toString(null);
   }
+
+  @Test
+  public void reusesStringFormOfConstantsOfMediaType() throws Exception {
+    String header = mediaTypeHeaderDelegate.toString(MediaType.APPLICATION_JSON_TYPE);
+
+    assertEquals("application/json", header);
+    assertSame(header, mediaTypeHeaderDelegate.toString(MediaType.APPLICATION_JSON_TYPE));
+  }
+
+  @Test
+  public void formatsMediaTypeThatIsNotConstantEveryTime() throws Exception {
+    MediaType mediaType = new MediaType("text", "plain", ImmutableMap.of("charset", "utf-8"));
+    String header = mediaTypeHeaderDelegate.toString(mediaType);
+
+    assertEquals("text/plain;charset=utf-8", header);
+    assertNotSame(header, mediaTypeHeaderDelegate.toString(mediaType));
+  }
 }
@@ -119,6 +119,56 @@ public class AsynchronousRequestTest extends BaseTest {
     assertEquals(404, response.getStatus());
   }
 
+  @Test
+  public void waitsForResultOfAsynchronousJob() throws Exception {
+    processor.addApplication(
+        new Application() {
+          @Override
+          public Set<Class<?>> getClasses() {
+            return newHashSet(Resource1.class);
+          }
+        });
+    String jobUrl = startAsynchronousJobAndGetItsUrl("/a", "GET", null, null, null);
+
+    ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+    ContainerResponse response =
+        launcher.service("GET", jobUrl + "?wait=10s", "", null, null, writer, null);
+    assertEquals(200, response.getStatus());
+    assertEquals("asynchronous response", new String(writer.getBody()));
+  }
+
+  @Test
+  public void respondsAcceptedWhenAsynchronousJobIsNotDoneInWaitTime() throws Exception {
+    processor.addApplication(
+        new Application() {
+          @Override
+          public Set<Class<?>> getClasses() {
+            return newHashSet(Resource1.class);
+          }
+        });
+    String jobUrl = startAsynchronousJobAndGetItsUrl("/a", "GET", null, null, null);
+
+    ContainerResponse response =
+        launcher.service("GET", jobUrl + "?wait=100ms", "", null, null, null);
+    assertEquals(202, response.getStatus());
+  }
+
+  @Test
+  public void respondsBadRequestWhenWaitTimeIsInvalid() throws Exception {
+    processor.addApplication(
+        new Application() {
+          @Override
+          public Set<Class<?>> getClasses() {
+            return newHashSet(Resource1.class);
+          }
+        });
+    String jobUrl = startAsynchronousJobAndGetItsUrl("/a", "GET", null, null, null);
+
+    ContainerResponse response =
+        launcher.service("GET", jobUrl + "?wait=soon", "", null, null, null);
+    assertEquals(400, response.getStatus());
+  }
+
   @Test
   public void providesListOfAsynchronousJobsAsJson() throws Exception {
     processor.addApplication(
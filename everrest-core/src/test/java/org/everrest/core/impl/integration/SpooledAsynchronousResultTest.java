@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.integration;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static org.junit.Assert.assertEquals;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Application;
+import java.util.Set;
+import org.everrest.core.impl.BaseTest;
+import org.everrest.core.impl.ContainerResponse;
+import org.everrest.core.impl.EverrestConfiguration;
+import org.everrest.core.impl.async.AsynchronousJobPool;
+import org.everrest.core.tools.ByteArrayContainerResponseWriter;
+import org.junit.Test;
+
+public class SpooledAsynchronousResultTest extends BaseTest {
+  private static final String CONTENT = "asynchronous response";
+
+  @Path("a")
+  public static class Resource1 {
+    @GET
+    @Produces("text/plain")
+    public String m() {
+      return CONTENT;
+    }
+  }
+
+  private int spoolMemory = 1024 * 1024;
+
+  @Override
+  protected AsynchronousJobPool createAsynchronousJobPool() {
+    EverrestConfiguration configuration = new EverrestConfiguration();
+    configuration.setAsynchronousResultSpool(true);
+    configuration.setAsynchronousResultSpoolMemory(spoolMemory);
+    return new AsynchronousJobPool(configuration);
+  }
+
+  @Test
+  public void sendsResultThatIsSerializedInMemory() throws Exception {
+    String jobUrl = startAsynchronousJob();
+
+    ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+    ContainerResponse response =
+        launcher.service("GET", jobUrl + "?wait=10s", "", null, null, writer, null);
+
+    assertEquals(200, response.getStatus());
+    assertEquals("text/plain", response.getContentType().toString());
+    assertEquals(
+        Integer.toString(CONTENT.length()), response.getHttpHeaders().getFirst("content-length"));
+    assertEquals(CONTENT, new String(writer.getBody()));
+    assertEquals(1, asynchronousPool.getSpooledInMemoryResultCount());
+    assertEquals(0, asynchronousPool.getSpooledResultMemory());
+  }
+
+  @Test
+  public void sendsResultThatIsSerializedInFile() throws Exception {
+    asynchronousPool.stop();
+    spoolMemory = 0;
+    setUp();
+    String jobUrl = startAsynchronousJob();
+
+    ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+    ContainerResponse response =
+        launcher.service("GET", jobUrl + "?wait=10s", "", null, null, writer, null);
+
+    assertEquals(200, response.getStatus());
+    assertEquals(CONTENT, new String(writer.getBody()));
+    assertEquals(1, asynchronousPool.getSpooledInFileResultCount());
+  }
+
+  @Test
+  public void releasesResultOfRemovedJob() throws Exception {
+    String jobUrl = startAsynchronousJob();
+    long endTime = System.currentTimeMillis() + 5000;
+    while (asynchronousPool.getSpooledInMemoryResultCount() == 0
+        && System.currentTimeMillis() < endTime) {
+      Thread.sleep(50);
+    }
+    assertEquals(1, asynchronousPool.getSpooledInMemoryResultCount());
+
+    ContainerResponse response = launcher.service("DELETE", jobUrl, "", null, null, null);
+
+    assertEquals(204, response.getStatus());
+    assertEquals(0, asynchronousPool.getSpooledResultMemory());
+  }
+
+  private String startAsynchronousJob() throws Exception {
+    processor.addApplication(
+        new Application() {
+          @Override
+          public Set<Class<?>> getClasses() {
+            return newHashSet(Resource1.class);
+          }
+        });
+    ContainerResponse response = launcher.service("GET", "/a?async=true", "", null, null, null);
+    assertEquals(202, response.getStatus());
+    return (String) response.getEntity();
+  }
+}
@@ -18,13 +18,16 @@ import static jakarta.ws.rs.core.Response.Status.BAD_REQUEST;
 import static jakarta.ws.rs.core.Response.Status.NOT_FOUND;
 import static jakarta.ws.rs.core.Response.Status.UNSUPPORTED_MEDIA_TYPE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
@@ -46,6 +49,7 @@ import java.lang.annotation.Annotation;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.Parameter;
 import org.everrest.core.Property;
+import org.everrest.core.impl.EverrestConfiguration;
 import org.everrest.core.impl.InternalException;
 import org.everrest.core.method.MethodInvokerFilter;
 import org.everrest.core.resource.GenericResourceMethod;
@@ -123,6 +127,74 @@ public class DefaultMethodInvokerTest {
     verify(methodInvokerFilter).accept(eq(resourceMethod), aryEq(new Object[] {ARGUMENT_VALUE}));
   }
 
+  @Test
+  public void reusesInvocationPlanProvidedByResourceMethod() throws Exception {
+    GenericResourceMethod planHolderResourceMethod =
+        mock(
+            GenericResourceMethod.class,
+            withSettings().extraInterfaces(MethodInvocationPlanHolder.class));
+    when(planHolderResourceMethod.getMethod())
+        .thenReturn(EchoResource.class.getMethod("echo", String.class));
+    when(planHolderResourceMethod.getMethodParameters())
+        .thenReturn(newArrayList(annotatedParameter));
+    MethodInvocationPlan invocationPlan =
+        new MethodInvocationPlan(planHolderResourceMethod, parameterResolverFactory);
+    when(((MethodInvocationPlanHolder) planHolderResourceMethod)
+            .getMethodInvocationPlan(parameterResolverFactory))
+        .thenReturn(invocationPlan);
+
+    methodInvoker.invokeMethod(new EchoResource(), planHolderResourceMethod, applicationContext);
+    Object invocationResult =
+        methodInvoker.invokeMethod(
+            new EchoResource(), planHolderResourceMethod, applicationContext);
+
+    assertEquals(ARGUMENT_VALUE, invocationResult);
+    verify(parameterResolverFactory, times(1)).createParameterResolver(annotatedParameter);
+  }
+
+  @Test
+  public void invokesMethodWithMethodHandleWhenItIsEnabledInConfiguration() throws Exception {
+    enableMethodHandleInvocation();
+    GenericResourceMethod planHolderResourceMethod = mockMethodInvocationPlanHolder();
+
+    Object invocationResult =
+        methodInvoker.invokeMethod(
+            new EchoResource(), planHolderResourceMethod, applicationContext);
+
+    assertEquals(ARGUMENT_VALUE, invocationResult);
+    assertNotNull(
+        ((MethodInvocationPlanHolder) planHolderResourceMethod)
+            .getMethodInvocationPlan(parameterResolverFactory)
+            .getMethodHandle());
+  }
+
+  @Test
+  public void wrapsExceptionThatThrownByMethodInvokedWithMethodHandleWithInternalException()
+      throws Exception {
+    enableMethodHandleInvocation();
+    GenericResourceMethod planHolderResourceMethod = mockMethodInvocationPlanHolder();
+
+    Exception thrownByMethod = new Exception();
+    thrown.expect(InternalException.class);
+    thrown.expectCause(exceptionSameInstanceMatcher(thrownByMethod));
+
+    methodInvoker.invokeMethod(
+        new EchoResource(thrownByMethod), planHolderResourceMethod, applicationContext);
+  }
+
+  @Test
+  public void rethrowsWebApplicationExceptionThatThrownByMethodInvokedWithMethodHandle()
+      throws Exception {
+    enableMethodHandleInvocation();
+    GenericResourceMethod planHolderResourceMethod = mockMethodInvocationPlanHolder();
+
+    Exception thrownByMethod = new WebApplicationException();
+    thrown.expect(exceptionSameInstanceMatcher(thrownByMethod));
+
+    methodInvoker.invokeMethod(
+        new EchoResource(thrownByMethod), planHolderResourceMethod, applicationContext);
+  }
+
   @Test
   public void invokesMethodWithEntityParameter() throws Exception {
     when(resourceMethod.getMethodParameters()).thenReturn(newArrayList(entityParameter));
@@ -366,6 +438,29 @@ public class DefaultMethodInvokerTest {
     };
   }
 
+  private void enableMethodHandleInvocation() {
+    EverrestConfiguration configuration = new EverrestConfiguration();
+    configuration.setMethodHandleInvocation(true);
+    when(applicationContext.getEverrestConfiguration()).thenReturn(configuration);
+  }
+
+  private GenericResourceMethod mockMethodInvocationPlanHolder() throws Exception {
+    GenericResourceMethod planHolderResourceMethod =
+        mock(
+            GenericResourceMethod.class,
+            withSettings().extraInterfaces(MethodInvocationPlanHolder.class));
+    when(planHolderResourceMethod.getMethod())
+        .thenReturn(EchoResource.class.getMethod("echo", String.class));
+    when(planHolderResourceMethod.getMethodParameters())
+        .thenReturn(newArrayList(annotatedParameter));
+    MethodInvocationPlan invocationPlan =
+        new MethodInvocationPlan(planHolderResourceMethod, parameterResolverFactory);
+    when(((MethodInvocationPlanHolder) planHolderResourceMethod)
+            .getMethodInvocationPlan(parameterResolverFactory))
+        .thenReturn(invocationPlan);
+    return planHolderResourceMethod;
+  }
+
   private void mockEntityParameter() {
     entityParameter = mock(Parameter.class);
     when(entityParameter.getParameterClass()).thenReturn(ARGUMENT_CLASS);
@@ -389,7 +484,7 @@ public class DefaultMethodInvokerTest {
         .thenReturn(ARGUMENT_VALUE);
 
     parameterResolverFactory = mock(ParameterResolverFactory.class);
-    when(parameterResolverFactory.createParameterResolver(parameterAnnotation))
+    when(parameterResolverFactory.createParameterResolver(annotatedParameter))
         .thenReturn(parameterResolver);
   }
 
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.method;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
+import org.everrest.core.ApplicationContext;
+import org.everrest.core.impl.EverrestConfiguration;
+import org.junit.Test;
+
+public class MethodHandleHelperTest {
+  public static class BrokenBean {
+    public BrokenBean(String name) {
+      throw new IllegalStateException(name);
+    }
+  }
+
+  public static class Bean {
+    private String name;
+    private int count;
+
+    public Bean() {}
+
+    public Bean(String name, int count) {
+      this.name = name;
+      this.count = count;
+    }
+
+    public String concat(String prefix, int times) {
+      StringBuilder result = new StringBuilder(prefix);
+      for (int i = 0; i < times; i++) {
+        result.append(name);
+      }
+      return result.toString();
+    }
+
+    public void reset() {
+      name = null;
+    }
+
+    public static String join(String... parts) {
+      return String.join(",", parts);
+    }
+
+    public void fail(Error error) {
+      throw error;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    @SuppressWarnings("unused")
+    private void hidden() {}
+  }
+
+  @Test
+  public void invokesMethodWithPrimitiveParameter() throws Exception {
+    MethodHandle handle =
+        MethodHandleHelper.createMethodHandle(
+            Bean.class.getMethod("concat", String.class, int.class));
+
+    Object result =
+        MethodHandleHelper.invokeMethod(handle, new Bean("a", 0), new Object[] {">", 3});
+
+    assertEquals(">aaa", result);
+  }
+
+  @Test
+  public void returnsNullFromInvocationOfVoidMethod() throws Exception {
+    Bean bean = new Bean("a", 0);
+    MethodHandle handle = MethodHandleHelper.createMethodHandle(Bean.class.getMethod("reset"));
+
+    assertNull(MethodHandleHelper.invokeMethod(handle, bean, new Object[0]));
+    assertNull(bean.name);
+  }
+
+  @Test
+  public void invokesStaticVarargsMethodWithArrayParameter() throws Exception {
+    MethodHandle handle =
+        MethodHandleHelper.createMethodHandle(Bean.class.getMethod("join", String[].class));
+
+    Object result =
+        MethodHandleHelper.invokeMethod(handle, null, new Object[] {new String[] {"a", "b"}});
+
+    assertEquals("a,b", result);
+  }
+
+  @Test
+  public void wrapsErrorThrownByInvokedMethodWithInvocationTargetException() throws Exception {
+    Error error = new Error();
+    MethodHandle handle =
+        MethodHandleHelper.createMethodHandle(Bean.class.getMethod("fail", Error.class));
+
+    try {
+      MethodHandleHelper.invokeMethod(handle, new Bean(), new Object[] {error});
+      fail("InvocationTargetException expected");
+    } catch (InvocationTargetException e) {
+      assertSame(error, e.getCause());
+    }
+  }
+
+  @Test
+  public void throwsIllegalArgumentExceptionWhenNullIsPassedAsPrimitiveParameter()
+      throws Exception {
+    MethodHandle handle =
+        MethodHandleHelper.createMethodHandle(
+            Bean.class.getMethod("concat", String.class, int.class));
+
+    try {
+      MethodHandleHelper.invokeMethod(handle, new Bean("a", 0), new Object[] {">", null});
+      fail("IllegalArgumentException expected");
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getCause() instanceof NullPointerException);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void throwsIllegalArgumentExceptionWhenParameterHasWrongType() throws Exception {
+    MethodHandle handle =
+        MethodHandleHelper.createConstructorHandle(
+            Bean.class.getConstructor(String.class, int.class));
+
+    MethodHandleHelper.invokeConstructor(handle, new Object[] {1, 2});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void throwsIllegalArgumentExceptionWhenValueOfFieldHasWrongType() throws Exception {
+    MethodHandle handle =
+        MethodHandleHelper.createSetterHandle(Bean.class.getMethod("setName", String.class));
+
+    MethodHandleHelper.invokeSetter(handle, new Bean(), 1);
+  }
+
+  @Test
+  public void wrapsRuntimeExceptionThrownByInvokedConstructorWithInvocationTargetException()
+      throws Exception {
+    MethodHandle handle =
+        MethodHandleHelper.createConstructorHandle(BrokenBean.class.getConstructor(String.class));
+
+    try {
+      MethodHandleHelper.invokeConstructor(handle, new Object[] {"a"});
+      fail("InvocationTargetException expected");
+    } catch (InvocationTargetException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+  }
+
+  @Test
+  public void invokesConstructor() throws Exception {
+    MethodHandle handle =
+        MethodHandleHelper.createConstructorHandle(
+            Bean.class.getConstructor(String.class, int.class));
+
+    Bean bean = (Bean) MethodHandleHelper.invokeConstructor(handle, new Object[] {"a", 2});
+
+    assertEquals("a", bean.name);
+    assertEquals(2, bean.count);
+  }
+
+  @Test
+  public void setsFieldWithSetter() throws Exception {
+    Bean bean = new Bean();
+    MethodHandle handle =
+        MethodHandleHelper.createSetterHandle(Bean.class.getMethod("setName", String.class));
+
+    MethodHandleHelper.invokeSetter(handle, bean, "a");
+
+    assertEquals("a", bean.name);
+  }
+
+  @Test
+  public void setsPrivateFieldDirectly() throws Exception {
+    Bean bean = new Bean();
+    MethodHandle handle =
+        MethodHandleHelper.createSetterHandle(Bean.class.getDeclaredField("count"));
+
+    MethodHandleHelper.invokeSetter(handle, bean, 7);
+
+    assertEquals(7, bean.count);
+  }
+
+  @Test
+  public void returnsNullWhenMethodIsNotAccessible() throws Exception {
+    assertNull(MethodHandleHelper.createMethodHandle(Bean.class.getDeclaredMethod("hidden")));
+  }
+
+  @Test
+  public void checksWhetherMethodHandleInvocationIsEnabledInConfiguration() {
+    EverrestConfiguration configuration = new EverrestConfiguration();
+    ApplicationContext context = mock(ApplicationContext.class);
+    when(context.getEverrestConfiguration()).thenReturn(configuration);
+
+    assertFalse(MethodHandleHelper.isMethodHandleInvocation(context));
+    configuration.setMethodHandleInvocation(true);
+    assertTrue(MethodHandleHelper.isMethodHandleInvocation(context));
+  }
+}
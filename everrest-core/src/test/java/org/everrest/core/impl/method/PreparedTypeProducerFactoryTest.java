@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.method;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import org.everrest.core.Parameter;
+import org.everrest.core.method.TypeProducer;
+import org.everrest.core.util.ParameterizedTypeImpl;
+import org.junit.Test;
+
+public class PreparedTypeProducerFactoryTest {
+  @Test
+  public void returnsProducerChosenForParameter() throws Exception {
+    PreparedTypeProducerFactory typeProducerFactory =
+        new PreparedTypeProducerFactory(
+            mockParameter(
+                List.class, ParameterizedTypeImpl.newParameterizedType(List.class, String.class)));
+
+    TypeProducer typeProducer =
+        typeProducerFactory.createTypeProducer(
+            List.class, ParameterizedTypeImpl.newParameterizedType(List.class, String.class));
+
+    assertEquals(CollectionStringProducer.class, typeProducer.getClass());
+    assertSame(
+        typeProducer,
+        typeProducerFactory.createTypeProducer(
+            List.class, ParameterizedTypeImpl.newParameterizedType(List.class, String.class)));
+  }
+
+  @Test
+  public void createsProducerForOtherType() throws Exception {
+    PreparedTypeProducerFactory typeProducerFactory =
+        new PreparedTypeProducerFactory(mockParameter(int.class, int.class));
+
+    assertEquals(
+        StringProducer.class,
+        typeProducerFactory.createTypeProducer(String.class, String.class).getClass());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void reportsUnsupportedTypeWhenProducerIsRequested() throws Exception {
+    PreparedTypeProducerFactory typeProducerFactory =
+        new PreparedTypeProducerFactory(mockParameter(Object.class, Object.class));
+
+    typeProducerFactory.createTypeProducer(Object.class, Object.class);
+  }
+
+  private Parameter mockParameter(Class<?> parameterClass, Type genericType) {
+    Parameter parameter = mock(Parameter.class);
+    when(parameter.getParameterClass()).thenReturn((Class) parameterClass);
+    when(parameter.getGenericType()).thenReturn(genericType);
+    return parameter;
+  }
+}
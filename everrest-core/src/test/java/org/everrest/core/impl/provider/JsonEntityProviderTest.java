@@ -19,6 +19,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import com.google.common.collect.ImmutableMap;
 import com.tngtech.java.junit.dataprovider.DataProvider;
@@ -38,13 +40,16 @@ import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.lang.reflect.Type;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamSource;
 import org.everrest.core.impl.MultivaluedMapImpl;
 import org.everrest.core.impl.provider.json.DoubleValue;
+import org.everrest.core.impl.provider.json.JsonGenerator;
 import org.everrest.core.impl.provider.json.JsonTransient;
 import org.everrest.core.impl.provider.json.JsonValue;
 import org.everrest.core.impl.provider.json.LongValue;
@@ -331,6 +336,42 @@ public class JsonEntityProviderTest {
     assertTrue(outputAsString.contains("\"isdn\":93011099534534"));
   }
 
+  @Test
+  public void writesElementsOfIteratorToOutputStreamAsArray() throws Exception {
+    List<Book> books = newArrayList(createJunitBook(), createJunitBook());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    jsonEntityProvider.writeTo(
+        books.iterator(),
+        Iterator.class,
+        null,
+        null,
+        APPLICATION_JSON_TYPE,
+        new MultivaluedHashMap<>(),
+        out);
+
+    assertEquals(JsonGenerator.createJsonArray(books).toString(), out.toString());
+  }
+
+  @Test
+  public void writesElementsOfStreamToOutputStreamAsArrayAndClosesStream() throws Exception {
+    List<Book> books = newArrayList(createJunitBook(), createJunitBook());
+    Runnable closeHandler = mock(Runnable.class);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    jsonEntityProvider.writeTo(
+        books.stream().onClose(closeHandler),
+        Stream.class,
+        null,
+        null,
+        APPLICATION_JSON_TYPE,
+        new MultivaluedHashMap<>(),
+        out);
+
+    assertEquals(JsonGenerator.createJsonArray(books).toString(), out.toString());
+    verify(closeHandler).run();
+  }
+
   private ObjectValue createJsonBook(Book book) {
     ObjectValue objectValue = new ObjectValue();
     objectValue.addElement("author", new StringValue(book.getAuthor()));
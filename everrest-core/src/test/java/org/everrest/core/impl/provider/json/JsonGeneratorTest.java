@@ -40,7 +40,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringWriter;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -270,6 +272,98 @@ public class JsonGeneratorTest {
     assertionHelper.assertThatJsonHasAllFieldsFromObject(groovyObject, jsonValue);
   }
 
+  @DataProvider
+  public static Object[][] objectsForWriteToJson() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("book", createJunitBook());
+    map.put("null", null);
+    map.put("list", newArrayList("a", null, 'b', 1.5F));
+    return new Object[][] {
+      {createJunitBook()},
+      {createBookWrapperOne(createJunitBook())},
+      {createBookWrapperTwo(createJavaScriptBook())},
+      {createBookWrapperThree(createCSharpBook())},
+      {createBookArrays()},
+      {createBeanWithPrimitiveFields()},
+      {createBeanWithEnums()},
+      {createBeanWithClassField()},
+      {new BeanWithTransientField()},
+      {new BeanWithTwoGettersForTheSameField()},
+      {map}
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  @UseDataProvider("objectsForWriteToJson")
+  @Test
+  public void writesTheSameJsonAsCreatedJsonObject(Object object) throws Exception {
+    StringWriter out = new StringWriter();
+    JsonWriter jsonWriter = new JsonWriter(out);
+    if (object instanceof Map) {
+      JsonGenerator.writeJsonObjectFromMap((Map<String, ?>) object, jsonWriter);
+    } else {
+      JsonGenerator.writeJsonObject(object, jsonWriter);
+    }
+    jsonWriter.flush();
+
+    JsonValue jsonValue =
+        object instanceof Map
+            ? JsonGenerator.createJsonObjectFromMap((Map<String, ?>) object)
+            : JsonGenerator.createJsonObject(object);
+    assertEquals(writeToString(jsonValue), out.toString());
+  }
+
+  @Test
+  public void writesTheSameJsonAsCreatedJsonArray() throws Exception {
+    Book[] books = new Book[] {junitBook, null, csharpBook};
+    StringWriter out = new StringWriter();
+    JsonWriter jsonWriter = new JsonWriter(out);
+
+    JsonGenerator.writeJsonArray((Object) books, jsonWriter);
+    jsonWriter.flush();
+
+    assertEquals(writeToString(JsonGenerator.createJsonArray(books)), out.toString());
+  }
+
+  @Test
+  public void writesElementsOfIteratorAsJsonArray() throws Exception {
+    List<Book> books = newArrayList(junitBook, csharpBook, javaScriptBook);
+    StringWriter out = new StringWriter();
+    JsonWriter jsonWriter = new JsonWriter(out);
+
+    JsonGenerator.writeJsonArray(books.iterator(), jsonWriter);
+    jsonWriter.flush();
+
+    assertEquals(writeToString(JsonGenerator.createJsonArray(books)), out.toString());
+  }
+
+  @Test(expected = JsonException.class)
+  public void doesNotAcceptOtherThanArrayArgumentsWhenWriteJsonArray() throws Exception {
+    JsonGenerator.writeJsonArray((Object) junitBook, new JsonWriter(new StringWriter()));
+  }
+
+  private String writeToString(JsonValue jsonValue) throws Exception {
+    StringWriter out = new StringWriter();
+    JsonWriter jsonWriter = new JsonWriter(out);
+    jsonValue.writeTo(jsonWriter);
+    jsonWriter.flush();
+    return out.toString();
+  }
+
+  public static class BeanWithTwoGettersForTheSameField {
+    public Boolean getFoo() {
+      return null;
+    }
+
+    public Boolean isFoo() {
+      return true;
+    }
+
+    public String getBar() {
+      return "bar";
+    }
+  }
+
   private GroovyClassLoader groovyClassLoader = new GroovyClassLoader();
 
   private Class<?> parseGroovyClass(String fileName) throws IOException {
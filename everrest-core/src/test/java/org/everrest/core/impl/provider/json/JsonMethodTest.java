@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.provider.json;
+
+import static org.everrest.core.impl.provider.json.JsonUtils.Types.BOOLEAN;
+import static org.everrest.core.impl.provider.json.JsonUtils.Types.DOUBLE;
+import static org.everrest.core.impl.provider.json.JsonUtils.Types.LONG;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import org.junit.Test;
+
+public class JsonMethodTest {
+  public static class Bean {
+    private int count;
+    private float ratio;
+    private boolean enabled;
+    private String name;
+
+    public int getCount() {
+      return count;
+    }
+
+    public void setCount(int count) {
+      this.count = count;
+    }
+
+    public float getRatio() {
+      return ratio;
+    }
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public String getBroken() {
+      throw new IllegalStateException();
+    }
+  }
+
+  static class HiddenBean {
+    private String name = "hidden";
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+  @Test
+  public void getsPrimitiveValuesWithoutBoxing() throws Exception {
+    Bean bean = new Bean();
+    bean.count = 7;
+    bean.ratio = 0.5f;
+    bean.enabled = true;
+
+    JsonMethod count = new JsonMethod(Bean.class.getMethod("getCount"), "count");
+    JsonMethod ratio = new JsonMethod(Bean.class.getMethod("getRatio"), "ratio");
+    JsonMethod enabled = new JsonMethod(Bean.class.getMethod("isEnabled"), "enabled");
+
+    assertEquals(LONG, count.primitiveType);
+    assertEquals(7L, count.getLong(bean));
+    assertEquals(DOUBLE, ratio.primitiveType);
+    assertEquals(0.5, ratio.getDouble(bean), 0.0);
+    assertEquals(BOOLEAN, enabled.primitiveType);
+    assertTrue(enabled.getBoolean(bean));
+  }
+
+  @Test
+  public void getsValueOfObjectGetter() throws Exception {
+    Bean bean = new Bean();
+    bean.name = "foo";
+    JsonMethod name = new JsonMethod(Bean.class.getMethod("getName"), "name");
+
+    assertNull(name.primitiveType);
+    assertEquals("foo", name.get(bean));
+  }
+
+  @Test
+  public void getsBoxedValueOfPrimitiveGetter() throws Exception {
+    Bean bean = new Bean();
+    bean.count = 7;
+    assertEquals(7, new JsonMethod(Bean.class.getMethod("getCount"), "count").get(bean));
+  }
+
+  @Test
+  public void setsValue() throws Exception {
+    Bean bean = new Bean();
+    new JsonMethod(Bean.class.getMethod("setName", String.class), "name").set(bean, "foo");
+    new JsonMethod(Bean.class.getMethod("setCount", int.class), "count").set(bean, 3);
+
+    assertEquals("foo", bean.name);
+    assertEquals(3, bean.count);
+  }
+
+  @Test
+  public void wrapsErrorThrownByGetterWithInvocationTargetException() throws Exception {
+    JsonMethod broken = new JsonMethod(Bean.class.getMethod("getBroken"), "broken");
+    try {
+      broken.get(new Bean());
+      fail("InvocationTargetException expected");
+    } catch (InvocationTargetException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+  }
+
+  @Test
+  public void invokesMethodsOfNotPublicClassWithReflection() throws Exception {
+    HiddenBean bean = new HiddenBean();
+    JsonMethod getter = new JsonMethod(HiddenBean.class.getMethod("getName"), "name");
+    JsonMethod setter = new JsonMethod(HiddenBean.class.getMethod("setName", String.class), "name");
+
+    assertSame("hidden", getter.get(bean));
+    setter.set(bean, "visible");
+    assertEquals("visible", bean.name);
+  }
+}
@@ -11,6 +11,7 @@
  */
 package org.everrest.core.impl.provider.json;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -228,6 +229,22 @@ public class JsonParserTest {
     inOrder.verify(handler).endObject();
   }
 
+  @Test
+  public void parsesUtf8Stream() throws Exception {
+    String jsonString =
+        "{\"\u043a\u043b\u044e\u0447\": [\"\u041f\u0440\u0438\u0432\u0456\u0442\", 1]}";
+    parser.parse(new ByteArrayInputStream(jsonString.getBytes(UTF_8)));
+
+    InOrder inOrder = inOrder(handler);
+    inOrder.verify(handler).startObject();
+    inOrder.verify(handler).key("\u043a\u043b\u044e\u0447");
+    inOrder.verify(handler).startArray();
+    inOrder.verify(handler).characters("\"\u041f\u0440\u0438\u0432\u0456\u0442\"".toCharArray());
+    inOrder.verify(handler).characters("1".toCharArray());
+    inOrder.verify(handler).endArray();
+    inOrder.verify(handler).endObject();
+  }
+
   @Test(expected = JsonException.class)
   public void failsWhenMultiLineCommentIsNotEndedProperly() throws Exception {
     String jsonString = "{\"foo\":" + "/* comment\n" + " continue comment\n" + "\"bar\"}";
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.provider.json;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.everrest.core.impl.provider.json.JsonReader.Event.END_ARRAY;
+import static org.everrest.core.impl.provider.json.JsonReader.Event.END_DOCUMENT;
+import static org.everrest.core.impl.provider.json.JsonReader.Event.END_OBJECT;
+import static org.everrest.core.impl.provider.json.JsonReader.Event.KEY;
+import static org.everrest.core.impl.provider.json.JsonReader.Event.START_ARRAY;
+import static org.everrest.core.impl.provider.json.JsonReader.Event.START_OBJECT;
+import static org.everrest.core.impl.provider.json.JsonReader.Event.VALUE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.everrest.core.impl.provider.json.JsonReader.Event;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(DataProviderRunner.class)
+public class JsonReaderTest {
+
+  @Test
+  public void readsEventsOfObject() throws Exception {
+    JsonReader reader =
+        new JsonReader(new StringReader("{\"a\":1, \"b\":[true,null], \"c\":{\"d\":\"e\"}}"));
+    List<Object> events = new ArrayList<>();
+    for (Event event = reader.next(); event != END_DOCUMENT; event = reader.next()) {
+      events.add(event);
+      if (event == KEY) {
+        events.add(reader.getKey());
+      } else if (event == VALUE) {
+        events.add(reader.getValue().toString());
+      }
+    }
+
+    assertEquals(
+        newArrayList(
+            START_OBJECT,
+            KEY,
+            "a",
+            VALUE,
+            "1",
+            KEY,
+            "b",
+            START_ARRAY,
+            VALUE,
+            "true",
+            VALUE,
+            "null",
+            END_ARRAY,
+            KEY,
+            "c",
+            START_OBJECT,
+            KEY,
+            "d",
+            VALUE,
+            "\"e\"",
+            END_OBJECT,
+            END_OBJECT),
+        events);
+  }
+
+  @Test
+  public void readsStringWithEscapedCharacters() throws Exception {
+    JsonReader reader = new JsonReader(new StringReader("[\"a\\\"b\\n\\u0041\\\\\"]"));
+    reader.next();
+    reader.next();
+    assertEquals("a\"b\nA\\", reader.getValue().getStringValue());
+  }
+
+  @Test
+  public void skipsCommentsAndValueSeparators() throws Exception {
+    JsonReader reader = new JsonReader(new StringReader("[/* one */ 1,, // two\n 2]"));
+    reader.next();
+    assertEquals(VALUE, reader.next());
+    assertEquals(1, reader.getValue().getIntValue());
+    assertEquals(VALUE, reader.next());
+    assertEquals(2, reader.getValue().getIntValue());
+    assertEquals(END_ARRAY, reader.next());
+    assertEquals(END_DOCUMENT, reader.next());
+  }
+
+  @Test
+  public void readsTree() throws Exception {
+    String json = "{\"a\":[1,{\"b\":[]},\"c\"],\"d\":{}}";
+    JsonReader reader = new JsonReader(new StringReader("[" + json + ",2]"));
+    reader.next();
+
+    JsonValue tree = reader.readTree(reader.next());
+
+    assertEquals(json, tree.toString());
+    assertEquals(VALUE, reader.next());
+    assertEquals(2, reader.getValue().getIntValue());
+  }
+
+  @Test
+  public void skipsValue() throws Exception {
+    JsonReader reader = new JsonReader(new StringReader("{\"a\":[1,{\"b\":[]},\"]\"],\"c\":2}"));
+    reader.next();
+    reader.next();
+
+    reader.skipValue(reader.next());
+
+    assertEquals(KEY, reader.next());
+    assertEquals("c", reader.getKey());
+  }
+
+  @Test
+  public void readsTheSameValuesAsJsonParser() throws Exception {
+    String json = "[1, 0x1F, 017, -2.5, true, null, \"str\", not_quoted, {\"a\":[]}]";
+    JsonParser parser = new JsonParser();
+    parser.parse(new StringReader(json));
+
+    JsonReader reader = new JsonReader(new StringReader(json));
+
+    assertEquals(parser.getJsonObject().toString(), reader.readTree(reader.next()).toString());
+  }
+
+  @DataProvider
+  public static Object[][] invalidJson() {
+    return new Object[][] {
+      {"\"a\""},
+      {"{\"a\":1"},
+      {"[1,2"},
+      {"{\"a\":1]"},
+      {"[1}"},
+      {"{a:1}"},
+      {"{\"\":1}"},
+      {"{\"a\":1}{}"},
+      {"[\"a]"},
+      {"[1 \"a\"]"},
+      {"[/* a ]"}
+    };
+  }
+
+  @UseDataProvider("invalidJson")
+  @Test
+  public void failsWhenJsonIsInvalid(String json) throws Exception {
+    JsonReader reader = new JsonReader(new StringReader(json));
+    try {
+      while (reader.next() != END_DOCUMENT) {}
+      fail("JsonException expected for " + json);
+    } catch (JsonException expected) {
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.provider.json;
+
+import static com.google.common.base.Strings.repeat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.everrest.core.impl.provider.json.JsonTokenizer.END_OF_STREAM;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class JsonTokenizerTest {
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  @Test
+  public void skipsWhitespaceAndComments() throws Exception {
+    JsonTokenizer tokenizer = new JsonTokenizer(new StringReader(" /* a */ \n // b\n\t{ "));
+    assertEquals('{', tokenizer.nextNonWhitespace());
+    assertEquals(END_OF_STREAM, tokenizer.nextNonWhitespace());
+  }
+
+  @Test
+  public void pushesBackLastReadCharacter() throws Exception {
+    JsonTokenizer tokenizer = new JsonTokenizer(new StringReader(" [1]"));
+    assertEquals('[', tokenizer.nextNonWhitespace());
+    tokenizer.pushBack();
+    assertEquals('[', tokenizer.nextNonWhitespace());
+    assertEquals('1', tokenizer.nextNonWhitespace());
+  }
+
+  @Test
+  public void readsStringThatIsLongerThanBuffer() throws Exception {
+    String string = repeat("a\\\"b", 5000);
+    JsonTokenizer tokenizer = new JsonTokenizer(new StringReader("\"" + string + "\"]"));
+    tokenizer.nextNonWhitespace();
+    assertEquals(repeat("a\"b", 5000), tokenizer.readString());
+    assertEquals(']', tokenizer.nextNonWhitespace());
+  }
+
+  @Test
+  public void readsUnquotedValueAndStopsBeforeDelimiter() throws Exception {
+    JsonTokenizer tokenizer = new JsonTokenizer(new StringReader("12 /* c */ 34 ,5"));
+    assertEquals("1234", tokenizer.readUnquoted());
+    assertEquals(',', tokenizer.nextNonWhitespace());
+  }
+
+  @Test
+  public void readsUnquotedValueThatIsSplitBetweenBuffers() throws Exception {
+    String number = repeat("7", 10000);
+    JsonTokenizer tokenizer = new JsonTokenizer(new StringReader(number + "]"));
+    assertEquals(number, tokenizer.readUnquoted());
+    assertEquals(']', tokenizer.nextNonWhitespace());
+  }
+
+  @Test
+  public void failsReadUnquotedValueWhenStreamEnds() throws Exception {
+    thrown.expect(JsonException.class);
+    thrown.expectMessage("Unexpected end of stream.");
+    new JsonTokenizer(new StringReader("true")).readUnquoted();
+  }
+
+  @Test
+  public void decodesUtf8WhenCharacterIsSplitBetweenReads() throws Exception {
+    String string = repeat("\u041f\u0440\u0438\u0432\u0456\u0442 \ud83d\ude00 ", 2000);
+    JsonTokenizer tokenizer =
+        new JsonTokenizer(oneByteAtTimeStream(("\"" + string + "\"").getBytes(UTF_8)));
+    tokenizer.nextNonWhitespace();
+    assertEquals(string, tokenizer.readString());
+    assertEquals(END_OF_STREAM, tokenizer.nextNonWhitespace());
+  }
+
+  @Test
+  public void replacesMalformedUtf8Input() throws Exception {
+    byte[] bytes = {'"', 'a', (byte) 0xC3, '"', (byte) 0xFF};
+    JsonTokenizer tokenizer = new JsonTokenizer(new ByteArrayInputStream(bytes));
+    tokenizer.nextNonWhitespace();
+    assertEquals("a\ufffd", tokenizer.readString());
+    assertEquals('\ufffd', tokenizer.nextNonWhitespace());
+    assertEquals(END_OF_STREAM, tokenizer.nextNonWhitespace());
+  }
+
+  @Test
+  public void failsWhenStringIsNotTerminated() throws Exception {
+    thrown.expect(JsonException.class);
+    thrown.expectMessage("Syntax error. Unterminated string");
+    JsonTokenizer tokenizer = new JsonTokenizer(new StringReader("\"abc\ndef\""));
+    tokenizer.nextNonWhitespace();
+    tokenizer.readString();
+  }
+
+  @Test
+  public void failsWhenUnicodeCharacterIsInvalid() throws Exception {
+    thrown.expect(JsonException.class);
+    thrown.expectMessage("Invalid unicode character 04x1");
+    JsonTokenizer tokenizer = new JsonTokenizer(new StringReader("\"\\u04x1\""));
+    tokenizer.nextNonWhitespace();
+    tokenizer.readString();
+  }
+
+  private InputStream oneByteAtTimeStream(byte[] bytes) {
+    return new FilterInputStream(new ByteArrayInputStream(bytes)) {
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        return super.read(b, off, Math.min(len, 1));
+      }
+    };
+  }
+}
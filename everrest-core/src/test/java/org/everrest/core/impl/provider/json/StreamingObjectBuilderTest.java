@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.provider.json;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.everrest.core.impl.provider.json.tst.BeanWithClassField.createBeanWithClassField;
+import static org.everrest.core.impl.provider.json.tst.BeanWithEnums.createBeanWithEnums;
+import static org.everrest.core.impl.provider.json.tst.BeanWithPrimitiveFields.createBeanWithPrimitiveFields;
+import static org.everrest.core.impl.provider.json.tst.Book.createCSharpBook;
+import static org.everrest.core.impl.provider.json.tst.Book.createJunitBook;
+import static org.everrest.core.impl.provider.json.tst.BookArrays.createBookArrays;
+import static org.everrest.core.impl.provider.json.tst.BookCollections.createBookCollections;
+import static org.everrest.core.impl.provider.json.tst.BookWrapperOne.createBookWrapperOne;
+import static org.everrest.core.util.ParameterizedTypeImpl.newParameterizedType;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.collect.ImmutableMap;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.everrest.core.impl.provider.json.tst.BeanWithTransientField;
+import org.everrest.core.impl.provider.json.tst.Book;
+import org.everrest.core.impl.provider.json.tst.BookCollections;
+import org.everrest.core.impl.provider.json.tst.IBook;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+
+@RunWith(DataProviderRunner.class)
+public class StreamingObjectBuilderTest {
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  @DataProvider
+  public static Object[][] beans() throws Exception {
+    return new Object[][] {
+      {createJunitBook()},
+      {createBookWrapperOne(createCSharpBook())},
+      {createBookArrays()},
+      {createBeanWithPrimitiveFields()},
+      {createBeanWithEnums()},
+      {createBeanWithClassField()}
+    };
+  }
+
+  @UseDataProvider("beans")
+  @Test
+  public void createsTheSameObjectAsObjectBuilder(Object bean) throws Exception {
+    String json = JsonGenerator.createJsonObject(bean).toString();
+
+    Object fromTree = ObjectBuilder.createObject(bean.getClass(), parse(json));
+    Object streamed = createObject(bean.getClass(), null, json);
+
+    assertEquals(
+        JsonGenerator.createJsonObject(fromTree).toString(),
+        JsonGenerator.createJsonObject(streamed).toString());
+  }
+
+  @Test
+  public void createsObjectWithChildCollections() throws Exception {
+    String json = JsonGenerator.createJsonObject(createBookCollections()).toString();
+    assertEquals(createBookCollections(), createObject(BookCollections.class, null, json));
+  }
+
+  @Test
+  public void returnsNullWhenSourceIsEmpty() throws Exception {
+    assertNull(createObject(Book.class, null, " "));
+  }
+
+  @Test
+  public void createsObject() throws Exception {
+    String json =
+        "{\"author\":\"Vincent Massol\",\"title\":\"JUnit in Action\",\"pages\":386,"
+            + "\"price\":19.37,\"isdn\":93011099534534,\"availability\":false,\"delivery\":false}";
+    assertEquals(createJunitBook(), createObject(Book.class, null, json));
+  }
+
+  @Test
+  public void skipsUnknownFields() throws Exception {
+    String json =
+        "{\"unknown\":{\"a\":[1,{\"b\":[]},\"}\"]},\"author\":\"Vincent Massol\","
+            + "\"other\":[[]],\"pages\":386}";
+    Book book = (Book) createObject(Book.class, null, json);
+    assertEquals("Vincent Massol", book.getAuthor());
+    assertEquals(386, book.getPages());
+  }
+
+  @Test
+  public void doesNotRestoreTransientFields() throws Exception {
+    String json = "{\"field\":\"visible\",\"transientField\":\"a\",\"jsonTransientField\":\"b\"}";
+    BeanWithTransientField bean =
+        (BeanWithTransientField) createObject(BeanWithTransientField.class, null, json);
+    assertEquals("visible", bean.getField());
+    assertEquals("invisible", bean.getTransientField());
+    assertEquals("invisible", bean.getJsonTransientField());
+  }
+
+  @Test
+  public void createsProxyObjectForInterface() throws Exception {
+    IBook book =
+        (IBook) createObject(IBook.class, null, "{\"author\":\"Vincent Massol\",\"pages\":386}");
+    assertEquals("Vincent Massol", book.getAuthor());
+    assertEquals(386, book.getPages());
+  }
+
+  @Test
+  public void createsArrayOfPrimitives() throws Exception {
+    StringBuilder json = new StringBuilder("[");
+    int[] expected = new int[100];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = i;
+      json.append(i).append(',');
+    }
+    json.append(']');
+    assertArrayEquals(expected, (int[]) createObject(int[].class, null, json.toString()));
+  }
+
+  @Test
+  public void createsMultiDimensionArrayOfStrings() throws Exception {
+    Object array =
+        createObject(String[][].class, null, "[[\"to\",\"be\",\"or\"],[\"not\",\"to\",\"be\"]]");
+    assertArrayEquals(new String[][] {{"to", "be", "or"}, {"not", "to", "be"}}, (Object[][]) array);
+  }
+
+  @Test
+  public void createsListOfListOfStrings() throws Exception {
+    Type type = newParameterizedType(List.class, newParameterizedType(List.class, String.class));
+    Object list = createObject(List.class, type, "[[\"to\",\"be\"],null,[\"or\"]]");
+    assertEquals(newArrayList(newArrayList("to", "be"), null, newArrayList("or")), list);
+  }
+
+  @Test
+  public void createsMapOfStringToObject() throws Exception {
+    Type type = newParameterizedType(Map.class, String.class, Book.class);
+    String json =
+        String.format(
+            "{\"1\":%s,\"2\":null}", JsonGenerator.createJsonObject(createJunitBook()).toString());
+    Map<String, Book> expected = new HashMap<>();
+    expected.put("1", createJunitBook());
+    expected.put("2", null);
+    assertEquals(expected, createObject(Map.class, type, json));
+  }
+
+  @Test
+  public void createsMapOfStringToMap() throws Exception {
+    Type type =
+        newParameterizedType(
+            Map.class, String.class, newParameterizedType(Map.class, String.class, Long.class));
+    Object map = createObject(Map.class, type, "{\"a\":{\"b\":1, \"c\":2}}");
+    assertEquals(ImmutableMap.of("a", ImmutableMap.of("b", 1L, "c", 2L)), map);
+  }
+
+  @Test
+  public void failsCreateCollectionOfRawType() throws Exception {
+    thrown.expect(JsonException.class);
+    createObject(List.class, List.class, "[\"to\",\"be\"]");
+  }
+
+  @Test
+  public void failsCreateObjectWhenJsonValueIsNotObject() throws Exception {
+    thrown.expect(JsonException.class);
+    createObject(Book.class, null, "[\"to\",\"be\"]");
+  }
+
+  @Test
+  public void failsWhenJsonSourceContainsMoreThanOneRootValue() throws Exception {
+    thrown.expect(JsonException.class);
+    createObject(Book.class, null, "{}{}");
+  }
+
+  @Test
+  public void failsWhenObjectIsNotClosed() throws Exception {
+    thrown.expect(JsonException.class);
+    createObject(Book.class, null, "{\"author\":\"Vincent Massol\"");
+  }
+
+  @Test
+  public void failsWithMessageThatContainsNameOfSetterWhenParameterCanNotBeRestored()
+      throws Exception {
+    thrown.expect(JsonException.class);
+    thrown.expectMessage("Unable restore parameter via method " + Book.class.getName());
+    createObject(Book.class, null, "{\"author\":\"Vincent Massol\",\"pages\":[\"a\"}");
+  }
+
+  private Object createObject(Class<?> aClass, Type genericType, String json) throws Exception {
+    return StreamingObjectBuilder.createObject(aClass, genericType, new StringReader(json));
+  }
+
+  private JsonValue parse(String json) throws Exception {
+    JsonParser parser = new JsonParser();
+    parser.parse(new StringReader(json));
+    return parser.getJsonObject();
+  }
+}
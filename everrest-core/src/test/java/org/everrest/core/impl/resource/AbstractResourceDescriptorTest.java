@@ -47,6 +47,7 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.SecurityContext;
 import jakarta.ws.rs.core.UriInfo;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import org.everrest.core.BaseObjectModel;
@@ -58,6 +59,7 @@ import org.everrest.core.resource.ResourceMethodDescriptor;
 import org.everrest.core.resource.SubResourceLocatorDescriptor;
 import org.everrest.core.resource.SubResourceMethodDescriptor;
 import org.everrest.core.uri.UriPattern;
+import org.everrest.core.util.ComponentIndex;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -774,6 +776,55 @@ public class AbstractResourceDescriptorTest {
         resourceLocators.keySet().stream().map(UriPattern::getTemplate).collect(toList()));
   }
 
+  @Test
+  public void getsSubResourceMethodsWhichMayBeMatchedToPathInTheSameOrder() {
+    AbstractResourceDescriptor resource =
+        new AbstractResourceDescriptor(ResourceForTestSortingOfSubResourceMethods.class);
+
+    assertEquals(
+        newArrayList("/b/c", "/b/{c}", "/b"),
+        resource.getSubResourceMethodCandidates("/b/c").stream()
+            .map(entry -> entry.getKey().getTemplate())
+            .collect(toList()));
+    assertEquals(
+        newArrayList(), resource.getSubResourceMethodCandidates("/x").stream().collect(toList()));
+  }
+
+  @Test
+  public void getsSubResourceLocatorsWhichMayBeMatchedToPathInTheSameOrder() {
+    AbstractResourceDescriptor resource =
+        new AbstractResourceDescriptor(ResourceForTestSortingOfSubResourceLocators.class);
+
+    assertEquals(
+        newArrayList("/b/c/z", "/b/c", "/b/{c}", "/b"),
+        resource.getSubResourceLocatorCandidates("/b/c/z/x").stream()
+            .map(entry -> entry.getKey().getTemplate())
+            .collect(toList()));
+    assertEquals(
+        newArrayList("/b/{c}", "/b"),
+        resource.getSubResourceLocatorCandidates("/b/x").stream()
+            .map(entry -> entry.getKey().getTemplate())
+            .collect(toList()));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void doesNotAllowAddSubResourceLocatorsAfterCreationOfDescriptor() {
+    AbstractResourceDescriptor resource =
+        new AbstractResourceDescriptor(ResourceForTestSortingOfSubResourceLocators.class);
+    SubResourceLocatorDescriptor locator =
+        resource.getSubResourceLocators().get(new UriPattern("/b"));
+    resource.getSubResourceLocators().put(new UriPattern("/x"), locator);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void doesNotAllowRemoveSubResourceLocatorsAfterCreationOfDescriptor() {
+    AbstractResourceDescriptor resource =
+        new AbstractResourceDescriptor(ResourceForTestSortingOfSubResourceLocators.class);
+    Iterator<?> iterator = resource.getSubResourceLocators().entrySet().iterator();
+    iterator.next();
+    iterator.remove();
+  }
+
   @Path("a")
   public static class ResourceForTestSortingOfSubResourceLocators {
     @Path("b")
@@ -991,6 +1042,38 @@ public class AbstractResourceDescriptorTest {
     assertEquals(1, resource.getResourceMethods().get("POST").size());
   }
 
+  @Test
+  public void checksOnlyMethodsThatAreListedInIndexOfResourceMethods() throws Exception {
+    ClassLoader classLoader = IndexedResource.class.getClassLoader();
+    ComponentIndex.setResourceMethodsEnabled(classLoader, true);
+    try {
+      ResourceDescriptor resource = new AbstractResourceDescriptor(IndexedResource.class);
+      assertEquals(1, resource.getResourceMethods().get("GET").size());
+      assertEquals(1, resource.getResourceMethods().get("POST").size());
+      assertTrue(resource.getSubResourceMethods().isEmpty());
+    } finally {
+      ComponentIndex.setResourceMethodsEnabled(classLoader, false);
+    }
+  }
+
+  @Test
+  public void checksAllMethodsWhenIndexOfResourceMethodsIsNotEnabled() throws Exception {
+    ResourceDescriptor resource = new AbstractResourceDescriptor(IndexedResource.class);
+    assertEquals(1, resource.getResourceMethods().get("GET").size());
+    assertEquals(1, resource.getResourceMethods().get("POST").size());
+    assertEquals(1, resource.getSubResourceMethods().size());
+  }
+
+  @Path("/a")
+  public static class IndexedResource extends Resource1 {
+    @Override
+    public void m1() {}
+
+    @GET
+    @Path("b")
+    public void m3() {}
+  }
+
   @Path("/a")
   public static class Resource1 {
     @GET
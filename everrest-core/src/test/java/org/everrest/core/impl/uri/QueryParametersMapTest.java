@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.impl.uri;
+
+import static java.util.Collections.singletonList;
+import static org.everrest.core.impl.uri.UriComponent.parseQueryString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(DataProviderRunner.class)
+public class QueryParametersMapTest {
+  private static final String QUERY = "a=1&b=to%20be+or&&c&a=2&d=&%D0%BF=%D1%80&e%3D=x&f=%zz";
+
+  @DataProvider
+  public static Object[][] decodedParameters() {
+    return new Object[][] {
+      {"a", "1"},
+      {"b", "to be or"},
+      {"c", ""},
+      {"d", ""},
+      {"\u043f", "\u0440"},
+      {"e=", "x"},
+      {"x", null},
+      {"", null}
+    };
+  }
+
+  @UseDataProvider("decodedParameters")
+  @Test
+  public void getsFirstDecodedValueOfParameter(String name, String value) {
+    assertEquals(value, new QueryParametersMap(QUERY, true).getFirst(name));
+  }
+
+  @DataProvider
+  public static Object[][] encodedParameters() {
+    return new Object[][] {
+      {"a", "1"},
+      {"b", "to%20be+or"},
+      {"c", ""},
+      {"%D0%BF", "%D1%80"},
+      {"f", "%zz"},
+      {"\u043f", null}
+    };
+  }
+
+  @UseDataProvider("encodedParameters")
+  @Test
+  public void getsFirstNotDecodedValueOfParameter(String name, String value) {
+    assertEquals(value, new QueryParametersMap(QUERY, false).getFirst(name));
+  }
+
+  @Test
+  public void returnsNullWhenQueryIsNotSet() {
+    assertNull(new QueryParametersMap(null, true).getFirst("a"));
+    assertNull(new QueryParametersMap("", true).getFirst("a"));
+    assertTrue(new QueryParametersMap(null, true).isEmpty());
+  }
+
+  @Test
+  public void containsTheSameParametersAsParsedQueryString() {
+    String query = "a=1&b=to%20be+or&&c&a=2&d=&%D0%BF=%D1%80";
+    assertEquals(parseQueryString(query, true), new QueryParametersMap(query, true));
+    assertEquals(parseQueryString(query, false), new QueryParametersMap(query, false));
+  }
+
+  @Test
+  public void getsFirstValueFromModifiedParameters() {
+    QueryParametersMap parameters = new QueryParametersMap("a=1", true);
+    parameters.addFirst("a", "0");
+    parameters.putSingle("b", "2");
+
+    assertEquals("0", parameters.getFirst("a"));
+    assertEquals("2", parameters.getFirst("b"));
+    assertEquals(singletonList("2"), parameters.get("b"));
+  }
+}
@@ -13,6 +13,7 @@ package org.everrest.core.impl.uri;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.everrest.core.impl.uri.UriComponent.HOST;
+import static org.everrest.core.impl.uri.UriComponent.PATH;
 import static org.everrest.core.impl.uri.UriComponent.PATH_SEGMENT;
 import static org.everrest.core.impl.uri.UriComponent.checkHexCharacters;
 import static org.everrest.core.impl.uri.UriComponent.decode;
@@ -22,6 +23,7 @@ import static org.everrest.core.impl.uri.UriComponent.parseQueryString;
 import static org.everrest.core.impl.uri.UriComponent.recognizeEncode;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import com.tngtech.java.junit.dataprovider.DataProvider;
@@ -78,6 +80,17 @@ public class UriComponentTest {
     assertEquals(str, decode(encoded, HOST));
   }
 
+  @Test
+  public void returnsSameStringWhenThereIsNothingToDecode() {
+    String str = "to-be_or.not~to/be";
+    assertSame(str, decode(str, PATH));
+  }
+
+  @Test
+  public void decodesStringThatContainsEscapedAndNotEscapedCharacters() {
+    assertEquals("a b c\u00e9d#e", decode("a+b%20c%C3%A9d%23e", PATH));
+  }
+
   @Test
   public void parsesQueryString() {
     String queryString =
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.servlet;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.everrest.core.GenericContainerResponse;
+import org.everrest.core.impl.provider.StringEntityProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class AsyncServletContainerResponseWriterTest {
+  /** Output that is not ready until {@link #setReady()} is called. */
+  static class SlowServletOutputStream extends ServletOutputStream {
+    private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+    private volatile boolean ready;
+    private volatile WriteListener writeListener;
+
+    void setReady() throws IOException {
+      ready = true;
+      writeListener.onWritePossible();
+    }
+
+    @Override
+    public boolean isReady() {
+      return ready;
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+      this.writeListener = writeListener;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      if (!ready) {
+        throw new IllegalStateException("Output is not ready");
+      }
+      data.write(b);
+    }
+  }
+
+  private AsyncContext asyncContext;
+  private HttpServletResponse httpServletResponse;
+  private GenericContainerResponse containerResponse;
+  private ExecutorService executor;
+
+  private AsyncServletContainerResponseWriter responseWriter;
+
+  @Before
+  public void setUp() throws Exception {
+    asyncContext = mock(AsyncContext.class);
+    httpServletResponse = mock(HttpServletResponse.class);
+    containerResponse = mock(GenericContainerResponse.class);
+    when(asyncContext.getResponse()).thenReturn(httpServletResponse);
+    when(containerResponse.getEntity()).thenReturn("hello world");
+    when(containerResponse.getHttpHeaders()).thenReturn(new MultivaluedHashMap<>());
+    executor = Executors.newSingleThreadExecutor();
+
+    responseWriter = new AsyncServletContainerResponseWriter(asyncContext);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void writesBodyWhenOutputIsReady() throws Exception {
+    TstServletOutputStream output = new TstServletOutputStream();
+    when(httpServletResponse.getOutputStream()).thenReturn(output);
+
+    responseWriter.writeBody(containerResponse, new StringEntityProvider());
+    responseWriter.complete();
+
+    assertArrayEquals("hello world".getBytes(), output.getData());
+    verify(asyncContext).complete();
+  }
+
+  @Test
+  public void doesNotWaitForSlowClient() throws Exception {
+    SlowServletOutputStream output = new SlowServletOutputStream();
+    when(httpServletResponse.getOutputStream()).thenReturn(output);
+
+    responseWriter.writeBody(containerResponse, new StringEntityProvider());
+    responseWriter.complete();
+    verify(asyncContext, never()).complete();
+
+    output.setReady();
+
+    assertArrayEquals("hello world".getBytes(), output.data.toByteArray());
+    verify(asyncContext).complete();
+  }
+
+  @Test
+  public void waitsForSlowClientWhenWriteBufferIsFull() throws Exception {
+    responseWriter = new AsyncServletContainerResponseWriter(asyncContext, 4, 5000);
+    SlowServletOutputStream output = new SlowServletOutputStream();
+    when(httpServletResponse.getOutputStream()).thenReturn(output);
+
+    Future<?> writing =
+        executor.submit(
+            () -> {
+              OutputStream out = responseWriter.getOutputStream();
+              out.write("hello".getBytes());
+              out.write(" world".getBytes());
+              return null;
+            });
+    while (output.writeListener == null) {
+      Thread.yield();
+    }
+    Thread.sleep(100);
+    assertFalse(writing.isDone());
+
+    output.setReady();
+    writing.get(5, SECONDS);
+    responseWriter.complete();
+
+    assertArrayEquals("hello world".getBytes(), output.data.toByteArray());
+    verify(asyncContext).complete();
+  }
+
+  @Test
+  public void failsWhenSlowClientDoesNotAcceptLargeArrayInTime() throws Exception {
+    responseWriter = new AsyncServletContainerResponseWriter(asyncContext, 4, 100);
+    SlowServletOutputStream output = new SlowServletOutputStream();
+    when(httpServletResponse.getOutputStream()).thenReturn(output);
+
+    OutputStream out = responseWriter.getOutputStream();
+    try {
+      out.write("hello world".getBytes());
+      fail("IOException expected");
+    } catch (IOException e) {
+      assertEquals("Timed out waiting for client to accept response", e.getMessage());
+    }
+  }
+
+  @Test
+  public void writesLargeArrayToSlowClientInChunksOfWriteBufferSize() throws Exception {
+    responseWriter = new AsyncServletContainerResponseWriter(asyncContext, 4, 5000);
+    SlowServletOutputStream output = new SlowServletOutputStream();
+    when(httpServletResponse.getOutputStream()).thenReturn(output);
+
+    Future<?> writing =
+        executor.submit(
+            () -> {
+              responseWriter.getOutputStream().write("hello world".getBytes());
+              return null;
+            });
+    while (output.writeListener == null) {
+      Thread.yield();
+    }
+    Thread.sleep(100);
+    assertFalse(writing.isDone());
+
+    output.setReady();
+    writing.get(5, SECONDS);
+    responseWriter.complete();
+
+    assertArrayEquals("hello world".getBytes(), output.data.toByteArray());
+    verify(asyncContext).complete();
+  }
+
+  @Test
+  public void failsWhenSlowClientDoesNotAcceptResponseInTime() throws Exception {
+    responseWriter = new AsyncServletContainerResponseWriter(asyncContext, 4, 100);
+    SlowServletOutputStream output = new SlowServletOutputStream();
+    when(httpServletResponse.getOutputStream()).thenReturn(output);
+
+    OutputStream out = responseWriter.getOutputStream();
+    out.write("hell".getBytes());
+    try {
+      out.write(" world".getBytes());
+      fail("IOException expected");
+    } catch (IOException e) {
+      assertEquals("Timed out waiting for client to accept response", e.getMessage());
+    }
+    responseWriter.complete();
+    verify(asyncContext).complete();
+  }
+
+  @Test
+  public void stopsWaitingForOutputWhenRequestIsTimedOut() throws Exception {
+    responseWriter = new AsyncServletContainerResponseWriter(asyncContext, 4, 5000);
+    ArgumentCaptor<AsyncListener> asyncListener = ArgumentCaptor.forClass(AsyncListener.class);
+    verify(asyncContext, times(2)).addListener(asyncListener.capture());
+    SlowServletOutputStream output = new SlowServletOutputStream();
+    when(httpServletResponse.getOutputStream()).thenReturn(output);
+
+    Future<?> writing =
+        executor.submit(
+            () -> {
+              OutputStream out = responseWriter.getOutputStream();
+              out.write("hello".getBytes());
+              out.write(" world".getBytes());
+              return null;
+            });
+    while (output.writeListener == null) {
+      Thread.yield();
+    }
+    asyncListener.getValue().onTimeout(new AsyncEvent(asyncContext));
+
+    try {
+      writing.get(5, SECONDS);
+      fail("IOException expected");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IOException);
+      assertEquals("Asynchronous request timed out", e.getCause().getMessage());
+    }
+    responseWriter.complete();
+    verify(asyncContext).complete();
+  }
+
+  @Test
+  public void completesAfterSlowClientFailed() throws Exception {
+    SlowServletOutputStream output = new SlowServletOutputStream();
+    when(httpServletResponse.getOutputStream()).thenReturn(output);
+
+    responseWriter.writeBody(containerResponse, new StringEntityProvider());
+    responseWriter.complete();
+    output.writeListener.onError(new IOException("Connection reset"));
+
+    verify(asyncContext).complete();
+    assertEquals(0, output.data.size());
+  }
+
+  @Test
+  public void completesWhenNothingIsWritten() throws Exception {
+    responseWriter.complete();
+
+    verify(asyncContext).complete();
+    verify(httpServletResponse, never()).getOutputStream();
+    verify(asyncContext).addListener(any(AsyncListener.class));
+  }
+}
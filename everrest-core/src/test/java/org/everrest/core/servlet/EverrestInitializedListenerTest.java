@@ -12,6 +12,8 @@
 package org.everrest.core.servlet;
 
 import static java.util.Collections.emptyEnumeration;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.mock;
@@ -21,6 +23,8 @@ import static org.mockito.Mockito.when;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletContextEvent;
 import jakarta.ws.rs.core.Application;
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
 import org.everrest.core.DependencySupplier;
 import org.everrest.core.ResourceBinder;
 import org.everrest.core.impl.ApplicationProviderBinder;
@@ -74,6 +78,22 @@ public class EverrestInitializedListenerTest {
     verify(servletContext).removeAttribute(eq(DependencySupplier.class.getName()));
   }
 
+  @Test
+  public void registersMBeansOfDescriptorRegistriesUntilServletContextDestroyed() throws Exception {
+    when(servletContext.getContextPath()).thenReturn("/listener-test");
+    ObjectName objectName =
+        new ObjectName(
+            "org.everrest:type=DescriptorRegistry,context=\"/listener-test\",name=\"SubResourceDescriptors\"");
+    EverrestInitializedListener everrestInitializedListener = new EverrestInitializedListener();
+    ServletContextEvent servletContextEvent = new ServletContextEvent(servletContext);
+
+    everrestInitializedListener.contextInitialized(servletContextEvent);
+    assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+
+    everrestInitializedListener.contextDestroyed(servletContextEvent);
+    assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+  }
+
   @Test
   public void startsEverrestProcessorWhenServletContextInitialized() throws Exception {
     EverrestProcessor everrestProcessor = mock(EverrestProcessor.class);
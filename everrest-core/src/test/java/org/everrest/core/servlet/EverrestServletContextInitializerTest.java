@@ -11,6 +11,7 @@
  */
 package org.everrest.core.servlet;
 
+import static com.google.common.collect.Sets.newHashSet;
 import static java.util.Collections.enumeration;
 import static junit.framework.TestCase.assertSame;
 import static org.junit.Assert.assertEquals;
@@ -24,6 +25,10 @@ import jakarta.servlet.ServletContext;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.core.Application;
 import jakarta.ws.rs.ext.Provider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -39,12 +44,17 @@ import org.everrest.core.impl.async.AsynchronousJobService;
 import org.everrest.core.impl.async.AsynchronousProcessListWriter;
 import org.everrest.core.impl.method.filter.SecurityConstraint;
 import org.everrest.core.tools.DependencySupplierImpl;
+import org.everrest.core.util.ComponentIndex;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 public class EverrestServletContextInitializerTest {
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
   private ServletContext servletContext;
   private HashSet<Class<?>> scannedClasses;
 
@@ -81,6 +91,37 @@ public class EverrestServletContextInitializerTest {
     assertEquals(scannedClasses, application.getClasses());
   }
 
+  @Test
+  public void loadsJaxRsComponentsFromIndexAndCreatesApplication() throws Exception {
+    File classes = folder.newFolder();
+    File index = new File(classes, ComponentIndex.INDEX_LOCATION);
+    index.getParentFile().mkdirs();
+    Files.write(
+        index.toPath(),
+        Arrays.asList(
+            "component " + SomeResource.class.getName(),
+            "component " + SomeProvider.class.getName(),
+            "component org.everrest.core.servlet.NotExisted"));
+    Map<String, String> initParams = new HashMap<>();
+    initParams.put("org.everrest.scan.components", "true");
+    initParams.put("org.everrest.scan.index", "true");
+    initParams.put("org.everrest.scan.skip.packages", SomeProvider.class.getName());
+    configureInitParamsInServletContext(initParams);
+
+    Thread thread = Thread.currentThread();
+    ClassLoader contextClassLoader = thread.getContextClassLoader();
+    try (URLClassLoader classLoader =
+        new URLClassLoader(new URL[] {classes.toURI().toURL()}, getClass().getClassLoader())) {
+      thread.setContextClassLoader(classLoader);
+      Application application =
+          new EverrestServletContextInitializer(servletContext).getApplication();
+      assertEquals(newHashSet(SomeResource.class), application.getClasses());
+      assertTrue(ComponentIndex.isResourceMethodsEnabled(classLoader));
+    } finally {
+      thread.setContextClassLoader(contextClassLoader);
+    }
+  }
+
   @Test
   public void ignoresScanParameterIfApplicationIsConfiguredInServletContext() throws Exception {
     when(servletContext.getInitParameter("jakarta.ws.rs.Application"))
@@ -12,20 +12,31 @@
 package org.everrest.core.servlet;
 
 import static java.util.Collections.emptyEnumeration;
+import static org.everrest.core.impl.EverrestConfiguration.EVERREST_SERVLET_ASYNC;
+import static org.everrest.core.impl.EverrestConfiguration.EVERREST_SERVLET_ASYNC_TIMEOUT;
+import static org.everrest.core.servlet.EverrestServlet.ASYNC_EXECUTOR_ATTRIBUTE;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import jakarta.servlet.AsyncContext;
 import jakarta.servlet.ServletConfig;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import org.everrest.core.UnhandledException;
 import org.everrest.core.impl.ContainerResponse;
 import org.everrest.core.impl.EnvironmentContext;
@@ -86,6 +97,7 @@ public class EverrestServletTest {
     assertSame(servletContext, env.get(ServletContext.class));
     assertNotNull(env.get(WebApplicationDeclaredRoles.class));
     assertNotNull(env.get(ErrorPages.class));
+    assertNotNull(env.get(ServletRequestSuspender.class));
   }
 
   @Test
@@ -134,6 +146,123 @@ public class EverrestServletTest {
     verify(response).sendError(403);
   }
 
+  @Test
+  public void processesRequestInExecutorWhenAsyncModeIsEnabled() throws Exception {
+    List<Runnable> tasks = new ArrayList<>();
+    AsyncContext asyncContext = enableAsyncMode(tasks::add);
+
+    everrestServlet.service(request, response);
+
+    verify(everrestProcessor, never())
+        .process(
+            isA(ServletContainerRequest.class),
+            isA(ContainerResponse.class),
+            isA(EnvironmentContext.class));
+    verify(asyncContext, never()).complete();
+    assertEquals(1, tasks.size());
+
+    tasks.get(0).run();
+
+    verify(everrestProcessor)
+        .process(
+            isA(ServletContainerRequest.class),
+            isA(ContainerResponse.class),
+            isA(EnvironmentContext.class));
+    verify(asyncContext).complete();
+  }
+
+  @Test
+  public void setsTimeoutOfAsyncRequest() throws Exception {
+    when(servletContext.getInitParameter(EVERREST_SERVLET_ASYNC_TIMEOUT)).thenReturn("30");
+    AsyncContext asyncContext = enableAsyncMode(Runnable::run);
+
+    everrestServlet.service(request, response);
+
+    verify(asyncContext).setTimeout(30000);
+  }
+
+  @Test
+  public void processesRequestSynchronouslyWhenAsyncIsNotSupportedByRequest() throws Exception {
+    List<Runnable> tasks = new ArrayList<>();
+    enableAsyncMode(tasks::add);
+    when(request.isAsyncSupported()).thenReturn(false);
+
+    everrestServlet.service(request, response);
+
+    assertEquals(0, tasks.size());
+    verify(request, never()).startAsync(request, response);
+    verify(everrestProcessor)
+        .process(
+            isA(ServletContainerRequest.class),
+            isA(ContainerResponse.class),
+            isA(EnvironmentContext.class));
+  }
+
+  @Test
+  public void sendsServiceUnavailableWhenAsyncRequestIsRejectedByExecutor() throws Exception {
+    AsyncContext asyncContext =
+        enableAsyncMode(
+            task -> {
+              throw new RejectedExecutionException();
+            });
+
+    everrestServlet.service(request, response);
+
+    verify(response).sendError(503);
+    verify(asyncContext).complete();
+  }
+
+  @Test
+  public void sendsInternalServerErrorWhenAsyncRequestFails() throws Exception {
+    AsyncContext asyncContext = enableAsyncMode(Runnable::run);
+    doThrow(new IOException())
+        .when(everrestProcessor)
+        .process(
+            isA(ServletContainerRequest.class),
+            isA(ContainerResponse.class),
+            isA(EnvironmentContext.class));
+
+    everrestServlet.service(request, response);
+
+    verify(response).sendError(500);
+    verify(asyncContext).complete();
+  }
+
+  @Test
+  public void doesNotCompleteAsyncRequestThatIsSuspended() throws Exception {
+    AsyncContext asyncContext = enableAsyncMode(Runnable::run);
+    when(request.isAsyncStarted()).thenReturn(true);
+    when(request.getAsyncContext()).thenReturn(asyncContext);
+    doAnswer(
+            invocation -> {
+              EnvironmentContext env = (EnvironmentContext) invocation.getArguments()[2];
+              ((ServletRequestSuspender) env.get(ServletRequestSuspender.class)).suspend(1000);
+              return null;
+            })
+        .when(everrestProcessor)
+        .process(
+            isA(ServletContainerRequest.class),
+            isA(ContainerResponse.class),
+            isA(EnvironmentContext.class));
+
+    everrestServlet.service(request, response);
+
+    verify(asyncContext, never()).complete();
+  }
+
+  private AsyncContext enableAsyncMode(Executor executor) throws Exception {
+    AsyncContext asyncContext = mock(AsyncContext.class);
+    when(asyncContext.getResponse()).thenReturn(response);
+    when(request.isAsyncSupported()).thenReturn(true);
+    when(request.startAsync(request, response)).thenReturn(asyncContext);
+    when(servletContext.getInitParameter(EVERREST_SERVLET_ASYNC)).thenReturn("true");
+    when(servletContext.getAttribute(ASYNC_EXECUTOR_ATTRIBUTE)).thenReturn(executor);
+
+    everrestServlet = new EverrestServlet();
+    everrestServlet.init(servletConfig);
+    return asyncContext;
+  }
+
   private BaseMatcher<Throwable> exceptionSameInstanceMatcher(Exception expectedException) {
     return new BaseMatcher<Throwable>() {
       @Override
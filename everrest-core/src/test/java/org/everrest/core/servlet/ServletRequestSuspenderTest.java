@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.servlet;
+
+import static org.everrest.core.servlet.ServletRequestSuspender.RESUMED_ATTRIBUTE;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import org.everrest.core.ContainerResponseWriter;
+import org.everrest.core.GenericContainerResponse;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ServletRequestSuspenderTest {
+  private HttpServletRequest request;
+  private HttpServletResponse response;
+  private AsyncContext asyncContext;
+
+  private ServletRequestSuspender suspender;
+
+  @Before
+  public void setUp() throws Exception {
+    request = mock(HttpServletRequest.class);
+    response = mock(HttpServletResponse.class);
+    asyncContext = mock(AsyncContext.class);
+    when(request.isAsyncSupported()).thenReturn(true);
+    when(request.startAsync(request, response)).thenReturn(asyncContext);
+
+    suspender = new ServletRequestSuspender(request, response);
+  }
+
+  @Test
+  public void startsAsyncProcessingWithTimeoutWhenRequestIsSuspended() {
+    assertTrue(suspender.isSuspendSupported());
+
+    suspender.suspend(3000);
+
+    assertTrue(suspender.isSuspended());
+    assertFalse(suspender.isSuspendSupported());
+    verify(asyncContext).setTimeout(3000);
+    verify(asyncContext, never()).dispatch();
+  }
+
+  @Test
+  public void usesStartedAsyncProcessingAndDoesNotChangeItsTimeout() {
+    when(request.isAsyncStarted()).thenReturn(true);
+    when(request.getAsyncContext()).thenReturn(asyncContext);
+
+    suspender.suspend(3000);
+
+    verify(request, never()).startAsync(request, response);
+    verify(asyncContext, never()).setTimeout(anyLong());
+  }
+
+  @Test
+  public void dispatchesRequestOnceWhenItIsResumed() {
+    Runnable resume = suspender.suspend(3000);
+
+    resume.run();
+    resume.run();
+
+    verify(request).setAttribute(RESUMED_ATTRIBUTE, Boolean.TRUE);
+    verify(asyncContext, times(1)).dispatch();
+  }
+
+  @Test
+  public void resumesRequestWhenTimeoutIsReached() throws Exception {
+    suspender.suspend(3000);
+    ArgumentCaptor<AsyncListener> listenerCaptor = ArgumentCaptor.forClass(AsyncListener.class);
+    verify(asyncContext).addListener(listenerCaptor.capture());
+
+    listenerCaptor.getValue().onTimeout(new AsyncEvent(asyncContext));
+
+    verify(asyncContext).dispatch();
+  }
+
+  @Test
+  public void resumedRequestCanNotBeSuspendedAgain() {
+    when(request.getAttribute(RESUMED_ATTRIBUTE)).thenReturn(Boolean.TRUE);
+
+    assertTrue(suspender.isResumed());
+    assertFalse(suspender.isSuspendSupported());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void failsSuspendRequestWhenAsyncIsNotSupported() {
+    when(request.isAsyncSupported()).thenReturn(false);
+
+    suspender.suspend(3000);
+  }
+
+  @Test
+  public void writesNothingWhenRequestIsSuspended() throws Exception {
+    ContainerResponseWriter responseWriter = mock(ContainerResponseWriter.class);
+    ContainerResponseWriter wrapper = suspender.wrap(responseWriter);
+
+    suspender.suspend(3000);
+    wrapper.writeHeaders(mock(GenericContainerResponse.class));
+    wrapper.writeBody(mock(GenericContainerResponse.class), mock(MessageBodyWriter.class));
+
+    verify(responseWriter, never()).writeHeaders(any(GenericContainerResponse.class));
+    verify(responseWriter, never())
+        .writeBody(any(GenericContainerResponse.class), any(MessageBodyWriter.class));
+  }
+
+  @Test
+  public void writesResponseWhenRequestIsNotSuspended() throws Exception {
+    ContainerResponseWriter responseWriter = mock(ContainerResponseWriter.class);
+    GenericContainerResponse containerResponse = mock(GenericContainerResponse.class);
+    MessageBodyWriter entityWriter = mock(MessageBodyWriter.class);
+
+    suspender.wrap(responseWriter).writeHeaders(containerResponse);
+    suspender.wrap(responseWriter).writeBody(containerResponse, entityWriter);
+
+    verify(responseWriter).writeHeaders(containerResponse);
+    verify(responseWriter).writeBody(containerResponse, entityWriter);
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.uri;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.Test;
+
+public class UriPatternTrieTest {
+  private static final List<String> TEMPLATES =
+      newArrayList(
+          "/",
+          "/a",
+          "/a/b",
+          "/a/b/",
+          "/a/{x}",
+          "/a/b/{x}",
+          "/a/b{x}",
+          "/a{x:.*}",
+          "/a /{x}",
+          "/{x}",
+          "/{x}/c",
+          "/b/c/d",
+          "/b//c",
+          "/{x:\\d+}.{y:\\d+}",
+          "/c+",
+          "/d/e*/f",
+          "/g|h");
+
+  private static final List<String> PATHS =
+      newArrayList(
+          "",
+          "/",
+          "/a",
+          "/a/",
+          "/a/b",
+          "/a/b/",
+          "/a/bc",
+          "/a/b/c",
+          "/ab/c",
+          "/a%20/b",
+          "/b/c/d/e",
+          "/b//c",
+          "/b/c",
+          "/111.222",
+          "/x/c",
+          "/c",
+          "/cc",
+          "/d/e/f",
+          "/d/f",
+          "/g",
+          "/h");
+
+  @Test
+  public void getsLiteralSegmentsOfTemplate() {
+    assertEquals(newArrayList(), UriPatternTrie.getLiteralSegments(new UriPattern("/")));
+    assertEquals(newArrayList(), UriPatternTrie.getLiteralSegments(new UriPattern("/{x}")));
+    assertEquals(newArrayList("a"), UriPatternTrie.getLiteralSegments(new UriPattern("/a/")));
+    assertEquals(newArrayList("a"), UriPatternTrie.getLiteralSegments(new UriPattern("/a/b{x}")));
+    assertEquals(
+        newArrayList("a", "b"), UriPatternTrie.getLiteralSegments(new UriPattern("/a/b/{x}/c")));
+    assertEquals(
+        newArrayList("a", "", "b"), UriPatternTrie.getLiteralSegments(new UriPattern("/a//b")));
+    assertEquals(newArrayList(), UriPatternTrie.getLiteralSegments(new UriPattern("/c+")));
+    assertEquals(newArrayList("d"), UriPatternTrie.getLiteralSegments(new UriPattern("/d/e*/f")));
+  }
+
+  @Test
+  public void findsTheSameMatchedPatternsInTheSameOrderAsLinearScan() {
+    List<UriPattern> patterns = TEMPLATES.stream().map(UriPattern::new).collect(toList());
+    patterns.sort(UriPattern.URIPATTERN_COMPARATOR);
+    UriPatternTrie<UriPattern> trie = new UriPatternTrie<>(patterns, Function.identity());
+
+    for (String path : PATHS) {
+      List<UriPattern> candidates = trie.getCandidates(path);
+      assertTrue(patterns.containsAll(candidates));
+      assertEquals(
+          "Unexpected matched patterns for path " + path,
+          matchedPatterns(patterns, path),
+          matchedPatterns(candidates, path));
+    }
+  }
+
+  @Test
+  public void skipsPatternsThatHaveDifferentLiteralPrefix() {
+    List<UriPattern> patterns =
+        newArrayList(new UriPattern("/a/b"), new UriPattern("/b/c"), new UriPattern("/{x}"));
+    patterns.sort(UriPattern.URIPATTERN_COMPARATOR);
+    UriPatternTrie<UriPattern> trie = new UriPatternTrie<>(patterns, Function.identity());
+
+    List<String> candidates =
+        trie.getCandidates("/a/b/c").stream().map(UriPattern::getTemplate).collect(toList());
+
+    assertEquals(newArrayList("/a/b", "/{x}"), candidates);
+  }
+
+  private List<UriPattern> matchedPatterns(List<UriPattern> patterns, String path) {
+    List<String> parameters = new ArrayList<>();
+    return patterns.stream().filter(p -> p.match(path, parameters)).collect(toList());
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.util;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.StringReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ComponentIndexTest {
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void readsComponentsAndResourceMethods() throws Exception {
+    ComponentIndex index = new ComponentIndex();
+    index.read(
+        new StringReader(
+            "# comment\n"
+                + "component org.example.A\n"
+                + "component org.example.B\n"
+                + "\n"
+                + "resource org.example.A get() add(java.lang.String,[I)\n"
+                + "resource org.example.A$Sub list()\n"
+                + "unknown org.example.C\n"));
+
+    assertEquals(newHashSet("org.example.A", "org.example.B"), index.getComponents());
+    assertEquals(
+        newHashSet("get()", "add(java.lang.String,[I)"), index.getResourceMethods("org.example.A"));
+    assertEquals(newHashSet("list()"), index.getResourceMethods("org.example.A$Sub"));
+    assertNull(index.getResourceMethods("org.example.B"));
+  }
+
+  @Test
+  public void mergesEntriesOfFewIndexes() throws Exception {
+    ComponentIndex index = new ComponentIndex();
+    index.read(new StringReader("component org.example.A\nresource org.example.A get()\n"));
+    index.read(new StringReader("component org.example.B\nresource org.example.A put()\n"));
+
+    assertEquals(newHashSet("org.example.A", "org.example.B"), index.getComponents());
+    assertEquals(newHashSet("get()", "put()"), index.getResourceMethods("org.example.A"));
+  }
+
+  @Test
+  public void createsSignatureOfMethodInFormatOfIndex() throws Exception {
+    assertEquals(
+        "add(java.lang.String,[I,[[Ljava.lang.Object;,long,java.util.List)",
+        ComponentIndex.getSignature(
+            Sample.class.getMethod(
+                "add", String.class, int[].class, Object[][].class, long.class, List.class)));
+    assertEquals("get()", ComponentIndex.getSignature(Sample.class.getMethod("get")));
+  }
+
+  @Test
+  public void loadsIndexesThatAreVisibleToClassLoaderOnce() throws Exception {
+    File classes = folder.newFolder();
+    File indexFile = new File(classes, ComponentIndex.INDEX_LOCATION);
+    indexFile.getParentFile().mkdirs();
+    Files.write(indexFile.toPath(), Arrays.asList("component org.example.A"));
+
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] {classes.toURI().toURL()})) {
+      ComponentIndex index = ComponentIndex.get(classLoader);
+      assertTrue(index.getComponents().contains("org.example.A"));
+      assertSame(index, ComponentIndex.get(classLoader));
+    }
+  }
+
+  @Test
+  public void enablesIndexOfResourceMethodsForClassLoaderAndItsDescendants() throws Exception {
+    try (URLClassLoader parent = new URLClassLoader(new URL[0]);
+        URLClassLoader child = new URLClassLoader(new URL[0], parent)) {
+      assertFalse(ComponentIndex.isResourceMethodsEnabled(child));
+
+      ComponentIndex.setResourceMethodsEnabled(parent, true);
+      assertTrue(ComponentIndex.isResourceMethodsEnabled(parent));
+      assertTrue(ComponentIndex.isResourceMethodsEnabled(child));
+
+      ComponentIndex.setResourceMethodsEnabled(parent, false);
+      assertFalse(ComponentIndex.isResourceMethodsEnabled(child));
+    }
+  }
+
+  @Test
+  public void indexOfBootstrapClassLoaderIsEmpty() {
+    assertSame(ComponentIndex.EMPTY, ComponentIndex.get(null));
+  }
+
+  public interface Sample {
+    void add(String a, int[] b, Object[][] c, long d, List<String> e);
+
+    String get();
+  }
+}
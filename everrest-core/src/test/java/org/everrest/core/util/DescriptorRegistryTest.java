@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.util;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.cache.CacheStats;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.Test;
+
+public class DescriptorRegistryTest {
+  @Test
+  public void createsDescriptorOnceAndCountsHitsAndMisses() {
+    AtomicInteger created = new AtomicInteger();
+    DescriptorRegistry<String> registry =
+        DescriptorRegistry.create(
+            "test-counters",
+            aClass -> {
+              created.incrementAndGet();
+              return aClass.getSimpleName();
+            });
+
+    String descriptor = registry.get(String.class);
+    assertEquals("String", descriptor);
+    assertSame(descriptor, registry.get(String.class));
+    assertEquals("Integer", registry.get(Integer.class));
+
+    assertEquals(2, created.get());
+    assertEquals(2, registry.getSize());
+    CacheStats stats = registry.stats();
+    assertEquals(1, stats.hitCount());
+    assertEquals(2, stats.missCount());
+    assertEquals(2, stats.loadSuccessCount());
+    assertEquals(0, stats.loadExceptionCount());
+  }
+
+  @Test
+  public void triesToCreateDescriptorAgainWhenPreviousAttemptFailed() {
+    AtomicInteger attempts = new AtomicInteger();
+    DescriptorRegistry<String> registry =
+        DescriptorRegistry.create(
+            "test-failures",
+            aClass -> {
+              if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("first attempt");
+              }
+              return aClass.getSimpleName();
+            });
+
+    try {
+      registry.get(String.class);
+      fail("IllegalStateException expected");
+    } catch (IllegalStateException expected) {
+    }
+    assertEquals("String", registry.get(String.class));
+
+    assertEquals(1, registry.getLoadExceptionCount());
+    assertEquals(2, registry.getMissCount());
+    assertEquals(1, registry.getSize());
+  }
+
+  @Test
+  public void warmsUpDescriptors() {
+    DescriptorRegistry<String> registry =
+        DescriptorRegistry.create("test-warm-up", Class::getSimpleName);
+
+    registry.warmUp(newArrayList(String.class, Integer.class));
+    assertEquals(2, registry.warmUp(new String[] {"java.lang.Long", "java.lang.Integer", "x.Y"}));
+
+    assertEquals(3, registry.getSize());
+    assertEquals(3, registry.getMissCount());
+    assertEquals(1, registry.getHitCount());
+    assertEquals("Integer", registry.get(Integer.class));
+    assertEquals(2, registry.getHitCount());
+  }
+
+  @Test
+  public void keepsDescriptorsInClassValueOnlyForClassesOfOwnClassLoaderAndItsDescendants()
+      throws Exception {
+    URLClassLoader childClassLoader =
+        new URLClassLoader(new URL[0], DescriptorRegistry.class.getClassLoader());
+    Class<?> proxyClass =
+        Proxy.getProxyClass(childClassLoader, DescriptorRegistryMXBean.class, Runnable.class);
+
+    assertTrue(DescriptorRegistry.isLoadedByOwnClassLoader(DescriptorRegistryTest.class));
+    assertTrue(DescriptorRegistry.isLoadedByOwnClassLoader(proxyClass));
+    assertFalse(DescriptorRegistry.isLoadedByOwnClassLoader(String.class));
+  }
+
+  @Test
+  public void createsDescriptorOfJdkClassOnce() {
+    AtomicInteger created = new AtomicInteger();
+    DescriptorRegistry<String> registry =
+        DescriptorRegistry.create(
+            "test-jdk-classes",
+            aClass -> {
+              created.incrementAndGet();
+              return aClass.getSimpleName();
+            });
+
+    String descriptor = registry.get(UUID.class);
+    assertSame(descriptor, registry.get(UUID.class));
+
+    assertEquals(1, created.get());
+    assertEquals(1, registry.getSize());
+    assertEquals(1, registry.getHitCount());
+  }
+
+  @Test
+  public void registersAndUnregistersMBeans() throws Exception {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    DescriptorRegistry<String> registry =
+        DescriptorRegistry.create("test-jmx", Class::getSimpleName);
+    registry.get(String.class);
+
+    DescriptorRegistry.registerMBeans("/test");
+    DescriptorRegistry<String> createdLater =
+        DescriptorRegistry.create("test-jmx-later", Class::getSimpleName);
+    ObjectName objectName = DescriptorRegistry.getObjectName(registry, "/test");
+    try {
+      assertTrue(server.isRegistered(objectName));
+      assertTrue(server.isRegistered(DescriptorRegistry.getObjectName(createdLater, "/test")));
+      assertEquals(1L, server.getAttribute(objectName, "Size"));
+      assertEquals(1L, server.getAttribute(objectName, "MissCount"));
+      assertEquals(
+          1,
+          server.invoke(
+              objectName,
+              "warmUp",
+              new Object[] {new String[] {"java.lang.Integer"}},
+              new String[] {String[].class.getName()}));
+    } finally {
+      DescriptorRegistry.unregisterMBeans("/test");
+    }
+    assertFalse(server.isRegistered(objectName));
+  }
+
+  @Test
+  public void loadsClassesWithClassLoaderOfContextWhenWarmUpIsInvokedThroughJmx() throws Exception {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    DescriptorRegistry<String> registry =
+        DescriptorRegistry.create("test-jmx-class-loader", Class::getSimpleName);
+    DescriptorRegistry.registerMBeans("/test-class-loader", getClass().getClassLoader());
+    Thread thread = Thread.currentThread();
+    ClassLoader contextClassLoader = thread.getContextClassLoader();
+    // Context class loader of JMX connector thread does not see classes of application
+    try (URLClassLoader connectorClassLoader = new URLClassLoader(new URL[0], null)) {
+      thread.setContextClassLoader(connectorClassLoader);
+      assertEquals(
+          1,
+          server.invoke(
+              DescriptorRegistry.getObjectName(registry, "/test-class-loader"),
+              "warmUp",
+              new Object[] {new String[] {getClass().getName()}},
+              new String[] {String[].class.getName()}));
+      assertEquals(1, registry.getSize());
+    } finally {
+      thread.setContextClassLoader(contextClassLoader);
+      DescriptorRegistry.unregisterMBeans("/test-class-loader");
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.core.util;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ThreadPerTaskExecutorTest {
+  private ThreadPerTaskExecutor executor;
+  private CountDownLatch release;
+
+  @Before
+  public void setUp() throws Exception {
+    executor = new ThreadPerTaskExecutor(Executors.defaultThreadFactory(), 2, "Too many tasks");
+    release = new CountDownLatch(1);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void runsEachTaskInNewThread() throws Exception {
+    AtomicReference<Thread> first = new AtomicReference<>();
+    AtomicReference<Thread> second = new AtomicReference<>();
+
+    executor.submit(() -> first.set(Thread.currentThread())).get(5, SECONDS);
+    executor.submit(() -> second.set(Thread.currentThread())).get(5, SECONDS);
+
+    assertNotSame(first.get(), second.get());
+  }
+
+  @Test
+  public void rejectsTaskWhenMaxNumberOfTasksIsRunning() throws Exception {
+    CountDownLatch started = new CountDownLatch(2);
+    executor.execute(() -> block(started));
+    executor.execute(() -> block(started));
+    assertTrue(started.await(5, SECONDS));
+    assertEquals(2, executor.getActiveCount());
+
+    try {
+      executor.execute(() -> {});
+      fail("RejectedExecutionException is expected");
+    } catch (RejectedExecutionException e) {
+      assertEquals("Too many tasks", e.getMessage());
+    }
+
+    release.countDown();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, SECONDS));
+    assertEquals(0, executor.getActiveCount());
+  }
+
+  @Test
+  public void interruptsRunningTasksWhenExecutorIsShutDownNow() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    executor.execute(
+        () -> {
+          started.countDown();
+          try {
+            new CountDownLatch(1).await();
+          } catch (InterruptedException e) {
+            interrupted.countDown();
+          }
+        });
+    assertTrue(started.await(5, SECONDS));
+
+    executor.shutdownNow();
+
+    assertTrue(interrupted.await(5, SECONDS));
+    assertTrue(executor.awaitTermination(5, SECONDS));
+    assertTrue(executor.isTerminated());
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void rejectsTaskWhenExecutorIsShutDown() {
+    executor.shutdown();
+    executor.execute(() -> {});
+  }
+
+  @Test
+  public void doesNotTerminateUntilTasksAreCompleted() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    executor.execute(() -> block(started));
+    assertTrue(started.await(5, SECONDS));
+
+    executor.shutdown();
+
+    assertFalse(executor.awaitTermination(100, TimeUnit.MILLISECONDS));
+    release.countDown();
+    assertTrue(executor.awaitTermination(5, SECONDS));
+  }
+
+  @Test
+  public void createsExecutorThatRunsTasksInVirtualOrPlatformThreads() throws Exception {
+    ThreadPerTaskExecutor virtualThreadExecutor =
+        ThreadPerTaskExecutor.newVirtualThreadExecutor("test-", 1, "Too many tasks");
+    try {
+      AtomicReference<String> name = new AtomicReference<>();
+      virtualThreadExecutor
+          .submit(() -> name.set(Thread.currentThread().getName()))
+          .get(5, SECONDS);
+      assertTrue(name.get(), name.get().startsWith("test-"));
+    } finally {
+      virtualThreadExecutor.shutdownNow();
+    }
+  }
+
+  private void block(CountDownLatch started) {
+    started.countDown();
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
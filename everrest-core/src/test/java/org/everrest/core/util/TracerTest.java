@@ -18,7 +18,6 @@ import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import jakarta.ws.rs.core.MultivaluedHashMap;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.GenericContainerResponse;
 import org.everrest.core.util.Tracer.TraceHolder;
@@ -42,13 +41,12 @@ public class TracerTest {
   }
 
   @Test
-  public void tracingIsDisabledByDefault() throws Exception {
-    when(applicationContext.getQueryParameters()).thenReturn(new MultivaluedHashMap<>());
+  public void tracingIsDisabledWhenItIsDisabledInApplicationContext() throws Exception {
     assertFalse(Tracer.isTracingEnabled());
   }
 
   @Test
-  public void enablesTracingByQueryParameter() throws Exception {
+  public void tracingIsEnabledWhenItIsEnabledInApplicationContext() throws Exception {
     enableTracing();
     assertTrue(Tracer.isTracingEnabled());
   }
@@ -91,7 +89,19 @@ public class TracerTest {
     inOrder.verify(containerResponse.getHttpHeaders()).add("EverRest-Trace-002", "bar 2");
   }
 
+  @Test
+  public void doesNotFormatTraceMessageWhenTracingIsDisabled() throws Exception {
+    Tracer.trace(
+        "foo %s",
+        new Object() {
+          @Override
+          public String toString() {
+            throw new AssertionError("Message must not be formatted");
+          }
+        });
+  }
+
   private void enableTracing() {
-    when((Object) applicationContext.getQueryParameters().getFirst("tracing")).thenReturn("true");
+    when(applicationContext.isTracingEnabled()).thenReturn(true);
   }
 }
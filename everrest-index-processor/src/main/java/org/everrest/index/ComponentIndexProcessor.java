@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.index;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.tools.StandardLocation.CLASS_OUTPUT;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.NoSuchFileException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.QualifiedNameable;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+
+/**
+ * Generates index of JAX-RS components and resource methods at build time, so EverRest does not
+ * need to scan class path and to check with reflection all methods of resource classes when
+ * application is started. Processor is enabled by adding this artifact to class path of compiler,
+ * or to {@code annotationProcessorPaths} of {@code maven-compiler-plugin}.
+ *
+ * <p>Index is written to {@value #INDEX_LOCATION} in class output directory. It is text file in
+ * UTF-8, each line contains keyword and space separated values:
+ *
+ * <pre>
+ * component org.example.BookService
+ * resource org.example.BookService getBook(java.lang.String) getBooks() addBook(org.example.Book)
+ * </pre>
+ *
+ * <ul>
+ *   <li>{@code component}: top level concrete class annotated with {@code @Path}, {@code @Provider}
+ *       or {@code @org.everrest.core.Filter}, i.e. class that is found by class path scanning
+ *   <li>{@code resource}: class and signatures of methods that have {@code @Path} or HTTP method
+ *       annotation themselves or in superclasses and interfaces. Signature consists of name of
+ *       method and names of erased types of its parameters in format of {@link Class#getName()}.
+ *       Class that has no such methods is not included.
+ * </ul>
+ *
+ * Components of index that was created by previous compilation are kept for classes that still
+ * exist and are not compiled again, so index is valid after incremental compilation. Resource
+ * methods of such classes are collected again from compiled classes, because a superclass or an
+ * interface may be changed even if class itself is not compiled again.
+ */
+@SupportedAnnotationTypes("*")
+public class ComponentIndexProcessor extends AbstractProcessor {
+  public static final String INDEX_LOCATION = "META-INF/everrest/components.idx";
+
+  static final String COMPONENT = "component";
+  static final String RESOURCE = "resource";
+
+  private static final String PATH = "jakarta.ws.rs.Path";
+  private static final String HTTP_METHOD = "jakarta.ws.rs.HttpMethod";
+  private static final Set<String> COMPONENT_ANNOTATIONS =
+      Set.of(PATH, "jakarta.ws.rs.ext.Provider", "org.everrest.core.Filter");
+
+  /** Binary names of classes that are processed in this compilation. */
+  private final Set<String> processed = new HashSet<>();
+
+  private final Set<String> components = new TreeSet<>();
+  private final Map<String, Set<String>> resourceMethods = new TreeMap<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (roundEnv.processingOver()) {
+      writeIndex();
+    } else {
+      for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+        processType(type);
+      }
+    }
+    return false;
+  }
+
+  private void processType(TypeElement type) {
+    if (type.getKind() == ElementKind.CLASS) {
+      String className = getBinaryName(type);
+      processed.add(className);
+      if (isComponent(type)) {
+        components.add(className);
+      }
+      Set<String> methods = new TreeSet<>();
+      if (collectResourceMethods(type, methods, new HashSet<>()) && !methods.isEmpty()) {
+        resourceMethods.put(className, methods);
+      }
+    }
+    for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+      processType(nested);
+    }
+  }
+
+  private boolean isComponent(TypeElement type) {
+    if (type.getNestingKind() != NestingKind.TOP_LEVEL
+        || type.getModifiers().contains(Modifier.ABSTRACT)) {
+      return false;
+    }
+    for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+      if (COMPONENT_ANNOTATIONS.contains(getName(annotation))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Collects signatures of resource methods of type and all its supertypes. Runtime looks up
+   * annotations of method in superclasses and interfaces by name and types of parameters, so it is
+   * enough to collect signatures of methods that have annotations.
+   *
+   * @return {@code false} if signature of some resource method can't be resolved, e.g. type of
+   *     parameter is unknown, and index must not contain methods of this type
+   */
+  private boolean collectResourceMethods(
+      TypeElement type, Set<String> methods, Set<String> visited) {
+    if (!visited.add(getBinaryName(type))) {
+      return true;
+    }
+    for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+      if (isResourceMethod(method)) {
+        String signature = getSignature(method);
+        if (signature == null) {
+          return false;
+        }
+        methods.add(signature);
+      }
+    }
+    TypeMirror superclass = type.getSuperclass();
+    if (superclass.getKind() == TypeKind.DECLARED) {
+      TypeElement superElement = (TypeElement) ((DeclaredType) superclass).asElement();
+      if (!superElement.getQualifiedName().contentEquals(Object.class.getName())
+          && !collectResourceMethods(superElement, methods, visited)) {
+        return false;
+      }
+    } else if (superclass.getKind() == TypeKind.ERROR) {
+      return false;
+    }
+    for (TypeMirror anInterface : type.getInterfaces()) {
+      if (anInterface.getKind() != TypeKind.DECLARED
+          || !collectResourceMethods(
+              (TypeElement) ((DeclaredType) anInterface).asElement(), methods, visited)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isResourceMethod(ExecutableElement method) {
+    for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+      if (PATH.equals(getName(annotation))) {
+        return true;
+      }
+      for (AnnotationMirror metaAnnotation :
+          annotation.getAnnotationType().asElement().getAnnotationMirrors()) {
+        if (HTTP_METHOD.equals(getName(metaAnnotation))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static String getName(AnnotationMirror annotation) {
+    Element element = annotation.getAnnotationType().asElement();
+    return element instanceof QualifiedNameable
+        ? ((QualifiedNameable) element).getQualifiedName().toString()
+        : null;
+  }
+
+  private String getSignature(ExecutableElement method) {
+    StringBuilder signature = new StringBuilder(method.getSimpleName()).append('(');
+    boolean first = true;
+    for (VariableElement parameter : method.getParameters()) {
+      String typeName = getClassName(processingEnv.getTypeUtils().erasure(parameter.asType()));
+      if (typeName == null) {
+        return null;
+      }
+      if (!first) {
+        signature.append(',');
+      }
+      signature.append(typeName);
+      first = false;
+    }
+    return signature.append(')').toString();
+  }
+
+  /** Gets name of type in format of {@link Class#getName()}. */
+  private String getClassName(TypeMirror type) {
+    switch (type.getKind()) {
+      case DECLARED:
+        return getBinaryName((TypeElement) ((DeclaredType) type).asElement());
+      case ARRAY:
+        String componentDescriptor = getDescriptor(((ArrayType) type).getComponentType());
+        return componentDescriptor == null ? null : '[' + componentDescriptor;
+      case BOOLEAN:
+      case BYTE:
+      case CHAR:
+      case SHORT:
+      case INT:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+        return type.getKind().name().toLowerCase();
+      default:
+        return null;
+    }
+  }
+
+  private String getDescriptor(TypeMirror type) {
+    switch (type.getKind()) {
+      case BOOLEAN:
+        return "Z";
+      case BYTE:
+        return "B";
+      case CHAR:
+        return "C";
+      case SHORT:
+        return "S";
+      case INT:
+        return "I";
+      case LONG:
+        return "J";
+      case FLOAT:
+        return "F";
+      case DOUBLE:
+        return "D";
+      case ARRAY:
+        String componentDescriptor = getDescriptor(((ArrayType) type).getComponentType());
+        return componentDescriptor == null ? null : '[' + componentDescriptor;
+      case DECLARED:
+        return 'L' + getClassName(type) + ';';
+      default:
+        return null;
+    }
+  }
+
+  private String getBinaryName(TypeElement type) {
+    return processingEnv.getElementUtils().getBinaryName(type).toString();
+  }
+
+  private void writeIndex() {
+    readPreviousIndex();
+    if (components.isEmpty() && resourceMethods.isEmpty()) {
+      return;
+    }
+    try {
+      FileObject index = processingEnv.getFiler().createResource(CLASS_OUTPUT, "", INDEX_LOCATION);
+      try (Writer writer = new OutputStreamWriter(index.openOutputStream(), UTF_8)) {
+        writer.write("# Generated by " + getClass().getName() + "\n");
+        for (String component : components) {
+          writer.write(COMPONENT + ' ' + component + '\n');
+        }
+        for (Map.Entry<String, Set<String>> entry : resourceMethods.entrySet()) {
+          writer.write(RESOURCE + ' ' + entry.getKey());
+          for (String method : entry.getValue()) {
+            writer.write(' ' + method);
+          }
+          writer.write('\n');
+        }
+      }
+    } catch (IOException e) {
+      processingEnv
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.ERROR, "Unable write " + INDEX_LOCATION + ", " + e.getMessage());
+    }
+  }
+
+  /**
+   * Adds entries of classes that are not compiled this time but still exist. Resource methods of
+   * these classes are not copied from previous index but collected again, so methods that are added
+   * to or removed from recompiled supertypes are not missed.
+   */
+  private void readPreviousIndex() {
+    try {
+      FileObject index = processingEnv.getFiler().getResource(CLASS_OUTPUT, "", INDEX_LOCATION);
+      try (BufferedReader reader =
+          new BufferedReader(new InputStreamReader(index.openInputStream(), UTF_8))) {
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+          String[] values = line.trim().split(" ");
+          if (values.length < 2 || processed.contains(values[1]) || !exists(values[1])) {
+            continue;
+          }
+          if (COMPONENT.equals(values[0])) {
+            components.add(values[1]);
+          } else if (RESOURCE.equals(values[0])) {
+            Set<String> methods = new TreeSet<>();
+            if (collectResourceMethods(getTypeElement(values[1]), methods, new HashSet<>())
+                && !methods.isEmpty()) {
+              resourceMethods.put(values[1], methods);
+            }
+          }
+        }
+      }
+    } catch (FileNotFoundException | NoSuchFileException ignored) {
+      // No index from previous compilation
+    } catch (IOException | IllegalArgumentException e) {
+      processingEnv
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.NOTE,
+              "Index " + INDEX_LOCATION + " of previous compilation is ignored, " + e.getMessage());
+    }
+  }
+
+  private boolean exists(String binaryName) {
+    return getTypeElement(binaryName) != null;
+  }
+
+  private TypeElement getTypeElement(String binaryName) {
+    return processingEnv.getElementUtils().getTypeElement(binaryName.replace('$', '.'));
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.index;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static org.everrest.index.ComponentIndexProcessor.INDEX_LOCATION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ComponentIndexProcessorTest {
+  private static final String BOOK_API =
+      "package test;\n"
+          + "import jakarta.ws.rs.*;\n"
+          + "public interface BookApi {\n"
+          + "  @GET @Path(\"{id}\") String get(@PathParam(\"id\") long id);\n"
+          + "  void notResourceMethod();\n"
+          + "}\n";
+  private static final String BASE_SERVICE =
+      "package test;\n"
+          + "import jakarta.ws.rs.*;\n"
+          + "public abstract class BaseService<T> {\n"
+          + "  @POST public void add(T item) {}\n"
+          + "  @DELETE public void remove(String[] ids, int[][] versions) {}\n"
+          + "}\n";
+  private static final String BOOK_SERVICE =
+      "package test;\n"
+          + "import jakarta.ws.rs.*;\n"
+          + "@Path(\"books\")\n"
+          + "public class BookService extends BaseService<String> implements BookApi {\n"
+          + "  public String get(long id) { return null; }\n"
+          + "  public void notResourceMethod() {}\n"
+          + "  @Path(\"{id}/authors\") public Authors authors() { return new Authors(); }\n"
+          + "  public static class Authors {\n"
+          + "    @GET public java.util.List<String> list(@QueryParam(\"q\") String q) { return null; }\n"
+          + "  }\n"
+          + "}\n";
+  private static final String WRITER =
+      "package test;\n" + "@jakarta.ws.rs.ext.Provider\n" + "public class Writer {}\n";
+  private static final String ABSTRACT_SERVICE =
+      "package test;\n"
+          + "@jakarta.ws.rs.Path(\"abstract\")\n"
+          + "public abstract class AbstractService {}\n";
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void indexesTopLevelConcreteComponents() throws Exception {
+    File output = compile(BOOK_API, BASE_SERVICE, BOOK_SERVICE, WRITER, ABSTRACT_SERVICE);
+
+    List<String> components =
+        readIndex(output).stream().filter(line -> line.startsWith("component ")).collect(toList());
+    assertEquals(Arrays.asList("component test.BookService", "component test.Writer"), components);
+  }
+
+  @Test
+  public void indexesResourceMethodsDeclaredInClassAndSupertypes() throws Exception {
+    File output = compile(BOOK_API, BASE_SERVICE, BOOK_SERVICE);
+
+    Map<String, String> resources = readResources(output);
+    assertEquals(
+        "add(java.lang.Object) authors() get(long) remove([Ljava.lang.String;,[[I)",
+        resources.get("test.BookService"));
+    assertEquals("list(java.lang.String)", resources.get("test.BookService$Authors"));
+    assertFalse(resources.containsKey("test.BookApi"));
+  }
+
+  @Test
+  public void signaturesOfMethodsMatchCompiledMethods() throws Exception {
+    File output = compile(BOOK_API, BASE_SERVICE, BOOK_SERVICE);
+
+    try (URLClassLoader classLoader =
+        new URLClassLoader(new URL[] {output.toURI().toURL()}, getClass().getClassLoader())) {
+      Class<?> bookService = classLoader.loadClass("test.BookService");
+      List<String> signatures = new ArrayList<>();
+      for (Class<?> aClass = bookService; aClass != Object.class; aClass = aClass.getSuperclass()) {
+        for (Method method : aClass.getDeclaredMethods()) {
+          signatures.add(
+              method.getName()
+                  + Arrays.stream(method.getParameterTypes())
+                      .map(Class::getName)
+                      .collect(joining(",", "(", ")")));
+        }
+      }
+      for (String signature : readResources(output).get("test.BookService").split(" ")) {
+        assertTrue(signature, signatures.contains(signature));
+      }
+    }
+  }
+
+  @Test
+  public void keepsEntriesOfClassesThatAreNotCompiledAgain() throws Exception {
+    File output = compile(BOOK_API, BASE_SERVICE, BOOK_SERVICE, WRITER);
+
+    compile(output, WRITER.replace("@jakarta.ws.rs.ext.Provider", ""));
+
+    List<String> index = readIndex(output);
+    assertTrue(index.contains("component test.BookService"));
+    assertFalse(index.contains("component test.Writer"));
+    assertTrue(readResources(output).containsKey("test.BookService"));
+  }
+
+  @Test
+  public void collectsAgainResourceMethodsOfClassWhenOnlyItsSuperclassIsCompiledAgain()
+      throws Exception {
+    File output = compile(BOOK_API, BASE_SERVICE, BOOK_SERVICE);
+
+    compile(
+        output,
+        BASE_SERVICE.replace(
+            "  @DELETE public void remove(String[] ids, int[][] versions) {}\n",
+            "  @GET @Path(\"count\") public int count() { return 0; }\n"));
+
+    assertEquals(
+        "add(java.lang.Object) authors() count() get(long)",
+        readResources(output).get("test.BookService"));
+  }
+
+  @Test
+  public void doesNotCreateIndexWhenThereAreNoComponents() throws Exception {
+    File output = compile("package test;\npublic class Foo {}\n");
+
+    assertFalse(new File(output, INDEX_LOCATION).exists());
+  }
+
+  private File compile(String... sources) throws IOException {
+    return compile(folder.newFolder(), sources);
+  }
+
+  private File compile(File output, String... sources) {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    List<JavaFileObject> files = new ArrayList<>();
+    for (String source : sources) {
+      String className = source.replaceAll("(?s).*?\\b(?:class|interface) (\\w+).*", "$1");
+      files.add(new Source("test/" + className, source));
+    }
+    List<String> options =
+        Arrays.asList(
+            "-d",
+            output.getAbsolutePath(),
+            "-classpath",
+            output.getAbsolutePath() + File.pathSeparator + System.getProperty("java.class.path"));
+    JavaCompiler.CompilationTask task = compiler.getTask(null, null, null, options, null, files);
+    task.setProcessors(Collections.singletonList(new ComponentIndexProcessor()));
+    assertTrue(task.call());
+    return output;
+  }
+
+  private static List<String> readIndex(File output) throws IOException {
+    return Files.readAllLines(new File(output, INDEX_LOCATION).toPath(), UTF_8);
+  }
+
+  private static Map<String, String> readResources(File output) throws IOException {
+    Map<String, String> resources = new TreeMap<>();
+    for (String line : readIndex(output)) {
+      if (line.startsWith("resource ")) {
+        String[] values = line.split(" ", 3);
+        resources.put(values[1], values.length > 2 ? values[2] : "");
+      }
+    }
+    return resources;
+  }
+
+  private static class Source extends SimpleJavaFileObject {
+    private final String source;
+
+    Source(String path, String source) {
+      super(URI.create("string:///" + path + Kind.SOURCE.extension), Kind.SOURCE);
+      this.source = source;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return source;
+    }
+  }
+}
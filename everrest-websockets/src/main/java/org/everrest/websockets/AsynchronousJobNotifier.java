@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.websockets;
+
+import jakarta.websocket.EncodeException;
+import java.io.IOException;
+import org.everrest.core.GenericContainerRequest;
+import org.everrest.core.impl.async.AsynchronousJob;
+import org.everrest.core.impl.async.AsynchronousJobListener;
+import org.everrest.core.impl.async.AsynchronousJobPool;
+import org.everrest.core.impl.provider.json.LongValue;
+import org.everrest.core.impl.provider.json.ObjectValue;
+import org.everrest.core.impl.provider.json.StringValue;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Notifies clients over WebSocket when asynchronous job is done, so they need not poll for result
+ * of job. Notification is sent to channel that client names in header {@value #CHANNEL_HEADER} of
+ * request that starts job, client should subscribe to this channel before sending request. Body of
+ * notification contains id and URI of job, e.g. {@code {"jobId":1,"jobUri":"/async/1"}}, client
+ * gets result with single request to URI of job. Requests without header are not notified, jobs
+ * that are removed from pool before they are done are not notified either.
+ *
+ * @see WSConnection#subscribeToChannel(String)
+ */
+public class AsynchronousJobNotifier implements AsynchronousJobListener {
+  private static final Logger LOG = LoggerFactory.getLogger(AsynchronousJobNotifier.class);
+
+  /** Name of header of request that contains name of channel for notification. */
+  public static final String CHANNEL_HEADER = "x-everrest-async-channel";
+
+  private final AsynchronousJobPool pool;
+
+  public AsynchronousJobNotifier(AsynchronousJobPool pool) {
+    this.pool = pool;
+  }
+
+  @Override
+  public void done(AsynchronousJob job) {
+    final GenericContainerRequest request =
+        (GenericContainerRequest) job.getContext().get("org.everrest.async.request");
+    if (request == null) {
+      return;
+    }
+    final String channel = request.getRequestHeaders().getFirst(CHANNEL_HEADER);
+    // Job that is cancelled or expired is removed from pool before it is done.
+    if (channel == null || pool.getJob(job.getJobId()) != job) {
+      return;
+    }
+    final ObjectValue body = new ObjectValue();
+    body.addElement("jobId", new LongValue(job.getJobId()));
+    body.addElement("jobUri", new StringValue(job.getJobURI()));
+    final ChannelBroadcastMessage message = new ChannelBroadcastMessage();
+    message.setChannel(channel);
+    message.setBody(body.toString());
+    try {
+      WSConnectionContext.sendMessage(message);
+    } catch (EncodeException | IOException e) {
+      LOG.warn("Unable notify about asynchronous job {}, {}", job.getJobId(), e.getMessage());
+    }
+  }
+}
@@ -28,6 +28,7 @@ import jakarta.websocket.server.HandshakeRequest;
 import jakarta.websocket.server.ServerContainer;
 import jakarta.websocket.server.ServerEndpointConfig;
 import jakarta.ws.rs.core.SecurityContext;
+import jakarta.ws.rs.ext.ContextResolver;
 import java.security.Principal;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -39,10 +40,12 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicLong;
 import org.everrest.core.impl.EverrestConfiguration;
 import org.everrest.core.impl.EverrestProcessor;
+import org.everrest.core.impl.async.AsynchronousJobPool;
 import org.everrest.core.impl.provider.json.JsonException;
 import org.everrest.core.tools.SimplePrincipal;
 import org.everrest.core.tools.SimpleSecurityContext;
 import org.everrest.core.tools.WebApplicationDeclaredRoles;
+import org.everrest.core.util.ThreadPerTaskExecutor;
 import org.everrest.websockets.message.BaseTextDecoder;
 import org.everrest.websockets.message.BaseTextEncoder;
 import org.everrest.websockets.message.JsonMessageConverter;
@@ -62,6 +65,9 @@ public class ServerContainerInitializeListener implements ServletContextListener
   private WebApplicationDeclaredRoles webApplicationDeclaredRoles;
   private EverrestConfiguration everrestConfiguration;
   private ServerEndpointConfig serverEndpointConfig;
+  private AsynchronousJobPool asynchronousJobPool;
+  private AsynchronousJobNotifier asynchronousJobNotifier;
+  private ExecutorService broadcastExecutor;
 
   @Override
   public final void contextInitialized(ServletContextEvent sce) {
@@ -80,10 +86,24 @@ public class ServerContainerInitializeListener implements ServletContextListener
     } catch (DeploymentException e) {
       throw new IllegalStateException(e.getMessage(), e);
     }
+    broadcastExecutor = createBroadcastExecutor(servletContext);
+    WSConnectionContext.setBroadcastExecutor(broadcastExecutor);
+    asynchronousJobPool = getAsynchronousJobPool(servletContext);
+    if (asynchronousJobPool != null) {
+      asynchronousJobNotifier = new AsynchronousJobNotifier(asynchronousJobPool);
+      asynchronousJobPool.registerListener(asynchronousJobNotifier);
+    }
   }
 
   @Override
   public void contextDestroyed(ServletContextEvent sce) {
+    if (asynchronousJobNotifier != null) {
+      asynchronousJobPool.unregisterListener(asynchronousJobNotifier);
+    }
+    if (broadcastExecutor != null) {
+      WSConnectionContext.setBroadcastExecutor(null);
+      broadcastExecutor.shutdownNow();
+    }
     if (serverEndpointConfig != null) {
       ExecutorService executor =
           (ExecutorService) serverEndpointConfig.getUserProperties().get(EXECUTOR_ATTRIBUTE);
@@ -134,12 +154,43 @@ public class ServerContainerInitializeListener implements ServletContextListener
     return (EverrestProcessor) servletContext.getAttribute(EVERREST_PROCESSOR_ATTRIBUTE);
   }
 
+  /**
+   * Gets pool of asynchronous jobs of {@link EverrestProcessor}. Clients are notified over
+   * WebSocket when jobs of this pool are done, see {@link AsynchronousJobNotifier}.
+   *
+   * @return pool of asynchronous jobs or {@code null} if asynchronous jobs are not supported
+   */
+  protected AsynchronousJobPool getAsynchronousJobPool(ServletContext servletContext) {
+    final EverrestProcessor everrestProcessor = getEverrestProcessor(servletContext);
+    if (everrestProcessor != null) {
+      final ContextResolver<AsynchronousJobPool> asyncJobsResolver =
+          everrestProcessor.getProviders().getContextResolver(AsynchronousJobPool.class, null);
+      if (asyncJobsResolver != null) {
+        return asyncJobsResolver.getContext(null);
+      }
+    }
+    return null;
+  }
+
   protected EverrestConfiguration getEverrestConfiguration(ServletContext servletContext) {
     return everrestConfiguration;
   }
 
+  /**
+   * Creates executor of REST requests that are received over WebSocket. If virtual threads are
+   * enabled with {@link EverrestConfiguration#EVERREST_ASYNCHRONOUS_VIRTUAL_THREADS} then each
+   * request is processed in its own virtual thread and number of requests that are processed
+   * concurrently is limited to sum of size of pool and size of queue of asynchronous jobs.
+   */
   protected ExecutorService createExecutor(ServletContext servletContext) {
     final EverrestConfiguration everrestConfiguration = getEverrestConfiguration(servletContext);
+    if (everrestConfiguration.isAsynchronousVirtualThreads()) {
+      return ThreadPerTaskExecutor.newVirtualThreadExecutor(
+          "everrest.WSConnection",
+          everrestConfiguration.getAsynchronousPoolSize()
+              + everrestConfiguration.getAsynchronousQueueSize(),
+          "Too many requests in progress");
+    }
     return Executors.newFixedThreadPool(
         everrestConfiguration.getAsynchronousPoolSize(),
         new ThreadFactory() {
@@ -152,6 +203,30 @@ public class ServerContainerInitializeListener implements ServletContextListener
         });
   }
 
+  /**
+   * Creates executor that sends messages broadcast to channels to subscribers in parallel, see
+   * {@link WSConnectionContext#setBroadcastExecutor(java.util.concurrent.Executor)}. Size of pool
+   * is set with {@link EverrestConfiguration#EVERREST_WEBSOCKET_BROADCAST_THREADS}.
+   *
+   * @return executor or {@code null} if messages should be sent in thread that broadcasts them
+   */
+  protected ExecutorService createBroadcastExecutor(ServletContext servletContext) {
+    final int threads = getEverrestConfiguration(servletContext).getWebSocketBroadcastThreads();
+    if (threads <= 0) {
+      return null;
+    }
+    return Executors.newFixedThreadPool(
+        threads,
+        new ThreadFactory() {
+          @Override
+          public Thread newThread(Runnable r) {
+            final Thread t = new Thread(r, "everrest.WSBroadcast" + sequence.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+          }
+        });
+  }
+
   protected SecurityContext createSecurityContext(HandshakeRequest req) {
     final boolean isSecure = false; // todo: get somehow from request
     final Principal principal = req.getUserPrincipal();
@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import org.everrest.core.impl.ContainerRequest;
 import org.everrest.core.impl.ContainerResponse;
 import org.everrest.core.impl.EnvironmentContext;
@@ -109,6 +110,28 @@ class WS2RESTAdapter implements WSMessageReceiver {
       response.setResponseCode(202);
       doSendMessage(response);
     }
+    try {
+      execute(input, request, headers, uuid);
+    } catch (RejectedExecutionException e) {
+      LOG.warn("Request {} is rejected, {}", uuid, e.getMessage());
+      final RestOutputMessage response = newOutputMessage(request);
+      response.setResponseCode(503);
+      response.setBody(e.getMessage());
+      doSendMessage(response);
+      return;
+    }
+    // send accept response
+    final RestOutputMessage restOutputMessage = newOutputMessage(request);
+    restOutputMessage.setResponseCode(202);
+    inProgress.add(uuid);
+    doSendMessage(restOutputMessage);
+  }
+
+  private void execute(
+      final InputMessage input,
+      final RestInputMessage request,
+      final MultivaluedMap<String, String> headers,
+      final String uuid) {
     executor.execute(
         new Runnable() {
           @Override
@@ -156,11 +179,6 @@ class WS2RESTAdapter implements WSMessageReceiver {
             }
           }
         });
-    // send accept response
-    final RestOutputMessage restOutputMessage = newOutputMessage(request);
-    restOutputMessage.setResponseCode(202);
-    inProgress.add(uuid);
-    doSendMessage(restOutputMessage);
   }
 
   private void sendPongMessage(RestInputMessage pingMessage) {
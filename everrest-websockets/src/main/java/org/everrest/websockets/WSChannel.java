@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.websockets;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Channel that has at least one subscribed connection. Keeps subscribers of channel, so broadcast
+ * messages are sent without looking through all open connections, and statistics of messages that
+ * are broadcast to channel. Channel and its statistics are removed from {@link WSConnectionContext}
+ * when the last subscriber leaves it.
+ *
+ * @see WSConnectionContext#getChannel(String)
+ */
+public final class WSChannel {
+  private final String name;
+  final Set<WSConnectionImpl> subscribers = ConcurrentHashMap.newKeySet();
+
+  private final LongAdder messageCount = new LongAdder();
+  private final LongAdder deliveredCount = new LongAdder();
+  private final LongAdder failedCount = new LongAdder();
+  private final LongAdder totalBroadcastTime = new LongAdder();
+
+  WSChannel(String name) {
+    this.name = name;
+  }
+
+  void recordBroadcast(long nanos) {
+    messageCount.increment();
+    totalBroadcastTime.add(nanos);
+  }
+
+  void recordDelivery() {
+    deliveredCount.increment();
+  }
+
+  void recordFailure() {
+    failedCount.increment();
+  }
+
+  /** @return name of channel */
+  public String getName() {
+    return name;
+  }
+
+  /** @return number of connections that are subscribed to channel */
+  public int getSubscriberCount() {
+    return subscribers.size();
+  }
+
+  /** @return number of messages that are broadcast to channel */
+  public long getMessageCount() {
+    return messageCount.sum();
+  }
+
+  /** @return number of messages that are sent to subscribers of channel */
+  public long getDeliveredCount() {
+    return deliveredCount.sum();
+  }
+
+  /** @return number of messages that are not sent to subscribers of channel because of errors */
+  public long getFailedCount() {
+    return failedCount.sum();
+  }
+
+  /** @return total time in milliseconds of sending messages to all subscribers of channel */
+  public long getTotalBroadcastTime() {
+    return TimeUnit.NANOSECONDS.toMillis(totalBroadcastTime.sum());
+  }
+
+  @Override
+  public String toString() {
+    return "WSChannel{"
+        + "name="
+        + name
+        + ", subscribers="
+        + getSubscriberCount()
+        + ", messages="
+        + getMessageCount()
+        + ", delivered="
+        + getDeliveredCount()
+        + ", failed="
+        + getFailedCount()
+        + '}';
+  }
+}
@@ -45,7 +45,7 @@ public interface WSConnection {
    *
    * @param channel channel name
    * @return <code>true</code> if this connection is subscribed to channel successfully and <code>
-   *     false</code> if connection already subscribed to specified channel
+   *     false</code> if connection already subscribed to specified channel or connection is closed
    * @see WSConnectionContext#sendMessage(org.everrest.websockets.message.ChannelBroadcastMessage)
    */
   boolean subscribeToChannel(String channel);
@@ -13,10 +13,16 @@ package org.everrest.websockets;
 
 import jakarta.websocket.EncodeException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.everrest.websockets.message.Pair;
 import org.everrest.websockets.message.RestOutputMessage;
@@ -29,6 +35,13 @@ public class WSConnectionContext {
 
   static final List<WSConnectionListener> connectionListeners = new CopyOnWriteArrayList<>();
   static final Map<Long, WSConnectionImpl> connections = new ConcurrentHashMap<>();
+  /** Channels that have subscribers, maintained when connections subscribe or are closed. */
+  static final Map<String, WSChannel> channels = new ConcurrentHashMap<>();
+
+  /** Max number of subscribers that get broadcast message in one task of broadcast executor. */
+  static final int BROADCAST_BATCH_SIZE = 256;
+
+  private static volatile Executor broadcastExecutor;
 
   public static boolean registerConnectionListener(WSConnectionListener listener) {
     return connectionListeners.add(listener);
@@ -38,34 +51,110 @@ public class WSConnectionContext {
     return connectionListeners.remove(listener);
   }
 
+  /**
+   * Set executor that sends broadcast messages to subscribers of channel in parallel. Subscribers
+   * are split in batches of {@value #BROADCAST_BATCH_SIZE} connections, the first batch is sent in
+   * thread that broadcasts message and the others are sent with executor. If executor is not set
+   * then message is sent to all subscribers in thread that broadcasts message.
+   *
+   * @param executor executor or {@code null} to send messages in thread that broadcasts them
+   */
+  public static void setBroadcastExecutor(Executor executor) {
+    broadcastExecutor = executor;
+  }
+
+  /**
+   * Get channel that has at least one subscribed connection.
+   *
+   * @param channel name of channel
+   * @return channel or {@code null} if there is no connection subscribed to the channel
+   */
+  public static WSChannel getChannel(String channel) {
+    return channels.get(channel);
+  }
+
+  /** @return all channels that have at least one subscribed connection */
+  public static Collection<WSChannel> getChannels() {
+    return Collections.unmodifiableCollection(channels.values());
+  }
+
+  static void subscribe(String channel, WSConnectionImpl connection) {
+    channels.compute(
+        channel,
+        (name, wsChannel) -> {
+          if (wsChannel == null) {
+            wsChannel = new WSChannel(name);
+          }
+          wsChannel.subscribers.add(connection);
+          return wsChannel;
+        });
+  }
+
+  static void unsubscribe(String channel, WSConnectionImpl connection) {
+    channels.computeIfPresent(
+        channel,
+        (name, wsChannel) -> {
+          wsChannel.subscribers.remove(connection);
+          return wsChannel.subscribers.isEmpty() ? null : wsChannel;
+        });
+  }
+
   /**
    * Send message to all connections subscribed to the channel. Method tries to send message to as
    * many connections as possible. Even if method fails to send message to the first connection it
    * will try to send message to other connections, if any. After that a first occurred error is
-   * rethrown.
+   * rethrown. Method returns when message is sent to all subscribers, even if it is sent in
+   * parallel with executor, see {@link #setBroadcastExecutor(Executor)}.
    *
    * @param message message
    * @throws EncodeException if message cannot be serialized
    * @throws IOException if any i/o error occurs when try to send message to client
+   * @throws IllegalStateException if container refuses to send message to open connection
    * @see org.everrest.websockets.message.ChannelBroadcastMessage#getChannel()
    */
   public static void sendMessage(ChannelBroadcastMessage message)
       throws EncodeException, IOException {
-    final String channel = message.getChannel();
+    if (message.getChannel() == null) {
+      return;
+    }
+    final WSChannel channel = channels.get(message.getChannel());
+    if (channel == null) {
+      return;
+    }
+    final long start = System.nanoTime();
     final RestOutputMessage transport = newRestOutputMessage(message);
-    Exception error = null;
-    for (WSConnectionImpl connection : connections.values()) {
-      if (connection.getChannels().contains(channel)) {
+    final List<WSConnectionImpl> subscribers = new ArrayList<>(channel.subscribers);
+    final Executor executor = broadcastExecutor;
+    Exception error;
+    if (executor == null || subscribers.size() <= BROADCAST_BATCH_SIZE) {
+      error = sendMessage(channel, subscribers, transport);
+    } else {
+      final List<CompletableFuture<Exception>> batches = new ArrayList<>();
+      for (int from = BROADCAST_BATCH_SIZE;
+          from < subscribers.size();
+          from += BROADCAST_BATCH_SIZE) {
+        final List<WSConnectionImpl> batch =
+            subscribers.subList(from, Math.min(from + BROADCAST_BATCH_SIZE, subscribers.size()));
         try {
-          connection.sendMessage(transport);
-        } catch (EncodeException | IOException e) {
-          if (error == null) {
-            error = e;
-          }
+          batches.add(
+              CompletableFuture.supplyAsync(
+                  () -> sendMessage(channel, batch, transport), executor));
+        } catch (RejectedExecutionException e) {
+          batches.add(CompletableFuture.completedFuture(sendMessage(channel, batch, transport)));
+        }
+      }
+      error = sendMessage(channel, subscribers.subList(0, BROADCAST_BATCH_SIZE), transport);
+      for (CompletableFuture<Exception> batch : batches) {
+        final Exception batchError = batch.join();
+        if (error == null) {
+          error = batchError;
         }
       }
     }
-    if (error instanceof EncodeException) {
+    channel.recordBroadcast(System.nanoTime() - start);
+    if (error instanceof IllegalStateException) {
+      throw (IllegalStateException) error;
+    } else if (error instanceof EncodeException) {
       throw (EncodeException) error;
     } else if (error != null) {
       // If error is not null then may be IOException only.
@@ -73,6 +162,39 @@ public class WSConnectionContext {
     }
   }
 
+  private static Exception sendMessage(
+      WSChannel channel, List<WSConnectionImpl> subscribers, RestOutputMessage transport) {
+    Exception error = null;
+    for (WSConnectionImpl connection : subscribers) {
+      if (!connection.isConnected()) {
+        // Connection is closed but is not removed from channels yet.
+        unsubscribe(channel.getName(), connection);
+        continue;
+      }
+      try {
+        connection.sendMessage(transport);
+        channel.recordDelivery();
+      } catch (EncodeException | IOException e) {
+        channel.recordFailure();
+        if (error == null) {
+          error = e;
+        }
+      } catch (IllegalStateException e) {
+        channel.recordFailure();
+        if (connection.isConnected()) {
+          // Not caused by closing of connection, e.g. container does not allow concurrent writes.
+          LOG.warn("Unable send message to connection {}, {}", connection.getId(), e.getMessage());
+          if (error == null) {
+            error = e;
+          }
+        } else {
+          LOG.debug("Connection {} is closed while message is sent", connection.getId());
+        }
+      }
+    }
+    return error;
+  }
+
   private static RestOutputMessage newRestOutputMessage(ChannelBroadcastMessage message) {
     final RestOutputMessage transport = new RestOutputMessage();
     transport.setUuid(message.getUuid());
@@ -97,7 +219,10 @@ public class WSConnectionContext {
           public void onClose(WSConnection connection) {
             LOG.debug(
                 "Close connection {} with status {} ", connection, connection.getCloseStatus());
-            connections.remove(connection.getId());
+            final WSConnectionImpl removed = connections.remove(connection.getId());
+            if (removed != null) {
+              removed.unsubscribeFromAllChannels();
+            }
           }
         });
   }
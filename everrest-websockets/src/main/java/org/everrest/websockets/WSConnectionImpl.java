@@ -52,6 +52,9 @@ public class WSConnectionImpl extends Endpoint implements WSConnection {
   private Session wsSession;
   private HttpSession httpSession;
   private CloseReason closeReason;
+  /** Set when connection is removed from all channels, guarded by lock of connection. */
+  private boolean unsubscribedFromAllChannels;
+
   private MessageSender messageSender;
 
   public WSConnectionImpl() {
@@ -125,20 +128,48 @@ public class WSConnectionImpl extends Endpoint implements WSConnection {
     return wsSession;
   }
 
+  /**
+   * Channels of connection and index of subscribers in {@link WSConnectionContext} are updated
+   * together under lock of connection, so concurrent subscribing and unsubscribing can't leave
+   * connection in index of channel it has left. Closed connection can't be subscribed, otherwise it
+   * stays in index after it is removed from all channels by {@link #unsubscribeFromAllChannels()}.
+   */
   @Override
-  public boolean subscribeToChannel(String channel) {
+  public synchronized boolean subscribeToChannel(String channel) {
     if (channel == null) {
       throw new IllegalArgumentException("Channel name may not be null. ");
     }
-    return channels.add(channel);
+    if (unsubscribedFromAllChannels) {
+      return false;
+    }
+    if (channels.add(channel)) {
+      WSConnectionContext.subscribe(channel, this);
+      return true;
+    }
+    return false;
   }
 
   @Override
-  public boolean unsubscribeFromChannel(String channel) {
+  public synchronized boolean unsubscribeFromChannel(String channel) {
     if (channel == null) {
       throw new IllegalArgumentException("Channel name may not be null. ");
     }
-    return channels.remove(channel);
+    if (channels.remove(channel)) {
+      WSConnectionContext.unsubscribe(channel, this);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Removes connection from all channels, called when connection is closed. Connection can't be
+   * subscribed to any channel after that.
+   */
+  synchronized void unsubscribeFromAllChannels() {
+    unsubscribedFromAllChannels = true;
+    for (String channel : channels) {
+      WSConnectionContext.unsubscribe(channel, this);
+    }
   }
 
   @Override
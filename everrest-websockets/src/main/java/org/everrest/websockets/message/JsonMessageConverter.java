@@ -12,22 +12,18 @@
 package org.everrest.websockets.message;
 
 import static org.everrest.core.impl.provider.json.JsonGenerator.createJsonObject;
-import static org.everrest.core.impl.provider.json.ObjectBuilder.createObject;
 
 import java.io.StringReader;
 import java.io.StringWriter;
 import org.everrest.core.impl.provider.json.JsonException;
-import org.everrest.core.impl.provider.json.JsonParser;
 import org.everrest.core.impl.provider.json.JsonValue;
 import org.everrest.core.impl.provider.json.JsonWriter;
+import org.everrest.core.impl.provider.json.StreamingObjectBuilder;
 
 /** @author andrew00x */
 public class JsonMessageConverter {
   public <T extends Message> T fromString(String message, Class<T> clazz) throws JsonException {
-    final JsonParser parser = new JsonParser();
-    parser.parse(new StringReader(message));
-    final JsonValue json = parser.getJsonObject();
-    return createObject(clazz, json);
+    return clazz.cast(StreamingObjectBuilder.createObject(clazz, null, new StringReader(message)));
   }
 
   public String toString(Message output) throws JsonException {
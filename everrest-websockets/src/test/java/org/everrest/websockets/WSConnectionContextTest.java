@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2012-2021 Codenvy, S.A.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+package org.everrest.websockets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.everrest.websockets.message.OutputMessage;
+import org.junit.After;
+import org.junit.Test;
+
+public class WSConnectionContextTest {
+  /** Connection that keeps sent messages instead of sending them to client. */
+  static class TstConnection extends WSConnectionImpl {
+    final List<OutputMessage> messages = new CopyOnWriteArrayList<>();
+    volatile boolean connected = true;
+    volatile RuntimeException sendError;
+
+    @Override
+    public boolean isConnected() {
+      return connected;
+    }
+
+    @Override
+    public void sendMessage(OutputMessage output) {
+      if (sendError != null) {
+        throw sendError;
+      }
+      messages.add(output);
+    }
+  }
+
+  private ExecutorService executor;
+
+  @After
+  public void tearDown() {
+    WSConnectionContext.setBroadcastExecutor(null);
+    WSConnectionContext.channels.clear();
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void indexesSubscribersOfChannel() {
+    TstConnection connection1 = new TstConnection();
+    TstConnection connection2 = new TstConnection();
+
+    assertTrue(connection1.subscribeToChannel("a"));
+    assertFalse(connection1.subscribeToChannel("a"));
+    connection2.subscribeToChannel("a");
+
+    assertEquals(2, WSConnectionContext.getChannel("a").getSubscriberCount());
+    assertEquals(1, WSConnectionContext.getChannels().size());
+
+    assertTrue(connection1.unsubscribeFromChannel("a"));
+    assertEquals(1, WSConnectionContext.getChannel("a").getSubscriberCount());
+    connection2.unsubscribeFromChannel("a");
+    assertNull(WSConnectionContext.getChannel("a"));
+  }
+
+  @Test
+  public void sendsBroadcastMessageToSubscribersOfChannelOnly() throws Exception {
+    TstConnection subscriber = new TstConnection();
+    TstConnection other = new TstConnection();
+    subscriber.subscribeToChannel("a");
+    other.subscribeToChannel("b");
+
+    WSConnectionContext.sendMessage(newMessage("a", "hello"));
+
+    assertEquals(1, subscriber.messages.size());
+    assertEquals("hello", subscriber.messages.get(0).getBody());
+    assertEquals(0, other.messages.size());
+    WSChannel channel = WSConnectionContext.getChannel("a");
+    assertEquals(1, channel.getMessageCount());
+    assertEquals(1, channel.getDeliveredCount());
+    assertEquals(0, channel.getFailedCount());
+  }
+
+  @Test
+  public void sendsBroadcastMessageToAllSubscribersWithExecutor() throws Exception {
+    executor = Executors.newFixedThreadPool(3);
+    WSConnectionContext.setBroadcastExecutor(executor);
+    List<TstConnection> subscribers = new ArrayList<>();
+    for (int i = 0; i < WSConnectionContext.BROADCAST_BATCH_SIZE * 3 + 1; i++) {
+      TstConnection subscriber = new TstConnection();
+      subscriber.subscribeToChannel("a");
+      subscribers.add(subscriber);
+    }
+
+    WSConnectionContext.sendMessage(newMessage("a", "hello"));
+
+    for (TstConnection subscriber : subscribers) {
+      assertEquals(1, subscriber.messages.size());
+    }
+    WSChannel channel = WSConnectionContext.getChannel("a");
+    assertEquals(1, channel.getMessageCount());
+    assertEquals(subscribers.size(), channel.getDeliveredCount());
+  }
+
+  @Test
+  public void unsubscribesClosedConnectionWhenBroadcastMessageIsSent() throws Exception {
+    TstConnection open = new TstConnection();
+    TstConnection closed = new TstConnection();
+    open.subscribeToChannel("a");
+    closed.subscribeToChannel("a");
+    closed.connected = false;
+
+    WSConnectionContext.sendMessage(newMessage("a", "hello"));
+
+    assertEquals(1, open.messages.size());
+    assertEquals(0, closed.messages.size());
+    assertEquals(1, WSConnectionContext.getChannel("a").getSubscriberCount());
+  }
+
+  @Test
+  public void ignoresIllegalStateExceptionOfConnectionThatIsClosedWhileMessageIsSent()
+      throws Exception {
+    TstConnection open = new TstConnection();
+    open.subscribeToChannel("a");
+    // Connection is open when broadcast starts and closed when container refuses to send message.
+    TstConnection closedDuringSend =
+        new TstConnection() {
+          @Override
+          public void sendMessage(OutputMessage output) {
+            connected = false;
+            throw new IllegalStateException("closed");
+          }
+        };
+    closedDuringSend.subscribeToChannel("a");
+
+    WSConnectionContext.sendMessage(newMessage("a", "hello"));
+
+    assertEquals(1, open.messages.size());
+    assertEquals(1, WSConnectionContext.getChannel("a").getFailedCount());
+  }
+
+  @Test
+  public void rethrowsIllegalStateExceptionOfOpenConnectionAfterMessageIsSentToOthers()
+      throws Exception {
+    TstConnection failing = new TstConnection();
+    IllegalStateException error = new IllegalStateException("TEXT_PARTIAL_WRITING");
+    failing.sendError = error;
+    failing.subscribeToChannel("a");
+    TstConnection open = new TstConnection();
+    open.subscribeToChannel("a");
+
+    try {
+      WSConnectionContext.sendMessage(newMessage("a", "hello"));
+      fail("IllegalStateException expected");
+    } catch (IllegalStateException e) {
+      assertSame(error, e);
+    }
+
+    assertEquals(1, open.messages.size());
+    WSChannel channel = WSConnectionContext.getChannel("a");
+    assertEquals(1, channel.getDeliveredCount());
+    assertEquals(1, channel.getFailedCount());
+  }
+
+  @Test
+  public void removesClosedConnectionFromAllChannels() {
+    TstConnection connection = new TstConnection();
+    connection.subscribeToChannel("a");
+    connection.subscribeToChannel("b");
+
+    connection.unsubscribeFromAllChannels();
+
+    assertTrue(WSConnectionContext.getChannels().isEmpty());
+  }
+
+  @Test
+  public void doesNotSubscribeConnectionAfterItIsRemovedFromAllChannels() {
+    TstConnection connection = new TstConnection();
+    connection.unsubscribeFromAllChannels();
+
+    assertFalse(connection.subscribeToChannel("a"));
+
+    assertNull(WSConnectionContext.getChannel("a"));
+    assertTrue(connection.getChannels().isEmpty());
+  }
+
+  @Test
+  public void ignoresBroadcastMessageWithoutChannel() throws Exception {
+    TstConnection subscriber = new TstConnection();
+    subscriber.subscribeToChannel("a");
+
+    WSConnectionContext.sendMessage(newMessage(null, "hello"));
+
+    assertEquals(0, subscriber.messages.size());
+  }
+
+  @Test
+  public void keepsIndexConsistentWithChannelsOfConnectionWhenTheyAreChangedConcurrently()
+      throws Exception {
+    executor = Executors.newFixedThreadPool(4);
+    TstConnection connection = new TstConnection();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> tasks = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      boolean subscribe = i % 2 == 0;
+      tasks.add(
+          executor.submit(
+              () -> {
+                start.await();
+                for (int j = 0; j < 10000; j++) {
+                  if (subscribe) {
+                    connection.subscribeToChannel("a");
+                  } else {
+                    connection.unsubscribeFromChannel("a");
+                  }
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (Future<?> task : tasks) {
+      task.get(30, TimeUnit.SECONDS);
+    }
+
+    WSChannel channel = WSConnectionContext.getChannel("a");
+    if (connection.getChannels().contains("a")) {
+      assertTrue(channel.subscribers.contains(connection));
+    } else {
+      assertNull(channel);
+    }
+  }
+
+  private ChannelBroadcastMessage newMessage(String channel, String body) {
+    ChannelBroadcastMessage message = new ChannelBroadcastMessage();
+    message.setChannel(channel);
+    message.setType(ChannelBroadcastMessage.Type.NONE);
+    message.setBody(body);
+    return message;
+  }
+}